@@ -0,0 +1,49 @@
+package com.project.tradingBot.Config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.project.tradingBot.service.BrokerHttpTransport;
+
+@Configuration
+public class BrokerHttpConfig {
+
+    @Value("${broker.http.connectTimeoutMillis:3000}")
+    private long connectTimeoutMillis;
+
+    @Value("${broker.http.requestTimeoutMillis:5000}")
+    private long requestTimeoutMillis;
+
+    @Value("${broker.http.maxConnectionsPerRoute:8}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${broker.http.http2:true}")
+    private boolean http2;
+
+    @Bean
+    public BrokerHttpTransport brokerHttpTransport() {
+        return new BrokerHttpTransport(Duration.ofMillis(connectTimeoutMillis), Duration.ofMillis(requestTimeoutMillis),
+                maxConnectionsPerRoute, http2);
+    }
+
+    /**
+     * Applies broker.http.idleTimeoutSeconds as {@code jdk.httpclient.keepalive.timeout} as soon as
+     * the environment is ready, before any bean exists. The JDK reads the property once, when its
+     * HTTP client classes load, so setting it from a bean would depend on bean creation order.
+     * A value given on the command line (-Djdk.httpclient.keepalive.timeout) wins.
+     */
+    public static final class JdkHttpProperties implements ApplicationListener<ApplicationEnvironmentPreparedEvent> {
+        @Override
+        public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+            if (System.getProperty("jdk.httpclient.keepalive.timeout") == null) {
+                System.setProperty("jdk.httpclient.keepalive.timeout",
+                        event.getEnvironment().getProperty("broker.http.idleTimeoutSeconds", "60"));
+            }
+        }
+    }
+}
@@ -13,6 +13,13 @@ public class ChartinkConfig {
     private String username;
     private String password;
 
+    // HTTP scanner (mode=http); Selenium is used when mode=selenium or the HTTP scan fails
+    private String mode = "http";
+    private String baseUrl = "https://chartink.com";
+    private String positiveScanClause;
+    private String negativeScanClause;
+    private int timeoutSeconds = 15;
+
     public String getLoginUrl() {
         return loginUrl;
     }
@@ -52,4 +59,44 @@ public class ChartinkConfig {
     public void setPassword(String password) {
         this.password = password;
     }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public String getPositiveScanClause() {
+        return positiveScanClause;
+    }
+
+    public void setPositiveScanClause(String positiveScanClause) {
+        this.positiveScanClause = positiveScanClause;
+    }
+
+    public String getNegativeScanClause() {
+        return negativeScanClause;
+    }
+
+    public void setNegativeScanClause(String negativeScanClause) {
+        this.negativeScanClause = negativeScanClause;
+    }
+
+    public int getTimeoutSeconds() {
+        return timeoutSeconds;
+    }
+
+    public void setTimeoutSeconds(int timeoutSeconds) {
+        this.timeoutSeconds = timeoutSeconds;
+    }
 }
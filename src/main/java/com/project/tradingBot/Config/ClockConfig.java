@@ -0,0 +1,17 @@
+package com.project.tradingBot.Config;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ClockConfig {
+
+    // Exchange time for the live engine and the backtest/backfill default range; replace with a fixed or offset clock in a simulation
+    @Bean
+    public Clock clock() {
+        return Clock.system(ZoneId.of("Asia/Kolkata"));
+    }
+}
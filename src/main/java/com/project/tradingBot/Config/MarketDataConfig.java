@@ -0,0 +1,42 @@
+package com.project.tradingBot.Config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.project.tradingBot.service.MarketDataFeed;
+import com.project.tradingBot.service.QuotePollingMarketDataFeed;
+import com.project.tradingBot.service.ReplayMarketDataFeed;
+import com.project.tradingBot.service.SmartApiService;
+import com.project.tradingBot.service.SmartStreamMarketDataFeed;
+
+@Configuration
+public class MarketDataConfig {
+
+    // smartstream (live WebSocket), quotes (batched quote polling) or replay (in-process, for tests / dry runs)
+    @Value("${marketdata.feed:smartstream}")
+    private String feed;
+
+    @Value("${marketdata.smartstream.url:wss://smartapisocket.angelone.in/smart-stream}")
+    private String smartStreamUrl;
+
+    @Value("${marketdata.quotes.intervalMillis:1000}")
+    private long quotesIntervalMillis;
+
+    @Value("${marketdata.replay.file:}")
+    private String replayFile;
+
+    @Bean
+    public MarketDataFeed marketDataFeed(SmartApiService smartApiService) throws IOException {
+        if ("replay".equalsIgnoreCase(feed)) {
+            return replayFile.isBlank() ? new ReplayMarketDataFeed() : new ReplayMarketDataFeed(Path.of(replayFile));
+        }
+        if ("quotes".equalsIgnoreCase(feed)) {
+            return new QuotePollingMarketDataFeed(smartApiService.getQuoteFetcher(), quotesIntervalMillis);
+        }
+        return new SmartStreamMarketDataFeed(smartApiService, smartStreamUrl);
+    }
+}
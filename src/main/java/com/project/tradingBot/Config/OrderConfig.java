@@ -0,0 +1,46 @@
+package com.project.tradingBot.Config;
+
+import java.time.LocalTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.project.tradingBot.service.OrderGateway;
+import com.project.tradingBot.service.PaperBroker;
+import com.project.tradingBot.service.SmartApiService;
+
+@Configuration
+public class OrderConfig {
+
+    // live (bracket orders through SmartAPI) or paper (in-process fills from the bar stream)
+    @Value("${order.gateway:paper}")
+    private String gateway;
+
+    @Value("${order.paper.capital:100000}")
+    private double paperCapital;
+
+    @Value("${order.paper.slippageBps:2}")
+    private double paperSlippageBps;
+
+    @Value("${order.paper.latencyMillis:0}")
+    private long paperLatencyMillis;
+
+    @Value("${order.paper.squareOffTime:15:15}")
+    private String paperSquareOffTime;
+
+    @Value("${order.paper.leverage:5}")
+    private double paperLeverage;
+
+    // Primary: SmartApiService is itself an OrderGateway bean
+    @Bean
+    @Primary
+    public OrderGateway orderGateway(SmartApiService smartApiService) {
+        if ("live".equalsIgnoreCase(gateway)) {
+            return smartApiService;
+        }
+        return new PaperBroker(paperCapital, paperSlippageBps, paperLatencyMillis, LocalTime.parse(paperSquareOffTime),
+                paperLeverage);
+    }
+}
@@ -0,0 +1,41 @@
+package com.project.tradingBot.Config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.project.tradingBot.service.TokenBucketRateLimiter;
+
+@Configuration
+public class RateLimitConfig {
+
+    // Historical candle endpoint (AngelOne: 3 req/sec, 180 req/min)
+    @Value("${smartapi.ratelimit.candle.perSecond:3}")
+    private int candlePerSecond;
+
+    @Value("${smartapi.ratelimit.candle.perMinute:180}")
+    private int candlePerMinute;
+
+    // Market quote endpoint, up to 50 tokens per request (AngelOne: 10 req/sec, 500 req/min)
+    @Value("${smartapi.ratelimit.quote.perSecond:10}")
+    private int quotePerSecond;
+
+    @Value("${smartapi.ratelimit.quote.perMinute:500}")
+    private int quotePerMinute;
+
+    @Bean
+    public TokenBucketRateLimiter candleRateLimiter() {
+        return new TokenBucketRateLimiter("candleData", candlePerSecond, candlePerMinute);
+    }
+
+    @Bean
+    public TokenBucketRateLimiter quoteRateLimiter() {
+        return new TokenBucketRateLimiter("marketQuote", quotePerSecond, quotePerMinute);
+    }
+
+    // --- Getters ---
+    public int getCandlePerSecond() { return candlePerSecond; }
+    public int getCandlePerMinute() { return candlePerMinute; }
+    public int getQuotePerSecond() { return quotePerSecond; }
+    public int getQuotePerMinute() { return quotePerMinute; }
+}
@@ -0,0 +1,68 @@
+package com.project.tradingBot.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.project.tradingBot.service.OpeningRangeBreakout;
+import com.project.tradingBot.service.RangeExpansion;
+import com.project.tradingBot.service.Strategy;
+import com.project.tradingBot.service.StrategySet;
+import com.project.tradingBot.service.VwapReclaim;
+
+@Configuration
+public class StrategyConfig {
+
+    // Comma-separated, evaluated in this order: orb, rangeExpansion, vwapReclaim
+    @Value("${strategy.rules:orb}")
+    private String rules;
+
+    @Value("${strategy.orb.maxRangePercent:0.5}")
+    private double orbMaxRangePercent;
+
+    @Value("${strategy.rangeExpansion.lookback:10}")
+    private int rangeExpansionLookback;
+
+    @Value("${strategy.rangeExpansion.multiplier:2.0}")
+    private double rangeExpansionMultiplier;
+
+    @Value("${strategy.vwapReclaim.volumeMultiplier:1.5}")
+    private double vwapReclaimVolumeMultiplier;
+
+    @Bean
+    public StrategySet strategySet() {
+        return build(orbMaxRangePercent);
+    }
+
+    /**
+     * The configured strategies with a different opening-range filter (one point of a parameter sweep).
+     */
+    public StrategySet build(double orbMaxRangePercent) {
+        List<Strategy> strategies = new ArrayList<>();
+        for (String rule : rules.split(",")) {
+            String name = rule.trim();
+            if (name.isEmpty()) continue;
+            switch (name.toLowerCase()) {
+                case "orb":
+                    strategies.add(new OpeningRangeBreakout(orbMaxRangePercent));
+                    break;
+                case "rangeexpansion":
+                    strategies.add(new RangeExpansion(rangeExpansionLookback, rangeExpansionMultiplier));
+                    break;
+                case "vwapreclaim":
+                    strategies.add(new VwapReclaim(vwapReclaimVolumeMultiplier));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown strategy '" + name + "' in strategy.rules (known: orb, rangeExpansion, vwapReclaim)");
+            }
+        }
+        return new StrategySet(strategies);
+    }
+
+    public double getOrbMaxRangePercent() {
+        return orbMaxRangePercent;
+    }
+}
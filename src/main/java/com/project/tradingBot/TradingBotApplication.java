@@ -1,21 +1,36 @@
 package com.project.tradingBot;
 
+import java.nio.file.Path;
+import java.time.Clock;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import com.project.tradingBot.Config.BrokerHttpConfig;
+import com.project.tradingBot.service.BacktestEngine;
+import com.project.tradingBot.service.CandleStore;
 import com.project.tradingBot.service.ChartinkScannerService;
+import com.project.tradingBot.service.HistoryBackfill;
+import com.project.tradingBot.service.ParameterSweep;
 import com.project.tradingBot.service.PopulateScanResultService;
+import com.project.tradingBot.service.PreMarketWarmup;
+import com.project.tradingBot.service.ScanResultRegistry;
+import com.project.tradingBot.service.ScripMasterRefresher;
 import com.project.tradingBot.service.SmartApiService;
+import com.project.tradingBot.service.StartupGraph;
+import com.project.tradingBot.service.StartupGraph.Node;
+import com.project.tradingBot.service.StartupGraph.Policy;
+import com.project.tradingBot.service.StartupTimeline;
 import com.project.tradingBot.service.StrategyEngine;
 
 @SpringBootApplication
@@ -26,60 +41,164 @@ public class TradingBotApplication implements CommandLineRunner{
 	@Autowired
 	private ChartinkScannerService scannerService;
 	@Autowired
+	private ScanResultRegistry scanResultRegistry;
+	@Autowired
 	SmartApiService smartApiService;
 	@Autowired
 	private StrategyEngine strategy;
+	@Autowired
+	private PreMarketWarmup preMarketWarmup;
+	@Autowired
+	private BacktestEngine backtestEngine;
+	@Autowired
+	private ParameterSweep parameterSweep;
+	@Autowired
+	private CandleStore candleStore;
+	@Autowired
+	private ScripMasterRefresher scripMasterRefresher;
+	@Autowired
+	private HistoryBackfill historyBackfill;
+	@Autowired
+	private Clock clock;
+
+	@Value("${startup.marketTrigger:09:36}")
+	private String marketTrigger;
+	@Value("${startup.timeoutSeconds.default:120}")
+	private long defaultTimeoutSeconds;
+	@Value("${startup.timeoutSeconds.init:300}")
+	private long initTimeoutSeconds;
+
+	@Value("${backtest.enabled:false}")
+	private boolean backtestEnabled;
+	@Value("${sweep.enabled:false}")
+	private boolean sweepEnabled;
+	@Value("${backtest.from:}")
+	private String backtestFrom;
+	@Value("${backtest.to:}")
+	private String backtestTo;
+	@Value("${backtest.symbols:}")
+	private String backtestSymbols;
+	@Value("${backtest.bias:RECORDED}")
+	private String backtestBias;
+	@Value("${backtest.capital:100000}")
+	private double backtestCapital;
+	@Value("${backtest.slippageBps:2}")
+	private double backtestSlippageBps;
+	@Value("${backtest.outputDir:data/backtest}")
+	private String backtestOutputDir;
+	@Value("${backtest.backfill.enabled:false}")
+	private boolean backfillEnabled;
+	@Value("${backtest.backfill.days:365}")
+	private int backfillDays;
 	
 	
 	public static void main(String[] args) {
-		
-		SpringApplication.run(TradingBotApplication.class, args);
+		SpringApplication app = new SpringApplication(TradingBotApplication.class);
+		app.addListeners(new BrokerHttpConfig.JdkHttpProperties()); // before any HttpClient is created
+		app.run(args);
 	}
 
 	@Override
 	public void run(String... args) throws Exception {
-		 
-        // Wait until 9:36 AM
-	    LocalTime targetTime = LocalTime.of(9, 36, 0);
-	    LocalTime now = LocalTime.now();
-
-	    long sleepSeconds = Duration.between(now, targetTime).getSeconds();
-	    if (sleepSeconds > 0) {
-	        logger.info("Waiting for 9:36 AM. Sleeping for " + sleepSeconds + " seconds.");
-	        Thread.sleep(sleepSeconds * 1000); // wait until target time
-	    } else {
-	    	logger.info("It's already past 9:36 AM. Executing immediately.");
+
+	    if (backtestEnabled) {
+	        runBacktest();
+	        return;
 	    }
-	    
-	    logger.info("Starting bot at " + LocalTime.now());
-	    
-	    // Step 1: Login to SmartAPI
-        smartApiService.login();
-		
-		 // Step 2: Run the scanner in chartink to get the stocks for the day
-	    scannerService.runScanner();
 
-	    // Step 3: Ensure equities file exists in the classpath & load master map to it if not done to get token for each stock symbol
-	    PopulateScanResultService.initialize();
-
-	    // Step 4: Print all stocks in key-value pair format
-	    PopulateScanResultService.printAllScannedStocks();
-        
-        Map<String, String> positiveStockMap = PopulateScanResultService.getPositiveScannedStocksMap();
-        Map<String, String> negativeStockMap = PopulateScanResultService.getNegativeScannedStocksMap();
-        
-		List<String> pos = new ArrayList<>(positiveStockMap.values()); 
-	    List<String> neg = new ArrayList<>(negativeStockMap.values());
-		
-		try {
-		// Step 5: Do prerequisites for trading
-			strategy.init(pos, neg);
-		} catch (Exception e) {
-			e.printStackTrace();
-		}
-		
-		// Step 6: Actual Trading Starts
+	    StartupTimeline timeline = new StartupTimeline(clock);
+	    StartupGraph graph = new StartupGraph(timeline);
+	    Duration timeout = Duration.ofSeconds(defaultTimeoutSeconds);
+
+	    // Pre-market: master index, login, warmed connections, JIT warm-up (nothing here needs today's data)
+	    PreMarketWarmup.Stages warm = preMarketWarmup.register(graph, timeout);
+
+	    // Wait until the market trigger (default 9:36 AM); no timeout, the wait is the point
+	    Node<Void> trigger = graph.stage("wait for market trigger", Policy.REQUIRED, null, () -> {
+	        timeline.waitUntil(LocalTime.parse(marketTrigger));
+	        logger.info("Starting bot at " + LocalTime.now(clock));
+	        return null;
+	    });
+
+	    // Step 1: Run the scanner in chartink to get the stocks for the day (reuses the pre-opened session)
+	    Node<Void> scan = warm.getChartinkSession() != null
+	            ? graph.stage("chartink scan", Policy.REQUIRED, timeout, this::scan, trigger, warm.getChartinkSession())
+	            : graph.stage("chartink scan", Policy.REQUIRED, timeout, this::scan, trigger);
+
+	    // Step 2: Market bias only needs the login, so it is fetched while the scan runs
+	    Node<Double> niftyBias = graph.stage("nifty bias", Policy.REQUIRED, timeout,
+	            smartApiService::getNiftyChangePercent, trigger, warm.getLogin());
+
+	    // Step 3: Do prerequisites for trading (opening range needs the scan output)
+	    Node<Void> init = graph.stage("strategy init", Policy.REQUIRED, Duration.ofSeconds(initTimeoutSeconds), () -> {
+	        ScanResultRegistry.Snapshot scanned = scanResultRegistry.current();
+	        strategy.init(scanned.symbols(ScanResultRegistry.Side.POSITIVE), scanned.symbols(ScanResultRegistry.Side.NEGATIVE),
+	                niftyBias.get());
+	        return null;
+	    }, scan, niftyBias, warm.getMaster(), warm.getLogin());
+
+	    boolean ready = graph.await(init);
+	    timeline.print();
+	    graph.printCriticalPath(init);
+	    graph.shutdown();
+	    if (!ready) {
+	        logger.error("Startup did not complete; not trading today.");
+	        return;
+	    }
+
+		// Step 4: Actual Trading Starts
 		strategy.start();
 	}
+
+	// Replay stored bars through the strategy instead of trading (backtest.enabled=true)
+	private void runBacktest() throws Exception {
+	    PopulateScanResultService.initialize(scripMasterRefresher.getDirectory()); // symbol → token for the candle store
+
+	    List<String> symbols = new ArrayList<>();
+	    for (String symbol : backtestSymbols.split(",")) {
+	        if (!symbol.isBlank()) symbols.add(symbol.trim());
+	    }
+	    if (symbols.isEmpty()) {
+	        logger.error("backtest.symbols is empty; nothing to replay.");
+	        return;
+	    }
+
+	    if (backfillEnabled) {
+	        // Fetch the requested range (default: the last backtest.backfill.days up to yesterday) into the store
+	        LocalDate to = backtestTo.isBlank() ? LocalDate.now(clock).minusDays(1) : LocalDate.parse(backtestTo);
+	        LocalDate from = backtestFrom.isBlank() ? to.minusDays(backfillDays - 1) : LocalDate.parse(backtestFrom);
+	        smartApiService.login();
+	        logger.info(historyBackfill.backfill(symbols, from, to).summary());
+	    }
+
+	    List<LocalDate> days = new ArrayList<>();
+	    for (LocalDate day : candleStore.availableDays()) {
+	        if ((backtestFrom.isBlank() || !day.isBefore(LocalDate.parse(backtestFrom)))
+	                && (backtestTo.isBlank() || !day.isAfter(LocalDate.parse(backtestTo)))) {
+	            days.add(day);
+	        }
+	    }
+
+	    BacktestEngine.Request request = new BacktestEngine.Request(days, symbols)
+	            .biasMode(BacktestEngine.BiasMode.valueOf(backtestBias.trim().toUpperCase()))
+	            .capital(backtestCapital)
+	            .slippageBps(backtestSlippageBps);
+	    if (sweepEnabled) {
+	        parameterSweep.runConfigured(request);
+	        return;
+	    }
+
+	    BacktestEngine.Result result = backtestEngine.run(request);
+	    backtestEngine.print(result);
+	    result.writeCsv(Path.of(backtestOutputDir));
+	    logger.info("Trade list and fill log written to " + backtestOutputDir);
+	}
+
+	private Void scan() {
+	    scannerService.runScanner();
+	    // Print all stocks in key-value pair format
+	    scanResultRegistry.print();
+	    return null;
+	}
 	
 }
@@ -0,0 +1,183 @@
+package com.project.tradingBot.models;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Columnar, fixed-capacity ring buffer of OHLCV bars for one symbol.
+ *
+ * Bars live in parallel primitive arrays, so appending and reading never allocates.
+ * Accessors take {@code ago}: 0 is the latest bar, 1 the one before it, and so on.
+ * Once full, the oldest bar is overwritten. Not thread-safe: one writer per symbol.
+ */
+public class CandleSeries {
+
+    private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX")
+            .withZone(ZoneId.of("Asia/Kolkata"));
+
+    private final int mask;
+    private final long[] epochMinute;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    private final double[] volume;
+
+    private long appended; // total bars ever appended; latest bar is at (appended - 1) & mask
+
+    /**
+     * @param capacity bars kept per symbol (rounded up to a power of two)
+     */
+    public CandleSeries(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.mask = size - 1;
+        this.epochMinute = new long[size];
+        this.open = new double[size];
+        this.high = new double[size];
+        this.low = new double[size];
+        this.close = new double[size];
+        this.volume = new double[size];
+    }
+
+    // ---------------------- WRITE ----------------------
+    public void append(long epochMinute, double open, double high, double low, double close, double volume) {
+        int i = (int) (appended & mask);
+        this.epochMinute[i] = epochMinute;
+        this.open[i] = open;
+        this.high[i] = high;
+        this.low[i] = low;
+        this.close[i] = close;
+        this.volume[i] = volume;
+        appended++;
+    }
+
+    /**
+     * Append a bar, or overwrite the latest one if it has the same timestamp
+     * (a re-fetched or still-forming bar).
+     */
+    public void upsert(long epochMinute, double open, double high, double low, double close, double volume) {
+        if (size() > 0 && epochMinute(0) == epochMinute) {
+            int i = (int) ((appended - 1) & mask);
+            this.open[i] = open;
+            this.high[i] = high;
+            this.low[i] = low;
+            this.close[i] = close;
+            this.volume[i] = volume;
+            return;
+        }
+        append(epochMinute, open, high, low, close, volume);
+    }
+
+    public void append(Candle c) {
+        upsert(parseEpochMinute(c.getDatetime()), c.getOpen(), c.getHigh(), c.getLow(), c.getClose(), c.getVolume());
+    }
+
+    public void clear() {
+        appended = 0;
+    }
+
+    // ---------------------- READ (zero allocation) ----------------------
+    public int size() {
+        return (int) Math.min(appended, mask + 1L);
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    public long epochMinute(int ago) { return epochMinute[index(ago)]; }
+    public double open(int ago) { return open[index(ago)]; }
+    public double high(int ago) { return high[index(ago)]; }
+    public double low(int ago) { return low[index(ago)]; }
+    public double close(int ago) { return close[index(ago)]; }
+    public double volume(int ago) { return volume[index(ago)]; }
+
+    /** Highest high over the last {@code bars} bars. */
+    public double highest(int bars) {
+        int n = Math.min(bars, size());
+        double max = Double.NEGATIVE_INFINITY;
+        for (int ago = 0; ago < n; ago++) max = Math.max(max, high[index(ago)]);
+        return max;
+    }
+
+    /** Lowest low over the last {@code bars} bars. */
+    public double lowest(int bars) {
+        int n = Math.min(bars, size());
+        double min = Double.POSITIVE_INFINITY;
+        for (int ago = 0; ago < n; ago++) min = Math.min(min, low[index(ago)]);
+        return min;
+    }
+
+    /** Average volume over the last {@code bars} bars. */
+    public double averageVolume(int bars) {
+        int n = Math.min(bars, size());
+        if (n == 0) return 0.0;
+        double sum = 0;
+        for (int ago = 0; ago < n; ago++) sum += volume[index(ago)];
+        return sum / n;
+    }
+
+    /**
+     * Materialise one bar as a {@link Candle} for code that still works with the POJO.
+     */
+    public Candle toCandle(int ago) {
+        int i = index(ago);
+        Candle c = new Candle();
+        c.setDatetime(formatEpochMinute(epochMinute[i]));
+        c.setOpen(open[i]);
+        c.setHigh(high[i]);
+        c.setLow(low[i]);
+        c.setClose(close[i]);
+        c.setVolume(volume[i]);
+        return c;
+    }
+
+    private int index(int ago) {
+        if (ago < 0 || ago >= size()) {
+            throw new IndexOutOfBoundsException("Bar " + ago + " ago not available (size " + size() + ")");
+        }
+        return (int) ((appended - 1 - ago) & mask);
+    }
+
+    // ---------------------- TIMESTAMPS ----------------------
+    /**
+     * Parse a SmartAPI candle timestamp ("2025-01-06T09:35:00+05:30") to minutes since the
+     * epoch (UTC) without creating any objects.
+     */
+    public static long parseEpochMinute(CharSequence s) {
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 2);
+        int day = digits(s, 8, 2);
+        int hour = digits(s, 11, 2);
+        int minute = digits(s, 14, 2);
+
+        long offsetMinutes = 0;
+        if (s.length() >= 25) {
+            int sign = s.charAt(19) == '-' ? -1 : 1;
+            offsetMinutes = sign * (digits(s, 20, 2) * 60L + digits(s, 23, 2));
+        }
+        return daysFromCivil(year, month, day) * 1440L + hour * 60L + minute - offsetMinutes;
+    }
+
+    /** Inverse of {@link #parseEpochMinute} in IST (allocates; for logging/compatibility only). */
+    public static String formatEpochMinute(long epochMinute) {
+        return FMT.format(Instant.ofEpochSecond(epochMinute * 60));
+    }
+
+    private static int digits(CharSequence s, int from, int count) {
+        int v = 0;
+        for (int i = from; i < from + count; i++) v = v * 10 + (s.charAt(i) - '0');
+        return v;
+    }
+
+    // Howard Hinnant's days-from-civil algorithm (proleptic Gregorian)
+    private static long daysFromCivil(int y, int m, int d) {
+        y -= m <= 2 ? 1 : 0;
+        long era = (y >= 0 ? y : y - 399) / 400;
+        long yoe = y - era * 400;
+        long doy = (153L * (m + (m > 2 ? -3 : 9)) + 2) / 5 + d - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+}
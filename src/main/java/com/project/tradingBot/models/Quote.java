@@ -0,0 +1,70 @@
+package com.project.tradingBot.models;
+
+/**
+ * One instrument from a SmartAPI market-quote response: last price, the day's OHLC so far and
+ * the day's cumulative traded volume.
+ */
+public class Quote {
+
+	private final String symbol;
+	private final String token;
+	private final double ltp;
+	private final double open;
+	private final double high;
+	private final double low;
+	private final double close;
+	private final long volume;
+	private final long epochMillis;
+
+	/**
+	 * @param symbol      trading symbol without the "-EQ" suffix
+	 * @param close       previous session's close
+	 * @param volume      volume traded so far today
+	 * @param epochMillis exchange feed time of the quote (0 if not reported)
+	 */
+	public Quote(String symbol, String token, double ltp, double open, double high, double low, double close,
+				 long volume, long epochMillis) {
+		this.symbol = symbol;
+		this.token = token;
+		this.ltp = ltp;
+		this.open = open;
+		this.high = high;
+		this.low = low;
+		this.close = close;
+		this.volume = volume;
+		this.epochMillis = epochMillis;
+	}
+
+	public String getSymbol() {
+		return symbol;
+	}
+	public String getToken() {
+		return token;
+	}
+	public double getLtp() {
+		return ltp;
+	}
+	public double getOpen() {
+		return open;
+	}
+	public double getHigh() {
+		return high;
+	}
+	public double getLow() {
+		return low;
+	}
+	public double getClose() {
+		return close;
+	}
+	public long getVolume() {
+		return volume;
+	}
+	public long getEpochMillis() {
+		return epochMillis;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s LTP=%.2f O=%.2f H=%.2f L=%.2f PrevC=%.2f Vol=%d", symbol, ltp, open, high, low, close, volume);
+	}
+}
@@ -0,0 +1,42 @@
+package com.project.tradingBot.models;
+
+/**
+ * One row of a Chartink scan result.
+ */
+public class ScanResult {
+
+	private final String stockName;
+	private final String symbol;
+	private final double percentChange;
+	private final double price;
+	private final long volume;
+
+	public ScanResult(String stockName, String symbol, double percentChange, double price, long volume) {
+		this.stockName = stockName;
+		this.symbol = symbol;
+		this.percentChange = percentChange;
+		this.price = price;
+		this.volume = volume;
+	}
+
+	public String getStockName() {
+		return stockName;
+	}
+	public String getSymbol() {
+		return symbol;
+	}
+	public double getPercentChange() {
+		return percentChange;
+	}
+	public double getPrice() {
+		return price;
+	}
+	public long getVolume() {
+		return volume;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s (%s) %%Chg=%.2f Price=%.2f Volume=%d", stockName, symbol, percentChange, price, volume);
+	}
+}
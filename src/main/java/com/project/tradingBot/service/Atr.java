@@ -0,0 +1,64 @@
+package com.project.tradingBot.service;
+
+/**
+ * Average true range with Wilder smoothing, seeded with the simple average of the first
+ * {@code period} true ranges.
+ */
+public final class Atr implements Indicator {
+
+    private final int period;
+    private double value;
+    private double seedSum;
+    private double previousClose;
+    private long count;
+
+    public Atr(int period) {
+        if (period < 1) throw new IllegalArgumentException("period must be >= 1");
+        this.period = period;
+        reset();
+    }
+
+    @Override
+    public void update(long epochMinute, double open, double high, double low, double close, double volume) {
+        double trueRange = count == 0 ? high - low
+                : Math.max(high - low, Math.max(Math.abs(high - previousClose), Math.abs(low - previousClose)));
+        previousClose = close;
+        count++;
+        if (count < period) {
+            seedSum += trueRange;
+        } else if (count == period) {
+            value = (seedSum + trueRange) / period;
+        } else {
+            value = (value * (period - 1) + trueRange) / period;
+        }
+    }
+
+    @Override public double value() { return value; }
+    @Override public boolean isReady() { return count >= period; }
+
+    @Override
+    public void reset() {
+        value = Double.NaN;
+        seedSum = 0;
+        previousClose = Double.NaN;
+        count = 0;
+    }
+
+    @Override public int stateSize() { return 4; }
+
+    @Override
+    public void snapshot(double[] dst, int offset) {
+        dst[offset] = value;
+        dst[offset + 1] = seedSum;
+        dst[offset + 2] = previousClose;
+        dst[offset + 3] = count;
+    }
+
+    @Override
+    public void restore(double[] src, int offset) {
+        value = src[offset];
+        seedSum = src[offset + 1];
+        previousClose = src[offset + 2];
+        count = (long) src[offset + 3];
+    }
+}
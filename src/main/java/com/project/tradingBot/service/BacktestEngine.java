@@ -0,0 +1,596 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.models.CandleSeries;
+import com.project.tradingBot.service.Strategy.Signal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Replays stored 15- and 5-minute bars from the {@link CandleStore} through the live decision
+ * code (the configured {@link StrategySet} over a {@link StrategyContext} with its indicators)
+ * and fills the resulting orders with a {@link SimulatedBroker}.
+ *
+ * Each trading day is one partition: days are independent (positions are squared off at the
+ * close), while symbols within a day share the day's {@link RiskManager} limits (trade cap, open
+ * positions, per-symbol exposure, daily loss, as configured for the live bot), so a day is replayed bar by bar
+ * across all its symbols in time order, exactly as the live poll sees them. Days run in parallel
+ * on all cores and are merged in date order. Loaded history can also be kept as a
+ * {@link History} and replayed many times with different {@link BacktestParams}.
+ */
+@Service
+public class BacktestEngine {
+
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+    private static final int OPENING_RANGE_MINUTES = 15;
+    private static final int BAR_MINUTES = 5;
+    private static final int INTRADAY_BAR_CAPACITY = 128;
+
+    // ---------------------- ANSI COLORS ----------------------
+    private static final String RESET = "\u001B[0m";
+    private static final String GREEN = "\u001B[32m";
+    private static final String CYAN = "\u001B[36m";
+
+    /** Where each day's bias comes from. */
+    public enum BiasMode {
+        /** The NIFTY change the live run recorded for that day; days without one are skipped. */
+        RECORDED,
+        LONG,
+        SHORT
+    }
+
+    private final CandleStore candleStore;
+    private final StrategySet strategies;
+    private final int emaPeriod;
+    private final int atrPeriod;
+    private final int rsiPeriod;
+    private final int volumePeriod;
+    private final int maxOpenPositions;
+    private final double maxSymbolExposure;
+    private final double maxDailyLoss;
+
+    public BacktestEngine(CandleStore candleStore, StrategySet strategies,
+                          @Value("${strategy.indicators.emaPeriod:20}") int emaPeriod,
+                          @Value("${strategy.indicators.atrPeriod:14}") int atrPeriod,
+                          @Value("${strategy.indicators.rsiPeriod:14}") int rsiPeriod,
+                          @Value("${strategy.indicators.volumePeriod:20}") int volumePeriod,
+                          @Value("${risk.maxOpenPositions:20}") int maxOpenPositions,
+                          @Value("${risk.maxSymbolExposure:0}") double maxSymbolExposure,
+                          @Value("${risk.maxDailyLoss:0}") double maxDailyLoss) {
+        this.candleStore = candleStore;
+        this.strategies = strategies;
+        this.emaPeriod = emaPeriod;
+        this.atrPeriod = atrPeriod;
+        this.rsiPeriod = rsiPeriod;
+        this.volumePeriod = volumePeriod;
+        this.maxOpenPositions = maxOpenPositions;
+        this.maxSymbolExposure = maxSymbolExposure;
+        this.maxDailyLoss = maxDailyLoss;
+    }
+
+    public Result run(Request request) throws IOException, InterruptedException {
+        return run(request, strategies, BacktestParams.DEFAULTS);
+    }
+
+    /**
+     * Load and replay every requested day, days in parallel.
+     */
+    public Result run(Request request, StrategySet strategySet, BacktestParams params) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Map<LocalDate, Double> niftyChanges = niftyChanges(request);
+        List<DayResult> days = parallel(request.days, request.parallelism, day -> {
+            MarketBias bias = biasFor(request.biasMode, niftyChanges.getOrDefault(day, Double.NaN), params);
+            if (bias == MarketBias.FLAT) return DayResult.skipped(day, bias);
+            return replay(loadDay(day, request.symbols, niftyChanges.getOrDefault(day, Double.NaN)), bias, request, strategySet, params);
+        });
+        return new Result(days, System.nanoTime() - start);
+    }
+
+    /**
+     * Load the requested days once into read-only arrays that any number of replays (e.g. a
+     * parameter sweep) can share.
+     */
+    public History load(Request request) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Map<LocalDate, Double> niftyChanges = niftyChanges(request);
+        List<DayBars> days = parallel(request.days, request.parallelism,
+                day -> loadDay(day, request.symbols, niftyChanges.getOrDefault(day, Double.NaN)));
+        return new History(days, System.nanoTime() - start);
+    }
+
+    /**
+     * Replay loaded history on the calling thread (callers parallelise across runs instead).
+     */
+    public Result replay(History history, Request request, StrategySet strategySet, BacktestParams params) {
+        long start = System.nanoTime();
+        List<DayResult> days = new ArrayList<>(history.days.size());
+        for (DayBars bars : history.days) {
+            MarketBias bias = biasFor(request.biasMode, bars.niftyChange, params);
+            days.add(bias == MarketBias.FLAT ? DayResult.skipped(bars.day, bias) : replay(bars, bias, request, strategySet, params));
+        }
+        return new Result(days, System.nanoTime() - start);
+    }
+
+    private Map<LocalDate, Double> niftyChanges(Request request) throws IOException {
+        return request.biasMode == BiasMode.RECORDED ? candleStore.niftyChanges() : Collections.emptyMap();
+    }
+
+    private static MarketBias biasFor(BiasMode mode, double niftyChange, BacktestParams params) {
+        switch (mode) {
+            case LONG:
+                return MarketBias.POSITIVE;
+            case SHORT:
+                return MarketBias.NEGATIVE;
+            default:
+                return Double.isNaN(niftyChange) ? MarketBias.FLAT : MarketBias.of(niftyChange, params.niftyThresholdPercent());
+        }
+    }
+
+    @FunctionalInterface
+    private interface DayTask<T> {
+        T run(LocalDate day) throws Exception;
+    }
+
+    private static <T> List<T> parallel(List<LocalDate> days, int parallelism, DayTask<T> task) throws IOException, InterruptedException {
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r);
+            t.setName("Backtest-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<T>> futures = new ArrayList<>(days.size());
+            for (LocalDate day : days) {
+                futures.add(workers.submit(() -> task.run(day)));
+            }
+            List<T> results = new ArrayList<>(futures.size());
+            for (Future<T> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    throw cause instanceof IOException ? (IOException) cause : new IOException(cause.getMessage(), cause);
+                }
+            }
+            return results;
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    // ---------------------- LOAD ONE DAY ----------------------
+    DayBars loadDay(LocalDate day, List<String> symbols, double niftyChange) {
+        Map<String, CandleSeries> openingBars = candleStore.load(day, OPENING_RANGE_MINUTES, symbols, 32);
+        Map<String, CandleSeries> intraday = candleStore.load(day, BAR_MINUTES, symbols, INTRADAY_BAR_CAPACITY);
+
+        // Universe: requested symbols that have both the 09:15 opening-range bar and intraday bars
+        long openingMinute = day.atTime(9, 15).atZone(IST).toEpochSecond() / 60;
+        long firstTradableMinute = openingMinute + OPENING_RANGE_MINUTES;
+        List<String> universe = new ArrayList<>();
+        List<CandleSeries> history = new ArrayList<>();
+        List<Integer> openingAgo = new ArrayList<>();
+        for (String symbol : symbols) {
+            int ago = openingBarAgo(openingBars.get(symbol), openingMinute);
+            if (intraday.containsKey(symbol) && ago >= 0) {
+                universe.add(symbol);
+                history.add(intraday.get(symbol));
+                openingAgo.add(ago);
+            }
+        }
+
+        int n = universe.size();
+        DayBars bars = new DayBars(day, niftyChange, universe);
+        int[] nextAgo = new int[n];
+        int events = 0;
+        for (int slot = 0; slot < n; slot++) {
+            CandleSeries or = openingBars.get(universe.get(slot));
+            int ago = openingAgo.get(slot);
+            bars.setOpeningRange(slot, or.epochMinute(ago), or.high(ago), or.low(ago), or.close(ago), or.volume(ago));
+            CandleSeries h = history.get(slot);
+            nextAgo[slot] = h.size() - 1;
+            // Bars before the range completes are never seen live (the first poll is at 09:35)
+            while (nextAgo[slot] >= 0 && h.epochMinute(nextAgo[slot]) < firstTradableMinute) nextAgo[slot]--;
+            events += nextAgo[slot] + 1;
+        }
+
+        // Every bar timestamp of the day, in order; at each one symbols are visited in slot order
+        long[] minutes = new long[events];
+        int m = 0;
+        for (int slot = 0; slot < n; slot++) {
+            for (int ago = nextAgo[slot]; ago >= 0; ago--) minutes[m++] = history.get(slot).epochMinute(ago);
+        }
+        Arrays.sort(minutes);
+
+        bars.allocateEvents(events);
+        long previous = Long.MIN_VALUE;
+        for (long minute : minutes) {
+            if (minute == previous) continue;
+            previous = minute;
+            for (int slot = 0; slot < n; slot++) {
+                int ago = nextAgo[slot];
+                if (ago < 0) continue;
+                CandleSeries h = history.get(slot);
+                if (h.epochMinute(ago) != minute) continue;
+                nextAgo[slot]--;
+                bars.addEvent(slot, minute, h.open(ago), h.high(ago), h.low(ago), h.close(ago), h.volume(ago));
+            }
+        }
+        return bars;
+    }
+
+    private static int openingBarAgo(CandleSeries series, long openingMinute) {
+        if (series == null) return -1;
+        for (int ago = 0; ago < series.size(); ago++) {
+            if (series.epochMinute(ago) == openingMinute) return ago;
+        }
+        return -1;
+    }
+
+    // ---------------------- REPLAY ONE DAY ----------------------
+    DayResult replay(DayBars bars, MarketBias bias, Request request, StrategySet strategySet, BacktestParams params) {
+        int n = bars.symbols.size();
+        if (n == 0) {
+            return DayResult.skipped(bars.day, bias);
+        }
+
+        boolean longBias = bias == MarketBias.POSITIVE;
+        StrategyContext ctx = new StrategyContext(bars.symbols, longBias, INTRADAY_BAR_CAPACITY,
+                () -> new Indicators(emaPeriod, atrPeriod, rsiPeriod, volumePeriod));
+        SimulatedBroker broker = new SimulatedBroker(bars.symbols, request.capital, request.slippageBps, params);
+        for (int slot = 0; slot < n; slot++) {
+            ctx.setOpeningRange(slot, bars.orMinute[slot], bars.orHigh[slot], bars.orLow[slot], bars.orClose[slot], bars.orVolume[slot]);
+        }
+        Watchlist watchlist = new Watchlist(ctx);
+
+        // A fresh risk book per day, as the live bot starts each session; the trade cap is a sweepable parameter
+        int maxTrades = params.maxTrades();
+        RiskManager risk = new RiskManager(maxTrades, maxOpenPositions, maxSymbolExposure, maxDailyLoss);
+        double[] admittedNotional = new double[n];
+        int closedTrades = 0;
+        int refused = 0;
+        if (maxTrades <= 0) stopWatching(watchlist, n); // 0 here means no trades, not "no limit"
+        for (int i = 0; i < bars.events; i++) {
+            int slot = bars.slot[i];
+            long minute = bars.minute[i];
+            double open = bars.open[i], high = bars.high[i], low = bars.low[i], close = bars.close[i];
+            Signal signal = strategySet.decide(ctx, watchlist, slot, minute, open, high, low, close, bars.volume[i]);
+            broker.onBar(slot, minute, open, high, low, close);
+            List<SimulatedBroker.Trade> trades = broker.getTrades();
+            for (; closedTrades < trades.size(); closedTrades++) {
+                SimulatedBroker.Trade t = trades.get(closedTrades);
+                int closedSlot = ctx.slotOf(t.getSymbol());
+                risk.onClosed(t.getSymbol(), admittedNotional[closedSlot], t.getPnl());
+                if (risk.isHalted()) stopWatching(watchlist, n); // daily loss reached
+            }
+            if (signal != Signal.ENTRY) continue;
+
+            // Admission as in StrategyEngine.evaluateCandle: a refused symbol stays watched
+            String symbol = bars.symbols.get(slot);
+            BracketPlan estimate = params.plan(longBias, request.capital, close);
+            double notional = estimate.getQuantity() * estimate.getPrice();
+            if (risk.tryAdmit(symbol, notional) != RiskManager.Admission.ADMITTED) {
+                refused++;
+                continue;
+            }
+            if (broker.submitEntry(slot, longBias, close, strategySet.entryStrategyName(slot, ctx))) {
+                admittedNotional[slot] = notional;
+            } else {
+                risk.release(symbol, notional); // unsized, as the order pipeline releases it
+            }
+            watchlist.remove(slot);
+            if (risk.isHalted()) stopWatching(watchlist, n);
+        }
+        broker.endOfDay();
+        return new DayResult(bars.day, bias, n, bars.events, refused, broker.getTrades(), broker.getFills());
+    }
+
+    /** Trade cap or daily loss reached: bars are still folded in, but nothing is evaluated (the live risk halt). */
+    private static void stopWatching(Watchlist watchlist, int slots) {
+        for (int slot = 0; slot < slots; slot++) watchlist.remove(slot);
+    }
+
+    // ---------------------- HISTORY ----------------------
+    /** Loaded days, immutable once built and safe to replay from many threads at once. */
+    public static final class History {
+        private final List<DayBars> days;
+        private final long loadNanos;
+
+        History(List<DayBars> days, long loadNanos) {
+            this.days = Collections.unmodifiableList(days);
+            this.loadNanos = loadNanos;
+        }
+
+        public int getDays() { return days.size(); }
+        public long getLoadMillis() { return TimeUnit.NANOSECONDS.toMillis(loadNanos); }
+
+        public long getBars() {
+            long bars = 0;
+            for (DayBars d : days) bars += d.events;
+            return bars;
+        }
+    }
+
+    /**
+     * One day's opening ranges plus every tradable bar of every symbol, flattened into primitive
+     * columns in replay order (by time, then slot).
+     */
+    static final class DayBars {
+        final LocalDate day;
+        final double niftyChange; // NaN when none was recorded
+        final List<String> symbols;
+        final long[] orMinute;
+        final double[] orHigh, orLow, orClose, orVolume;
+        int events;
+        int[] slot;
+        long[] minute;
+        double[] open, high, low, close, volume;
+
+        DayBars(LocalDate day, double niftyChange, List<String> symbols) {
+            int n = symbols.size();
+            this.day = day;
+            this.niftyChange = niftyChange;
+            this.symbols = Collections.unmodifiableList(new ArrayList<>(symbols));
+            this.orMinute = new long[n];
+            this.orHigh = new double[n];
+            this.orLow = new double[n];
+            this.orClose = new double[n];
+            this.orVolume = new double[n];
+        }
+
+        void setOpeningRange(int s, long epochMinute, double high, double low, double close, double volume) {
+            orMinute[s] = epochMinute;
+            orHigh[s] = high;
+            orLow[s] = low;
+            orClose[s] = close;
+            orVolume[s] = volume;
+        }
+
+        void allocateEvents(int count) {
+            slot = new int[count];
+            minute = new long[count];
+            open = new double[count];
+            high = new double[count];
+            low = new double[count];
+            close = new double[count];
+            volume = new double[count];
+        }
+
+        void addEvent(int s, long epochMinute, double o, double h, double l, double c, double v) {
+            int i = events++;
+            slot[i] = s;
+            minute[i] = epochMinute;
+            open[i] = o;
+            high[i] = h;
+            low[i] = l;
+            close[i] = c;
+            volume[i] = v;
+        }
+    }
+
+    // ---------------------- REQUEST ----------------------
+    public static final class Request {
+        private final List<LocalDate> days;
+        private final List<String> symbols;
+        private BiasMode biasMode = BiasMode.RECORDED;
+        private double capital = 100_000;
+        private double slippageBps = 2;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        public Request(List<LocalDate> days, List<String> symbols) {
+            this.days = new ArrayList<>(days);
+            this.symbols = new ArrayList<>(symbols);
+        }
+
+        public Request biasMode(BiasMode biasMode) { this.biasMode = biasMode; return this; }
+        /** Balance each entry is sized from (as the live bot sizes from the account balance). */
+        public Request capital(double capital) { this.capital = capital; return this; }
+        /** Cost applied against each fill, in basis points. */
+        public Request slippageBps(double slippageBps) { this.slippageBps = slippageBps; return this; }
+        public Request parallelism(int parallelism) { this.parallelism = Math.max(1, parallelism); return this; }
+
+        public List<LocalDate> getDays() { return days; }
+        public List<String> getSymbols() { return symbols; }
+    }
+
+    // ---------------------- DAY RESULT ----------------------
+    public static final class DayResult {
+        private final LocalDate day;
+        private final MarketBias bias;
+        private final int symbols;
+        private final int bars;
+        private final int refused;
+        private final List<SimulatedBroker.Trade> trades;
+        private final List<SimulatedBroker.Fill> fills;
+
+        DayResult(LocalDate day, MarketBias bias, int symbols, int bars, int refused,
+                  List<SimulatedBroker.Trade> trades, List<SimulatedBroker.Fill> fills) {
+            this.day = day;
+            this.bias = bias;
+            this.symbols = symbols;
+            this.bars = bars;
+            this.refused = refused;
+            this.trades = trades;
+            this.fills = fills;
+        }
+
+        static DayResult skipped(LocalDate day, MarketBias bias) {
+            return new DayResult(day, bias, 0, 0, 0, Collections.emptyList(), Collections.emptyList());
+        }
+
+        public LocalDate getDay() { return day; }
+        public MarketBias getBias() { return bias; }
+        public int getSymbols() { return symbols; }
+        public int getBars() { return bars; }
+        /** Entry signals the day's risk limits refused (open positions, exposure, daily loss, trade cap). */
+        public int getRefused() { return refused; }
+        public List<SimulatedBroker.Trade> getTrades() { return trades; }
+        public List<SimulatedBroker.Fill> getFills() { return fills; }
+
+        public double getPnl() {
+            double pnl = 0;
+            for (SimulatedBroker.Trade t : trades) pnl += t.getPnl();
+            return pnl;
+        }
+    }
+
+    // ---------------------- RESULT ----------------------
+    public static final class Result {
+        private final List<DayResult> days;
+        private final long elapsedNanos;
+
+        Result(List<DayResult> days, long elapsedNanos) {
+            this.days = Collections.unmodifiableList(days);
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public List<DayResult> getDays() { return days; }
+        public long getElapsedMillis() { return TimeUnit.NANOSECONDS.toMillis(elapsedNanos); }
+
+        public List<SimulatedBroker.Trade> getTrades() {
+            List<SimulatedBroker.Trade> all = new ArrayList<>();
+            for (DayResult d : days) all.addAll(d.trades);
+            return all;
+        }
+
+        public List<SimulatedBroker.Fill> getFills() {
+            List<SimulatedBroker.Fill> all = new ArrayList<>();
+            for (DayResult d : days) all.addAll(d.fills);
+            return all;
+        }
+
+        public double getPnl() {
+            double pnl = 0;
+            for (DayResult d : days) pnl += d.getPnl();
+            return pnl;
+        }
+
+        public int getTradeCount() {
+            int count = 0;
+            for (DayResult d : days) count += d.trades.size();
+            return count;
+        }
+
+        public int getRefused() {
+            int count = 0;
+            for (DayResult d : days) count += d.refused;
+            return count;
+        }
+
+        public double getWinRate() {
+            int wins = 0, total = 0;
+            for (DayResult d : days) {
+                for (SimulatedBroker.Trade t : d.trades) {
+                    total++;
+                    if (t.getPnl() > 0) wins++;
+                }
+            }
+            return total == 0 ? 0 : (double) wins / total;
+        }
+
+        /** Gross profit over gross loss (infinite with no losing trade). */
+        public double getProfitFactor() {
+            double profit = 0, loss = 0;
+            for (DayResult d : days) {
+                for (SimulatedBroker.Trade t : d.trades) {
+                    if (t.getPnl() > 0) profit += t.getPnl();
+                    else loss -= t.getPnl();
+                }
+            }
+            return loss == 0 ? (profit > 0 ? Double.POSITIVE_INFINITY : 0) : profit / loss;
+        }
+
+        /** Annualised Sharpe ratio of daily P&L (every replayed day counts, traded or not). */
+        public double getSharpe() {
+            int n = days.size();
+            if (n < 2) return 0;
+            double sum = 0, sumSq = 0;
+            for (DayResult d : days) {
+                double pnl = d.getPnl();
+                sum += pnl;
+                sumSq += pnl * pnl;
+            }
+            double mean = sum / n;
+            double variance = (sumSq - n * mean * mean) / (n - 1);
+            return variance <= 0 ? 0 : mean / Math.sqrt(variance) * Math.sqrt(252);
+        }
+
+        /** Largest peak-to-trough fall of the cumulative daily P&L. */
+        public double getMaxDrawdown() {
+            double equity = 0, peak = 0, drawdown = 0;
+            for (DayResult d : days) {
+                equity += d.getPnl();
+                peak = Math.max(peak, equity);
+                drawdown = Math.max(drawdown, peak - equity);
+            }
+            return drawdown;
+        }
+
+        public long getBars() {
+            long bars = 0;
+            for (DayResult d : days) bars += d.bars;
+            return bars;
+        }
+
+        public Map<LocalDate, Double> getDailyPnl() {
+            Map<LocalDate, Double> pnl = new TreeMap<>();
+            for (DayResult d : days) pnl.put(d.day, d.getPnl());
+            return pnl;
+        }
+
+        /** Write trades.csv and fills.csv into {@code dir}. */
+        public void writeCsv(Path dir) throws IOException {
+            Files.createDirectories(dir);
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(dir.resolve("trades.csv")))) {
+                out.println("entryTime,symbol,strategy,side,qty,entryPrice,exitTime,exitPrice,exitReason,pnl");
+                for (SimulatedBroker.Trade t : getTrades()) out.println(t.toCsv());
+            }
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(dir.resolve("fills.csv")))) {
+                out.println("time,symbol,side,qty,price,reason");
+                for (SimulatedBroker.Fill f : getFills()) out.println(f.toCsv());
+            }
+        }
+
+        public String summary() {
+            int traded = 0;
+            for (DayResult d : days) if (d.symbols > 0) traded++;
+            return String.format("[BACKTEST] %d days (%d traded) | %,d bars | %d trades (%d refused by risk) | win rate %.1f%% | P&L %.2f | max drawdown %.2f | %d ms",
+                    days.size(), traded, getBars(), getTradeCount(), getRefused(), getWinRate() * 100, getPnl(), getMaxDrawdown(),
+                    getElapsedMillis());
+        }
+
+        @Override
+        public String toString() {
+            return summary();
+        }
+    }
+
+    public void print(Result result) {
+        System.out.println(CYAN + "\n===================== [BACKTEST] RESULT =====================" + RESET);
+        for (DayResult d : result.getDays()) {
+            if (d.getSymbols() == 0) continue;
+            System.out.println(CYAN + String.format("%s  %-8s  %4d symbols  %3d trades  %3d refused  P&L %10.2f",
+                    d.getDay(), d.getBias(), d.getSymbols(), d.getTrades().size(), d.getRefused(), d.getPnl()) + RESET);
+        }
+        System.out.println(GREEN + result.summary() + RESET);
+        System.out.println(CYAN + "=============================================================\n" + RESET);
+    }
+}
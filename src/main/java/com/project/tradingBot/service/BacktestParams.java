@@ -0,0 +1,94 @@
+package com.project.tradingBot.service;
+
+import java.util.Arrays;
+
+/**
+ * The tunable numbers of the strategy, as one immutable point in parameter space. Defaults are
+ * the live values.
+ */
+public final class BacktestParams {
+
+    public enum Name {
+        NIFTY_THRESHOLD_PERCENT("niftyThresholdPercent", MarketBias.DEFAULT_THRESHOLD_PERCENT),
+        ORB_MAX_RANGE_PERCENT("orbMaxRangePercent", 0.5),
+        STOP_PERCENT("stopPercent", BracketPlan.DEFAULT_STOP_PERCENT),
+        TARGET_PERCENT("targetPercent", BracketPlan.DEFAULT_TARGET_PERCENT),
+        LEVERAGE("leverage", BracketPlan.DEFAULT_LEVERAGE),
+        CAPITAL_FRACTION("capitalFraction", BracketPlan.DEFAULT_CAPITAL_FRACTION),
+        MAX_TRADES("maxTrades", RiskManager.DEFAULT_MAX_TRADES);
+
+        private final String key;
+        private final double defaultValue;
+
+        Name(String key, double defaultValue) {
+            this.key = key;
+            this.defaultValue = defaultValue;
+        }
+
+        /** Property-style name, e.g. {@code stopPercent}. */
+        public String key() { return key; }
+
+        public boolean isInteger() { return this == MAX_TRADES; }
+
+        public static Name fromKey(String key) {
+            for (Name name : values()) {
+                if (name.key.equalsIgnoreCase(key)) return name;
+            }
+            throw new IllegalArgumentException("Unknown parameter '" + key + "'");
+        }
+    }
+
+    public static final BacktestParams DEFAULTS;
+    static {
+        double[] values = new double[Name.values().length];
+        for (Name name : Name.values()) values[name.ordinal()] = name.defaultValue;
+        DEFAULTS = new BacktestParams(values);
+    }
+
+    private final double[] values;
+
+    private BacktestParams(double[] values) {
+        this.values = values;
+    }
+
+    public BacktestParams with(Name name, double value) {
+        double[] copy = values.clone();
+        copy[name.ordinal()] = name.isInteger() ? Math.round(value) : value;
+        return new BacktestParams(copy);
+    }
+
+    public double get(Name name) { return values[name.ordinal()]; }
+
+    public double niftyThresholdPercent() { return get(Name.NIFTY_THRESHOLD_PERCENT); }
+    public double orbMaxRangePercent() { return get(Name.ORB_MAX_RANGE_PERCENT); }
+    public double stopPercent() { return get(Name.STOP_PERCENT); }
+    public double targetPercent() { return get(Name.TARGET_PERCENT); }
+    public double leverage() { return get(Name.LEVERAGE); }
+    public double capitalFraction() { return get(Name.CAPITAL_FRACTION); }
+    public int maxTrades() { return (int) get(Name.MAX_TRADES); }
+
+    public BracketPlan plan(boolean buy, double balance, double price) {
+        return BracketPlan.of(buy, balance, price, capitalFraction(), leverage(), stopPercent(), targetPercent());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof BacktestParams && Arrays.equals(values, ((BacktestParams) o).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Name name : Name.values()) {
+            if (sb.length() > 0) sb.append(' ');
+            double v = values[name.ordinal()];
+            sb.append(name.key).append('=').append(name.isInteger() ? Long.toString((long) v) : String.format("%.4g", v));
+        }
+        return sb.toString();
+    }
+}
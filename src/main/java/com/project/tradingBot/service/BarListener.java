@@ -0,0 +1,18 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.models.Candle;
+
+/**
+ * Called by {@link CandleAggregator} each time a bar is closed.
+ */
+@FunctionalInterface
+public interface BarListener {
+
+    /**
+     * @param symbol        trading symbol
+     * @param bar           the completed bar
+     * @param closedAtNanos {@link System#nanoTime()} at the moment the bar was closed,
+     *                      used to measure close-to-decision latency
+     */
+    void onBarClose(String symbol, Candle bar, long closedAtNanos);
+}
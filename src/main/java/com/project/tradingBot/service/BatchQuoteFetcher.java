@@ -0,0 +1,214 @@
+package com.project.tradingBot.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.project.tradingBot.models.Quote;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Quotes for many symbols from SmartAPI's market-quote endpoint, which answers up to
+ * {@value #MAX_TOKENS_PER_REQUEST} tokens per request.
+ *
+ * The symbols' tokens are resolved through the {@link SymbolDictionary} and split into the
+ * largest allowed batches. Every batch takes a permit from the quote {@link TokenBucketRateLimiter}
+ * without blocking a thread and is sent asynchronously on the shared {@link BrokerHttpTransport},
+ * so the batches of one call are in flight together over warm connections. A failed batch only loses its own symbols; the call fails only if every batch does.
+ */
+public class BatchQuoteFetcher {
+
+    public static final int MAX_TOKENS_PER_REQUEST = 50;
+    static final String QUOTE_PATH = "/rest/secure/angelbroking/market/v1/quote/";
+
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+    private static final DateTimeFormatter FEED_TIME = DateTimeFormatter.ofPattern("dd-MMM-yyyy HH:mm:ss", Locale.ENGLISH);
+
+    private final URI quoteUri;
+    private final String apiKey;
+    private final Supplier<String> accessToken;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final BrokerHttpTransport transport;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final LongAdder requests = new LongAdder();
+
+    /**
+     * @param baseUrl     e.g. https://apiconnect.angelone.in (a local stub in tests)
+     * @param accessToken current session JWT, read for every request so a re-login is picked up
+     */
+    public BatchQuoteFetcher(String baseUrl, String apiKey, Supplier<String> accessToken,
+                             TokenBucketRateLimiter rateLimiter, BrokerHttpTransport transport) {
+        this.quoteUri = URI.create(baseUrl + QUOTE_PATH);
+        this.apiKey = apiKey;
+        this.accessToken = accessToken;
+        this.rateLimiter = rateLimiter;
+        this.transport = transport;
+    }
+
+    /**
+     * Fetch quotes for the given trading symbols ("INFY"). Symbols without a token, or that the
+     * broker did not return, are listed in {@link Result#getMissing()}.
+     * @throws IOException if every batch failed (e.g. the session expired)
+     */
+    public Result fetch(Collection<String> symbols) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        SymbolDictionary master = PopulateScanResultService.getSymbolDictionary();
+        Map<String, String> symbolByToken = new HashMap<>();
+        List<String> tokens = new ArrayList<>(symbols.size());
+        List<String> missing = new ArrayList<>();
+        for (String symbol : symbols) {
+            String token = master.tokenString(symbol);
+            if (token == null) {
+                missing.add(symbol);
+            } else if (symbolByToken.putIfAbsent(token, symbol) == null) {
+                tokens.add(token);
+            }
+        }
+
+        List<CompletableFuture<List<Quote>>> batches = new ArrayList<>();
+        for (int from = 0; from < tokens.size(); from += MAX_TOKENS_PER_REQUEST) {
+            batches.add(fetchBatch(tokens.subList(from, Math.min(tokens.size(), from + MAX_TOKENS_PER_REQUEST)), symbolByToken));
+        }
+        try {
+            CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).get();
+        } catch (ExecutionException e) {
+            // individual failures are collected below
+        }
+
+        Map<String, Quote> quotes = new HashMap<>(tokens.size() * 2);
+        int failed = 0;
+        IOException firstError = null;
+        for (int b = 0; b < batches.size(); b++) {
+            CompletableFuture<List<Quote>> batch = batches.get(b);
+            if (batch.isCompletedExceptionally()) {
+                failed++;
+                if (firstError == null) firstError = cause(batch);
+                continue;
+            }
+            for (Quote q : batch.join()) quotes.put(q.getSymbol(), q);
+        }
+        if (failed > 0 && failed == batches.size()) throw firstError;
+        for (String token : tokens) {
+            String symbol = symbolByToken.get(token);
+            if (!quotes.containsKey(symbol)) missing.add(symbol);
+        }
+        return new Result(quotes, missing, batches.size(), failed, System.nanoTime() - start);
+    }
+
+    private CompletableFuture<List<Quote>> fetchBatch(List<String> tokens, Map<String, String> symbolByToken) {
+        ObjectNode body = mapper.createObjectNode().put("mode", "FULL");
+        ArrayNode nse = body.putObject("exchangeTokens").putArray("NSE");
+        tokens.forEach(nse::add);
+        String json = body.toString();
+
+        return rateLimiter.acquireAsync().thenCompose(waited -> {
+            requests.increment();
+            return transport.sendAsync("quote", SmartApiRequests.post(quoteUri, apiKey, accessToken.get(), json))
+                    .thenApply(response -> {
+                        try {
+                            return parse(response.getStatus(), response.getBody(), symbolByToken);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        });
+    }
+
+    List<Quote> parse(int status, String body, Map<String, String> symbolByToken) throws IOException {
+        if (status == 401 || status == 403) {
+            throw new IOException("Quote request unauthorized (HTTP " + status + "): session token expired?");
+        }
+        if (status >= 400) {
+            throw new IOException("Quote request returned HTTP " + status);
+        }
+        JsonNode root = mapper.readTree(body);
+        if (!root.path("status").asBoolean(false)) {
+            throw new IOException("Quote request rejected: " + root.path("message").asText()
+                    + " (" + root.path("errorcode").asText() + ")");
+        }
+        JsonNode fetched = root.path("data").path("fetched");
+        List<Quote> quotes = new ArrayList<>(fetched.size());
+        for (JsonNode q : fetched) {
+            String token = q.path("symbolToken").asText();
+            String symbol = symbolByToken.get(token);
+            if (symbol == null) continue; // not something we asked for
+            quotes.add(new Quote(symbol, token, q.path("ltp").asDouble(), q.path("open").asDouble(),
+                    q.path("high").asDouble(), q.path("low").asDouble(), q.path("close").asDouble(),
+                    q.path("tradeVolume").asLong(), feedTime(q.path("exchFeedTime").asText())));
+        }
+        return quotes;
+    }
+
+    private static long feedTime(String text) {
+        if (text.isEmpty()) return 0;
+        try {
+            return LocalDateTime.parse(text, FEED_TIME).atZone(IST).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+
+    private static IOException cause(CompletableFuture<?> failed) {
+        try {
+            failed.join();
+            return new IOException("batch failed");
+        } catch (RuntimeException e) {
+            return BrokerHttpTransport.unwrap(e);
+        }
+    }
+
+    public LatencyRecorder getBatchLatency() { return transport.latency("quote"); }
+    public long getRequests() { return requests.sum(); }
+
+    public String summary() {
+        return String.format("[QUOTES] requests=%d | %s | %s", getRequests(), getBatchLatency().summary(), rateLimiter.summary());
+    }
+
+    // ---------------------- RESULT ----------------------
+    public static final class Result {
+        private final Map<String, Quote> quotes;
+        private final List<String> missing;
+        private final int requests;
+        private final int failedRequests;
+        private final long nanos;
+
+        Result(Map<String, Quote> quotes, List<String> missing, int requests, int failedRequests, long nanos) {
+            this.quotes = Collections.unmodifiableMap(quotes);
+            this.missing = Collections.unmodifiableList(missing);
+            this.requests = requests;
+            this.failedRequests = failedRequests;
+            this.nanos = nanos;
+        }
+
+        /** Quotes by trading symbol. */
+        public Map<String, Quote> getQuotes() { return quotes; }
+        public List<String> getMissing() { return missing; }
+        public int getRequests() { return requests; }
+        public int getFailedRequests() { return failedRequests; }
+        public double getMillis() { return nanos / 1e6; }
+
+        @Override
+        public String toString() {
+            return String.format("%d quotes in %d requests (%d failed, %d symbols missing) | %.1f ms",
+                    quotes.size(), requests, failedRequests, missing.size(), getMillis());
+        }
+    }
+}
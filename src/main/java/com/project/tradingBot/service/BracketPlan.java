@@ -0,0 +1,55 @@
+package com.project.tradingBot.service;
+
+/**
+ * Position size and bracket levels for one entry: by default half the balance at 5x leverage,
+ * stop 0.5% and target 0.75% from the entry price, on the side of the day's bias.
+ */
+public final class BracketPlan {
+
+    public static final double DEFAULT_CAPITAL_FRACTION = 0.5;
+    public static final double DEFAULT_LEVERAGE = 5.0;
+    public static final double DEFAULT_STOP_PERCENT = 0.5;
+    public static final double DEFAULT_TARGET_PERCENT = 0.75;
+    private static final double MIN_EFFECTIVE_CAPITAL = 1000;
+
+    private final boolean buy;
+    private final int quantity;
+    private final double price;
+    private final double stop;
+    private final double target;
+    private final double effectiveCapital;
+    private final double leverage;
+
+    private BracketPlan(boolean buy, double balance, double price, double capitalFraction, double leverage,
+                        double stopPercent, double targetPercent) {
+        this.buy = buy;
+        this.price = price;
+        this.leverage = leverage;
+        this.effectiveCapital = balance * capitalFraction * leverage;
+        this.quantity = (int) (effectiveCapital / price);
+        this.stop = buy ? price * (1 - stopPercent / 100) : price * (1 + stopPercent / 100);
+        this.target = buy ? price * (1 + targetPercent / 100) : price * (1 - targetPercent / 100);
+    }
+
+    public static BracketPlan of(boolean buy, double balance, double price) {
+        return of(buy, balance, price, DEFAULT_CAPITAL_FRACTION, DEFAULT_LEVERAGE, DEFAULT_STOP_PERCENT, DEFAULT_TARGET_PERCENT);
+    }
+
+    public static BracketPlan of(boolean buy, double balance, double price, double capitalFraction, double leverage,
+                                 double stopPercent, double targetPercent) {
+        return new BracketPlan(buy, balance, price, capitalFraction, leverage, stopPercent, targetPercent);
+    }
+
+    /** False when the balance is too small for even one share (or below the minimum capital). */
+    public boolean isValid() {
+        return quantity > 0 && effectiveCapital >= MIN_EFFECTIVE_CAPITAL;
+    }
+
+    public boolean isBuy() { return buy; }
+    public int getQuantity() { return quantity; }
+    public double getPrice() { return price; }
+    public double getStop() { return stop; }
+    public double getTarget() { return target; }
+    public double getEffectiveCapital() { return effectiveCapital; }
+    public double getLeverage() { return leverage; }
+}
@@ -0,0 +1,234 @@
+package com.project.tradingBot.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The one HTTP client every direct broker call goes through (candles, quotes, the scrip master
+ * download, the SmartStream WebSocket), so connections stay warm between polls instead of paying
+ * a TLS handshake per call.
+ *
+ * The JDK client pools keep-alive connections per host and negotiates HTTP/2 over ALPN where the
+ * server supports it (one multiplexed connection), falling back to HTTP/1.1. On top of that:
+ * <ul>
+ *   <li>at most {@code maxPerRoute} requests in flight per host; the rest queue without holding a
+ *       thread, so the pool never grows past that many HTTP/1.1 connections,</li>
+ *   <li>a connect timeout on the client and a response timeout on every request,</li>
+ *   <li>{@code Accept-Encoding: gzip} with transparent decompression,</li>
+ *   <li>a {@link LatencyRecorder} per endpoint name (p50/p99 in {@link #summary()}).</li>
+ * </ul>
+ * Idle connections are evicted by the JDK after {@code jdk.httpclient.keepalive.timeout} seconds.
+ * The JDK reads that property once, so it is set from broker.http.idleTimeoutSeconds before the
+ * Spring context starts (see {@link com.project.tradingBot.Config.BrokerHttpConfig.JdkHttpProperties}).
+ */
+public class BrokerHttpTransport {
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final int maxPerRoute;
+    private final Map<String, RouteGate> routes = new ConcurrentHashMap<>();
+    private final Map<String, LatencyRecorder> latencies = new ConcurrentHashMap<>();
+
+    public BrokerHttpTransport(Duration connectTimeout, Duration requestTimeout, int maxPerRoute, boolean http2) {
+        this.requestTimeout = requestTimeout;
+        this.maxPerRoute = maxPerRoute;
+        this.client = HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * Send asynchronously once a slot for the request's host is free.
+     * @param endpoint short name the latency is recorded under (e.g. "candleData")
+     */
+    public CompletableFuture<Response> sendAsync(String endpoint, HttpRequest.Builder request) {
+        HttpRequest built = request
+                .timeout(requestTimeout)
+                .header("Accept-Encoding", "gzip")
+                .build();
+        URI uri = built.uri();
+        RouteGate gate = routes.computeIfAbsent(uri.getHost() + ":" + uri.getPort(), r -> new RouteGate(maxPerRoute));
+        LatencyRecorder latency = latency(endpoint);
+        return gate.submit(() -> {
+            long start = System.nanoTime();
+            return client.sendAsync(built, HttpResponse.BodyHandlers.ofByteArray())
+                    .thenApply(response -> {
+                        latency.recordSince(start);
+                        return new Response(response.statusCode(), decode(response));
+                    });
+        });
+    }
+
+    /** Blocking form of {@link #sendAsync}; failures surface as {@link IOException}. */
+    public Response send(String endpoint, HttpRequest.Builder request) throws IOException, InterruptedException {
+        try {
+            return sendAsync(endpoint, request).get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    /**
+     * Send and return the body as a stream (decompressed if gzipped), for downloads too large to
+     * hold in memory. The route slot is held until the response headers arrive.
+     * @param timeout time allowed until the response headers, instead of the transport default
+     */
+    public StreamResponse sendStreaming(String endpoint, HttpRequest.Builder request, Duration timeout)
+            throws IOException, InterruptedException {
+        HttpRequest built = request
+                .timeout(timeout)
+                .header("Accept-Encoding", "gzip")
+                .build();
+        URI uri = built.uri();
+        RouteGate gate = routes.computeIfAbsent(uri.getHost() + ":" + uri.getPort(), r -> new RouteGate(maxPerRoute));
+        LatencyRecorder latency = latency(endpoint);
+        try {
+            return gate.submit(() -> {
+                long start = System.nanoTime();
+                return client.sendAsync(built, HttpResponse.BodyHandlers.ofInputStream())
+                        .thenApply(response -> {
+                            latency.recordSince(start);
+                            return new StreamResponse(response);
+                        });
+            }).get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    public WebSocket.Builder newWebSocketBuilder() {
+        return client.newWebSocketBuilder();
+    }
+
+    public LatencyRecorder latency(String endpoint) {
+        return latencies.computeIfAbsent(endpoint, LatencyRecorder::new);
+    }
+
+    public String summary() {
+        StringBuilder sb = new StringBuilder("[HTTP] broker transport");
+        latencies.values().forEach(l -> sb.append("\n  ").append(l.summary()));
+        return sb.toString();
+    }
+
+    private static String decode(HttpResponse<byte[]> response) {
+        byte[] body = response.body();
+        boolean gzip = response.headers().firstValue("Content-Encoding").map("gzip"::equalsIgnoreCase).orElse(false);
+        if (!gzip || body.length == 0) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static IOException unwrap(Throwable t) {
+        while ((t instanceof CompletionException || t instanceof ExecutionException) && t.getCause() != null) {
+            t = t.getCause();
+        }
+        if (t instanceof UncheckedIOException) return ((UncheckedIOException) t).getCause();
+        if (t instanceof IOException) return (IOException) t;
+        return new IOException(t.getMessage(), t);
+    }
+
+    // ---------------------- RESPONSE ----------------------
+    public static final class Response {
+        private final int status;
+        private final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        public int getStatus() { return status; }
+        public String getBody() { return body; }
+    }
+
+    public static final class StreamResponse {
+        private final HttpResponse<InputStream> response;
+
+        StreamResponse(HttpResponse<InputStream> response) {
+            this.response = response;
+        }
+
+        public int getStatus() { return response.statusCode(); }
+        public Optional<String> header(String name) { return response.headers().firstValue(name); }
+
+        /** The body, decompressed if it was gzipped; the caller closes it. */
+        public InputStream getBody() throws IOException {
+            boolean gzip = header("Content-Encoding").map("gzip"::equalsIgnoreCase).orElse(false);
+            return gzip ? new GZIPInputStream(response.body(), 1 << 16) : response.body();
+        }
+    }
+
+    // ---------------------- PER-ROUTE LIMIT ----------------------
+    /** Caps in-flight requests to one host; waiting requests are queued callbacks, not blocked threads. */
+    private static final class RouteGate {
+        private final int max;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+        RouteGate(int max) {
+            this.max = max;
+        }
+
+        <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            waiting.add(() -> start(call).whenComplete((value, error) -> {
+                inFlight.decrementAndGet();
+                drain();
+                if (error != null) result.completeExceptionally(error);
+                else result.complete(value);
+            }));
+            drain();
+            return result;
+        }
+
+        private static <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> call) {
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        private void drain() {
+            for (;;) {
+                int n = inFlight.get();
+                if (n >= max || waiting.isEmpty()) return;
+                if (!inFlight.compareAndSet(n, n + 1)) continue;
+                Runnable next = waiting.poll();
+                if (next == null) {
+                    inFlight.decrementAndGet();
+                    if (waiting.isEmpty()) return;
+                    continue;
+                }
+                next.run();
+            }
+        }
+    }
+}
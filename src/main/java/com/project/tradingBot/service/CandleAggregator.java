@@ -0,0 +1,139 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.models.Candle;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Builds fixed-length bars (e.g. FIVE_MINUTE) in memory from a tick stream.
+ *
+ * Bars are aligned on epoch time. IST is UTC+05:30, which is a whole number of
+ * 5/15-minute buckets, so the buckets line up with the exchange's 09:15, 09:20 ... bars.
+ * A bar closes either when the first tick of the next bucket arrives or when
+ * {@link #closeBarsUpTo(long)} is called by the bar clock at the bucket boundary.
+ */
+public class CandleAggregator implements TickListener {
+
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+    private static final DateTimeFormatter FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX").withZone(IST);
+
+    private final long barMillis;
+    private final long startMillis;
+    private final BarListener listener;
+    private final Map<String, BarBuilder> bars = new ConcurrentHashMap<>();
+    private final LongAdder lateTicks = new LongAdder();
+
+    /**
+     * @param barMinutes  bar length in minutes
+     * @param startMillis bars starting before this instant are partial (the feed joined
+     *                    mid-bar) and are dropped instead of emitted
+     * @param listener    receives each completed bar
+     */
+    public CandleAggregator(int barMinutes, long startMillis, BarListener listener) {
+        this.barMillis = barMinutes * 60_000L;
+        this.startMillis = startMillis;
+        this.listener = listener;
+    }
+
+    @Override
+    public void onTick(String symbol, long epochMillis, double price, long volume) {
+        BarBuilder bar = bars.computeIfAbsent(symbol, s -> new BarBuilder());
+        long bucket = epochMillis - Math.floorMod(epochMillis, barMillis);
+        Candle closed = null;
+        long closedBucket = 0;
+
+        synchronized (bar) {
+            if (bucket <= bar.lastClosedBucket) {
+                lateTicks.increment(); // bar already closed by the clock
+                return;
+            }
+            if (bar.open && bucket > bar.bucketStart) {
+                closedBucket = bar.bucketStart;
+                closed = bar.close();
+            }
+            bar.update(bucket, price, volume);
+        }
+
+        if (closed != null) emit(symbol, closedBucket, closed);
+    }
+
+    /**
+     * Close every open bar that ends at or before the given instant.
+     * @return number of bars closed
+     */
+    public int closeBarsUpTo(long boundaryMillis) {
+        int closedCount = 0;
+        for (Map.Entry<String, BarBuilder> entry : bars.entrySet()) {
+            BarBuilder bar = entry.getValue();
+            Candle closed = null;
+            long closedBucket = 0;
+            synchronized (bar) {
+                if (bar.open && bar.bucketStart + barMillis <= boundaryMillis) {
+                    closedBucket = bar.bucketStart;
+                    closed = bar.close();
+                }
+            }
+            if (closed != null) {
+                closedCount++;
+                emit(entry.getKey(), closedBucket, closed);
+            }
+        }
+        return closedCount;
+    }
+
+    public long getBarMillis() {
+        return barMillis;
+    }
+
+    public long getLateTicks() {
+        return lateTicks.sum();
+    }
+
+    private void emit(String symbol, long bucketStart, Candle bar) {
+        if (bucketStart < startMillis) {
+            return; // partial bar from before the subscription
+        }
+        listener.onBarClose(symbol, bar, System.nanoTime());
+    }
+
+    // ---------------------- PER-SYMBOL STATE ----------------------
+    private static final class BarBuilder {
+        boolean open;
+        long bucketStart;
+        long lastClosedBucket = Long.MIN_VALUE;
+        double o, h, l, c;
+        long v;
+
+        void update(long bucket, double price, long volume) {
+            if (!open) {
+                open = true;
+                bucketStart = bucket;
+                o = h = l = c = price;
+                v = volume;
+                return;
+            }
+            if (price > h) h = price;
+            if (price < l) l = price;
+            c = price;
+            v += volume;
+        }
+
+        Candle close() {
+            Candle candle = new Candle();
+            candle.setDatetime(FMT.format(Instant.ofEpochMilli(bucketStart)));
+            candle.setOpen(o);
+            candle.setHigh(h);
+            candle.setLow(l);
+            candle.setClose(c);
+            candle.setVolume(v);
+            lastClosedBucket = bucketStart;
+            open = false;
+            return candle;
+        }
+    }
+}
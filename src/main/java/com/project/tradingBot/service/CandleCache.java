@@ -0,0 +1,185 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.models.Candle;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-through cache in front of the historical candle endpoint, keyed by
+ * symbol/interval/from/to.
+ *
+ * A window whose end is in the past only contains closed bars, which never change, so it is
+ * kept until evicted. "Past" is judged on the exchange {@link Clock} the engine builds its
+ * windows from, so both agree on which window is still forming. A window that is still forming gets a short TTL; empty results are not cached.
+ * Concurrent misses for the same key share one API call. The cache is LRU-bounded.
+ */
+@Service
+public class CandleCache {
+
+    private static final DateTimeFormatter WINDOW_FMT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    @FunctionalInterface
+    public interface CandleLoader {
+        List<Candle> load() throws Exception;
+    }
+
+    private final int maxEntries;
+    private final long formingTtlNanos;
+    private final long closedGraceMillis;
+    private final Clock clock;
+
+    private final Map<String, Entry> entries;
+    private final Map<String, CompletableFuture<List<Candle>>> inFlight = new ConcurrentHashMap<>();
+
+    // --- Metrics ---
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public CandleCache(@Value("${smartapi.cache.maxEntries:5000}") int maxEntries,
+                       @Value("${smartapi.cache.formingTtlSeconds:10}") long formingTtlSeconds,
+                       @Value("${smartapi.cache.closedGraceSeconds:30}") long closedGraceSeconds,
+                       Clock clock) {
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+        this.formingTtlNanos = TimeUnit.SECONDS.toNanos(formingTtlSeconds);
+        this.closedGraceMillis = TimeUnit.SECONDS.toMillis(closedGraceSeconds);
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > CandleCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Return the cached candles for this window, or load them (once, even under concurrency)
+     * and cache the result.
+     */
+    public List<Candle> get(String symbol, String interval, String fromDate, String toDate, CandleLoader loader) throws Exception {
+        String key = symbol + '|' + interval + '|' + fromDate + '|' + toDate;
+
+        List<Candle> cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        CompletableFuture<List<Candle>> mine = new CompletableFuture<>();
+        CompletableFuture<List<Candle>> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        misses.increment();
+        try {
+            List<Candle> loaded = Collections.unmodifiableList(loader.load());
+            store(key, loaded, toDate);
+            mine.complete(loaded);
+            return loaded;
+        } catch (Exception e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private List<Candle> lookup(String key) {
+        synchronized (entries) {
+            Entry e = entries.get(key);
+            if (e == null) return null;
+            if (!e.closed && System.nanoTime() - e.expiresAtNanos > 0) {
+                entries.remove(key);
+                expirations.increment();
+                return null;
+            }
+            return e.candles;
+        }
+    }
+
+    private void store(String key, List<Candle> candles, String toDate) {
+        if (candles.isEmpty()) {
+            return; // nothing published yet; let the caller's retry hit the API again
+        }
+        boolean closed = isWindowClosed(toDate);
+        long expiresAt = closed ? 0 : System.nanoTime() + formingTtlNanos; // closed windows never expire
+        synchronized (entries) {
+            entries.put(key, new Entry(candles, closed, expiresAt));
+        }
+    }
+
+    private boolean isWindowClosed(String toDate) {
+        try {
+            // windows are written in the clock's zone (IST), see StrategyEngine.getAligned5MinWindow
+            long windowEnd = LocalDateTime.parse(toDate, WINDOW_FMT).atZone(clock.getZone()).toInstant().toEpochMilli();
+            return clock.millis() >= windowEnd + closedGraceMillis;
+        } catch (Exception e) {
+            return false; // unknown format: treat as forming
+        }
+    }
+
+    private static List<Candle> await(CompletableFuture<List<Candle>> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) throw (Exception) cause;
+            throw e;
+        }
+    }
+
+    // ---------------------- METRICS ----------------------
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getCoalesced() { return coalesced.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+    public long getExpirations() { return expirations.sum(); }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public String summary() {
+        long saved = getHits() + getCoalesced();
+        long total = saved + getMisses();
+        return String.format("[CACHE] candles | entries=%d | hits=%d | coalesced=%d | misses=%d | API calls saved=%d (%.0f%%) | evicted=%d | expired=%d",
+                size(), getHits(), getCoalesced(), getMisses(), saved, total == 0 ? 0.0 : saved * 100.0 / total,
+                getEvictions(), getExpirations());
+    }
+
+    // ---------------------- ENTRY ----------------------
+    private static final class Entry {
+        final List<Candle> candles;
+        final boolean closed;
+        final long expiresAtNanos;
+
+        Entry(List<Candle> candles, boolean closed, long expiresAtNanos) {
+            this.candles = candles;
+            this.closed = closed;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.models.Candle;
+import com.project.tradingBot.models.CandleSeries;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, memory-mapped candle store with one file per trading day.
+ *
+ * File layout (little-endian):
+ * <pre>
+ *   header (64 bytes): int magic "TBCS" | int version | int recordSize | int reserved | long recordCount | padding
+ *   record (56 bytes): int token | short intervalMinutes | short reserved | long epochMinute
+ *                      | double open | double high | double low | double close | double volume
+ * </pre>
+ * The record is written before the count is bumped, so a crash never exposes a half-written
+ * record. Each (token, interval, minute) is stored once per day.
+ */
+@Service
+public class CandleStore {
+
+    public static final int RECORD_SIZE = 56;
+    private static final int HEADER_SIZE = 64;
+    private static final int MAGIC = 0x54424353; // "TBCS"
+    private static final int VERSION = 1;
+    private static final int COUNT_OFFSET = 16;
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+    private static final String NIFTY_CHANGE_FILE = "nifty-change.properties";
+
+    // ---------------------- ANSI COLORS ----------------------
+    private static final String RESET = "\u001B[0m";
+    private static final String RED = "\u001B[31m";
+
+    /**
+     * Receives one stored bar. Primitive arguments so scanning a day does not allocate per record.
+     */
+    @FunctionalInterface
+    public interface RecordVisitor {
+        void accept(int token, int intervalMinutes, long epochMinute,
+                    double open, double high, double low, double close, double volume);
+    }
+
+    private final Path dir;
+    private final int maxRecordsPerDay;
+    private DayFile today;
+
+    public CandleStore(@Value("${candlestore.dir:data/candles}") String dir,
+                       @Value("${candlestore.maxRecordsPerDay:200000}") int maxRecordsPerDay) {
+        this.dir = Paths.get(dir);
+        this.maxRecordsPerDay = maxRecordsPerDay;
+    }
+
+    // ---------------------- WRITE ----------------------
+    /**
+     * Append a closed bar to the day's file.
+     * @return false if this bar was already stored today
+     */
+    public synchronized boolean append(LocalDate day, int token, int intervalMinutes, long epochMinute,
+                                       double open, double high, double low, double close, double volume) throws IOException {
+        DayFile file = writable(day);
+        long key = file.key(token, intervalMinutes, epochMinute);
+        if (!file.keys.add(key)) {
+            return false;
+        }
+        if (file.count >= maxRecordsPerDay) {
+            file.keys.remove(key);
+            throw new IOException("Candle store full for " + day + " (" + maxRecordsPerDay + " records)");
+        }
+
+        MappedByteBuffer buf = file.buffer;
+        int pos = HEADER_SIZE + file.count * RECORD_SIZE;
+        buf.putInt(pos, token);
+        buf.putShort(pos + 4, (short) intervalMinutes);
+        buf.putShort(pos + 6, (short) 0);
+        buf.putLong(pos + 8, epochMinute);
+        buf.putDouble(pos + 16, open);
+        buf.putDouble(pos + 24, high);
+        buf.putDouble(pos + 32, low);
+        buf.putDouble(pos + 40, close);
+        buf.putDouble(pos + 48, volume);
+
+        file.count++;
+        buf.putLong(COUNT_OFFSET, file.count); // publish after the record is complete
+        return true;
+    }
+
+    /**
+     * Persist a closed bar for a symbol. Failures are logged and never propagate, so a full
+     * disk or an unknown token cannot stop the strategy.
+     */
+    public boolean save(String symbol, int intervalMinutes, Candle c) {
+        int token = tokenOf(symbol);
+        if (token < 0) return false;
+        try {
+            long epochMinute = CandleSeries.parseEpochMinute(c.getDatetime());
+            LocalDate day = Instant.ofEpochSecond(epochMinute * 60).atZone(IST).toLocalDate();
+            return append(day, token, intervalMinutes, epochMinute,
+                    c.getOpen(), c.getHigh(), c.getLow(), c.getClose(), c.getVolume());
+        } catch (Exception e) {
+            System.err.println(RED + "[STORE] Failed to persist " + symbol + " bar: " + e.getMessage() + RESET);
+            return false;
+        }
+    }
+
+    // ---------------------- READ ----------------------
+    /**
+     * Rebuild the stored bars of one interval for the given symbols, in time order.
+     * Symbols with nothing stored are absent from the result.
+     */
+    public Map<String, CandleSeries> load(LocalDate day, int intervalMinutes, Collection<String> symbols, int capacity) {
+        Map<Integer, String> symbolsByToken = new HashMap<>();
+        for (String symbol : symbols) {
+            int token = tokenOf(symbol);
+            if (token >= 0) symbolsByToken.put(token, symbol);
+        }
+
+        Map<String, CandleSeries> series = new HashMap<>();
+        try {
+            read(day, (token, interval, minute, o, h, l, c, v) -> {
+                if (interval != intervalMinutes) return;
+                String symbol = symbolsByToken.get(token);
+                if (symbol == null) return;
+                CandleSeries s = series.computeIfAbsent(symbol, k -> new CandleSeries(capacity));
+                if (s.size() == 0 || minute > s.epochMinute(0)) {
+                    s.append(minute, o, h, l, c, v);
+                }
+            });
+        } catch (IOException e) {
+            System.err.println(RED + "[STORE] Failed to read candle store for " + day + ": " + e.getMessage() + RESET);
+        }
+        return series;
+    }
+
+    /**
+     * Visit every bar stored for the given day, in append order.
+     * @return number of records visited (0 if there is no file for that day)
+     */
+    public int read(LocalDate day, RecordVisitor visitor) throws IOException {
+        MappedByteBuffer buf;
+        int count;
+        synchronized (this) {
+            if (today != null && today.day.equals(day)) {
+                buf = today.buffer;
+                count = today.count;
+            } else {
+                buf = null;
+                count = 0;
+            }
+        }
+
+        if (buf == null) {
+            Path path = pathFor(day);
+            if (!Files.exists(path)) return 0;
+            try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+                buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+                buf.order(ByteOrder.LITTLE_ENDIAN);
+                validateHeader(buf, path);
+                count = (int) buf.getLong(COUNT_OFFSET);
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            int pos = HEADER_SIZE + i * RECORD_SIZE;
+            visitor.accept(buf.getInt(pos), buf.getShort(pos + 4), buf.getLong(pos + 8),
+                    buf.getDouble(pos + 16), buf.getDouble(pos + 24), buf.getDouble(pos + 32),
+                    buf.getDouble(pos + 40), buf.getDouble(pos + 48));
+        }
+        return count;
+    }
+
+    /**
+     * Trading days that have a store file, oldest first (history source for backtests).
+     */
+    public List<LocalDate> availableDays() throws IOException {
+        List<LocalDate> days = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return days;
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.startsWith("candles-") && name.endsWith(".bin"))
+                    .map(name -> LocalDate.parse(name.substring(8, name.length() - 4)))
+                    .sorted()
+                    .forEach(days::add);
+        }
+        return days;
+    }
+
+    // ---------------------- DAY BIAS ----------------------
+    /**
+     * Remember the day's NIFTY % change (the bias input), so a backtest can replay the same
+     * positive/negative/flat decision the live run made.
+     */
+    public synchronized void recordNiftyChange(LocalDate day, double niftyChangePercent) {
+        try {
+            Properties changes = loadNiftyChanges();
+            changes.setProperty(day.toString(), Double.toString(niftyChangePercent));
+            Files.createDirectories(dir);
+            Path tmp = dir.resolve(NIFTY_CHANGE_FILE + ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                changes.store(out, "NIFTY % change at the market trigger, by day");
+            }
+            Files.move(tmp, dir.resolve(NIFTY_CHANGE_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println(RED + "[STORE] Failed to record NIFTY change for " + day + ": " + e.getMessage() + RESET);
+        }
+    }
+
+    /** Recorded NIFTY % change by day, oldest first. */
+    public synchronized Map<LocalDate, Double> niftyChanges() throws IOException {
+        Map<LocalDate, Double> changes = new TreeMap<>();
+        loadNiftyChanges().forEach((day, change) -> changes.put(LocalDate.parse((String) day), Double.parseDouble((String) change)));
+        return changes;
+    }
+
+    private Properties loadNiftyChanges() throws IOException {
+        Properties changes = new Properties();
+        Path file = dir.resolve(NIFTY_CHANGE_FILE);
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                changes.load(in);
+            }
+        }
+        return changes;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (today != null) {
+            today.close();
+            today = null;
+        }
+    }
+
+    private static int tokenOf(String symbol) {
+        return PopulateScanResultService.getSymbolDictionary().token(symbol);
+    }
+
+    // ---------------------- FILES ----------------------
+    private DayFile writable(LocalDate day) throws IOException {
+        if (today != null && today.day.equals(day)) {
+            return today;
+        }
+        if (today != null) {
+            today.close();
+        }
+        Files.createDirectories(dir);
+        today = new DayFile(day, pathFor(day), HEADER_SIZE + (long) maxRecordsPerDay * RECORD_SIZE);
+        return today;
+    }
+
+    private Path pathFor(LocalDate day) {
+        return dir.resolve("candles-" + day + ".bin");
+    }
+
+    private static void validateHeader(MappedByteBuffer buf, Path path) throws IOException {
+        if (buf.getInt(0) != MAGIC || buf.getInt(4) != VERSION || buf.getInt(8) != RECORD_SIZE) {
+            throw new IOException("Not a candle store file (or unsupported version): " + path);
+        }
+    }
+
+    private static final class DayFile {
+        final LocalDate day;
+        final long dayStartMinute;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        final Set<Long> keys = new HashSet<>();
+        int count;
+
+        DayFile(LocalDate day, Path path, long sizeBytes) throws IOException {
+            this.day = day;
+            this.dayStartMinute = day.atStartOfDay(IST).toEpochSecond() / 60;
+            boolean exists = Files.exists(path);
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(sizeBytes, channel.size()));
+            this.buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            if (exists && buffer.getInt(0) == MAGIC) {
+                validateHeader(buffer, path);
+                count = (int) buffer.getLong(COUNT_OFFSET);
+                for (int i = 0; i < count; i++) {
+                    int pos = HEADER_SIZE + i * RECORD_SIZE;
+                    keys.add(key(buffer.getInt(pos), buffer.getShort(pos + 4), buffer.getLong(pos + 8)));
+                }
+            } else {
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(8, RECORD_SIZE);
+                buffer.putLong(COUNT_OFFSET, 0);
+            }
+        }
+
+        // token (32 bits) | interval minutes (12 bits) | minute of day (12 bits)
+        long key(int token, int intervalMinutes, long epochMinute) {
+            long minuteOfDay = (epochMinute - dayStartMinute) & 0xFFF;
+            return ((long) token << 24) | ((long) (intervalMinutes & 0xFFF) << 12) | minuteOfDay;
+        }
+
+        void close() {
+            try {
+                buffer.force();
+                channel.close();
+            } catch (IOException e) {
+                System.err.println(RED + "[STORE] Failed to close candle store for " + day + ": " + e.getMessage() + RESET);
+            }
+        }
+    }
+}
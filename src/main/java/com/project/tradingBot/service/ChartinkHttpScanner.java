@@ -0,0 +1,272 @@
+package com.project.tradingBot.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.tradingBot.Config.ChartinkConfig;
+import com.project.tradingBot.models.ScanResult;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs Chartink scans over plain HTTP instead of driving a browser.
+ *
+ * A scan is the same request the screener page makes: fetch the page for the session cookie and
+ * CSRF token, optionally log in, then POST the scan clause to {@code /screener/process} and read
+ * the JSON rows. The positive and negative scans share one session and run concurrently.
+ */
+@Service
+public class ChartinkHttpScanner {
+
+    private static final long SESSION_MAX_AGE_NANOS = TimeUnit.MINUTES.toNanos(30);
+    private static final Pattern CSRF_META = Pattern.compile("<meta\\s+name=\"csrf-token\"\\s+content=\"([^\"]+)\"");
+
+    // ---------------------- ANSI COLORS ----------------------
+    private static final String RESET = "\u001B[0m";
+    private static final String GREEN = "\u001B[32m";
+    private static final String CYAN = "\u001B[36m";
+
+    private final ChartinkConfig config;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final LatencyRecorder scanLatency = new LatencyRecorder("chartinkScan");
+    private Session prepared; // opened ahead of the scan by the pre-market warm-up
+
+    public ChartinkHttpScanner(ChartinkConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Open a session, log in if credentials are configured, and run both scans in parallel.
+     */
+    public Results runScans() throws IOException, InterruptedException {
+        String positiveClause = config.getPositiveScanClause();
+        String negativeClause = config.getNegativeScanClause();
+        if (isBlank(positiveClause) || isBlank(negativeClause)) {
+            throw new IllegalStateException("chartink.positiveScanClause / chartink.negativeScanClause not configured");
+        }
+
+        long start = System.nanoTime();
+        Session session = takePreparedSession();
+        if (session == null) {
+            session = openSession();
+        }
+        long sessionNanos = System.nanoTime() - start;
+
+        CompletableFuture<List<ScanResult>> positive = session.scanAsync(positiveClause, "Positive", false);
+        CompletableFuture<List<ScanResult>> negative = session.scanAsync(negativeClause, "Negative", false);
+        try {
+            CompletableFuture.allOf(positive, negative).get(config.getTimeoutSeconds(), TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            positive.cancel(true);
+            negative.cancel(true);
+            throw new IOException("Chartink scans did not finish within " + config.getTimeoutSeconds() + " s");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause.getMessage(), cause);
+        }
+
+        Results results = new Results(positive.join(), negative.join(), sessionNanos, System.nanoTime() - start);
+        System.out.println(GREEN + "[CHARTINK] " + results + RESET);
+        System.out.println(CYAN + scanLatency.summary() + RESET);
+        return results;
+    }
+
+    /**
+     * Open and log in a session now (TLS handshake, cookies, CSRF) so the next
+     * {@link #runScans} only has to POST the clauses. Used for pre-market warm-up.
+     */
+    public void prepareSession() throws IOException, InterruptedException {
+        Session session = openSession();
+        synchronized (this) {
+            prepared = session;
+        }
+    }
+
+    private synchronized Session takePreparedSession() {
+        Session session = prepared;
+        prepared = null;
+        if (session != null && System.nanoTime() - session.openedAtNanos > SESSION_MAX_AGE_NANOS) {
+            return null; // too old to trust the login cookie
+        }
+        return session;
+    }
+
+    private Session openSession() throws IOException, InterruptedException {
+        Session session = new Session();
+        session.refreshCsrf();
+        if (!isBlank(config.getUsername()) && !isBlank(config.getPassword())) {
+            session.login();
+        }
+        return session;
+    }
+
+    public LatencyRecorder getScanLatency() {
+        return scanLatency;
+    }
+
+    // ---------------------- SESSION ----------------------
+    private final class Session {
+        final CookieManager cookies = new CookieManager(null, CookiePolicy.ACCEPT_ALL);
+        final HttpClient http = HttpClient.newBuilder()
+                .cookieHandler(cookies)
+                .connectTimeout(Duration.ofSeconds(config.getTimeoutSeconds()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        final String screenerUrl = config.getBaseUrl() + "/screener/";
+        final long openedAtNanos = System.nanoTime();
+        volatile String csrf;
+
+        void refreshCsrf() throws IOException, InterruptedException {
+            HttpResponse<String> page = http.send(get(screenerUrl), HttpResponse.BodyHandlers.ofString());
+            csrf = extractCsrf(page.body());
+        }
+
+        void login() throws IOException, InterruptedException {
+            String loginUrl = isBlank(config.getLoginUrl()) ? config.getBaseUrl() + "/login" : config.getLoginUrl();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(loginUrl))
+                    .timeout(Duration.ofSeconds(config.getTimeoutSeconds()))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .header("x-csrf-token", csrf)
+                    .POST(HttpRequest.BodyPublishers.ofString(form("_token", csrf, "email", config.getUsername(),
+                            "password", config.getPassword(), "remember", "on")))
+                    .build();
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400) {
+                throw new IOException("Chartink login returned HTTP " + response.statusCode());
+            }
+            refreshCsrf(); // token rotates with the authenticated session
+        }
+
+        CompletableFuture<List<ScanResult>> scanAsync(String clause, String scanType, boolean retried) {
+            long start = System.nanoTime();
+            HttpRequest request = HttpRequest.newBuilder(URI.create(screenerUrl + "process"))
+                    .timeout(Duration.ofSeconds(config.getTimeoutSeconds()))
+                    .header("Content-Type", "application/x-www-form-urlencoded; charset=UTF-8")
+                    .header("X-Requested-With", "XMLHttpRequest")
+                    .header("x-csrf-token", csrf)
+                    .header("Referer", screenerUrl)
+                    .POST(HttpRequest.BodyPublishers.ofString(form("scan_clause", clause)))
+                    .build();
+
+            return http.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenCompose(response -> {
+                if (response.statusCode() == 419 && !retried) { // CSRF token expired: fetch a fresh one once
+                    return CompletableFuture.runAsync(() -> {
+                        try {
+                            refreshCsrf();
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }).thenCompose(v -> scanAsync(clause, scanType, true));
+                }
+                try {
+                    if (response.statusCode() != 200) {
+                        throw new IOException(scanType + " scan returned HTTP " + response.statusCode());
+                    }
+                    List<ScanResult> rows = parse(response.body(), scanType);
+                    scanLatency.recordSince(start);
+                    return CompletableFuture.completedFuture(rows);
+                } catch (IOException e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            });
+        }
+
+        private String extractCsrf(String html) throws IOException {
+            Matcher m = CSRF_META.matcher(html);
+            if (m.find()) return m.group(1);
+            // Fall back to the XSRF-TOKEN cookie set alongside the session cookie
+            for (HttpCookie cookie : cookies.getCookieStore().getCookies()) {
+                if ("XSRF-TOKEN".equals(cookie.getName())) {
+                    return URLDecoder.decode(cookie.getValue(), StandardCharsets.UTF_8);
+                }
+            }
+            throw new IOException("No CSRF token on " + screenerUrl);
+        }
+
+        private HttpRequest get(String url) {
+            return HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofSeconds(config.getTimeoutSeconds()))
+                    .GET()
+                    .build();
+        }
+    }
+
+    // ---------------------- PARSING ----------------------
+    List<ScanResult> parse(String body, String scanType) throws IOException {
+        JsonNode root = mapper.readTree(body);
+        if (root.hasNonNull("scan_error")) {
+            throw new IOException(scanType + " scan rejected: " + root.get("scan_error").asText());
+        }
+        JsonNode data = root.path("data");
+        List<ScanResult> rows = new ArrayList<>(data.size());
+        for (JsonNode row : data) {
+            rows.add(new ScanResult(
+                    row.path("name").asText(),
+                    row.path("nsecode").asText(),
+                    row.path("per_chg").asDouble(),
+                    row.path("close").asDouble(),
+                    row.path("volume").asLong()));
+        }
+        return Collections.unmodifiableList(rows);
+    }
+
+    private static String form(String... keyValues) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            if (sb.length() > 0) sb.append('&');
+            sb.append(URLEncoder.encode(keyValues[i], StandardCharsets.UTF_8)).append('=')
+                    .append(URLEncoder.encode(keyValues[i + 1], StandardCharsets.UTF_8));
+        }
+        return sb.toString();
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+
+    // ---------------------- RESULTS ----------------------
+    public static final class Results {
+        private final List<ScanResult> positive;
+        private final List<ScanResult> negative;
+        private final long sessionNanos;
+        private final long totalNanos;
+
+        Results(List<ScanResult> positive, List<ScanResult> negative, long sessionNanos, long totalNanos) {
+            this.positive = positive;
+            this.negative = negative;
+            this.sessionNanos = sessionNanos;
+            this.totalNanos = totalNanos;
+        }
+
+        public List<ScanResult> getPositive() { return positive; }
+        public List<ScanResult> getNegative() { return negative; }
+        public long getSessionMillis() { return TimeUnit.NANOSECONDS.toMillis(sessionNanos); }
+        public long getTotalMillis() { return TimeUnit.NANOSECONDS.toMillis(totalNanos); }
+
+        @Override
+        public String toString() {
+            return String.format("HTTP scans done: %d positive, %d negative | session %d ms | total %d ms",
+                    positive.size(), negative.size(), getSessionMillis(), getTotalMillis());
+        }
+    }
+}
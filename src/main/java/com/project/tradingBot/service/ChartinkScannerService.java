@@ -9,11 +9,14 @@ import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.project.tradingBot.Config.ChartinkConfig;
+import com.project.tradingBot.models.ScanResult;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -21,8 +24,17 @@ public class ChartinkScannerService {
 
     @Autowired
     private ChartinkConfig chartinkConfig;
-    
-    
+    @Autowired
+    private ChartinkHttpScanner chartinkHttpScanner;
+    @Autowired
+    private LocalScanner localScanner;
+    @Autowired
+    private ScanResultRegistry scanResultRegistry;
+
+    // local = scan our own candle store in-process; chartink = HTTP/Selenium scans on chartink.com
+    @Value("${scanner.source:chartink}")
+    private String scannerSource;
+
 
     // ----- Color Constants -----
     private static final String RESET = "\033[0m";
@@ -32,6 +44,53 @@ public class ChartinkScannerService {
     private static final String CYAN = "\033[36m";
 
     public void runScanner() {
+        if ("local".equalsIgnoreCase(scannerSource)) {
+            try {
+                System.out.println(CYAN + "\n===================== [SCAN] LOCAL SCANNER START =====================" + RESET);
+                LocalScanner.Results results = localScanner.runScans();
+                if (results.getSymbolsWithData() > 0) {
+                    publishResults(results.getNegative(), true);
+                    publishResults(results.getPositive(), false);
+                    System.out.println(CYAN + "===================== [SCAN] LOCAL SCANNER END =====================\n" + RESET);
+                    return;
+                }
+                System.out.println(YELLOW + "[SCAN] No bars for today (quotes or candle store) → Falling back to Chartink." + RESET);
+            } catch (Exception e) {
+                System.out.println(RED + "[SCAN] Local scan failed (" + e.getMessage() + ") → Falling back to Chartink." + RESET);
+            }
+        }
+        if ("http".equalsIgnoreCase(chartinkConfig.getMode())) {
+            try {
+                System.out.println(CYAN + "\n===================== [CHARTINK] HTTP SCANNER START =====================" + RESET);
+                ChartinkHttpScanner.Results results = chartinkHttpScanner.runScans();
+                publishResults(results.getNegative(), true);
+                publishResults(results.getPositive(), false);
+                System.out.println(CYAN + "===================== [CHARTINK] HTTP SCANNER END =====================\n" + RESET);
+                return;
+            } catch (Exception e) {
+                System.out.println(RED + "[CHARTINK] HTTP scan failed (" + e.getMessage() + ") → Falling back to Selenium." + RESET);
+            }
+        }
+        runSeleniumScanner();
+    }
+
+    private void publishResults(List<ScanResult> results, boolean isNegative) {
+        String scanType = isNegative ? "Negative" : "Positive";
+        // One immutable snapshot per side; readers never see a half-filled scan
+        scanResultRegistry.publish(isNegative ? ScanResultRegistry.Side.NEGATIVE : ScanResultRegistry.Side.POSITIVE, results);
+        if (results.isEmpty()) {
+            System.out.println(YELLOW + "[SCAN] " + scanType + " scan: No stock data available." + RESET);
+            return;
+        }
+        System.out.println(GREEN + "[SCAN] " + scanType + " scan results:" + RESET);
+        for (ScanResult r : results) {
+            System.out.printf(CYAN + "→ %-15s | %-10s | %%Chg: %-7.2f | Price: %-7.2f | Volume: %d%n" + RESET,
+                    r.getStockName(), r.getSymbol(), r.getPercentChange(), r.getPrice(), r.getVolume());
+        }
+    }
+
+    // ---------------------- SELENIUM (FALLBACK) ----------------------
+    private void runSeleniumScanner() {
         WebDriverManager.chromedriver().setup();
 
         ChromeOptions options = new ChromeOptions();
@@ -103,6 +162,7 @@ public class ChartinkScannerService {
                 System.out.println(YELLOW + "[SCAN] " + scanType + " scan: No stock data available." + RESET);
             } else {
                 System.out.println(GREEN + "[SCAN] " + scanType + " scan results:" + RESET);
+                List<ScanResult> results = new ArrayList<>(rows.size());
                 for (WebElement row : rows) {
                     List<WebElement> cells = row.findElements(By.tagName("td"));
                     if (cells.size() >= 7) {
@@ -115,13 +175,10 @@ public class ChartinkScannerService {
                         System.out.printf(CYAN + "→ %-15s | %-10s | %%Chg: %-7s | Price: %-7s | Volume: %s%n" + RESET,
                                 stockName, symbol, percentChg, price, volume);
 
-                        if (isNegative) {
-                            PopulateScanResultService.populateNegativeScannedStocks(stockName, symbol);
-                        } else {
-                            PopulateScanResultService.populatePositiveScannedStocks(stockName, symbol);
-                        }
+                        results.add(new ScanResult(stockName, symbol, number(percentChg), number(price), (long) number(volume)));
                     }
                 }
+                scanResultRegistry.publish(isNegative ? ScanResultRegistry.Side.NEGATIVE : ScanResultRegistry.Side.POSITIVE, results);
             }
 
             System.out.println(CYAN + "[SCAN] Completed " + scanType + " scan." + RESET);
@@ -130,4 +187,13 @@ public class ChartinkScannerService {
             System.out.println(RED + "[SCAN] Failed to run " + scanType + " scan: " + e.getMessage() + RESET);
         }
     }
+
+    // Table cells carry formatting such as "2.35%" or "1,20,500"
+    private static double number(String text) {
+        try {
+            return Double.parseDouble(text.replaceAll("[^0-9.\\-]", ""));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
 }
@@ -0,0 +1,59 @@
+package com.project.tradingBot.service;
+
+/**
+ * Exponential moving average of the close, seeded with the simple average of the first
+ * {@code period} closes.
+ */
+public final class Ema implements Indicator {
+
+    private final int period;
+    private final double alpha;
+    private double value;
+    private double seedSum;
+    private long count;
+
+    public Ema(int period) {
+        if (period < 1) throw new IllegalArgumentException("period must be >= 1");
+        this.period = period;
+        this.alpha = 2.0 / (period + 1);
+        reset();
+    }
+
+    @Override
+    public void update(long epochMinute, double open, double high, double low, double close, double volume) {
+        count++;
+        if (count < period) {
+            seedSum += close;
+        } else if (count == period) {
+            value = (seedSum + close) / period;
+        } else {
+            value += alpha * (close - value);
+        }
+    }
+
+    @Override public double value() { return value; }
+    @Override public boolean isReady() { return count >= period; }
+
+    @Override
+    public void reset() {
+        value = Double.NaN;
+        seedSum = 0;
+        count = 0;
+    }
+
+    @Override public int stateSize() { return 3; }
+
+    @Override
+    public void snapshot(double[] dst, int offset) {
+        dst[offset] = value;
+        dst[offset + 1] = seedSum;
+        dst[offset + 2] = count;
+    }
+
+    @Override
+    public void restore(double[] src, int offset) {
+        value = src[offset];
+        seedSum = src[offset + 1];
+        count = (long) src[offset + 2];
+    }
+}
@@ -0,0 +1,260 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.models.CandleSeries;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fills the {@link CandleStore} from SmartAPI's candle history, so a backtest can cover days the
+ * live bot never ran (otherwise the store only holds what the bot recorded while trading).
+ *
+ * Per symbol, one FIVE_MINUTE request covers up to {@code chunkDays} calendar days. The 09:15
+ * opening-range bar is folded from the first three 5-minute bars, as the broker's FIFTEEN_MINUTE
+ * bar is. Each day's NIFTY change (the close of the 09:30 bar, just before the market trigger,
+ * against the previous session's close) is recorded for RECORDED bias unless the live run
+ * already recorded one. Symbols are fetched concurrently under the shared candle rate limit and
+ * written day by day; the store keeps each (token, interval, minute) once, so a re-run only adds
+ * what is missing.
+ */
+@Service
+public class HistoryBackfill {
+
+    static final String NIFTY = "NIFTY 50";
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+    private static final DateTimeFormatter CANDLE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final int BAR_MINUTES = 5;
+    private static final int OPENING_RANGE_MINUTES = 15;
+    private static final int BARS_PER_DAY = 75; // 09:15-15:30
+
+    // ---------------------- ANSI COLORS ----------------------
+    private static final String RESET = "\u001B[0m";
+    private static final String RED = "\u001B[31m";
+    private static final String YELLOW = "\u001B[33m";
+
+    /** One candle request into a series; {@link #NIFTY} stands for the index. */
+    @FunctionalInterface
+    interface SeriesFetcher {
+        int fetch(String symbol, String interval, String fromDate, String toDate, CandleSeries into) throws Exception;
+    }
+
+    private final SeriesFetcher fetcher;
+    private final CandleStore candleStore;
+    private final int parallelism;
+    private final int chunkDays;
+
+    @Autowired
+    public HistoryBackfill(SmartApiService smartApiService, CandleStore candleStore,
+                           @Value("${backtest.backfill.parallelism:4}") int parallelism,
+                           @Value("${backtest.backfill.chunkDays:60}") int chunkDays) {
+        this((symbol, interval, from, to, into) -> NIFTY.equals(symbol)
+                        ? smartApiService.fetchNiftyCandleSeries(interval, from, to, into)
+                        : smartApiService.fetchCandleSeries(symbol, interval, from, to, into),
+                candleStore, parallelism, chunkDays);
+    }
+
+    HistoryBackfill(SeriesFetcher fetcher, CandleStore candleStore, int parallelism, int chunkDays) {
+        this.fetcher = fetcher;
+        this.candleStore = candleStore;
+        this.parallelism = Math.max(1, parallelism);
+        this.chunkDays = Math.max(1, chunkDays);
+    }
+
+    /**
+     * Fetch and store {@code from}..{@code to} (inclusive) for every symbol. A symbol whose request
+     * fails is reported in the result and skipped for that chunk; the rest are still stored.
+     */
+    public Result backfill(List<String> symbols, LocalDate from, LocalDate to) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Map<LocalDate, Double> recorded = candleStore.niftyChanges();
+        List<String> failed = new ArrayList<>();
+        long bars = 0;
+        int biasDays = 0;
+
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r);
+            t.setName("Backfill-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            for (LocalDate chunkFrom = from; !chunkFrom.isAfter(to); ) {
+                LocalDate chunkTo = chunkFrom.plusDays(chunkDays - 1);
+                if (chunkTo.isAfter(to)) chunkTo = to;
+                int capacity = (int) (ChronoUnit.DAYS.between(chunkFrom, chunkTo) + 2) * BARS_PER_DAY;
+
+                Map<String, CandleSeries> series = fetchChunk(workers, symbols, chunkFrom, chunkTo, capacity, failed);
+                bars += write(series, chunkFrom, chunkTo);
+                biasDays += recordNiftyChanges(chunkFrom, chunkTo, recorded);
+                chunkFrom = chunkTo.plusDays(1);
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        return new Result(symbols.size(), failed, bars, biasDays, System.nanoTime() - start);
+    }
+
+    private Map<String, CandleSeries> fetchChunk(ExecutorService workers, List<String> symbols, LocalDate from, LocalDate to,
+                                                 int capacity, List<String> failed) throws InterruptedException {
+        String fromDate = from.atTime(9, 15).format(CANDLE_TIME);
+        String toDate = to.atTime(15, 30).format(CANDLE_TIME);
+        Map<String, Future<CandleSeries>> futures = new LinkedHashMap<>();
+        for (String symbol : symbols) {
+            futures.put(symbol, workers.submit(() -> {
+                CandleSeries s = new CandleSeries(capacity);
+                fetcher.fetch(symbol, "FIVE_MINUTE", fromDate, toDate, s);
+                return s;
+            }));
+        }
+        Map<String, CandleSeries> series = new LinkedHashMap<>();
+        for (Map.Entry<String, Future<CandleSeries>> e : futures.entrySet()) {
+            try {
+                series.put(e.getKey(), e.getValue().get());
+            } catch (ExecutionException ex) {
+                System.err.println(RED + "[BACKFILL] " + e.getKey() + " " + from + ".." + to + " failed: "
+                        + ex.getCause().getMessage() + RESET);
+                failed.add(e.getKey() + " " + from + ".." + to);
+            }
+        }
+        return series;
+    }
+
+    /** Write the chunk day by day (the store keeps one writable day file open at a time). */
+    private long write(Map<String, CandleSeries> series, LocalDate from, LocalDate to) throws IOException {
+        SymbolDictionary dictionary = PopulateScanResultService.getSymbolDictionary();
+        List<CandleSeries> list = new ArrayList<>();
+        List<Integer> tokens = new ArrayList<>();
+        series.forEach((symbol, s) -> {
+            int token = dictionary.token(symbol);
+            if (token >= 0) {
+                list.add(s);
+                tokens.add(token);
+            }
+        });
+        int[] cursor = new int[list.size()]; // next bar to write per symbol, oldest first
+        for (int i = 0; i < cursor.length; i++) cursor[i] = list.get(i).size() - 1;
+
+        long written = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            long opening = day.atTime(9, 15).atZone(IST).toEpochSecond() / 60;
+            long dayEnd = day.plusDays(1).atStartOfDay(IST).toEpochSecond() / 60;
+            for (int i = 0; i < cursor.length; i++) {
+                CandleSeries s = list.get(i);
+                int token = tokens.get(i);
+                double orOpen = 0, orHigh = Double.NEGATIVE_INFINITY, orLow = Double.POSITIVE_INFINITY, orClose = 0, orVolume = 0;
+                int orBars = 0;
+                int ago = cursor[i];
+                for (; ago >= 0 && s.epochMinute(ago) < dayEnd; ago--) {
+                    long minute = s.epochMinute(ago);
+                    if (minute < opening) continue; // pre-open
+                    if (candleStore.append(day, token, BAR_MINUTES, minute, s.open(ago), s.high(ago), s.low(ago), s.close(ago), s.volume(ago))) {
+                        written++;
+                    }
+                    if (minute < opening + OPENING_RANGE_MINUTES) {
+                        if (orBars++ == 0) orOpen = s.open(ago);
+                        orHigh = Math.max(orHigh, s.high(ago));
+                        orLow = Math.min(orLow, s.low(ago));
+                        orClose = s.close(ago);
+                        orVolume += s.volume(ago);
+                    }
+                }
+                cursor[i] = ago;
+                // A range missing one of its bars would not match the live 15-minute bar
+                if (orBars == OPENING_RANGE_MINUTES / BAR_MINUTES
+                        && candleStore.append(day, token, OPENING_RANGE_MINUTES, opening, orOpen, orHigh, orLow, orClose, orVolume)) {
+                    written++;
+                }
+            }
+        }
+        return written;
+    }
+
+    private int recordNiftyChanges(LocalDate from, LocalDate to, Map<LocalDate, Double> recorded) throws InterruptedException {
+        LocalDate lookBack = from.minusDays(7); // previous session's close for the first day
+        CandleSeries nifty = new CandleSeries((int) (ChronoUnit.DAYS.between(lookBack, to) + 2) * BARS_PER_DAY);
+        try {
+            fetcher.fetch(NIFTY, "FIVE_MINUTE", lookBack.atTime(9, 15).format(CANDLE_TIME), to.atTime(15, 30).format(CANDLE_TIME), nifty);
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            System.err.println(YELLOW + "[BACKFILL] NIFTY " + from + ".." + to + " failed (" + e.getMessage()
+                    + "); those days have no RECORDED bias." + RESET);
+            return 0;
+        }
+
+        int days = 0;
+        LocalDate day = null;
+        double lastClose = Double.NaN, previousClose = Double.NaN;
+        for (int ago = nifty.size() - 1; ago >= 0; ago--) {
+            long minute = nifty.epochMinute(ago);
+            LocalDate d = Instant.ofEpochSecond(minute * 60).atZone(IST).toLocalDate();
+            if (!d.equals(day)) {
+                previousClose = lastClose;
+                day = d;
+            }
+            lastClose = nifty.close(ago);
+            boolean biasBar = minute == d.atTime(9, 30).atZone(IST).toEpochSecond() / 60;
+            if (biasBar && !Double.isNaN(previousClose) && !d.isBefore(from) && !d.isAfter(to) && !recorded.containsKey(d)) {
+                double change = (lastClose - previousClose) / previousClose * 100;
+                candleStore.recordNiftyChange(d, change);
+                recorded.put(d, change);
+                days++;
+            }
+        }
+        return days;
+    }
+
+    // ---------------------- RESULT ----------------------
+    public static final class Result {
+        private final int symbols;
+        private final List<String> failed;
+        private final long bars;
+        private final int biasDays;
+        private final long elapsedNanos;
+
+        Result(int symbols, List<String> failed, long bars, int biasDays, long elapsedNanos) {
+            this.symbols = symbols;
+            this.failed = Collections.unmodifiableList(failed);
+            this.bars = bars;
+            this.biasDays = biasDays;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /** "SYMBOL from..to" for every request that failed. */
+        public List<String> getFailed() { return failed; }
+        /** Bars newly written (5-minute plus folded opening ranges). */
+        public long getBars() { return bars; }
+        /** Days that got a NIFTY change from this backfill. */
+        public int getBiasDays() { return biasDays; }
+        public long getElapsedMillis() { return TimeUnit.NANOSECONDS.toMillis(elapsedNanos); }
+
+        public String summary() {
+            return String.format("[BACKFILL] %d symbols | %,d bars stored | %d days with NIFTY bias | %d failed requests | %d ms",
+                    symbols, bars, biasDays, failed.size(), getElapsedMillis());
+        }
+
+        @Override
+        public String toString() {
+            return summary();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.project.tradingBot.service;
+
+/**
+ * A streaming technical indicator: each closed bar updates it in O(1) with no allocation.
+ *
+ * State is all primitive and can be copied out to (and back from) a {@code double[]}, so an
+ * indicator can be snapshotted mid-session and restored later instead of being recomputed
+ * from history.
+ */
+public interface Indicator {
+
+    void update(long epochMinute, double open, double high, double low, double close, double volume);
+
+    /** Current value; NaN until {@link #isReady()}. */
+    double value();
+
+    boolean isReady();
+
+    void reset();
+
+    /** Number of doubles {@link #snapshot} writes. */
+    int stateSize();
+
+    void snapshot(double[] dst, int offset);
+
+    void restore(double[] src, int offset);
+}
@@ -0,0 +1,111 @@
+package com.project.tradingBot.service;
+
+/**
+ * The indicators kept for one symbol: session VWAP, EMA of the close, ATR, RSI and average
+ * volume. Updated once per closed bar by the engine before the strategies run, so strategies
+ * only read values.
+ */
+public final class Indicators {
+
+    private final Vwap vwap = new Vwap();
+    private final Ema ema;
+    private final Atr atr;
+    private final Rsi rsi;
+    private final RollingMean volume;
+    private final Indicator[] all;
+    private double previousVolumeAverage = Double.NaN;
+    private final double[] beforeLatest; // state before the latest bar, so a corrected bar can replace it
+    private boolean hasLatest;
+    private final Vwap scratch = new Vwap();
+
+    public Indicators(int emaPeriod, int atrPeriod, int rsiPeriod, int volumePeriod) {
+        this.ema = new Ema(emaPeriod);
+        this.atr = new Atr(atrPeriod);
+        this.rsi = new Rsi(rsiPeriod);
+        this.volume = new RollingMean(volumePeriod);
+        this.all = new Indicator[]{vwap, ema, atr, rsi, volume};
+        this.beforeLatest = new double[stateSize()];
+    }
+
+    public void update(long epochMinute, double open, double high, double low, double close, double volume) {
+        snapshotInto(beforeLatest);
+        hasLatest = true;
+        previousVolumeAverage = this.volume.value();
+        for (Indicator indicator : all) {
+            indicator.update(epochMinute, open, high, low, close, volume);
+        }
+    }
+
+    /**
+     * Replace the latest bar with a corrected version of it: the indicators go back to their
+     * state before that bar and take the corrected one instead. Without a latest bar this is
+     * {@link #update}.
+     */
+    public void revise(long epochMinute, double open, double high, double low, double close, double volume) {
+        if (hasLatest) restore(beforeLatest, true);
+        update(epochMinute, open, high, low, close, volume);
+    }
+
+    /**
+     * Feed the opening-range bar into VWAP only: it is wider than the strategy bars, so it would
+     * distort EMA/ATR/RSI, but its volume belongs in the session VWAP.
+     */
+    public void seedSession(long epochMinute, double high, double low, double close, double volume) {
+        vwap.update(epochMinute, Double.NaN, high, low, close, volume);
+        if (hasLatest) { // keep the seed if the latest bar is revised later
+            scratch.restore(beforeLatest, 1); // VWAP is first in the state, after the volume average
+            scratch.update(epochMinute, Double.NaN, high, low, close, volume);
+            scratch.snapshot(beforeLatest, 1);
+        }
+    }
+
+    public double vwap() { return vwap.value(); }
+    public double ema() { return ema.value(); }
+    public double atr() { return atr.value(); }
+    public double rsi() { return rsi.value(); }
+
+    /** Average volume of the bars before the latest one (NaN until there is one), for surge checks. */
+    public double volumeAverage() { return previousVolumeAverage; }
+
+    public void reset() {
+        for (Indicator indicator : all) indicator.reset();
+        previousVolumeAverage = Double.NaN;
+        hasLatest = false;
+    }
+
+    // ---------------------- SNAPSHOT ----------------------
+    public double[] snapshot() {
+        double[] state = new double[stateSize()];
+        snapshotInto(state);
+        return state;
+    }
+
+    public void restore(double[] state) {
+        restore(state, false);
+    }
+
+    private void restore(double[] state, boolean keepLatest) {
+        previousVolumeAverage = state[0];
+        int offset = 1;
+        for (Indicator indicator : all) {
+            indicator.restore(state, offset);
+            offset += indicator.stateSize();
+        }
+        hasLatest &= keepLatest; // a restored snapshot carries no state from before its latest bar
+    }
+
+    private int stateSize() {
+        int size = 1;
+        for (Indicator indicator : all) size += indicator.stateSize();
+        return size;
+    }
+
+    private void snapshotInto(double[] state) {
+        state[0] = previousVolumeAverage;
+        int offset = 1;
+        for (Indicator indicator : all) {
+            indicator.snapshot(state, offset);
+            offset += indicator.stateSize();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.project.tradingBot.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram (log2 buckets with 8 linear sub-buckets, ~12% resolution).
+ * Cheap enough to record on the hot path; percentiles are computed on read.
+ */
+public class LatencyRecorder {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        buckets.incrementAndGet(bucketIndex(nanos));
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @param percentile value in (0, 100]
+     * @return upper bound of the bucket holding the requested percentile, in nanoseconds
+     */
+    public long percentileNanos(double percentile) {
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) total += buckets.get(i);
+        if (total == 0) return 0;
+
+        long rank = (long) Math.ceil(total * (percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) return Math.min(bucketUpperBound(i), maxNanos.get());
+        }
+        return maxNanos.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) buckets.set(i, 0);
+        count.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+
+    public String getName() { return name; }
+    public long getCount() { return count.sum(); }
+    public long getMaxNanos() { return maxNanos.get(); }
+
+    public double getAverageMillis() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / n;
+    }
+
+    public String summary() {
+        return String.format("[LATENCY] %s | n=%d | avg=%.3f ms | p50=%.3f ms | p99=%.3f ms | max=%.3f ms",
+                name, getCount(), getAverageMillis(),
+                percentileNanos(50) / 1_000_000.0, percentileNanos(99) / 1_000_000.0,
+                getMaxNanos() / 1_000_000.0);
+    }
+
+    // ---------------------- BUCKETS ----------------------
+    static int bucketIndex(long nanos) {
+        if (nanos < SUB_BUCKETS) return (int) nanos;
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) (nanos >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = index / SUB_BUCKETS - 1;
+        int sub = index % SUB_BUCKETS;
+        if (shift >= 64 - SUB_BUCKET_BITS - 2) return Long.MAX_VALUE;
+        return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+}
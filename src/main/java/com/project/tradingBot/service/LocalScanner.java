@@ -0,0 +1,192 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.models.Quote;
+import com.project.tradingBot.models.ScanResult;
+import com.project.tradingBot.service.ScanUniverse.DayColumns;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * In-process replacement for the Chartink scans: evaluates the positive and negative
+ * {@link ScanExpression}s over every NSE equity in the master ({@link ScanUniverse}). Slots are
+ * tested in parallel; results are ordered like Chartink's (strongest % change first) and can be
+ * capped.
+ *
+ * Today's bars come from one batched quote snapshot of the whole universe (ceil(N / 50)
+ * requests), which also carries each symbol's previous close. The snapshot is written to the
+ * {@link CandleStore} as the day's daily record, so the history the averages and extremes read
+ * builds up one session at a time: those days hold the volume traded up to scan time, not the
+ * full session. With scanner.local.quotes=false today is read from the store alone.
+ */
+@Service
+public class LocalScanner {
+
+    // ---------------------- ANSI COLORS ----------------------
+    private static final String RESET = "\u001B[0m";
+    private static final String YELLOW = "\u001B[33m";
+    private static final String CYAN = "\u001B[36m";
+
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+    @Autowired
+    private CandleStore candleStore;
+    @Autowired
+    private SmartApiService smartApiService;
+
+    @Value("${scanner.local.positive:change_pct > 0}")
+    private String positiveClause;
+    @Value("${scanner.local.negative:change_pct < 0}")
+    private String negativeClause;
+    @Value("${scanner.local.lookbackDays:20}")
+    private int lookbackDays;
+    @Value("${scanner.local.maxResults:0}")
+    private int maxResults;
+    @Value("${scanner.local.quotes:true}")
+    private boolean todayFromQuotes;
+
+    /** Load today's universe (quote snapshot plus stored history) and run both configured scans. */
+    public Results runScans() throws IOException {
+        ScanExpression positive = ScanExpression.parse(positiveClause);
+        ScanExpression negative = ScanExpression.parse(negativeClause);
+        SymbolIndex index = PopulateScanResultService.getSymbolIndex();
+        LocalDate day = LocalDate.now(IST);
+        ScanUniverse universe = todayFromQuotes ? loadWithQuotes(index, day)
+                : ScanUniverse.load(candleStore, index, day, lookbackDays);
+        Results results = scan(universe, positive, negative, maxResults);
+        System.out.println(CYAN + "[SCAN] " + results + RESET);
+        return results;
+    }
+
+    // ---------------------- TODAY FROM QUOTES ----------------------
+    /** Falls back to the store alone if the quote call fails. */
+    private ScanUniverse loadWithQuotes(SymbolIndex index, LocalDate day) throws IOException {
+        List<String> codes = new ArrayList<>(index.size());
+        for (int i = 0; i < index.size(); i++) codes.add(nseCode(index.symbolAt(i)));
+        BatchQuoteFetcher.Result quotes;
+        try {
+            quotes = smartApiService.fetchQuotes(codes);
+        } catch (IOException e) {
+            System.out.println(YELLOW + "[SCAN] Quote snapshot failed (" + e.getMessage() + ") → Using stored bars only." + RESET);
+            return ScanUniverse.load(candleStore, index, day, lookbackDays);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted during the quote snapshot", e);
+        }
+        System.out.println(CYAN + "[SCAN] Today's bars from " + quotes + RESET);
+
+        double[] previousClose = new double[index.size()];
+        DayColumns today = todayFromQuotes(index, quotes.getQuotes(), previousClose);
+        double[] close = today.column(ScanUniverse.Field.CLOSE);
+        for (int i = 0; i < index.size(); i++) {
+            if (Double.isNaN(close[i])) continue;
+            Quote q = quotes.getQuotes().get(codes.get(i));
+            long minute = (q.getEpochMillis() != 0 ? q.getEpochMillis() : System.currentTimeMillis()) / 60_000;
+            candleStore.append(day, index.tokenAt(i), ScanUniverse.DAILY_INTERVAL, minute,
+                    q.getOpen(), q.getHigh(), q.getLow(), q.getLtp(), q.getVolume());
+        }
+        return ScanUniverse.load(candleStore, index, day, lookbackDays, today, previousClose);
+    }
+
+    /**
+     * Today's bar per slot from its quote (LTP as the close so far); symbols without a quote or
+     * not traded yet stay NaN. {@code previousClose} receives each quote's previous-session close.
+     */
+    static DayColumns todayFromQuotes(SymbolIndex index, Map<String, Quote> quotes, double[] previousClose) {
+        DayColumns today = new DayColumns(index.size());
+        Arrays.fill(previousClose, Double.NaN);
+        for (int i = 0; i < index.size(); i++) {
+            Quote q = quotes.get(nseCode(index.symbolAt(i)));
+            if (q == null) continue;
+            if (q.getClose() > 0) previousClose[i] = q.getClose();
+            if (q.getOpen() > 0 && q.getLtp() > 0) {
+                today.set(i, q.getOpen(), q.getHigh(), q.getLow(), q.getLtp(), q.getVolume());
+            }
+        }
+        return today;
+    }
+
+    /**
+     * Evaluate both scans over {@code universe}.
+     * @param maxResults keep at most this many per side (0 = all)
+     */
+    public static Results scan(ScanUniverse universe, ScanExpression positive, ScanExpression negative, int maxResults) {
+        long start = System.nanoTime();
+        ScanExpression.Bound changePct = ScanExpression.parse("change_pct").bind(universe);
+        // Bind on this thread: it creates the derived columns the parallel pass only reads
+        List<ScanResult> pos = select(universe, positive.bind(universe), changePct, true, maxResults);
+        List<ScanResult> neg = select(universe, negative.bind(universe), changePct, false, maxResults);
+        int withData = 0;
+        for (double close : universe.today().column(ScanUniverse.Field.CLOSE)) {
+            if (!Double.isNaN(close)) withData++;
+        }
+        return new Results(pos, neg, universe.size(), withData, universe.getLoadNanos(), System.nanoTime() - start);
+    }
+
+    private static List<ScanResult> select(ScanUniverse universe, ScanExpression.Bound clause,
+                                           ScanExpression.Bound changePct, boolean strongestUp, int maxResults) {
+        int[] hits = IntStream.range(0, universe.size()).parallel().filter(clause::test).toArray();
+        double[] volume = universe.today().column(ScanUniverse.Field.VOLUME);
+        double[] close = universe.today().column(ScanUniverse.Field.CLOSE);
+        List<ScanResult> rows = new ArrayList<>(hits.length);
+        for (int slot : hits) {
+            String symbol = nseCode(universe.symbol(slot));
+            rows.add(new ScanResult(symbol, symbol, changePct.value(slot), close[slot], (long) volume[slot]));
+        }
+        Comparator<ScanResult> byChange = Comparator.comparingDouble(ScanResult::getPercentChange);
+        rows.sort(strongestUp ? byChange.reversed() : byChange);
+        if (maxResults > 0 && rows.size() > maxResults) rows = rows.subList(0, maxResults);
+        return Collections.unmodifiableList(new ArrayList<>(rows));
+    }
+
+    /** "INFY-EQ" → "INFY", the form Chartink reports and the rest of the bot expects. */
+    static String nseCode(String masterSymbol) {
+        return masterSymbol.endsWith("-EQ") ? masterSymbol.substring(0, masterSymbol.length() - 3) : masterSymbol;
+    }
+
+    // ---------------------- RESULTS ----------------------
+    public static final class Results {
+        private final List<ScanResult> positive;
+        private final List<ScanResult> negative;
+        private final int universeSize;
+        private final int symbolsWithData;
+        private final long loadNanos;
+        private final long scanNanos;
+
+        Results(List<ScanResult> positive, List<ScanResult> negative, int universeSize, int symbolsWithData,
+                long loadNanos, long scanNanos) {
+            this.positive = positive;
+            this.negative = negative;
+            this.universeSize = universeSize;
+            this.symbolsWithData = symbolsWithData;
+            this.loadNanos = loadNanos;
+            this.scanNanos = scanNanos;
+        }
+
+        public List<ScanResult> getPositive() { return positive; }
+        public List<ScanResult> getNegative() { return negative; }
+        public int getUniverseSize() { return universeSize; }
+        /** Symbols with a bar today; 0 means the store has nothing to scan yet. */
+        public int getSymbolsWithData() { return symbolsWithData; }
+        public long getLoadMillis() { return TimeUnit.NANOSECONDS.toMillis(loadNanos); }
+        public double getScanMillis() { return scanNanos / 1e6; }
+
+        @Override
+        public String toString() {
+            return String.format("Local scans done: %d positive, %d negative | %d/%d symbols with data | load %d ms | scan %.2f ms",
+                    positive.size(), negative.size(), symbolsWithData, universeSize, getLoadMillis(), getScanMillis());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.project.tradingBot.service;
+
+/**
+ * Day bias from the NIFTY % change at the trigger: trade the positive scan on an up day, the
+ * negative scan on a down day, nothing when flat.
+ */
+public enum MarketBias {
+    POSITIVE, NEGATIVE, FLAT;
+
+    public static final double DEFAULT_THRESHOLD_PERCENT = 0.04;
+
+    public static MarketBias of(double niftyChangePercent) {
+        return of(niftyChangePercent, DEFAULT_THRESHOLD_PERCENT);
+    }
+
+    public static MarketBias of(double niftyChangePercent, double thresholdPercent) {
+        if (niftyChangePercent > thresholdPercent) return POSITIVE;
+        if (niftyChangePercent < -thresholdPercent) return NEGATIVE;
+        return FLAT;
+    }
+}
@@ -0,0 +1,19 @@
+package com.project.tradingBot.service;
+
+import java.util.Collection;
+
+/**
+ * Source of live (or replayed) trades for the streaming strategy mode.
+ */
+public interface MarketDataFeed {
+
+    /**
+     * Start pushing ticks for the given symbols to the listener.
+     */
+    void subscribe(Collection<String> symbols, TickListener listener);
+
+    /**
+     * Stop the feed and release its connection/threads.
+     */
+    void stop();
+}
@@ -0,0 +1,45 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.models.CandleSeries;
+
+/**
+ * Opening range breakout, the bot's original rule.
+ *
+ * Positive day: enter on a close above the 15-min high with a bar no wider than
+ * {@code maxRangePercent}, exit on a break of the 15-min low. Negative day: the mirror image.
+ */
+public final class OpeningRangeBreakout implements Strategy {
+
+    private final double maxRangePercent;
+
+    public OpeningRangeBreakout(double maxRangePercent) {
+        this.maxRangePercent = maxRangePercent;
+    }
+
+    @Override
+    public String name() {
+        return "orb";
+    }
+
+    @Override
+    public Signal evaluate(int slot, CandleSeries bars, StrategyContext ctx) {
+        double high = bars.high(0);
+        double low = bars.low(0);
+        double close = bars.close(0);
+        double rangePercent = ((high - low) / low) * 100;
+        if (ctx.isLongBias()) {
+            if (close > ctx.openingHigh(slot) && rangePercent <= maxRangePercent) return Signal.ENTRY;
+            if (low < ctx.openingLow(slot)) return Signal.EXIT;
+        } else {
+            if (close < ctx.openingLow(slot) && rangePercent <= maxRangePercent) return Signal.ENTRY;
+            if (high > ctx.openingHigh(slot)) return Signal.EXIT;
+        }
+        return Signal.NONE;
+    }
+
+    /** Entries and exits both need a bar outside the opening range, so the session must have left it. */
+    @Override
+    public boolean canSignal(int slot, double dayHigh, double dayLow, StrategyContext ctx) {
+        return dayHigh > ctx.openingHigh(slot) || dayLow < ctx.openingLow(slot);
+    }
+}
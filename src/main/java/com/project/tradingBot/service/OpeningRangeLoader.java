@@ -0,0 +1,208 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.models.Candle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fetches the opening-range (09:15-09:30 FIFTEEN_MINUTE) candle for all candidates concurrently.
+ *
+ * Requests are paced by the shared candle rate limiter inside {@link SmartApiService}, failed
+ * symbols are rescheduled with jittered exponential backoff on a timer (no worker sleeps), and
+ * whatever is still missing at the deadline is reported back as unresolved.
+ */
+@Service
+public class OpeningRangeLoader {
+
+    /** The broker calls a load needs; {@link SmartApiService} in production. */
+    interface CandleGateway {
+        List<Candle> fetchHistoricalCandles(String symbol, String interval, String fromDate, String toDate) throws Exception;
+
+        void reloginIfOlderThan(long requestStartNanos);
+    }
+
+    private final CandleGateway gateway;
+    private final long timeoutSeconds;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final int parallelism;
+    private final LatencyRecorder latency = new LatencyRecorder("openingRange");
+
+    @Autowired
+    public OpeningRangeLoader(SmartApiService smartApiService,
+                              @Value("${strategy.openingRange.timeoutSeconds:120}") long timeoutSeconds,
+                              @Value("${strategy.openingRange.maxAttempts:5}") int maxAttempts,
+                              @Value("${strategy.openingRange.backoffMillis:1000}") long backoffMillis,
+                              @Value("${strategy.openingRange.parallelism:8}") int parallelism) {
+        this(new CandleGateway() {
+            @Override
+            public List<Candle> fetchHistoricalCandles(String symbol, String interval, String fromDate, String toDate) throws Exception {
+                return smartApiService.fetchHistoricalCandles(symbol, interval, fromDate, toDate);
+            }
+
+            @Override
+            public void reloginIfOlderThan(long requestStartNanos) {
+                smartApiService.reloginIfOlderThan(requestStartNanos);
+            }
+        }, timeoutSeconds, maxAttempts, backoffMillis, parallelism);
+    }
+
+    OpeningRangeLoader(CandleGateway gateway, long timeoutSeconds, int maxAttempts, long backoffMillis, int parallelism) {
+        this.gateway = gateway;
+        this.timeoutSeconds = timeoutSeconds;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.parallelism = parallelism;
+    }
+
+    // ---------------------- ANSI COLORS ----------------------
+    private static final String RESET = "\u001B[0m";
+    private static final String RED = "\u001B[31m";
+    private static final String GREEN = "\u001B[32m";
+    private static final String YELLOW = "\u001B[33m";
+    private static final String CYAN = "\u001B[36m";
+
+    /**
+     * @return symbol → opening-range candle for every symbol fetched before the deadline
+     */
+    public Map<String, Candle> load(Collection<String> symbols, String from, String to) throws InterruptedException {
+        if (symbols.isEmpty()) return new ConcurrentHashMap<>();
+
+        latency.reset();
+        Load load = new Load(symbols.size(), from, to);
+        try {
+            for (String symbol : symbols) {
+                load.submit(symbol, 1);
+            }
+
+            boolean completed = load.remaining.await(Math.max(load.deadlineNanos - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            if (!completed) {
+                System.err.println(RED + String.format("[INIT] Opening-range deadline (%ds) reached with %d of %d symbols loaded.",
+                        timeoutSeconds, load.results.size(), symbols.size()) + RESET);
+            }
+        } finally {
+            load.retryTimer.shutdownNow();
+            load.workers.shutdownNow();
+        }
+
+        System.out.println(CYAN + String.format("[INIT] Opening range loaded for %d/%d symbols in %d ms (%d retries).",
+                load.results.size(), symbols.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - load.startNanos),
+                load.retries.get()) + RESET);
+        System.out.println(CYAN + latency.summary() + RESET);
+        return load.results;
+    }
+
+    /** Per-request latency of the last {@link #load}, from sending a symbol's request to its candle. */
+    public LatencyRecorder getLatency() {
+        return latency;
+    }
+
+    // ---------------------- ONE LOAD RUN ----------------------
+    private final class Load {
+        final String from;
+        final String to;
+        final long startNanos = System.nanoTime();
+        final long deadlineNanos = startNanos + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        final Map<String, Candle> results = new ConcurrentHashMap<>();
+        final CountDownLatch remaining;
+        final AtomicInteger retries = new AtomicInteger();
+        final ExecutorService workers;
+        final ScheduledExecutorService retryTimer = Executors.newSingleThreadScheduledExecutor(namedThreads("OpeningRange-Retry"));
+
+        Load(int symbolCount, String from, String to) {
+            this.from = from;
+            this.to = to;
+            this.remaining = new CountDownLatch(symbolCount);
+            this.workers = Executors.newFixedThreadPool(Math.min(parallelism, symbolCount), namedThreads("OpeningRange-Worker"));
+        }
+
+        void submit(String symbol, int attempt) {
+            try {
+                workers.submit(() -> fetch(symbol, attempt));
+            } catch (RejectedExecutionException ignored) {
+                // loader already finished
+            }
+        }
+
+        private void fetch(String symbol, int attempt) {
+            long requestStart = System.nanoTime();
+            String failure;
+            try {
+                List<Candle> candles = gateway.fetchHistoricalCandles(symbol, "FIFTEEN_MINUTE", from, to);
+                if (!candles.isEmpty()) {
+                    Candle c = candles.get(0);
+                    results.put(symbol, c);
+                    long elapsed = System.nanoTime() - requestStart;
+                    latency.record(elapsed);
+                    remaining.countDown();
+                    System.out.println(String.format(
+                            GREEN + "[OK]   %-10s | High: %.2f | Low: %.2f | Range: %.2f%% | %d ms (attempt %d)" + RESET,
+                            symbol, c.getHigh(), c.getLow(), ((c.getHigh() - c.getLow()) / c.getLow()) * 100,
+                            TimeUnit.NANOSECONDS.toMillis(elapsed), attempt));
+                    return;
+                }
+                failure = "no 15-min candle data yet";
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return; // loader is shutting down at the deadline
+            } catch (Exception e) {
+                failure = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                if (isAuthError(failure)) {
+                    System.out.println(YELLOW + "[AUTH] Session issue while fetching " + symbol + " → Reauthenticating..." + RESET);
+                    gateway.reloginIfOlderThan(requestStart);
+                }
+            }
+            retryLater(symbol, attempt, failure);
+        }
+
+        private void retryLater(String symbol, int attempt, String failure) {
+            long delayMillis = jitteredBackoff(attempt);
+            boolean beforeDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis) < deadlineNanos;
+
+            if (attempt >= maxAttempts || !beforeDeadline) {
+                System.err.println(RED + String.format("[FAIL] %s after %d attempt(s): %s", symbol, attempt, failure) + RESET);
+                remaining.countDown();
+                return;
+            }
+
+            retries.incrementAndGet();
+            System.out.println(YELLOW + String.format("[RETRY] %s attempt %d failed (%s). Retrying in %d ms.",
+                    symbol, attempt, failure, delayMillis) + RESET);
+            try {
+                retryTimer.schedule(() -> submit(symbol, attempt + 1), delayMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException ignored) {
+                // loader already finished
+            }
+        }
+    }
+
+    // ---------------------- UTILITIES ----------------------
+    /** "Full jitter" exponential backoff: uniform in [base/2, base * 2^(attempt-1)]. */
+    private long jitteredBackoff(int attempt) {
+        long ceiling = backoffMillis << Math.min(attempt - 1, 10);
+        long floor = backoffMillis / 2;
+        return floor + ThreadLocalRandom.current().nextLong(Math.max(ceiling - floor, 1));
+    }
+
+    static boolean isAuthError(String msg) {
+        return msg.contains("AB1004") || msg.toLowerCase().contains("unauthorized")
+                || msg.contains("session") || msg.contains("token");
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r);
+            t.setName(prefix + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
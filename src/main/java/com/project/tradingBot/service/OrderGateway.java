@@ -0,0 +1,74 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.models.Candle;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Where the strategy's orders go: the broker ({@link SmartApiService}) or the in-process
+ * {@link PaperBroker}. Selected by {@code order.gateway}.
+ */
+public interface OrderGateway {
+
+    /** Short name for logs, e.g. {@code live} or {@code paper}. */
+    String name();
+
+    /** Funds available for sizing new entries; 0 if unknown. */
+    double getBalance();
+
+    /**
+     * Place an entry with an attached stop-loss and target.
+     * @return true if the order was accepted
+     */
+    boolean placeBracketOrder(String tradingSymbol, String transactionType,
+                              int quantity, double price, double stopLoss, double target);
+
+    /**
+     * Same as {@link #placeBracketOrder(String, String, int, double, double, double)} with the
+     * instrument details already resolved.
+     */
+    default boolean placeBracketOrder(OrderTemplate template, String transactionType,
+                                      int quantity, double price, double stopLoss, double target) {
+        return placeBracketOrder(template.getTradingSymbol(), transactionType, quantity, price, stopLoss, target);
+    }
+
+    /**
+     * Same as {@link #placeBracketOrder(OrderTemplate, String, int, double, double, double)}, naming
+     * the strategy that signalled the entry (recorded on the paper broker's trades).
+     */
+    default boolean placeBracketOrder(OrderTemplate template, String transactionType, int quantity,
+                                      double price, double stopLoss, double target, String strategy) {
+        return placeBracketOrder(template, transactionType, quantity, price, stopLoss, target);
+    }
+
+    /**
+     * Every completed bar for a symbol that has been watched or traded today. The live broker
+     * manages its own brackets and ignores this; the paper broker fills and exits from it.
+     */
+    default void onBar(String tradingSymbol, Candle bar) {
+    }
+
+    /** Symbols whose bars {@link #onBar} still needs after they leave the watchlist. */
+    default Collection<String> activeSymbols() {
+        return List.of();
+    }
+
+    /** Told when a position placed through the gateway is closed, or its order cancelled unfilled. */
+    @FunctionalInterface
+    interface PositionListener {
+        void onPositionClosed(String tradingSymbol, double pnl);
+    }
+
+    /**
+     * Register for position closes. The live broker has no order-update stream here and never
+     * reports them; the paper broker does.
+     */
+    default void setPositionListener(PositionListener listener) {
+    }
+
+    /** One-line state for the periodic status log (empty if nothing to report). */
+    default String summary() {
+        return "";
+    }
+}
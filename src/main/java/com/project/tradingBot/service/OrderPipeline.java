@@ -0,0 +1,306 @@
+package com.project.tradingBot.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Takes entry signals off the decision threads and places them from one dedicated sender.
+ *
+ * Everything that used to happen inline on a signal is moved out of the way: the balance is
+ * cached and refreshed in the background (and after every order), the per-symbol
+ * {@link OrderTemplate}s are resolved at {@link #start}, and {@link #submit} only appends to a
+ * lock-free queue and wakes the sender. The sender sizes the bracket from the cached balance
+ * less the margin of orders sent since that balance was read, reserves the new order's margin
+ * and hands it to the {@link OrderGateway}; a burst of signals therefore never sizes two orders
+ * from the same capital. A reservation is released when the order fails and dropped once a
+ * balance refresh started after the order (which already reflects its margin) completes.
+ * Signal-to-wire (submit until the gateway call) and the gateway round trip are recorded separately.
+ */
+@Service
+public class OrderPipeline {
+
+    // ---------------------- ANSI COLORS ----------------------
+    private static final String RESET = "\u001B[0m";
+    private static final String RED = "\u001B[31m";
+    private static final String GREEN = "\u001B[32m";
+    private static final String YELLOW = "\u001B[33m";
+    private static final String CYAN = "\u001B[36m";
+
+    @Autowired
+    private OrderGateway orderGateway;
+    @Autowired
+    private RiskManager riskManager;
+
+    @Value("${order.balanceRefreshSeconds:30}")
+    private long balanceRefreshSeconds;
+
+    private final Queue<OrderRequest> queue = new ConcurrentLinkedQueue<>();
+    private final LatencyRecorder signalToWire = new LatencyRecorder("signal->wire");
+    private final LatencyRecorder roundTrip = new LatencyRecorder("order round-trip");
+    private final LongAdder placed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private final Map<String, Double> placedNotional = new ConcurrentHashMap<>(); // admitted notional of live positions
+    private volatile Map<String, OrderTemplate> templates = Map.of();
+    private volatile double balance;
+    private final Deque<double[]> reservations = new ArrayDeque<>(); // {sequence, margin}, guarded by itself
+    private double reserved;
+    private long reservationSeq;
+    private volatile boolean running;
+    private Thread sender;
+    private ScheduledExecutorService refresher;
+
+    public OrderPipeline() {
+    }
+
+    OrderPipeline(OrderGateway orderGateway, RiskManager riskManager, long balanceRefreshSeconds) {
+        this.orderGateway = orderGateway;
+        this.riskManager = riskManager;
+        this.balanceRefreshSeconds = balanceRefreshSeconds;
+    }
+
+    // ---------------------- LIFECYCLE ----------------------
+    /**
+     * Resolve order templates for the day's symbols, load the balance and start the sender
+     * (once; later calls only replace the templates).
+     */
+    public synchronized void start(Collection<String> symbols) {
+        Map<String, OrderTemplate> prepared = new HashMap<>();
+        int missingTokens = 0;
+        for (String symbol : symbols) {
+            OrderTemplate template = OrderTemplate.nseBracket(symbol);
+            if (template.getToken() == null) missingTokens++;
+            prepared.put(symbol, template);
+        }
+        templates = prepared;
+        refreshBalance();
+        System.out.println(CYAN + String.format("[ORDER] %d order templates ready (%d without a token) | gateway=%s | balance=%.2f",
+                prepared.size(), missingTokens, orderGateway.name(), balance) + RESET);
+
+        if (running) return;
+        running = true;
+        orderGateway.setPositionListener(this::onPositionClosed);
+        refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r);
+            t.setName("OrderPipeline-Balance");
+            t.setDaemon(true);
+            return t;
+        });
+        refresher.scheduleWithFixedDelay(this::refreshBalance, balanceRefreshSeconds, balanceRefreshSeconds, TimeUnit.SECONDS);
+
+        sender = new Thread(this::sendLoop);
+        sender.setName("OrderPipeline-Sender");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        LockSupport.unpark(sender);
+        try {
+            sender.join(1000); // let a queued order go out
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        refresher.shutdownNow();
+        System.out.println(CYAN + summary() + RESET);
+    }
+
+    // ---------------------- SUBMIT ----------------------
+    /**
+     * Queue an entry already admitted by the {@link RiskManager}; returns immediately. If the
+     * order is not placed, the admission is released.
+     * @param notional    exposure reserved at admission
+     * @param signalNanos {@link System#nanoTime()} when the signal was decided
+     * @return false if the pipeline is not running (nothing is queued and the admission is released)
+     */
+    public boolean submit(String symbol, boolean buy, double price, double notional, String strategy, long signalNanos) {
+        if (!running) {
+            riskManager.release(symbol, notional);
+            return false;
+        }
+        queue.offer(new OrderRequest(symbol, buy, price, notional, strategy, signalNanos));
+        LockSupport.unpark(sender);
+        return true;
+    }
+
+    private void sendLoop() {
+        while (running || !queue.isEmpty()) {
+            OrderRequest request = queue.poll();
+            if (request == null) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+                continue;
+            }
+            try {
+                send(request);
+            } catch (Exception e) {
+                failed.increment();
+                riskManager.release(request.symbol, request.notional);
+                System.err.println(RED + "[ORDER] Send error for " + request.symbol + ": " + e.getMessage() + RESET);
+            }
+        }
+    }
+
+    private void send(OrderRequest request) {
+        double cash = balance;
+        if (cash <= 0) {
+            failed.increment();
+            riskManager.release(request.symbol, request.notional);
+            System.err.println(YELLOW + "[ORDER] Balance unavailable or zero — skipping " + request.symbol + "." + RESET);
+            return;
+        }
+        // Same sizing and bracket levels the backtester simulates, from capital not yet committed
+        BracketPlan plan = BracketPlan.of(request.buy, getAvailableBalance(), request.price);
+        if (!plan.isValid()) {
+            failed.increment();
+            riskManager.release(request.symbol, request.notional);
+            System.err.println(RED + String.format("[ORDER] Skipping %s | Invalid Qty=%d | Cap=%.2f", request.symbol,
+                    plan.getQuantity(), plan.getEffectiveCapital()) + RESET);
+            return;
+        }
+        double[] reservation = reserve(plan.getQuantity() * plan.getPrice() / plan.getLeverage());
+        OrderTemplate template = templates.get(request.symbol);
+        if (template == null) template = OrderTemplate.nseBracket(request.symbol); // not in today's list
+
+        long wire = System.nanoTime();
+        signalToWire.record(wire - request.signalNanos);
+        boolean ok;
+        try {
+            ok = orderGateway.placeBracketOrder(template, plan.isBuy() ? "BUY" : "SELL", plan.getQuantity(),
+                    plan.getPrice(), plan.getStop(), plan.getTarget(), request.strategy);
+        } catch (RuntimeException e) {
+            release(reservation); // the send loop releases the admission
+            throw e;
+        }
+        roundTrip.recordSince(wire);
+        if (ok) {
+            placed.increment();
+            placedNotional.put(request.symbol, request.notional);
+        } else {
+            failed.increment();
+            riskManager.release(request.symbol, request.notional);
+            release(reservation);
+        }
+        refreshBalanceAsync(); // margin changed
+
+        if (ok) {
+            System.out.printf(GREEN + "[ORDER] Placed %s | %s | %s | Qty=%d | Price=%.2f | SL=%.2f | TGT=%.2f | Leverage=%.1fx%n" + RESET,
+                    request.symbol, request.strategy, plan.isBuy() ? "BUY" : "SELL", plan.getQuantity(), plan.getPrice(),
+                    plan.getStop(), plan.getTarget(), plan.getLeverage());
+        } else {
+            System.err.println(RED + "[ORDER] Order failed for " + request.symbol + RESET);
+        }
+        if (queue.isEmpty()) { // don't hold up a burst of signals behind the latency report
+            System.out.println(CYAN + signalToWire.summary() + RESET);
+            System.out.println(CYAN + roundTrip.summary() + " (" + orderGateway.name() + ")" + RESET);
+        }
+    }
+
+    private void onPositionClosed(String symbol, double pnl) {
+        Double notional = placedNotional.remove(symbol);
+        riskManager.onClosed(symbol, notional != null ? notional : 0, pnl);
+    }
+
+    // ---------------------- BALANCE ----------------------
+    private void refreshBalance() {
+        long coveredSeq;
+        synchronized (reservations) {
+            coveredSeq = reservationSeq; // orders sent so far are reflected in the balance read below
+        }
+        try {
+            double latest = orderGateway.getBalance();
+            synchronized (reservations) {
+                if (latest > 0 || balance == 0) balance = latest; // keep the last good value over a failed RMS call
+                else return;
+                while (!reservations.isEmpty() && reservations.peekFirst()[0] <= coveredSeq) {
+                    reserved -= reservations.pollFirst()[1];
+                }
+            }
+        } catch (Exception e) {
+            System.err.println(RED + "[ORDER] Balance refresh failed: " + e.getMessage() + RESET);
+        }
+    }
+
+    private void refreshBalanceAsync() {
+        if (refresher.isShutdown()) return;
+        try {
+            refresher.execute(this::refreshBalance);
+        } catch (RejectedExecutionException e) {
+            // stopped concurrently; the order itself went out
+        }
+    }
+
+    private double[] reserve(double margin) {
+        synchronized (reservations) {
+            double[] reservation = {++reservationSeq, margin};
+            reservations.addLast(reservation);
+            reserved += margin;
+            return reservation;
+        }
+    }
+
+    private void release(double[] reservation) {
+        synchronized (reservations) {
+            if (reservations.remove(reservation)) reserved -= reservation[1];
+        }
+    }
+
+    /** Last cached balance from the gateway. */
+    public double getBalance() { return balance; }
+
+    /** Cached balance less the margin of orders sent since it was read; what the next order is sized from. */
+    public double getAvailableBalance() {
+        synchronized (reservations) {
+            return Math.max(balance - reserved, 0);
+        }
+    }
+
+    public LatencyRecorder getSignalToWire() { return signalToWire; }
+    public LatencyRecorder getRoundTrip() { return roundTrip; }
+    public long getPlaced() { return placed.sum(); }
+    public long getFailed() { return failed.sum(); }
+    public int getQueued() { return queue.size(); }
+
+    public String summary() {
+        return String.format("[ORDER] gateway=%s | placed=%d | failed=%d | queued=%d%n%s%n%s",
+                orderGateway.name(), getPlaced(), getFailed(), getQueued(), signalToWire.summary(), roundTrip.summary());
+    }
+
+    // ---------------------- REQUEST ----------------------
+    private static final class OrderRequest {
+        final String symbol;
+        final boolean buy;
+        final double price;
+        final double notional;
+        final String strategy;
+        final long signalNanos;
+
+        OrderRequest(String symbol, boolean buy, double price, double notional, String strategy, long signalNanos) {
+            this.symbol = symbol;
+            this.buy = buy;
+            this.price = price;
+            this.notional = notional;
+            this.strategy = strategy;
+            this.signalNanos = signalNanos;
+        }
+    }
+}
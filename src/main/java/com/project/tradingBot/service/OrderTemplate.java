@@ -0,0 +1,48 @@
+package com.project.tradingBot.service;
+
+/**
+ * The parts of a bracket order that are fixed per symbol for the day (instrument token,
+ * exchange, product, order type), resolved once at init so placing an order only fills in
+ * side, quantity and prices.
+ */
+public final class OrderTemplate {
+
+    private final String tradingSymbol;
+    private final String token;
+    private final String exchange;
+    private final String variety;
+    private final String orderType;
+    private final String productType;
+    private final String duration;
+
+    public OrderTemplate(String tradingSymbol, String token, String exchange, String variety,
+                         String orderType, String productType, String duration) {
+        this.tradingSymbol = tradingSymbol;
+        this.token = token;
+        this.exchange = exchange;
+        this.variety = variety;
+        this.orderType = orderType;
+        this.productType = productType;
+        this.duration = duration;
+    }
+
+    /** NSE equity bracket order (ROBO, LIMIT, BO, DAY); the token comes from the scrip master. */
+    public static OrderTemplate nseBracket(String tradingSymbol) {
+        String token = PopulateScanResultService.getSymbolDictionary().tokenString(tradingSymbol);
+        return new OrderTemplate(tradingSymbol, token, "NSE", "ROBO", "LIMIT", "BO", "DAY");
+    }
+
+    public String getTradingSymbol() { return tradingSymbol; }
+    /** Instrument token, or null if the symbol was not in the scrip master. */
+    public String getToken() { return token; }
+    public String getExchange() { return exchange; }
+    public String getVariety() { return variety; }
+    public String getOrderType() { return orderType; }
+    public String getProductType() { return productType; }
+    public String getDuration() { return duration; }
+
+    @Override
+    public String toString() {
+        return tradingSymbol + "(" + exchange + ":" + token + " " + variety + "/" + orderType + "/" + productType + ")";
+    }
+}
@@ -0,0 +1,222 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.models.Candle;
+import com.project.tradingBot.models.CandleSeries;
+import com.project.tradingBot.service.SimulatedBroker.ExitReason;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process {@link OrderGateway} for paper trading against the live bar stream.
+ *
+ * A bracket order rests as a limit order until a later bar trades through it: it fills at that
+ * bar's open if the open is already better than the limit, otherwise at the limit, plus
+ * slippage. The stop and target keep the distances the order set around its price and are
+ * checked on every bar from the fill onward (stop first when a bar touches both, as in
+ * {@link SimulatedBroker}). Open positions are squared off, and unfilled orders cancelled, on
+ * the first bar at or after the square-off time. The balance is the starting capital plus
+ * realised P&L, less the margin (notional / leverage) blocked by open positions and pending
+ * orders, as the broker's RMS would report it.
+ */
+public class PaperBroker implements OrderGateway {
+
+    // ---------------------- ANSI COLORS ----------------------
+    private static final String RESET = "\u001B[0m";
+    private static final String RED = "\u001B[31m";
+    private static final String GREEN = "\u001B[32m";
+    private static final String YELLOW = "\u001B[33m";
+
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+    private final double capital;
+    private final double slippageFraction;
+    private final long latencyMillis;
+    private final LocalTime squareOffTime;
+    private final double leverage;
+
+    private final Map<String, Position> positions = new HashMap<>();
+    private final List<SimulatedBroker.Trade> trades = new ArrayList<>();
+    private final List<SimulatedBroker.Fill> fills = new ArrayList<>();
+    private double realisedPnl;
+    private volatile PositionListener positionListener = (symbol, pnl) -> { };
+
+    /**
+     * @param latencyMillis simulated broker round trip added to every order (0 = none)
+     */
+    public PaperBroker(double capital, double slippageBps, long latencyMillis, LocalTime squareOffTime) {
+        this(capital, slippageBps, latencyMillis, squareOffTime, BracketPlan.DEFAULT_LEVERAGE);
+    }
+
+    /**
+     * @param leverage intraday leverage; a position blocks notional / leverage of the balance
+     */
+    public PaperBroker(double capital, double slippageBps, long latencyMillis, LocalTime squareOffTime, double leverage) {
+        this.capital = capital;
+        this.slippageFraction = slippageBps / 10_000.0;
+        this.latencyMillis = latencyMillis;
+        this.squareOffTime = squareOffTime;
+        this.leverage = leverage;
+    }
+
+    @Override
+    public String name() {
+        return "paper";
+    }
+
+    @Override
+    public void setPositionListener(PositionListener listener) {
+        this.positionListener = listener;
+    }
+
+    @Override
+    public synchronized double getBalance() {
+        double blocked = 0;
+        for (Position p : positions.values()) {
+            blocked += p.quantity * (p.open ? p.entryPrice : p.limit) / leverage;
+        }
+        return capital + realisedPnl - blocked;
+    }
+
+    @Override
+    public boolean placeBracketOrder(String tradingSymbol, String transactionType,
+                                     int quantity, double price, double stopLoss, double target) {
+        return place(tradingSymbol, transactionType, quantity, price, stopLoss, target, name());
+    }
+
+    @Override
+    public boolean placeBracketOrder(OrderTemplate template, String transactionType, int quantity,
+                                     double price, double stopLoss, double target, String strategy) {
+        return place(template.getTradingSymbol(), transactionType, quantity, price, stopLoss, target, strategy);
+    }
+
+    private boolean place(String tradingSymbol, String transactionType, int quantity, double price,
+                          double stopLoss, double target, String strategy) {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        boolean buy = "BUY".equalsIgnoreCase(transactionType);
+        if (quantity <= 0 || price <= 0 || (buy ? stopLoss >= price || target <= price : stopLoss <= price || target >= price)) {
+            System.err.println(RED + "[PAPER] Rejected " + transactionType + " " + tradingSymbol + ": invalid bracket." + RESET);
+            return false;
+        }
+        synchronized (this) {
+            if (positions.containsKey(tradingSymbol)) {
+                System.err.println(RED + "[PAPER] Rejected " + tradingSymbol + ": order or position already open." + RESET);
+                return false;
+            }
+            positions.put(tradingSymbol, new Position(buy, quantity, price, stopLoss, target, strategy));
+        }
+        System.out.printf(YELLOW + "[PAPER] Accepted %s %s | Qty=%d | Limit=%.2f | SL=%.2f | TGT=%.2f%n" + RESET,
+                transactionType, tradingSymbol, quantity, price, stopLoss, target);
+        return true;
+    }
+
+    @Override
+    public synchronized void onBar(String tradingSymbol, Candle bar) {
+        Position p = positions.get(tradingSymbol);
+        if (p == null) return;
+        long minute = CandleSeries.parseEpochMinute(bar.getDatetime());
+        boolean squareOff = !LocalTime.ofInstant(Instant.ofEpochSecond(minute * 60), IST).isBefore(squareOffTime);
+
+        if (!p.open) {
+            if (squareOff) {
+                positions.remove(tradingSymbol);
+                positionListener.onPositionClosed(tradingSymbol, 0);
+                System.out.println(YELLOW + "[PAPER] Cancelled unfilled order for " + tradingSymbol + " at square-off." + RESET);
+                return;
+            }
+            boolean marketable = p.buy ? bar.getLow() <= p.limit : bar.getHigh() >= p.limit;
+            if (!marketable) return;
+            double price = p.buy ? Math.min(bar.getOpen(), p.limit) : Math.max(bar.getOpen(), p.limit);
+            double fill = p.buy ? price * (1 + slippageFraction) : price * (1 - slippageFraction);
+            p.stop = fill * p.stop / p.limit;
+            p.target = fill * p.target / p.limit;
+            p.entryPrice = fill;
+            p.entryMinute = minute;
+            p.open = true;
+            fills.add(new SimulatedBroker.Fill(minute, tradingSymbol, p.buy, p.quantity, fill, "ENTRY"));
+            System.out.printf(GREEN + "[PAPER] Filled %s %s | Qty=%d @ %.2f%n" + RESET,
+                    p.buy ? "BUY" : "SELL", tradingSymbol, p.quantity, fill);
+        }
+
+        boolean stopHit = p.buy ? bar.getLow() <= p.stop : bar.getHigh() >= p.stop;
+        boolean targetHit = p.buy ? bar.getHigh() >= p.target : bar.getLow() <= p.target;
+        if (stopHit) {
+            // A gap through the stop fills at the open, not at the stop
+            exit(tradingSymbol, p, minute, p.buy ? Math.min(bar.getOpen(), p.stop) : Math.max(bar.getOpen(), p.stop), ExitReason.STOP);
+        } else if (targetHit) {
+            exit(tradingSymbol, p, minute, p.buy ? Math.max(bar.getOpen(), p.target) : Math.min(bar.getOpen(), p.target), ExitReason.TARGET);
+        } else if (squareOff) {
+            exit(tradingSymbol, p, minute, bar.getClose(), ExitReason.END_OF_DAY);
+        }
+    }
+
+    private void exit(String tradingSymbol, Position p, long minute, double price, ExitReason reason) {
+        double fill = p.buy ? price * (1 - slippageFraction) : price * (1 + slippageFraction);
+        double pnl = (p.buy ? fill - p.entryPrice : p.entryPrice - fill) * p.quantity;
+        realisedPnl += pnl;
+        positions.remove(tradingSymbol);
+        fills.add(new SimulatedBroker.Fill(minute, tradingSymbol, !p.buy, p.quantity, fill, reason.name()));
+        trades.add(new SimulatedBroker.Trade(tradingSymbol, p.strategy, p.buy, p.quantity, p.entryMinute, p.entryPrice,
+                minute, fill, reason, pnl));
+        positionListener.onPositionClosed(tradingSymbol, pnl);
+        System.out.printf((pnl >= 0 ? GREEN : RED) + "[PAPER] Closed %s on %s @ %.2f | P&L %.2f | Realised %.2f%n" + RESET,
+                tradingSymbol, reason, fill, pnl, realisedPnl);
+    }
+
+    @Override
+    public synchronized Collection<String> activeSymbols() {
+        return new ArrayList<>(positions.keySet());
+    }
+
+    public synchronized boolean hasPosition(String tradingSymbol) {
+        Position p = positions.get(tradingSymbol);
+        return p != null && p.open;
+    }
+
+    public synchronized double getRealisedPnl() { return realisedPnl; }
+    public synchronized List<SimulatedBroker.Trade> getTrades() { return new ArrayList<>(trades); }
+    public synchronized List<SimulatedBroker.Fill> getFills() { return new ArrayList<>(fills); }
+
+    @Override
+    public synchronized String summary() {
+        int open = 0;
+        for (Position p : positions.values()) if (p.open) open++;
+        return String.format("[PAPER] open=%d | pending=%d | closed=%d | realised P&L=%.2f | balance=%.2f",
+                open, positions.size() - open, trades.size(), realisedPnl, getBalance());
+    }
+
+    // ---------------------- POSITION ----------------------
+    private static final class Position {
+        final boolean buy;
+        final int quantity;
+        final double limit;
+        final String strategy;
+        double stop;
+        double target;
+        boolean open;
+        double entryPrice;
+        long entryMinute;
+
+        Position(boolean buy, int quantity, double limit, double stop, double target, String strategy) {
+            this.buy = buy;
+            this.quantity = quantity;
+            this.limit = limit;
+            this.strategy = strategy;
+            this.stop = stop;
+            this.target = target;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.Config.StrategyConfig;
+import com.project.tradingBot.service.BacktestParams.Name;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grid or random search over {@link BacktestParams}.
+ *
+ * History is loaded once into the shared read-only {@link BacktestEngine.History}; every
+ * parameter combination then replays it on a fork/join pool, keeping only its summary
+ * statistics, and the runs are ranked by the chosen {@link Metric}.
+ */
+@Service
+public class ParameterSweep {
+
+    // ---------------------- ANSI COLORS ----------------------
+    private static final String RESET = "\u001B[0m";
+    private static final String GREEN = "\u001B[32m";
+    private static final String CYAN = "\u001B[36m";
+
+    private static final int LEAF_RUNS = 4; // runs per fork/join leaf task
+
+    public enum Mode { GRID, RANDOM }
+
+    public enum Metric {
+        PNL, SHARPE, PROFIT_FACTOR, WIN_RATE,
+        /** P&L over max drawdown (P&L itself when there was no drawdown). */
+        PNL_TO_DRAWDOWN;
+
+        double score(Run run) {
+            switch (this) {
+                case PNL: return run.pnl;
+                case SHARPE: return run.sharpe;
+                case PROFIT_FACTOR: return run.profitFactor;
+                case WIN_RATE: return run.winRate;
+                default: return run.maxDrawdown == 0 ? run.pnl : run.pnl / run.maxDrawdown;
+            }
+        }
+    }
+
+    private final BacktestEngine backtestEngine;
+    private final StrategyConfig strategyConfig;
+    @Autowired
+    private Environment environment;
+
+    @Value("${sweep.mode:GRID}")
+    private String mode;
+    @Value("${sweep.samples:1000}")
+    private int samples;
+    @Value("${sweep.seed:42}")
+    private long seed;
+    @Value("${sweep.metric:SHARPE}")
+    private String metric;
+    @Value("${sweep.top:20}")
+    private int top;
+    @Value("${sweep.parallelism:0}")
+    private int parallelism;
+    @Value("${sweep.outputDir:data/sweep}")
+    private String outputDir;
+
+    @Autowired
+    public ParameterSweep(BacktestEngine backtestEngine, StrategyConfig strategyConfig) {
+        this.backtestEngine = backtestEngine;
+        this.strategyConfig = strategyConfig;
+    }
+
+    /**
+     * Sweep the space configured under {@code sweep.*} and write the ranked report.
+     */
+    public Report runConfigured(BacktestEngine.Request request) throws IOException, InterruptedException {
+        Space space = new Space();
+        for (Name name : Name.values()) {
+            String values = environment.getProperty("sweep.values." + name.key(), "");
+            if (!values.isBlank()) {
+                space.add(name, Arrays.stream(values.split(",")).map(String::trim).mapToDouble(Double::parseDouble).toArray());
+            }
+        }
+        BacktestParams base = BacktestParams.DEFAULTS.with(Name.ORB_MAX_RANGE_PERCENT, strategyConfig.getOrbMaxRangePercent());
+        List<BacktestParams> combos = Mode.valueOf(mode.trim().toUpperCase()) == Mode.RANDOM
+                ? space.random(base, samples, seed)
+                : space.grid(base);
+
+        BacktestEngine.History history = backtestEngine.load(request);
+        System.out.println(CYAN + String.format("[SWEEP] Loaded %d days (%,d bars) in %d ms; running %d combinations.",
+                history.getDays(), history.getBars(), history.getLoadMillis(), combos.size()) + RESET);
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        Report report = run(history, request, combos, Metric.valueOf(metric.trim().toUpperCase()), threads);
+        System.out.println(GREEN + report.summary(top) + RESET);
+        report.writeCsv(Path.of(outputDir).resolve("sweep.csv"));
+        System.out.println(CYAN + "[SWEEP] Report written to " + Path.of(outputDir).resolve("sweep.csv") + RESET);
+        return report;
+    }
+
+    /**
+     * Replay {@code history} once per combination on a fork/join pool of {@code threads} workers.
+     */
+    public Report run(BacktestEngine.History history, BacktestEngine.Request request, List<BacktestParams> combos,
+                      Metric metric, int threads) {
+        long start = System.nanoTime();
+        Run[] runs = new Run[combos.size()];
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        try {
+            pool.invoke(new SweepTask(history, request, combos, runs, 0, combos.size()));
+        } finally {
+            pool.shutdown();
+        }
+        return new Report(Arrays.asList(runs), metric, System.nanoTime() - start);
+    }
+
+    private final class SweepTask extends RecursiveAction {
+        private final BacktestEngine.History history;
+        private final BacktestEngine.Request request;
+        private final List<BacktestParams> combos;
+        private final Run[] runs;
+        private final int from;
+        private final int to;
+
+        SweepTask(BacktestEngine.History history, BacktestEngine.Request request, List<BacktestParams> combos,
+                  Run[] runs, int from, int to) {
+            this.history = history;
+            this.request = request;
+            this.combos = combos;
+            this.runs = runs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_RUNS) {
+                for (int i = from; i < to; i++) {
+                    BacktestParams params = combos.get(i);
+                    StrategySet strategies = strategyConfig.build(params.orbMaxRangePercent());
+                    runs[i] = new Run(params, backtestEngine.replay(history, request, strategies, params));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SweepTask(history, request, combos, runs, from, mid),
+                    new SweepTask(history, request, combos, runs, mid, to));
+        }
+    }
+
+    // ---------------------- SPACE ----------------------
+    /** Candidate values per parameter; parameters not added keep the base value. */
+    public static final class Space {
+        private final Map<Name, double[]> values = new LinkedHashMap<>();
+
+        public Space add(Name name, double... candidates) {
+            if (candidates.length == 0) throw new IllegalArgumentException("No values for " + name.key());
+            values.put(name, candidates.clone());
+            return this;
+        }
+
+        /** Every combination of the candidate values. */
+        public List<BacktestParams> grid(BacktestParams base) {
+            List<BacktestParams> combos = new ArrayList<>();
+            combos.add(base);
+            for (Map.Entry<Name, double[]> e : values.entrySet()) {
+                List<BacktestParams> next = new ArrayList<>(combos.size() * e.getValue().length);
+                for (BacktestParams p : combos) {
+                    for (double v : e.getValue()) next.add(p.with(e.getKey(), v));
+                }
+                combos = next;
+            }
+            return combos;
+        }
+
+        /** {@code samples} points drawn uniformly between each parameter's smallest and largest candidate. */
+        public List<BacktestParams> random(BacktestParams base, int samples, long seed) {
+            Random random = new Random(seed);
+            List<BacktestParams> combos = new ArrayList<>(samples);
+            for (int i = 0; i < samples; i++) {
+                BacktestParams p = base;
+                for (Map.Entry<Name, double[]> e : values.entrySet()) {
+                    double min = Arrays.stream(e.getValue()).min().getAsDouble();
+                    double max = Arrays.stream(e.getValue()).max().getAsDouble();
+                    p = p.with(e.getKey(), min + random.nextDouble() * (max - min));
+                }
+                combos.add(p);
+            }
+            return combos;
+        }
+    }
+
+    // ---------------------- RESULTS ----------------------
+    /** Summary of one combination; the trade list is dropped so thousands of runs stay small. */
+    public static final class Run {
+        private final BacktestParams params;
+        private final double pnl;
+        private final int trades;
+        private final double winRate;
+        private final double maxDrawdown;
+        private final double sharpe;
+        private final double profitFactor;
+
+        Run(BacktestParams params, BacktestEngine.Result result) {
+            this.params = params;
+            this.pnl = result.getPnl();
+            this.trades = result.getTradeCount();
+            this.winRate = result.getWinRate();
+            this.maxDrawdown = result.getMaxDrawdown();
+            this.sharpe = result.getSharpe();
+            this.profitFactor = result.getProfitFactor();
+        }
+
+        public BacktestParams getParams() { return params; }
+        public double getPnl() { return pnl; }
+        public int getTrades() { return trades; }
+        public double getWinRate() { return winRate; }
+        public double getMaxDrawdown() { return maxDrawdown; }
+        public double getSharpe() { return sharpe; }
+        public double getProfitFactor() { return profitFactor; }
+    }
+
+    public static final class Report {
+        private final List<Run> ranked;
+        private final Metric metric;
+        private final long elapsedNanos;
+
+        Report(List<Run> runs, Metric metric, long elapsedNanos) {
+            List<Run> sorted = new ArrayList<>(runs);
+            sorted.sort(Comparator.comparingDouble((Run r) -> metric.score(r)).reversed());
+            this.ranked = Collections.unmodifiableList(sorted);
+            this.metric = metric;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /** Runs best first. */
+        public List<Run> getRanked() { return ranked; }
+        public Metric getMetric() { return metric; }
+        public long getElapsedMillis() { return TimeUnit.NANOSECONDS.toMillis(elapsedNanos); }
+
+        public double getRunsPerSecond() {
+            return elapsedNanos == 0 ? 0 : ranked.size() * 1e9 / elapsedNanos;
+        }
+
+        public void writeCsv(Path file) throws IOException {
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+                StringBuilder header = new StringBuilder("rank,score");
+                for (Name name : Name.values()) header.append(',').append(name.key());
+                out.println(header.append(",pnl,trades,winRate,maxDrawdown,sharpe,profitFactor"));
+                int rank = 1;
+                for (Run r : ranked) {
+                    StringBuilder row = new StringBuilder().append(rank++).append(',').append(metric.score(r));
+                    for (Name name : Name.values()) row.append(',').append(r.params.get(name));
+                    out.println(row.append(String.format(",%.2f,%d,%.4f,%.2f,%.4f,%.4f",
+                            r.pnl, r.trades, r.winRate, r.maxDrawdown, r.sharpe, r.profitFactor)));
+                }
+            }
+        }
+
+        public String summary(int top) {
+            StringBuilder sb = new StringBuilder(String.format("[SWEEP] %d runs in %d ms (%.1f runs/s), ranked by %s:%n",
+                    ranked.size(), getElapsedMillis(), getRunsPerSecond(), metric));
+            for (int i = 0; i < Math.min(top, ranked.size()); i++) {
+                Run r = ranked.get(i);
+                sb.append(String.format("  #%-3d %-10.4f P&L %10.2f | %4d trades | win %.1f%% | DD %.2f | %s%n",
+                        i + 1, metric.score(r), r.pnl, r.trades, r.winRate * 100, r.maxDrawdown, r.params));
+            }
+            return sb.toString();
+        }
+    }
+}
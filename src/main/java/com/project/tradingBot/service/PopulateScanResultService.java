@@ -3,156 +3,154 @@ package com.project.tradingBot.service;
 import java.io.*;
 import java.net.URL;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.project.tradingBot.service.ScripMasterParser.Segment;
 
 public class PopulateScanResultService {
 
     // --- File paths ---
     private static final String MASTER_FILE = "scrip_master.csv";   // full file from AngelOne
-    private static final String EQUITIES_FILE = "equities.csv";     // filtered equities only
     private static final String MASTER_URL =
             "https://margincalculator.angelbroking.com/OpenAPI_File/files/OpenAPIScripMaster.json";
 
+    // Directory the master and the segment indexes live in (scripmaster.dir, shared with ScripMasterRefresher)
+    private static volatile Path directory = Paths.get(".");
+
     // --- Maps ---
-    public static Map<String, String> masterEquitiesMap = new HashMap<>();   // all NSE equities
-    
-    public static final Map<String, String> positiveStocksScannedMap = new HashMap<>(); //day's scanned positive stocks
-    public static final Map<String, String> negativeStocksScannedMap = new HashMap<>(); //day's scanned negative stocks
-    
-    public static final Map<String, String> selectedStocksScannedMap = new HashMap<>(); // days scanned map based on nifty
+    private static final Map<Segment, SymbolIndex> segmentIndexes = new EnumMap<>(Segment.class); // NSE index / NFO futures
+    private static volatile Equities equities = new Equities(SymbolIndex.builder().build()); // NSE equities, all views at once
+    // The day's scan results live in ScanResultRegistry
 
     /**
-     * Step 1: Ensure equities.csv exists (download + filter if needed)
-     * Step 2: Load equities into masterEquitiesMap
+     * Step 1: Ensure the segment indexes exist (download + one streaming pass over the master if needed)
+     * Step 2: Memory-map them; NSE equities back masterEquitiesMap
      */
     public static void initialize() throws IOException {
-        ensureEquitiesFileExists();
+        initialize(directory);
+    }
+
+    /** Same as {@link #initialize()}, reading and writing the files in {@code dir}. */
+    public static void initialize(Path dir) throws IOException {
+        directory = dir;
+        ensureSegmentIndexesExist();
         loadMasterEquitiesMap();
     }
 
     // -------------------- MASTER MAP --------------------
 
     public static Map<String, String> getMasterEquitiesMap() {
-        return masterEquitiesMap;
+        return equities.masterMap;
     }
 
-    public static void printAllMasterEquities() {
-        if (!masterEquitiesMap.isEmpty()) {
-            System.out.println("\n[MASTER] NSE Cash Equities (Symbol → Token):\n");
-            masterEquitiesMap.forEach((symbol, token) ->
-                    System.out.println("Symbol: " + symbol + ", Token: " + token));
-        } else {
-            System.out.println("[MASTER] No equities data loaded.");
-        }
+    public static SymbolIndex getSymbolIndex() {
+        return equities.index;
     }
 
-    // -------------------- SCANNED MAP --------------------
-
-    public static void populatePositiveScannedStocks(String stockName, String symbol) {
-        positiveStocksScannedMap.put(stockName, symbol);
-    }
-    
-    public static void populateNegativeScannedStocks(String stockName, String symbol) {
-        negativeStocksScannedMap.put(stockName, symbol);
-    }
-    
-    public void populateSelectedScannedStocks(String stockName, String symbol) {
-        selectedStocksScannedMap.put(stockName, symbol);
+    /** NSE equities by trading symbol without "-EQ"; resolves tokens without concatenating or allocating. */
+    public static SymbolDictionary getSymbolDictionary() {
+        return equities.dictionary;
     }
 
-    public static Map<String, String> getPositiveScannedStocksMap() {
-        return positiveStocksScannedMap;
-    }
-    
-    public static Map<String, String> getNegativeScannedStocksMap() {
-        return negativeStocksScannedMap;
+    /**
+     * Swap in freshly built indexes. The equity index, its map view and its dictionary are
+     * published together by a single volatile write, so concurrent lookups see either the old or
+     * the new master in all three, never a mix.
+     */
+    public static synchronized void publish(Map<Segment, SymbolIndex> indexes) {
+        indexes.forEach((segment, index) -> {
+            if (segment != Segment.NSE_EQ) segmentIndexes.put(segment, index);
+        });
+        SymbolIndex index = indexes.get(Segment.NSE_EQ);
+        if (index != null) {
+            equities = new Equities(index);
+        }
     }
-    
-    public Map<String, String> getSelectedScannedStocksMap() {
-        return selectedStocksScannedMap;
+
+    /** Index for another segment (e.g. NSE indices, NFO futures), or null if not loaded. */
+    public static synchronized SymbolIndex getSegmentIndex(Segment segment) {
+        return segment == Segment.NSE_EQ ? equities.index : segmentIndexes.get(segment);
     }
 
-    public static void printAllScannedStocks() {
-        if (!selectedStocksScannedMap.isEmpty()) {
-            System.out.println("\n[SCANNED] Stock Name and Symbol Pairs:\n");
-            selectedStocksScannedMap.forEach((name, symbol) ->
-                    System.out.println("Stock Name: " + name + ", Symbol: " + symbol));
+    public static void printAllMasterEquities() {
+        Map<String, String> masterEquitiesMap = equities.masterMap;
+        if (!masterEquitiesMap.isEmpty()) {
+            System.out.println("\n[MASTER] NSE Cash Equities (Symbol → Token):\n");
+            masterEquitiesMap.forEach((symbol, token) ->
+                    System.out.println("Symbol: " + symbol + ", Token: " + token));
         } else {
-            System.out.println("[SCANNED] No scanned stock data available.");
+            System.out.println("[MASTER] No equities data loaded.");
         }
     }
 
     // -------------------- INTERNAL HELPERS --------------------
 
-    private static void ensureEquitiesFileExists() throws IOException {
-        File eqFile = new File(EQUITIES_FILE);
-        if (eqFile.exists()) {
-            System.out.println("[INFO] Equities file already exists. Skipping creation.");
+    private static void ensureSegmentIndexesExist() throws IOException {
+        Path dir = directory;
+        boolean allExist = Arrays.stream(Segment.values()).allMatch(seg -> Files.exists(dir.resolve(seg.getFileName())));
+        if (allExist) {
+            System.out.println("[INFO] Segment indexes already exist. Skipping creation.");
             return;
         }
 
         // Download master JSON file if missing
-        File master = new File(MASTER_FILE);
+        File master = dir.resolve(MASTER_FILE).toFile();
         if (!master.exists()) {
             System.out.println("[INFO] Downloading AngelOne Scrip Master JSON...");
+            Files.createDirectories(dir);
             try (InputStream in = new URL(MASTER_URL).openStream()) {
-                Files.copy(in, Paths.get(MASTER_FILE));
+                Files.copy(in, master.toPath());
             }
             System.out.println("[INFO] Master file downloaded: " + MASTER_FILE);
         }
 
-        // Filter NSE equities (symbol ends with -EQ) and write to EQUITIES_FILE
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode root = mapper.readTree(new File(MASTER_FILE));
-
-        ArrayNode filteredArray = mapper.createArrayNode();
-        int stockCount = 0;
+        // One streaming pass extracts every segment; only the kept rows are ever on the heap
+        ScripMasterParser.Result result;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(master), 1 << 16)) {
+            result = ScripMasterParser.parse(in, EnumSet.allOf(Segment.class));
+        }
+        for (Map.Entry<Segment, SymbolIndex> e : result.getIndexes().entrySet()) {
+            e.getValue().writeTo(dir.resolve(e.getKey().getFileName()));
+        }
+        System.out.println("Total Stocks copied: " + result.get(Segment.NSE_EQ).size());
+        System.out.println("[INFO] " + result.summary());
+    }
 
-        for (JsonNode node : root) {
-            String symbol = node.get("symbol").asText();
-            String token = node.get("token").asText();
-            String exchSeg = node.get("exch_seg").asText();
+    private static synchronized void loadMasterEquitiesMap() throws IOException {
+        File indexFile = directory.resolve(Segment.NSE_EQ.getFileName()).toFile();
+        if (!indexFile.exists()) {
+            System.out.println("[ERROR] Equities index not found: " + indexFile);
+            return;
+        }
 
-            if (symbol.endsWith("-EQ") && "NSE".equalsIgnoreCase(exchSeg)) {
-                ObjectNode obj = mapper.createObjectNode();
-                obj.put("symbol", symbol);
-                obj.put("token", token);
-                filteredArray.add(obj);
-                stockCount++;
+        long start = System.nanoTime();
+        SymbolIndex index = SymbolIndex.load(indexFile.toPath());
+        for (Segment segment : Segment.values()) {
+            File file = directory.resolve(segment.getFileName()).toFile();
+            if (segment != Segment.NSE_EQ && file.exists()) {
+                segmentIndexes.put(segment, SymbolIndex.load(file.toPath()));
             }
         }
+        equities = new Equities(index);
 
-        mapper.writerWithDefaultPrettyPrinter().writeValue(new File(EQUITIES_FILE), filteredArray);
-        System.out.println("Total Stocks copied: " + stockCount);
-        System.out.println("[INFO] Equities file created: " + EQUITIES_FILE + " with " + filteredArray.size() + " entries.");
+        System.out.println("[INFO] Loaded " + index.size() + " equities into masterEquitiesMap in "
+                + (System.nanoTime() - start) / 1000 + " µs.");
     }
-    
-    private static void loadMasterEquitiesMap() throws IOException {
-        File eqFile = new File(EQUITIES_FILE);
-        if (!eqFile.exists()) {
-            System.out.println("[ERROR] Equities file not found: " + EQUITIES_FILE);
-            return;
-        }
-
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode root = mapper.readTree(eqFile);
 
-        masterEquitiesMap.clear();
+    // -------------------- EQUITIES --------------------
 
-        for (JsonNode node : root) {
-            String symbol = node.get("symbol").asText();
-            String token = node.get("token").asText();
+    /** One NSE equity master and the views built from it; immutable, replaced as a whole. */
+    private static final class Equities {
+        final SymbolIndex index;
+        final Map<String, String> masterMap;       // all NSE equities (read-only view of index)
+        final SymbolDictionary dictionary;         // "INFY" → dense ID → token, for the hot path
 
-            masterEquitiesMap.put(symbol, token);
+        Equities(SymbolIndex index) {
+            this.index = index;
+            this.masterMap = index.asMap();
+            this.dictionary = SymbolDictionary.fromMaster(index);
         }
-
-        System.out.println("[INFO] Loaded " + masterEquitiesMap.size() + " equities into masterEquitiesMap.");
     }
-
 }
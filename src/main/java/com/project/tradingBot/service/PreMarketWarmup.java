@@ -0,0 +1,103 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.service.StartupGraph.Node;
+import com.project.tradingBot.service.StartupGraph.Policy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Time-independent startup work, run as soon as the process starts (well before the open) so
+ * that at the market trigger only the data-dependent stages remain: master index, broker login,
+ * warmed HTTP connections and JIT-compiled strategy code.
+ *
+ * The stages are added to a {@link StartupGraph}; only the connection warm-up depends on another
+ * stage (login), so the rest run side by side.
+ */
+@Service
+public class PreMarketWarmup {
+
+    private final ScripMasterRefresher scripMasterRefresher;
+    private final SmartApiService smartApiService;
+    private final ChartinkHttpScanner chartinkHttpScanner;
+    private final StrategyEngine strategyEngine;
+    private final int jitBars;
+    private final String chartinkMode;
+
+    public PreMarketWarmup(ScripMasterRefresher scripMasterRefresher, SmartApiService smartApiService,
+                           ChartinkHttpScanner chartinkHttpScanner, StrategyEngine strategyEngine,
+                           @Value("${startup.warmup.jitBars:20000}") int jitBars,
+                           @Value("${chartink.mode:http}") String chartinkMode) {
+        this.scripMasterRefresher = scripMasterRefresher;
+        this.smartApiService = smartApiService;
+        this.chartinkHttpScanner = chartinkHttpScanner;
+        this.strategyEngine = strategyEngine;
+        this.jitBars = jitBars;
+        this.chartinkMode = chartinkMode;
+    }
+
+    public Stages register(StartupGraph graph, Duration timeout) {
+        Node<Void> master = graph.stage("master index", Policy.REQUIRED, timeout, () -> {
+            scripMasterRefresher.refreshIfStale();
+            PopulateScanResultService.initialize(scripMasterRefresher.getDirectory()); // same files the refresher writes
+            scripMasterRefresher.scheduleDaily();
+            return null;
+        });
+
+        Node<Void> login = graph.stage("broker login", Policy.REQUIRED, timeout, () -> {
+            smartApiService.login();
+            if (!smartApiService.isLoggedIn()) {
+                smartApiService.login(); // one retry before the stage fails
+            }
+            if (!smartApiService.isLoggedIn()) throw new IllegalStateException("no SmartAPI session");
+            return null;
+        });
+
+        // Candle and quote polls share the broker transport's connections; orders and RMS go
+        // through the SmartConnect client, whose connection only a call on that client opens
+        graph.stage("broker connection warm-up", Policy.OPTIONAL, timeout, () -> {
+            int[] statuses = smartApiService.warmUpBrokerConnections();
+            smartApiService.getBalance();
+            if (statuses[0] >= 400 || statuses[1] >= 400) {
+                // connected, but the session is not accepted on the data routes
+                throw new IllegalStateException("quote HTTP " + statuses[0] + ", candleData HTTP " + statuses[1]);
+            }
+            return null;
+        }, login);
+
+        Node<Void> chartinkSession = null;
+        if ("http".equalsIgnoreCase(chartinkMode)) {
+            chartinkSession = graph.stage("chartink session", Policy.OPTIONAL, timeout, () -> {
+                chartinkHttpScanner.prepareSession();
+                return null;
+            });
+        }
+
+        graph.stage("JIT warm-up (" + jitBars + " bars)", Policy.OPTIONAL, timeout, () -> {
+            strategyEngine.warmUp(jitBars);
+            return null;
+        });
+
+        return new Stages(master, login, chartinkSession);
+    }
+
+    // ---------------------- STAGES ----------------------
+    /** The warm-up stages later stages depend on. */
+    public static final class Stages {
+        private final Node<Void> master;
+        private final Node<Void> login;
+        private final Node<Void> chartinkSession;
+
+        Stages(Node<Void> master, Node<Void> login, Node<Void> chartinkSession) {
+            this.master = master;
+            this.login = login;
+            this.chartinkSession = chartinkSession;
+        }
+
+        public Node<Void> getMaster() { return master; }
+        public Node<Void> getLogin() { return login; }
+        /** Null when Chartink runs through Selenium. */
+        public Node<Void> getChartinkSession() { return chartinkSession; }
+    }
+}
@@ -0,0 +1,128 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.models.Quote;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tick feed that polls the market-quote endpoint for the whole watchlist
+ * (marketdata.feed=quotes). Each poll is one {@link BatchQuoteFetcher} call, i.e.
+ * ceil(symbols / {@value BatchQuoteFetcher#MAX_TOKENS_PER_REQUEST}) requests instead of one
+ * candle request per symbol, and every returned quote becomes a tick for the bar aggregator.
+ *
+ * Per-symbol state (last cumulative volume, last exchange time) lives in primitive arrays
+ * indexed by the symbol's ID in this feed's {@link SymbolDictionary}. A quote whose exchange
+ * time has not moved since the previous poll is not re-published.
+ */
+public class QuotePollingMarketDataFeed implements MarketDataFeed {
+
+    // ---------------------- ANSI COLORS ----------------------
+    private static final String RESET = "\u001B[0m";
+    private static final String RED = "\u001B[31m";
+    private static final String GREEN = "\u001B[32m";
+    private static final String YELLOW = "\u001B[33m";
+
+    private final BatchQuoteFetcher fetcher;
+    private final long intervalMillis;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r);
+        t.setName("QuotePoller");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile TickListener listener;
+    private volatile boolean running;
+    private ScheduledFuture<?> poller;
+    private SymbolDictionary symbols = SymbolDictionary.empty();
+    private List<String> watched = List.of();
+    private long[] lastDayVolume = new long[0];
+    private long[] lastFeedTime = new long[0];
+
+    public QuotePollingMarketDataFeed(BatchQuoteFetcher fetcher, long intervalMillis) {
+        this.fetcher = fetcher;
+        this.intervalMillis = intervalMillis;
+    }
+
+    /** Replaces the previous subscription, if any; its poller is cancelled before the state is reset. */
+    @Override
+    public synchronized void subscribe(Collection<String> symbolsToWatch, TickListener tickListener) {
+        if (poller != null) {
+            poller.cancel(false);
+            awaitCancelledPoll();
+        }
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(symbolsToWatch));
+        this.symbols = SymbolDictionary.of(distinct);
+        this.watched = List.copyOf(distinct);
+        this.lastDayVolume = new long[distinct.size()];
+        this.lastFeedTime = new long[distinct.size()];
+        Arrays.fill(lastDayVolume, -1);
+        this.listener = tickListener;
+        this.running = true;
+        System.out.println(GREEN + "[QUOTES] Polling " + distinct.size() + " symbols every " + intervalMillis
+                + " ms in batches of " + BatchQuoteFetcher.MAX_TOKENS_PER_REQUEST + "." + RESET);
+        poller = scheduler.scheduleWithFixedDelay(this::poll, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** A poll already running for the old subscription finishes before its arrays are replaced. */
+    private void awaitCancelledPoll() {
+        try {
+            scheduler.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RejectedExecutionException ignored) {
+            // stopped: nothing left running
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdownNow();
+        System.out.println(fetcher.summary());
+    }
+
+    /** One poll of every watched symbol; runs on the poller thread. */
+    void poll() {
+        if (!running) return;
+        try {
+            BatchQuoteFetcher.Result result = fetcher.fetch(watched);
+            if (result.getFailedRequests() > 0) {
+                System.out.println(YELLOW + "[QUOTES] " + result + RESET);
+            }
+            for (Quote quote : result.getQuotes().values()) {
+                publish(quote);
+            }
+        } catch (IOException e) {
+            System.err.println(RED + "[QUOTES] Poll failed: " + e.getMessage() + RESET);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void publish(Quote quote) {
+        int id = symbols.idOf(quote.getSymbol());
+        if (id < 0) return;
+        long feedTime = quote.getEpochMillis();
+        if (feedTime != 0 && feedTime == lastFeedTime[id]) return; // nothing traded since the last poll
+        lastFeedTime[id] = feedTime;
+
+        // the quote carries the day's cumulative volume; the aggregator wants the quantity since the last tick
+        long dayVolume = quote.getVolume();
+        long volume = lastDayVolume[id] < 0 ? 0 : Math.max(dayVolume - lastDayVolume[id], 0);
+        lastDayVolume[id] = dayVolume;
+
+        listener.onTick(quote.getSymbol(), feedTime != 0 ? feedTime : System.currentTimeMillis(), quote.getLtp(), volume);
+    }
+}
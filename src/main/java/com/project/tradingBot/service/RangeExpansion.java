@@ -0,0 +1,47 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.models.CandleSeries;
+
+/**
+ * Range expansion: enter when a bar is at least {@code multiplier} times the average range of the
+ * previous {@code lookback} bars and closes in the top (positive day) or bottom (negative day)
+ * quarter of its range, in the direction of the bias. Exits on a break of the opposite side of
+ * the opening range, like {@link OpeningRangeBreakout}.
+ */
+public final class RangeExpansion implements Strategy {
+
+    private final int lookback;
+    private final double multiplier;
+
+    public RangeExpansion(int lookback, double multiplier) {
+        if (lookback < 1) throw new IllegalArgumentException("lookback must be >= 1");
+        this.lookback = lookback;
+        this.multiplier = multiplier;
+    }
+
+    @Override
+    public String name() {
+        return "rangeExpansion";
+    }
+
+    @Override
+    public Signal evaluate(int slot, CandleSeries bars, StrategyContext ctx) {
+        double high = bars.high(0);
+        double low = bars.low(0);
+        double close = bars.close(0);
+        boolean longBias = ctx.isLongBias();
+
+        if (longBias ? low < ctx.openingLow(slot) : high > ctx.openingHigh(slot)) return Signal.EXIT;
+        if (bars.size() <= lookback) return Signal.NONE;
+
+        double sum = 0;
+        for (int ago = 1; ago <= lookback; ago++) sum += bars.high(ago) - bars.low(ago);
+        double range = high - low;
+        if (range <= 0 || range < multiplier * (sum / lookback)) return Signal.NONE;
+
+        boolean strongClose = longBias
+                ? close >= high - 0.25 * range && close > bars.open(0)
+                : close <= low + 0.25 * range && close < bars.open(0);
+        return strongClose ? Signal.ENTRY : Signal.NONE;
+    }
+}
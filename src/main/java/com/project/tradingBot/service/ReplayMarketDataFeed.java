@@ -0,0 +1,146 @@
+package com.project.tradingBot.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * In-process feed that replays recorded ticks. Used by tests and for dry runs of the
+ * streaming mode (marketdata.feed=replay) without a broker connection.
+ *
+ * Replay file format (CSV, no header): symbol,epochMillis,price,volume
+ */
+public class ReplayMarketDataFeed implements MarketDataFeed {
+
+    private final List<ReplayTick> ticks = new ArrayList<>();
+    private volatile Set<String> symbols = Set.of();
+    private volatile TickListener listener;
+    private volatile boolean running;
+    private volatile int delivered;
+    private Thread replayThread;
+
+    public ReplayMarketDataFeed() {
+    }
+
+    /**
+     * Load ticks from a CSV file; they are replayed on a background thread once
+     * {@link #subscribe} is called.
+     */
+    public ReplayMarketDataFeed(Path replayFile) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(replayFile)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                String[] parts = line.split(",");
+                add(parts[0].trim(), Long.parseLong(parts[1].trim()),
+                        Double.parseDouble(parts[2].trim()), Long.parseLong(parts[3].trim()));
+            }
+        }
+        System.out.println("[REPLAY] Loaded " + ticks.size() + " ticks from " + replayFile);
+    }
+
+    public synchronized void add(String symbol, long epochMillis, double price, long volume) {
+        ticks.add(new ReplayTick(symbol, epochMillis, price, volume));
+    }
+
+    /**
+     * Start replaying the loaded ticks for {@code subscribeSymbols} on a background thread. A replay
+     * still running from an earlier subscribe is stopped and joined first, so there is never more
+     * than one replay thread delivering ticks.
+     */
+    @Override
+    public synchronized void subscribe(Collection<String> subscribeSymbols, TickListener tickListener) {
+        stopReplay();
+        symbols = new HashSet<>(subscribeSymbols);
+        listener = tickListener;
+        delivered = 0;
+        running = true;
+
+        if (!ticks.isEmpty()) {
+            List<ReplayTick> ordered = new ArrayList<>(ticks);
+            ordered.sort(Comparator.comparingLong(t -> t.epochMillis));
+            replayThread = new Thread(() -> replay(ordered));
+            replayThread.setName("ReplayFeed");
+            replayThread.setDaemon(true);
+            replayThread.start();
+        }
+    }
+
+    /**
+     * Wait for the replay started by {@link #subscribe} to deliver every tick.
+     * @return number of ticks delivered
+     * @throws IllegalStateException if it is still running after {@code timeoutMillis}
+     */
+    public int awaitReplay(long timeoutMillis) throws InterruptedException {
+        Thread t;
+        synchronized (this) {
+            t = replayThread;
+        }
+        if (t != null) {
+            t.join(timeoutMillis);
+            if (t.isAlive()) throw new IllegalStateException("Replay still running after " + timeoutMillis + " ms");
+        }
+        return delivered;
+    }
+
+    // Timestamp order, subscribed symbols only; runs on the replay thread
+    private void replay(List<ReplayTick> ordered) {
+        Set<String> watched = symbols;
+        TickListener l = listener;
+        for (ReplayTick t : ordered) {
+            if (!running) break;
+            if (!watched.contains(t.symbol)) continue;
+            l.onTick(t.symbol, t.epochMillis, t.price, t.volume);
+            delivered++;
+        }
+    }
+
+    private void stopReplay() {
+        Thread t = replayThread;
+        if (t == null) return;
+        running = false;
+        try {
+            t.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        replayThread = null;
+    }
+
+    /**
+     * Push a single tick straight to the subscriber (for tests driving the engine tick by tick).
+     */
+    public void publish(String symbol, long epochMillis, double price, long volume) {
+        TickListener l = listener;
+        if (running && l != null && symbols.contains(symbol)) {
+            l.onTick(symbol, epochMillis, price, volume);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        stopReplay();
+        running = false;
+    }
+
+    private static final class ReplayTick {
+        final String symbol;
+        final long epochMillis;
+        final double price;
+        final long volume;
+
+        ReplayTick(String symbol, long epochMillis, double price, long volume) {
+            this.symbol = symbol;
+            this.epochMillis = epochMillis;
+            this.price = price;
+            this.volume = volume;
+        }
+    }
+}
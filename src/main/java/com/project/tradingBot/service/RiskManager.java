@@ -0,0 +1,143 @@
+package com.project.tradingBot.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Trade accounting and risk limits for the day, shared by every decision thread without a lock.
+ *
+ * The trade count and the open-position count are packed into one {@link AtomicLong} (trades in
+ * the high 32 bits, open positions in the low 32) so an entry is admitted against both limits by
+ * a single compare-and-set. Per-symbol exposure and realised P&L are kept in paise in their own
+ * atomics. A limit of 0 disables that check.
+ *
+ * An admitted entry is either {@link #release released} (the order was never placed) or later
+ * {@link #onClosed closed}. Without an order-update stream from the live broker, live positions
+ * are not reported closed, so there the open-position limit behaves like the trade limit.
+ */
+@Service
+public class RiskManager {
+
+    public enum Admission { ADMITTED, MAX_TRADES, MAX_OPEN_POSITIONS, SYMBOL_EXPOSURE, DAILY_LOSS }
+
+    public static final int DEFAULT_MAX_TRADES = 20;
+
+    private static final long ONE_TRADE = 1L << 32;
+    private static final long ONE_OPEN = 1L;
+
+    private final int maxTrades;
+    private final int maxOpenPositions;
+    private final long maxSymbolExposurePaise;
+    private final long maxDailyLossPaise;
+
+    private final AtomicLong counts = new AtomicLong();
+    private final AtomicLong realisedPaise = new AtomicLong();
+    private final ConcurrentHashMap<String, AtomicLong> exposurePaise = new ConcurrentHashMap<>();
+
+    public RiskManager(@Value("${risk.maxTrades:20}") int maxTrades,
+                       @Value("${risk.maxOpenPositions:20}") int maxOpenPositions,
+                       @Value("${risk.maxSymbolExposure:0}") double maxSymbolExposure,
+                       @Value("${risk.maxDailyLoss:0}") double maxDailyLoss) {
+        this.maxTrades = maxTrades;
+        this.maxOpenPositions = maxOpenPositions;
+        this.maxSymbolExposurePaise = paise(maxSymbolExposure);
+        this.maxDailyLossPaise = paise(maxDailyLoss);
+    }
+
+    // ---------------------- ADMISSION ----------------------
+    /**
+     * Reserve a trade, an open position and {@code notional} of the symbol's exposure, or
+     * nothing if any limit would be exceeded.
+     */
+    public Admission tryAdmit(String symbol, double notional) {
+        if (maxDailyLossPaise > 0 && -realisedPaise.get() >= maxDailyLossPaise) {
+            return Admission.DAILY_LOSS;
+        }
+
+        long amount = paise(notional);
+        AtomicLong exposure = exposurePaise.computeIfAbsent(symbol, s -> new AtomicLong());
+        for (;;) {
+            long current = exposure.get();
+            if (maxSymbolExposurePaise > 0 && current + amount > maxSymbolExposurePaise) {
+                return Admission.SYMBOL_EXPOSURE;
+            }
+            if (exposure.compareAndSet(current, current + amount)) break;
+        }
+
+        for (;;) {
+            long current = counts.get();
+            Admission refused = maxTrades > 0 && trades(current) >= maxTrades ? Admission.MAX_TRADES
+                    : maxOpenPositions > 0 && open(current) >= maxOpenPositions ? Admission.MAX_OPEN_POSITIONS
+                    : null;
+            if (refused != null) {
+                exposure.addAndGet(-amount);
+                return refused;
+            }
+            if (counts.compareAndSet(current, current + ONE_TRADE + ONE_OPEN)) return Admission.ADMITTED;
+        }
+    }
+
+    /** Undo an admission whose order was never placed (rejected, unsized, failed to send). */
+    public void release(String symbol, double notional) {
+        counts.addAndGet(-(ONE_TRADE + ONE_OPEN));
+        releaseExposure(symbol, notional);
+    }
+
+    /** An admitted position was closed (or its order cancelled unfilled, with zero P&L). */
+    public void onClosed(String symbol, double notional, double pnl) {
+        for (;;) {
+            long current = counts.get();
+            if (open(current) == 0) break; // never borrow from the trade count
+            if (counts.compareAndSet(current, current - ONE_OPEN)) break;
+        }
+        releaseExposure(symbol, notional);
+        realisedPaise.addAndGet(paise(pnl));
+    }
+
+    /** Entries made before a restart (replayed from the candle store); counted as trades only. */
+    public void restoreTrades(int trades) {
+        counts.addAndGet(trades * ONE_TRADE);
+    }
+
+    private void releaseExposure(String symbol, double notional) {
+        AtomicLong exposure = exposurePaise.get(symbol);
+        if (exposure != null) exposure.addAndGet(-paise(notional));
+    }
+
+    // ---------------------- STATE ----------------------
+    public int getTradesDone() { return trades(counts.get()); }
+    public int getOpenPositions() { return open(counts.get()); }
+    public double getRealisedPnl() { return realisedPaise.get() / 100.0; }
+    public int getMaxTrades() { return maxTrades; }
+
+    public double getSymbolExposure(String symbol) {
+        AtomicLong exposure = exposurePaise.get(symbol);
+        return exposure == null ? 0 : exposure.get() / 100.0;
+    }
+
+    /** True once no further entry can be admitted today (trade cap or daily loss reached). */
+    public boolean isHalted() {
+        return (maxTrades > 0 && getTradesDone() >= maxTrades)
+                || (maxDailyLossPaise > 0 && -realisedPaise.get() >= maxDailyLossPaise);
+    }
+
+    public String summary() {
+        return String.format("[RISK] trades=%d/%s | open=%d/%s | realised P&L=%.2f (loss limit %s)",
+                getTradesDone(), limit(maxTrades), getOpenPositions(), limit(maxOpenPositions), getRealisedPnl(),
+                maxDailyLossPaise > 0 ? String.format("%.2f", maxDailyLossPaise / 100.0) : "off");
+    }
+
+    private static String limit(int limit) {
+        return limit > 0 ? Integer.toString(limit) : "∞";
+    }
+
+    private static int trades(long counts) { return (int) (counts >>> 32); }
+    private static int open(long counts) { return (int) counts; }
+
+    private static long paise(double rupees) {
+        return Math.round(rupees * 100);
+    }
+}
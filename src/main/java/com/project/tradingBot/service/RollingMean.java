@@ -0,0 +1,61 @@
+package com.project.tradingBot.service;
+
+import java.util.Arrays;
+
+/**
+ * Simple moving average of bar volume over the last {@code period} bars, kept as a running sum
+ * over a ring buffer.
+ */
+public final class RollingMean implements Indicator {
+
+    private final double[] window;
+    private double sum;
+    private long count;
+
+    public RollingMean(int period) {
+        if (period < 1) throw new IllegalArgumentException("period must be >= 1");
+        this.window = new double[period];
+    }
+
+    @Override
+    public void update(long epochMinute, double open, double high, double low, double close, double volume) {
+        add(volume);
+    }
+
+    public void add(double x) {
+        int i = (int) (count % window.length);
+        sum += x - window[i];
+        window[i] = x;
+        count++;
+    }
+
+    @Override
+    public double value() {
+        return count == 0 ? Double.NaN : sum / Math.min(count, window.length);
+    }
+
+    @Override public boolean isReady() { return count >= window.length; }
+
+    @Override
+    public void reset() {
+        Arrays.fill(window, 0);
+        sum = 0;
+        count = 0;
+    }
+
+    @Override public int stateSize() { return window.length + 2; }
+
+    @Override
+    public void snapshot(double[] dst, int offset) {
+        dst[offset] = sum;
+        dst[offset + 1] = count;
+        System.arraycopy(window, 0, dst, offset + 2, window.length);
+    }
+
+    @Override
+    public void restore(double[] src, int offset) {
+        sum = src[offset];
+        count = (long) src[offset + 1];
+        System.arraycopy(src, offset + 2, window, 0, window.length);
+    }
+}
@@ -0,0 +1,77 @@
+package com.project.tradingBot.service;
+
+/**
+ * Relative strength index with Wilder smoothing of the average gain and loss. Needs
+ * {@code period + 1} closes before it is ready.
+ */
+public final class Rsi implements Indicator {
+
+    private final int period;
+    private double averageGain;
+    private double averageLoss;
+    private double previousClose;
+    private long count; // closes seen
+
+    public Rsi(int period) {
+        if (period < 1) throw new IllegalArgumentException("period must be >= 1");
+        this.period = period;
+        reset();
+    }
+
+    @Override
+    public void update(long epochMinute, double open, double high, double low, double close, double volume) {
+        if (count > 0) {
+            double change = close - previousClose;
+            double gain = change > 0 ? change : 0;
+            double loss = change < 0 ? -change : 0;
+            if (count <= period) { // seeding: accumulate, then average on the period-th change
+                averageGain += gain;
+                averageLoss += loss;
+                if (count == period) {
+                    averageGain /= period;
+                    averageLoss /= period;
+                }
+            } else {
+                averageGain = (averageGain * (period - 1) + gain) / period;
+                averageLoss = (averageLoss * (period - 1) + loss) / period;
+            }
+        }
+        previousClose = close;
+        count++;
+    }
+
+    @Override
+    public double value() {
+        if (!isReady()) return Double.NaN;
+        if (averageLoss == 0) return averageGain == 0 ? 50.0 : 100.0;
+        return 100.0 - 100.0 / (1.0 + averageGain / averageLoss);
+    }
+
+    @Override public boolean isReady() { return count > period; }
+
+    @Override
+    public void reset() {
+        averageGain = 0;
+        averageLoss = 0;
+        previousClose = Double.NaN;
+        count = 0;
+    }
+
+    @Override public int stateSize() { return 4; }
+
+    @Override
+    public void snapshot(double[] dst, int offset) {
+        dst[offset] = averageGain;
+        dst[offset + 1] = averageLoss;
+        dst[offset + 2] = previousClose;
+        dst[offset + 3] = count;
+    }
+
+    @Override
+    public void restore(double[] src, int offset) {
+        averageGain = src[offset];
+        averageLoss = src[offset + 1];
+        previousClose = src[offset + 2];
+        count = (long) src[offset + 3];
+    }
+}
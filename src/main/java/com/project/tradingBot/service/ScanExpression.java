@@ -0,0 +1,335 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.service.ScanUniverse.DayColumns;
+import com.project.tradingBot.service.ScanUniverse.Field;
+
+import java.util.Locale;
+
+/**
+ * A scan clause for the {@link LocalScanner}, e.g.
+ * {@code change_pct > 2 and volume > 1.5 * avg_volume(20) and close > 50}.
+ *
+ * Grammar (case-insensitive, lowest precedence first): {@code or}, {@code and}, {@code not},
+ * comparisons ({@code > >= < <= = !=}), {@code + -}, {@code * /}, unary minus, then numbers,
+ * parentheses and the names below. Today's bar is the scan day so far; {@code prev_*} is the
+ * previous stored trading day.
+ * <ul>
+ *   <li>{@code open high low close volume}, {@code prev_open prev_high prev_low prev_close prev_volume}</li>
+ *   <li>{@code change_pct} (close vs previous close), {@code gap_pct} (open vs previous close),
+ *       {@code range_pct} (high - low as % of open)</li>
+ *   <li>{@code avg_volume(n) avg_close(n) max_high(n) min_low(n)} over the previous n days</li>
+ * </ul>
+ * Any NaN operand (missing data) makes a comparison unknown (NaN) rather than false: {@code not}
+ * keeps it unknown, {@code and} / {@code or} follow three-valued logic (false and unknown is
+ * false, true or unknown is true), and a clause that ends up unknown does not match.
+ */
+public final class ScanExpression {
+
+    private final String text;
+
+    private ScanExpression(String text) {
+        this.text = text;
+    }
+
+    /** Check the syntax and names now so a bad clause fails at startup, not at scan time. */
+    public static ScanExpression parse(String text) {
+        if (text == null || text.isBlank()) throw new IllegalArgumentException("Empty scan expression");
+        new Parser(text, null).parse();
+        return new ScanExpression(text.trim());
+    }
+
+    /** Resolve names to the universe's columns; the result is safe to evaluate from many threads. */
+    public Bound bind(ScanUniverse universe) {
+        return new Bound(new Parser(text, universe).parse());
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    // ---------------------- EVALUATION ----------------------
+    @FunctionalInterface
+    interface Node {
+        double eval(int slot);
+    }
+
+    /** An expression bound to one {@link ScanUniverse}. */
+    public static final class Bound {
+        private final Node root;
+
+        Bound(Node root) {
+            this.root = root;
+        }
+
+        public boolean test(int slot) {
+            return root.eval(slot) > 0;
+        }
+
+        public double value(int slot) {
+            return root.eval(slot);
+        }
+    }
+
+    private static double truth(boolean b) {
+        return b ? 1 : 0;
+    }
+
+    @FunctionalInterface
+    private interface Comparison {
+        boolean test(double a, double b);
+    }
+
+    private static Node compare(Node l, Node r, Comparison op) {
+        return s -> {
+            double a = l.eval(s), b = r.eval(s);
+            return Double.isNaN(a) || Double.isNaN(b) ? Double.NaN : truth(op.test(a, b));
+        };
+    }
+
+    private static boolean isFalse(double v) {
+        return !(v > 0) && !Double.isNaN(v);
+    }
+
+    // ---------------------- PARSER ----------------------
+    /** Recursive descent straight to evaluator nodes; with no universe every name evaluates to NaN. */
+    private static final class Parser {
+        private final String src;
+        private final ScanUniverse universe;
+        private int pos;
+
+        Parser(String src, ScanUniverse universe) {
+            this.src = src;
+            this.universe = universe;
+        }
+
+        Node parse() {
+            Node n = or();
+            skipSpace();
+            if (pos < src.length()) throw error("Unexpected '" + src.charAt(pos) + "'");
+            return n;
+        }
+
+        private Node or() {
+            Node left = and();
+            while (keyword("or")) {
+                Node l = left, r = and();
+                left = s -> {
+                    double a = l.eval(s), b = r.eval(s);
+                    return a > 0 || b > 0 ? 1 : Double.isNaN(a) || Double.isNaN(b) ? Double.NaN : 0;
+                };
+            }
+            return left;
+        }
+
+        private Node and() {
+            Node left = not();
+            while (keyword("and")) {
+                Node l = left, r = not();
+                left = s -> {
+                    double a = l.eval(s), b = r.eval(s);
+                    return isFalse(a) || isFalse(b) ? 0 : Double.isNaN(a) || Double.isNaN(b) ? Double.NaN : 1;
+                };
+            }
+            return left;
+        }
+
+        private Node not() {
+            if (keyword("not")) {
+                Node n = not();
+                return s -> {
+                    double v = n.eval(s);
+                    return Double.isNaN(v) ? Double.NaN : truth(!(v > 0));
+                };
+            }
+            return comparison();
+        }
+
+        private Node comparison() {
+            Node l = sum();
+            skipSpace();
+            String op = src.startsWith(">=", pos) || src.startsWith("<=", pos) || src.startsWith("!=", pos) ? src.substring(pos, pos + 2)
+                    : pos < src.length() && "<>=".indexOf(src.charAt(pos)) >= 0 ? src.substring(pos, pos + 1)
+                    : null;
+            if (op == null) return l;
+            pos += op.length();
+            Node r = sum();
+            switch (op) {
+                case ">": return compare(l, r, (a, b) -> a > b);
+                case ">=": return compare(l, r, (a, b) -> a >= b);
+                case "<": return compare(l, r, (a, b) -> a < b);
+                case "<=": return compare(l, r, (a, b) -> a <= b);
+                case "=": return compare(l, r, (a, b) -> a == b);
+                default: return compare(l, r, (a, b) -> a != b);
+            }
+        }
+
+        private Node sum() {
+            Node left = product();
+            for (;;) {
+                Node l = left;
+                if (symbol('+')) {
+                    Node r = product();
+                    left = s -> l.eval(s) + r.eval(s);
+                } else if (symbol('-')) {
+                    Node r = product();
+                    left = s -> l.eval(s) - r.eval(s);
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private Node product() {
+            Node left = unary();
+            for (;;) {
+                Node l = left;
+                if (symbol('*')) {
+                    Node r = unary();
+                    left = s -> l.eval(s) * r.eval(s);
+                } else if (symbol('/')) {
+                    Node r = unary();
+                    left = s -> l.eval(s) / r.eval(s);
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private Node unary() {
+            if (symbol('-')) {
+                Node n = unary();
+                return s -> -n.eval(s);
+            }
+            return primary();
+        }
+
+        private Node primary() {
+            skipSpace();
+            if (symbol('(')) {
+                Node n = or();
+                expect(')');
+                return n;
+            }
+            if (pos < src.length() && (Character.isDigit(src.charAt(pos)) || src.charAt(pos) == '.')) {
+                double v = number();
+                return s -> v;
+            }
+            int start = pos;
+            while (pos < src.length() && (Character.isLetterOrDigit(src.charAt(pos)) || src.charAt(pos) == '_')) pos++;
+            if (start == pos) throw error(pos < src.length() ? "Unexpected '" + src.charAt(pos) + "'" : "Unexpected end");
+            String name = src.substring(start, pos).toLowerCase(Locale.ROOT);
+            if (symbol('(')) {
+                skipSpace();
+                int argPos = pos;
+                double arg = number();
+                expect(')');
+                if (arg != Math.rint(arg) || arg < 1) throw error("Day count must be a positive whole number", argPos);
+                return function(name, (int) arg, start);
+            }
+            return column(name, start);
+        }
+
+        // ---------------------- NAMES ----------------------
+        private Node column(String name, int at) {
+            boolean prev = name.startsWith("prev_");
+            Field field = field(prev ? name.substring(5) : name);
+            if (field != null) {
+                if (universe == null) return s -> Double.NaN;
+                return array(prev ? previous(field) : universe.today().column(field));
+            }
+            switch (name) {
+                case "change_pct":
+                case "gap_pct": {
+                    if (universe == null) return s -> Double.NaN;
+                    double[] now = universe.today().column(name.equals("gap_pct") ? Field.OPEN : Field.CLOSE);
+                    double[] base = previous(Field.CLOSE);
+                    return s -> (now[s] - base[s]) / base[s] * 100;
+                }
+                case "range_pct": {
+                    if (universe == null) return s -> Double.NaN;
+                    DayColumns t = universe.today();
+                    return s -> (t.high[s] - t.low[s]) / t.open[s] * 100;
+                }
+                default:
+                    throw error("Unknown name '" + name + "'", at);
+            }
+        }
+
+        private Node function(String name, int days, int at) {
+            Node unbound = s -> Double.NaN;
+            switch (name) {
+                case "avg_volume": return universe == null ? unbound : array(universe.average(Field.VOLUME, days));
+                case "avg_close": return universe == null ? unbound : array(universe.average(Field.CLOSE, days));
+                case "max_high": return universe == null ? unbound : array(universe.extreme(Field.HIGH, days, true));
+                case "min_low": return universe == null ? unbound : array(universe.extreme(Field.LOW, days, false));
+                default: throw error("Unknown function '" + name + "'", at);
+            }
+        }
+
+        private double[] previous(Field field) {
+            DayColumns prev = universe.daysAgo(1);
+            return prev != null ? prev.column(field) : new DayColumns(universe.size()).column(field);
+        }
+
+        private static Node array(double[] column) {
+            return s -> column[s];
+        }
+
+        private static Field field(String name) {
+            switch (name) {
+                case "open": return Field.OPEN;
+                case "high": return Field.HIGH;
+                case "low": return Field.LOW;
+                case "close": return Field.CLOSE;
+                case "volume": return Field.VOLUME;
+                default: return null;
+            }
+        }
+
+        // ---------------------- LEXING ----------------------
+        private double number() {
+            int start = pos;
+            while (pos < src.length() && (Character.isDigit(src.charAt(pos)) || src.charAt(pos) == '.')) pos++;
+            try {
+                return Double.parseDouble(src.substring(start, pos));
+            } catch (NumberFormatException e) {
+                throw error("Bad number", start);
+            }
+        }
+
+        private boolean keyword(String word) {
+            skipSpace();
+            int end = pos + word.length();
+            if (!src.regionMatches(true, pos, word, 0, word.length())) return false;
+            if (end < src.length() && (Character.isLetterOrDigit(src.charAt(end)) || src.charAt(end) == '_')) return false;
+            pos = end;
+            return true;
+        }
+
+        private boolean symbol(char c) {
+            skipSpace();
+            if (pos < src.length() && src.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!symbol(c)) throw error("Expected '" + c + "'");
+        }
+
+        private void skipSpace() {
+            while (pos < src.length() && Character.isWhitespace(src.charAt(pos))) pos++;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return error(message, pos);
+        }
+
+        private IllegalArgumentException error(String message, int at) {
+            return new IllegalArgumentException(message + " at position " + at + " in scan expression: " + src);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.models.ScanResult;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * The day's scan results, published as immutable, versioned {@link Snapshot}s.
+ *
+ * Writers (the scanners, strategy init) build a new snapshot and swap it in with a
+ * compare-and-set; readers call {@link #current()} and keep using that snapshot without locks or
+ * copies, even while a newer one is being published. Each entry carries the symbol's instrument
+ * token as an int, resolved once from the scrip master at publication.
+ */
+@Service
+public class ScanResultRegistry {
+
+    // ---------------------- ANSI COLORS ----------------------
+    private static final String RESET = "\u001B[0m";
+    private static final String YELLOW = "\u001B[33m";
+    private static final String CYAN = "\u001B[36m";
+
+    public enum Side { POSITIVE, NEGATIVE }
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>(Snapshot.EMPTY);
+
+    public Snapshot current() {
+        return current.get();
+    }
+
+    /** Replace one side's results (duplicates by symbol keep the first row). */
+    public Snapshot publish(Side side, List<ScanResult> results) {
+        SymbolDictionary master = PopulateScanResultService.getSymbolDictionary();
+        Map<String, Entry> bySymbol = new LinkedHashMap<>();
+        for (ScanResult r : results) {
+            bySymbol.putIfAbsent(r.getSymbol(), new Entry(r, master.token(r.getSymbol())));
+        }
+        List<Entry> entries = Collections.unmodifiableList(new ArrayList<>(bySymbol.values()));
+        return update(s -> side == Side.POSITIVE
+                ? new Snapshot(s.version + 1, entries, s.negative, s.selected)
+                : new Snapshot(s.version + 1, s.positive, entries, s.selected));
+    }
+
+    /** Record which side the strategy trades today (null = none, e.g. a flat market). */
+    public Snapshot select(Side side) {
+        return update(s -> new Snapshot(s.version + 1, s.positive, s.negative, side));
+    }
+
+    /** Start a new day with no results. */
+    public Snapshot clear() {
+        return update(s -> new Snapshot(s.version + 1, List.of(), List.of(), null));
+    }
+
+    private Snapshot update(UnaryOperator<Snapshot> change) {
+        for (;;) {
+            Snapshot before = current.get();
+            Snapshot after = change.apply(before);
+            if (current.compareAndSet(before, after)) return after;
+        }
+    }
+
+    public void print() {
+        Snapshot s = current();
+        if (s.positive.isEmpty() && s.negative.isEmpty()) {
+            System.out.println(YELLOW + "[SCANNED] No scanned stock data available." + RESET);
+            return;
+        }
+        System.out.println(CYAN + "\n[SCANNED] " + s + RESET);
+        for (Side side : Side.values()) {
+            for (Entry e : s.entries(side)) {
+                System.out.printf(CYAN + "  %-8s %-15s | %-10s | Token: %-7d | %%Chg: %-7.2f%n" + RESET,
+                        side, e.getStockName(), e.getSymbol(), e.getToken(), e.getPercentChange());
+            }
+        }
+    }
+
+    // ---------------------- SNAPSHOT ----------------------
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(0, List.of(), List.of(), null);
+
+        private final long version;
+        private final List<Entry> positive;
+        private final List<Entry> negative;
+        private final Side selected;
+
+        Snapshot(long version, List<Entry> positive, List<Entry> negative, Side selected) {
+            this.version = version;
+            this.positive = positive;
+            this.negative = negative;
+            this.selected = selected;
+        }
+
+        /** Increases with every publication; equal versions mean identical contents. */
+        public long getVersion() { return version; }
+        public List<Entry> getPositive() { return positive; }
+        public List<Entry> getNegative() { return negative; }
+        /** Side being traded today, or null before strategy init (or on a flat day). */
+        public Side getSelected() { return selected; }
+
+        public List<Entry> entries(Side side) {
+            return side == Side.POSITIVE ? positive : negative;
+        }
+
+        /** Trading symbols (e.g. "INFY") for one side, in scan order. */
+        public List<String> symbols(Side side) {
+            List<Entry> entries = entries(side);
+            List<String> symbols = new ArrayList<>(entries.size());
+            for (Entry e : entries) symbols.add(e.getSymbol());
+            return symbols;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("v%d | positive=%d | negative=%d | selected=%s",
+                    version, positive.size(), negative.size(), selected != null ? selected : "none");
+        }
+    }
+
+    // ---------------------- ENTRY ----------------------
+    public static final class Entry {
+        private final String stockName;
+        private final String symbol;
+        private final int token;
+        private final double percentChange;
+        private final double price;
+        private final long volume;
+
+        Entry(ScanResult r, int token) {
+            this.stockName = r.getStockName();
+            this.symbol = r.getSymbol();
+            this.token = token;
+            this.percentChange = r.getPercentChange();
+            this.price = r.getPrice();
+            this.volume = r.getVolume();
+        }
+
+        public String getStockName() { return stockName; }
+        public String getSymbol() { return symbol; }
+        /** Instrument token from the scrip master, or -1 if the symbol is not in it. */
+        public int getToken() { return token; }
+        public double getPercentChange() { return percentChange; }
+        public double getPrice() { return price; }
+        public long getVolume() { return volume; }
+    }
+}
@@ -0,0 +1,234 @@
+package com.project.tradingBot.service;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Daily bars for a whole symbol universe, stored column-wise for the {@link LocalScanner}.
+ *
+ * Slots follow the {@link SymbolIndex} order. "Today" is the scan day so far, either read from
+ * the store or supplied by the caller (the scanner's quote snapshot); history is the previous
+ * {@code lookbackDays} trading days, oldest first, one {@code double[]} per field per day. Each
+ * daily bar is a stored daily ({@value #DAILY_INTERVAL}-minute) record when present, otherwise
+ * it is folded from the day's intraday bars (the 15-minute opening range and the 5-minute bars
+ * after it). Missing values are NaN, so a comparison on a symbol without data is
+ * simply false.
+ *
+ * Derived columns are cached on first use and are not thread-safe to create; the scanner binds
+ * its expressions (which creates them) before evaluating slots in parallel.
+ */
+public final class ScanUniverse {
+
+    public static final int DAILY_INTERVAL = 1440;
+    public static final int MAX_INTRADAY_INTERVAL = 15;
+
+    private final String[] symbols;
+    private final DayColumns today;
+    private final DayColumns[] history; // oldest first
+    private final Map<String, double[]> derived = new HashMap<>();
+    private final long loadNanos;
+
+    private ScanUniverse(String[] symbols, DayColumns today, DayColumns[] history, long loadNanos) {
+        this.symbols = symbols;
+        this.today = today;
+        this.history = history;
+        this.loadNanos = loadNanos;
+    }
+
+    /**
+     * Read {@code day} and the {@code lookbackDays} store days before it for every symbol in
+     * {@code index}.
+     */
+    public static ScanUniverse load(CandleStore store, SymbolIndex index, LocalDate day, int lookbackDays) throws IOException {
+        return load(store, index, day, lookbackDays, null, null);
+    }
+
+    /**
+     * Like {@link #load(CandleStore, SymbolIndex, LocalDate, int)}, with today's bars supplied by
+     * the caller instead of read from the store.
+     * @param previousClose per slot (NaN where unknown); fills the latest stored day's close where
+     *                      it is missing, or stands in as a close-only previous day when the store
+     *                      has no earlier day. A stale latest day (a session the bot missed) is not
+     *                      detected.
+     */
+    public static ScanUniverse load(CandleStore store, SymbolIndex index, LocalDate day, int lookbackDays,
+                                    DayColumns today, double[] previousClose) throws IOException {
+        long start = System.nanoTime();
+        int n = index.size();
+        String[] symbols = new String[n];
+        long[] tokenSlots = new long[n]; // token << 32 | slot, sorted by token for lookups without boxing
+        for (int i = 0; i < n; i++) {
+            symbols[i] = index.symbolAt(i);
+            tokenSlots[i] = ((long) index.tokenAt(i) << 32) | i;
+        }
+        Arrays.sort(tokenSlots);
+        int[] sortedTokens = new int[n];
+        for (int i = 0; i < n; i++) sortedTokens[i] = (int) (tokenSlots[i] >> 32);
+
+        List<LocalDate> previous = new ArrayList<>();
+        for (LocalDate d : store.availableDays()) {
+            if (d.isBefore(day)) previous.add(d);
+        }
+        previous = previous.subList(Math.max(0, previous.size() - lookbackDays), previous.size());
+
+        DayColumns[] history = new DayColumns[previous.size()];
+        for (int i = 0; i < history.length; i++) {
+            history[i] = DayColumns.read(store, previous.get(i), n, sortedTokens, tokenSlots);
+        }
+        if (previousClose != null) {
+            if (history.length == 0) history = new DayColumns[] {new DayColumns(n)};
+            double[] close = history[history.length - 1].close;
+            for (int s = 0; s < n; s++) {
+                if (Double.isNaN(close[s])) close[s] = previousClose[s];
+            }
+        }
+        if (today == null) today = DayColumns.read(store, day, n, sortedTokens, tokenSlots);
+        return new ScanUniverse(symbols, today, history, System.nanoTime() - start);
+    }
+
+    /** Universe from columns already in memory (tests, or a quote snapshot for today). */
+    public static ScanUniverse of(String[] symbols, DayColumns today, DayColumns... history) {
+        return new ScanUniverse(symbols, today, history, 0);
+    }
+
+    public int size() { return symbols.length; }
+    public String symbol(int slot) { return symbols[slot]; }
+    public int historyDays() { return history.length; }
+    public long getLoadNanos() { return loadNanos; }
+    public DayColumns today() { return today; }
+
+    /** {@code daysAgo} = 1 is the previous trading day; null if there is no such day. */
+    public DayColumns daysAgo(int daysAgo) {
+        int i = history.length - daysAgo;
+        return i >= 0 && daysAgo > 0 ? history[i] : null;
+    }
+
+    // ---------------------- DERIVED COLUMNS ----------------------
+    /** Mean of {@code field} over the previous {@code days} days (NaN unless every day has a value). */
+    public double[] average(Field field, int days) {
+        return derived.computeIfAbsent("avg:" + field + ":" + days, k -> {
+            double[] out = new double[size()];
+            if (days <= 0 || days > history.length) {
+                Arrays.fill(out, Double.NaN);
+                return out;
+            }
+            for (int d = history.length - days; d < history.length; d++) {
+                double[] col = history[d].column(field);
+                for (int s = 0; s < out.length; s++) out[s] += col[s];
+            }
+            for (int s = 0; s < out.length; s++) out[s] /= days;
+            return out;
+        });
+    }
+
+    /** Highest ({@code max}) or lowest value of {@code field} over the previous {@code days} days. */
+    public double[] extreme(Field field, int days, boolean max) {
+        return derived.computeIfAbsent((max ? "max:" : "min:") + field + ":" + days, k -> {
+            double[] out = new double[size()];
+            Arrays.fill(out, days <= 0 || days > history.length ? Double.NaN : max ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY);
+            if (days <= 0 || days > history.length) return out;
+            for (int d = history.length - days; d < history.length; d++) {
+                double[] col = history[d].column(field);
+                for (int s = 0; s < out.length; s++) {
+                    double v = col[s];
+                    out[s] = Double.isNaN(v) || Double.isNaN(out[s]) ? Double.NaN : max ? Math.max(out[s], v) : Math.min(out[s], v);
+                }
+            }
+            return out;
+        });
+    }
+
+    public enum Field { OPEN, HIGH, LOW, CLOSE, VOLUME }
+
+    // ---------------------- DAY COLUMNS ----------------------
+    /** One day's OHLCV for every slot. */
+    public static final class DayColumns {
+        final double[] open;
+        final double[] high;
+        final double[] low;
+        final double[] close;
+        final double[] volume;
+        private final long[] firstMinute;
+        private final long[] lastMinute;
+        private final boolean[] daily;
+
+        public DayColumns(int size) {
+            open = nan(size);
+            high = nan(size);
+            low = nan(size);
+            close = nan(size);
+            volume = nan(size);
+            firstMinute = new long[size];
+            lastMinute = new long[size];
+            daily = new boolean[size];
+        }
+
+        private static double[] nan(int size) {
+            double[] a = new double[size];
+            Arrays.fill(a, Double.NaN);
+            return a;
+        }
+
+        static DayColumns read(CandleStore store, LocalDate day, int size, int[] sortedTokens, long[] tokenSlots) throws IOException {
+            DayColumns c = new DayColumns(size);
+            store.read(day, (token, interval, minute, o, h, l, cl, v) -> {
+                if (interval > MAX_INTRADAY_INTERVAL && interval != DAILY_INTERVAL) return;
+                int i = Arrays.binarySearch(sortedTokens, token);
+                if (i < 0) return;
+                int slot = (int) tokenSlots[i];
+                if (interval == DAILY_INTERVAL) {
+                    c.set(slot, o, h, l, cl, v);
+                    c.daily[slot] = true;
+                } else if (!c.daily[slot]) {
+                    c.addBar(slot, minute, o, h, l, cl, v);
+                }
+            });
+            return c;
+        }
+
+        /** Overwrite the slot's bar (e.g. from a quote snapshot). */
+        public void set(int slot, double o, double h, double l, double c, double v) {
+            open[slot] = o;
+            high[slot] = h;
+            low[slot] = l;
+            close[slot] = c;
+            volume[slot] = v;
+        }
+
+        /** Fold an intraday bar into the slot's daily bar (bars may arrive in any order). */
+        public void addBar(int slot, long epochMinute, double o, double h, double l, double c, double v) {
+            if (Double.isNaN(open[slot])) {
+                set(slot, o, h, l, c, v);
+                firstMinute[slot] = epochMinute;
+                lastMinute[slot] = epochMinute;
+                return;
+            }
+            if (epochMinute < firstMinute[slot]) {
+                open[slot] = o;
+                firstMinute[slot] = epochMinute;
+            }
+            if (epochMinute >= lastMinute[slot]) {
+                close[slot] = c;
+                lastMinute[slot] = epochMinute;
+            }
+            high[slot] = Math.max(high[slot], h);
+            low[slot] = Math.min(low[slot], l);
+            volume[slot] += v;
+        }
+
+        public double[] column(Field field) {
+            switch (field) {
+                case OPEN: return open;
+                case HIGH: return high;
+                case LOW: return low;
+                case CLOSE: return close;
+                default: return volume;
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.project.tradingBot.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-pass streaming filter over the AngelOne scrip master (a JSON array of instruments).
+ *
+ * Instruments are read one at a time with Jackson's {@link JsonParser}; only symbol, token,
+ * exchange segment and instrument type are kept, and only for rows matching a requested
+ * {@link Segment}. Nothing else from the file is retained, so heap use is bounded by the
+ * size of the selected segments, not the size of the master.
+ */
+public final class ScripMasterParser {
+
+    /**
+     * Instrument groups that can be extracted from the master.
+     */
+    public enum Segment {
+        /** NSE cash equities, e.g. "INFY-EQ". */
+        NSE_EQ("equities.idx"),
+        /** NSE indices, e.g. "Nifty 50". */
+        NSE_INDEX("indices.idx"),
+        /** Stock and index futures on NFO, e.g. "NIFTY25JANFUT". */
+        NFO_FUTURES("nfo-futures.idx");
+
+        private final String fileName;
+
+        Segment(String fileName) {
+            this.fileName = fileName;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        boolean matches(String exchSeg, String symbol, String instrumentType) {
+            switch (this) {
+                case NSE_EQ:
+                    return "NSE".equalsIgnoreCase(exchSeg) && symbol.endsWith("-EQ");
+                case NSE_INDEX:
+                    return "NSE".equalsIgnoreCase(exchSeg) && "AMXIDX".equalsIgnoreCase(instrumentType);
+                case NFO_FUTURES:
+                    return "NFO".equalsIgnoreCase(exchSeg)
+                            && ("FUTSTK".equalsIgnoreCase(instrumentType) || "FUTIDX".equalsIgnoreCase(instrumentType));
+                default:
+                    return false;
+            }
+        }
+    }
+
+    private ScripMasterParser() {
+    }
+
+    /**
+     * Stream the master once and build an index per requested segment.
+     */
+    public static Result parse(InputStream master, Collection<Segment> segments) throws IOException {
+        Map<Segment, SymbolIndex.Builder> builders = new EnumMap<>(Segment.class);
+        for (Segment segment : segments) builders.put(segment, SymbolIndex.builder());
+
+        PeakHeap peak = new PeakHeap();
+        long start = System.nanoTime();
+        int rows = 0;
+        int badRows = 0;
+
+        try (JsonParser parser = new JsonFactory().createParser(master)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Scrip master is not a JSON array");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String symbol = null, token = null, exchSeg = null, instrumentType = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case "symbol" -> symbol = parser.getText();
+                        case "token" -> token = parser.getText();
+                        case "exch_seg" -> exchSeg = parser.getText();
+                        case "instrumenttype" -> instrumentType = parser.getText();
+                        default -> parser.skipChildren();
+                    }
+                }
+                rows++;
+                if (symbol == null || token == null) {
+                    badRows++;
+                    continue;
+                }
+
+                Integer parsedToken = null; // parsed only for rows a segment keeps
+                for (Map.Entry<Segment, SymbolIndex.Builder> e : builders.entrySet()) {
+                    if (!e.getKey().matches(exchSeg, symbol, instrumentType)) continue;
+                    if (parsedToken == null) {
+                        try {
+                            parsedToken = Integer.parseInt(token);
+                        } catch (NumberFormatException nfe) {
+                            badRows++; // skip the row; one bad row must not fail the whole master
+                            break;
+                        }
+                    }
+                    e.getValue().add(symbol, parsedToken);
+                }
+            }
+        }
+
+        Map<Segment, SymbolIndex> indexes = new EnumMap<>(Segment.class);
+        builders.forEach((segment, builder) -> indexes.put(segment, builder.build()));
+        return new Result(indexes, rows, badRows, System.nanoTime() - start, peak.bytesAboveBaseline());
+    }
+
+    // ---------------------- RESULT ----------------------
+    public static final class Result {
+        private final Map<Segment, SymbolIndex> indexes;
+        private final int rowsScanned;
+        private final int badRows;
+        private final long elapsedNanos;
+        private final long peakHeapBytes;
+
+        Result(Map<Segment, SymbolIndex> indexes, int rowsScanned, int badRows, long elapsedNanos, long peakHeapBytes) {
+            this.indexes = indexes;
+            this.rowsScanned = rowsScanned;
+            this.badRows = badRows;
+            this.elapsedNanos = elapsedNanos;
+            this.peakHeapBytes = peakHeapBytes;
+        }
+
+        public SymbolIndex get(Segment segment) { return indexes.get(segment); }
+        public Map<Segment, SymbolIndex> getIndexes() { return indexes; }
+        public int getRowsScanned() { return rowsScanned; }
+        /** Rows skipped: no symbol or token, or a token that is not a number on a row a segment would keep. */
+        public int getBadRows() { return badRows; }
+        public long getElapsedMillis() { return TimeUnit.NANOSECONDS.toMillis(elapsedNanos); }
+
+        /** Peak heap growth during the parse: sum of per-pool peaks minus the starting usage (an upper bound). */
+        public long getPeakHeapBytes() { return peakHeapBytes; }
+
+        public String summary() {
+            StringBuilder sb = new StringBuilder(String.format("[MASTER] Parsed %d instruments (%d bad) in %d ms | peak heap +%.1f MB |",
+                    rowsScanned, badRows, getElapsedMillis(), peakHeapBytes / (1024.0 * 1024.0)));
+            indexes.forEach((segment, index) -> sb.append(' ').append(segment).append('=').append(index.size()));
+            return sb.toString();
+        }
+    }
+
+    // ---------------------- PEAK HEAP ----------------------
+    private static final class PeakHeap {
+        private final List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans();
+        private final long baseline;
+
+        PeakHeap() {
+            long used = 0;
+            for (MemoryPoolMXBean pool : pools) {
+                if (pool.getType() != MemoryType.HEAP || !pool.isValid()) continue;
+                pool.resetPeakUsage();
+                used += pool.getUsage().getUsed();
+            }
+            this.baseline = used;
+        }
+
+        long bytesAboveBaseline() {
+            long peak = 0;
+            for (MemoryPoolMXBean pool : pools) {
+                if (pool.getType() != MemoryType.HEAP || !pool.isValid()) continue;
+                peak += pool.getPeakUsage().getUsed();
+            }
+            return Math.max(peak - baseline, 0);
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.service.ScripMasterParser.Segment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the local scrip master current without re-downloading it every day.
+ *
+ * Each refresh is a conditional GET (If-None-Match / If-Modified-Since from the last response).
+ * A 304 costs nothing; a 200 whose SHA-256 matches the last download is also treated as unchanged.
+ * Otherwise the new master is stream-parsed and every segment is diffed against its live index;
+ * if symbols were added, removed or re-tokened in any segment, all segment indexes are written to
+ * {@code scripmaster.dir} (the directory {@link PopulateScanResultService} loads from) and swapped
+ * in atomically via {@link PopulateScanResultService#publish}.
+ */
+@Service
+public class ScripMasterRefresher {
+
+    private static final String MASTER_FILE = "scrip_master.csv";
+    private static final String META_FILE = "scrip_master.meta";
+    private static final SymbolIndex EMPTY = SymbolIndex.builder().build();
+
+    // ---------------------- ANSI COLORS ----------------------
+    private static final String RESET = "\u001B[0m";
+    private static final String RED = "\u001B[31m";
+    private static final String GREEN = "\u001B[32m";
+    private static final String CYAN = "\u001B[36m";
+
+    public enum Outcome { NOT_MODIFIED, UNCHANGED, UPDATED }
+
+    private final String url;
+    private final Path dir;
+    private final LocalTime refreshTime;
+    private final Duration timeout;
+    private final BrokerHttpTransport transport;
+    private ScheduledExecutorService scheduler;
+
+    public ScripMasterRefresher(@Value("${scripmaster.url:https://margincalculator.angelbroking.com/OpenAPI_File/files/OpenAPIScripMaster.json}") String url,
+                                @Value("${scripmaster.dir:.}") String dir,
+                                @Value("${scripmaster.refresh.time:08:45}") String refreshTime,
+                                @Value("${scripmaster.refresh.timeoutSeconds:60}") long timeoutSeconds,
+                                BrokerHttpTransport transport) {
+        this.url = url;
+        this.dir = Paths.get(dir);
+        this.refreshTime = LocalTime.parse(refreshTime);
+        this.timeout = Duration.ofSeconds(timeoutSeconds);
+        this.transport = transport;
+    }
+
+    /** Where the master and segment indexes are kept; {@link PopulateScanResultService} loads from here. */
+    public Path getDirectory() {
+        return dir;
+    }
+
+    // ---------------------- SCHEDULING ----------------------
+    /** Refresh now unless it has already been checked today. */
+    public Result refreshIfStale() {
+        if (LocalDate.now().toString().equals(loadMeta().getProperty("checkedDate"))) {
+            return null;
+        }
+        return refreshQuietly();
+    }
+
+    /** Refresh every day at {@code scripmaster.refresh.time} for as long as the process runs. */
+    public synchronized void scheduleDaily() {
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r);
+            t.setName("ScripMaster-Refresh");
+            t.setDaemon(true);
+            return t;
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = now.toLocalDate().atTime(refreshTime);
+        if (!next.isAfter(now)) next = next.plusDays(1);
+        long initialDelay = Duration.between(now, next).getSeconds();
+        scheduler.scheduleAtFixedRate(this::refreshQuietly, initialDelay, TimeUnit.DAYS.toSeconds(1), TimeUnit.SECONDS);
+        System.out.println(CYAN + "[MASTER] Daily scrip master refresh scheduled at " + refreshTime + " (next in " + initialDelay + " s)." + RESET);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (scheduler != null) scheduler.shutdownNow();
+    }
+
+    private Result refreshQuietly() {
+        try {
+            return refresh();
+        } catch (Exception e) {
+            System.err.println(RED + "[MASTER] Scrip master refresh failed, keeping current index: " + e.getMessage() + RESET);
+            return null;
+        }
+    }
+
+    // ---------------------- REFRESH ----------------------
+    public synchronized Result refresh() throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Properties meta = loadMeta();
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url)).GET();
+        if (meta.getProperty("etag") != null) request.header("If-None-Match", meta.getProperty("etag"));
+        if (meta.getProperty("lastModified") != null) request.header("If-Modified-Since", meta.getProperty("lastModified"));
+
+        BrokerHttpTransport.StreamResponse response = transport.sendStreaming("scripMaster", request, timeout);
+        if (response.getStatus() == 304) {
+            response.getBody().close();
+            meta.setProperty("checkedDate", LocalDate.now().toString());
+            saveMeta(meta);
+            return report(new Result(Outcome.NOT_MODIFIED, 0, Diff.NONE, Map.of(), start));
+        }
+        if (response.getStatus() != 200) {
+            response.getBody().close();
+            throw new IOException("Scrip master download returned HTTP " + response.getStatus());
+        }
+
+        // Stream to a temp file while hashing, so the body is never held in memory
+        Files.createDirectories(dir);
+        Path tmp = dir.resolve(MASTER_FILE + ".download");
+        MessageDigest sha256 = sha256();
+        long bytes;
+        try (InputStream in = new DigestInputStream(response.getBody(), sha256);
+             OutputStream out = Files.newOutputStream(tmp)) {
+            bytes = in.transferTo(out);
+        }
+        String hash = HexFormat.of().formatHex(sha256.digest());
+
+        response.header("ETag").ifPresentOrElse(v -> meta.setProperty("etag", v), () -> meta.remove("etag"));
+        response.header("Last-Modified").ifPresentOrElse(v -> meta.setProperty("lastModified", v), () -> meta.remove("lastModified"));
+        meta.setProperty("checkedDate", LocalDate.now().toString());
+
+        if (hash.equals(meta.getProperty("sha256"))) {
+            Files.deleteIfExists(tmp);
+            saveMeta(meta);
+            return report(new Result(Outcome.UNCHANGED, bytes, Diff.NONE, Map.of(), start));
+        }
+
+        ScripMasterParser.Result parsed;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(tmp.toFile()), 1 << 16)) {
+            parsed = ScripMasterParser.parse(in, EnumSet.allOf(Segment.class));
+        }
+        System.out.println(CYAN + parsed.summary() + RESET);
+
+        Map<Segment, Diff> diffs = new EnumMap<>(Segment.class);
+        Diff diff = Diff.NONE;
+        for (Segment segment : Segment.values()) {
+            SymbolIndex before = PopulateScanResultService.getSegmentIndex(segment);
+            SymbolIndex after = parsed.get(segment);
+            Diff d = Diff.between(before != null ? before : EMPTY, after != null ? after : EMPTY);
+            diffs.put(segment, d);
+            diff = diff.plus(d);
+        }
+        if (!diff.isEmpty() || !allIndexFilesExist()) {
+            for (Map.Entry<Segment, SymbolIndex> e : parsed.getIndexes().entrySet()) {
+                e.getValue().writeTo(dir.resolve(e.getKey().getFileName()));
+            }
+            PopulateScanResultService.publish(parsed.getIndexes());
+        }
+
+        Files.move(tmp, dir.resolve(MASTER_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        meta.setProperty("sha256", hash);
+        saveMeta(meta);
+        return report(new Result(diff.isEmpty() ? Outcome.UNCHANGED : Outcome.UPDATED, bytes, diff, diffs, start));
+    }
+
+    private boolean allIndexFilesExist() {
+        for (Segment segment : Segment.values()) {
+            if (!Files.exists(dir.resolve(segment.getFileName()))) return false;
+        }
+        return true;
+    }
+
+    private Result report(Result result) {
+        String color = result.getOutcome() == Outcome.UPDATED ? GREEN : CYAN;
+        System.out.println(color + "[MASTER] Refresh: " + result + RESET);
+        return result;
+    }
+
+    // ---------------------- META ----------------------
+    private Properties loadMeta() {
+        Properties meta = new Properties();
+        Path file = dir.resolve(META_FILE);
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                meta.load(in);
+            } catch (IOException e) {
+                System.err.println(RED + "[MASTER] Ignoring unreadable " + META_FILE + ": " + e.getMessage() + RESET);
+            }
+        }
+        return meta;
+    }
+
+    private void saveMeta(Properties meta) throws IOException {
+        Files.createDirectories(dir);
+        try (OutputStream out = Files.newOutputStream(dir.resolve(META_FILE))) {
+            meta.store(out, "Scrip master validators");
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ---------------------- DIFF ----------------------
+    /**
+     * Symbol-level difference between two indexes (merge join over the sorted symbols).
+     */
+    public static final class Diff {
+        static final Diff NONE = new Diff(0, 0, 0);
+
+        private final int added;
+        private final int removed;
+        private final int changed;
+
+        private Diff(int added, int removed, int changed) {
+            this.added = added;
+            this.removed = removed;
+            this.changed = changed;
+        }
+
+        static Diff between(SymbolIndex before, SymbolIndex after) {
+            int i = 0, j = 0, added = 0, removed = 0, changed = 0;
+            while (i < before.size() && j < after.size()) {
+                int cmp = before.symbolAt(i).compareTo(after.symbolAt(j));
+                if (cmp < 0) {
+                    removed++;
+                    i++;
+                } else if (cmp > 0) {
+                    added++;
+                    j++;
+                } else {
+                    if (before.tokenAt(i) != after.tokenAt(j)) changed++;
+                    i++;
+                    j++;
+                }
+            }
+            return new Diff(added + after.size() - j, removed + before.size() - i, changed);
+        }
+
+        Diff plus(Diff other) {
+            return new Diff(added + other.added, removed + other.removed, changed + other.changed);
+        }
+
+        public int getAdded() { return added; }
+        public int getRemoved() { return removed; }
+        public int getChanged() { return changed; }
+        public boolean isEmpty() { return added == 0 && removed == 0 && changed == 0; }
+
+        @Override
+        public String toString() {
+            return String.format("+%d / -%d / ~%d symbols", added, removed, changed);
+        }
+    }
+
+    // ---------------------- RESULT ----------------------
+    public static final class Result {
+        private final Outcome outcome;
+        private final long bytesDownloaded;
+        private final Diff diff;
+        private final Map<Segment, Diff> segmentDiffs;
+        private final long durationNanos;
+
+        Result(Outcome outcome, long bytesDownloaded, Diff diff, Map<Segment, Diff> segmentDiffs, long startNanos) {
+            this.outcome = outcome;
+            this.bytesDownloaded = bytesDownloaded;
+            this.diff = diff;
+            this.segmentDiffs = segmentDiffs;
+            this.durationNanos = System.nanoTime() - startNanos;
+        }
+
+        public Outcome getOutcome() { return outcome; }
+        public long getBytesDownloaded() { return bytesDownloaded; }
+        /** Summed over all segments. */
+        public Diff getDiff() { return diff; }
+        public Diff getDiff(Segment segment) { return segmentDiffs.getOrDefault(segment, Diff.NONE); }
+        public long getDurationMillis() { return TimeUnit.NANOSECONDS.toMillis(durationNanos); }
+
+        @Override
+        public String toString() {
+            return String.format("%s | %d bytes | %s | %d ms", outcome, bytesDownloaded, diff, getDurationMillis());
+        }
+    }
+}
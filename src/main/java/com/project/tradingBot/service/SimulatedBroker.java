@@ -0,0 +1,206 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.models.CandleSeries;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Fills the backtest's bracket orders against replayed bars for one trading day.
+ *
+ * An entry signalled on a bar's close is filled at the next bar's open (plus slippage), sized
+ * with {@link BracketPlan} from the run's {@link BacktestParams}. From the fill bar onward the
+ * stop and target are checked against each bar's range; when a bar touches both, the stop is
+ * assumed to have been hit first. Positions still open at the end of the day are squared off at
+ * the last close. Indexed by the same symbol
+ * slots as {@link StrategyContext}; not thread-safe (one broker per day partition).
+ */
+public final class SimulatedBroker {
+
+    public enum ExitReason { STOP, TARGET, END_OF_DAY }
+
+    private final double capital;
+    private final double slippageFraction;
+    private final BacktestParams params;
+    private final String[] symbols;
+
+    // Per slot: 0 = flat, 1 = entry pending for the next open, 2 = open
+    private final byte[] state;
+    private final BracketPlan[] plans;
+    private final String[] strategies;
+    private final long[] entryMinute;
+    private final double[] entryPrice;
+    private final double[] stop;
+    private final double[] target;
+    private final double[] lastClose;
+    private final long[] lastMinute;
+
+    private final List<Trade> trades = new ArrayList<>();
+    private final List<Fill> fills = new ArrayList<>();
+
+    public SimulatedBroker(List<String> symbols, double capital, double slippageBps) {
+        this(symbols, capital, slippageBps, BacktestParams.DEFAULTS);
+    }
+
+    public SimulatedBroker(List<String> symbols, double capital, double slippageBps, BacktestParams params) {
+        int n = symbols.size();
+        this.params = params;
+        this.symbols = symbols.toArray(new String[0]);
+        this.capital = capital;
+        this.slippageFraction = slippageBps / 10_000.0;
+        this.state = new byte[n];
+        this.plans = new BracketPlan[n];
+        this.strategies = new String[n];
+        this.entryMinute = new long[n];
+        this.entryPrice = new double[n];
+        this.stop = new double[n];
+        this.target = new double[n];
+        this.lastClose = new double[n];
+        this.lastMinute = new long[n];
+    }
+
+    /**
+     * Queue an entry signalled on a bar's close; it fills at the symbol's next bar open.
+     * @return false if the capital is too small for the plan (nothing is queued)
+     */
+    public boolean submitEntry(int slot, boolean buy, double signalPrice, String strategy) {
+        if (state[slot] != 0) return false;
+        BracketPlan plan = params.plan(buy, capital, signalPrice);
+        if (!plan.isValid()) return false;
+        plans[slot] = plan;
+        strategies[slot] = strategy;
+        state[slot] = 1;
+        return true;
+    }
+
+    /** Process the symbol's next bar: fill a pending entry at the open, then check stop/target. */
+    public void onBar(int slot, long epochMinute, double open, double high, double low, double close) {
+        lastClose[slot] = close;
+        lastMinute[slot] = epochMinute;
+        if (state[slot] == 1) {
+            BracketPlan plan = plans[slot];
+            double fill = plan.isBuy() ? open * (1 + slippageFraction) : open * (1 - slippageFraction);
+            // Keep the bracket distances the plan set around the signal price
+            stop[slot] = fill * plan.getStop() / plan.getPrice();
+            target[slot] = fill * plan.getTarget() / plan.getPrice();
+            entryPrice[slot] = fill;
+            entryMinute[slot] = epochMinute;
+            state[slot] = 2;
+            fills.add(new Fill(epochMinute, symbols[slot], plan.isBuy(), plan.getQuantity(), fill, "ENTRY " + strategies[slot]));
+        }
+        if (state[slot] != 2) return;
+
+        boolean buy = plans[slot].isBuy();
+        boolean stopHit = buy ? low <= stop[slot] : high >= stop[slot];
+        boolean targetHit = buy ? high >= target[slot] : low <= target[slot];
+        if (stopHit) {
+            // A gap through the stop fills at the open, not at the stop
+            double price = buy ? Math.min(open, stop[slot]) : Math.max(open, stop[slot]);
+            exit(slot, epochMinute, price, ExitReason.STOP);
+        } else if (targetHit) {
+            double price = buy ? Math.max(open, target[slot]) : Math.min(open, target[slot]);
+            exit(slot, epochMinute, price, ExitReason.TARGET);
+        }
+    }
+
+    /** Square off every open position at its last close and drop unfilled entries. */
+    public void endOfDay() {
+        for (int slot = 0; slot < state.length; slot++) {
+            if (state[slot] == 2) {
+                exit(slot, lastMinute[slot], lastClose[slot], ExitReason.END_OF_DAY);
+            }
+            state[slot] = 0;
+        }
+    }
+
+    private void exit(int slot, long epochMinute, double price, ExitReason reason) {
+        BracketPlan plan = plans[slot];
+        double fill = plan.isBuy() ? price * (1 - slippageFraction) : price * (1 + slippageFraction);
+        int qty = plan.getQuantity();
+        double pnl = (plan.isBuy() ? fill - entryPrice[slot] : entryPrice[slot] - fill) * qty;
+        fills.add(new Fill(epochMinute, symbols[slot], !plan.isBuy(), qty, fill, reason.name()));
+        trades.add(new Trade(symbols[slot], strategies[slot], plan.isBuy(), qty, entryMinute[slot], entryPrice[slot],
+                epochMinute, fill, reason, pnl));
+        state[slot] = 0;
+    }
+
+    public List<Trade> getTrades() { return Collections.unmodifiableList(trades); }
+    public List<Fill> getFills() { return Collections.unmodifiableList(fills); }
+
+    // ---------------------- TRADE ----------------------
+    public static final class Trade {
+        private final String symbol;
+        private final String strategy;
+        private final boolean buy;
+        private final int quantity;
+        private final long entryMinute;
+        private final double entryPrice;
+        private final long exitMinute;
+        private final double exitPrice;
+        private final ExitReason exitReason;
+        private final double pnl;
+
+        Trade(String symbol, String strategy, boolean buy, int quantity, long entryMinute, double entryPrice,
+              long exitMinute, double exitPrice, ExitReason exitReason, double pnl) {
+            this.symbol = symbol;
+            this.strategy = strategy;
+            this.buy = buy;
+            this.quantity = quantity;
+            this.entryMinute = entryMinute;
+            this.entryPrice = entryPrice;
+            this.exitMinute = exitMinute;
+            this.exitPrice = exitPrice;
+            this.exitReason = exitReason;
+            this.pnl = pnl;
+        }
+
+        public String getSymbol() { return symbol; }
+        public String getStrategy() { return strategy; }
+        public boolean isBuy() { return buy; }
+        public int getQuantity() { return quantity; }
+        public long getEntryMinute() { return entryMinute; }
+        public double getEntryPrice() { return entryPrice; }
+        public long getExitMinute() { return exitMinute; }
+        public double getExitPrice() { return exitPrice; }
+        public ExitReason getExitReason() { return exitReason; }
+        public double getPnl() { return pnl; }
+
+        public String toCsv() {
+            return String.join(",", CandleSeries.formatEpochMinute(entryMinute), symbol, strategy, buy ? "BUY" : "SELL",
+                    Integer.toString(quantity), String.format("%.2f", entryPrice), CandleSeries.formatEpochMinute(exitMinute),
+                    String.format("%.2f", exitPrice), exitReason.name(), String.format("%.2f", pnl));
+        }
+    }
+
+    // ---------------------- FILL ----------------------
+    public static final class Fill {
+        private final long epochMinute;
+        private final String symbol;
+        private final boolean buy;
+        private final int quantity;
+        private final double price;
+        private final String reason;
+
+        Fill(long epochMinute, String symbol, boolean buy, int quantity, double price, String reason) {
+            this.epochMinute = epochMinute;
+            this.symbol = symbol;
+            this.buy = buy;
+            this.quantity = quantity;
+            this.price = price;
+            this.reason = reason;
+        }
+
+        public long getEpochMinute() { return epochMinute; }
+        public String getSymbol() { return symbol; }
+        public boolean isBuy() { return buy; }
+        public int getQuantity() { return quantity; }
+        public double getPrice() { return price; }
+        public String getReason() { return reason; }
+
+        public String toCsv() {
+            return String.join(",", CandleSeries.formatEpochMinute(epochMinute), symbol, buy ? "BUY" : "SELL",
+                    Integer.toString(quantity), String.format("%.2f", price), reason);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.project.tradingBot.service;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+
+/**
+ * Headers every SmartAPI REST call carries, for requests sent through the
+ * {@link BrokerHttpTransport} rather than the SmartConnect client.
+ */
+final class SmartApiRequests {
+
+    private SmartApiRequests() {
+    }
+
+    static HttpRequest.Builder post(URI uri, String apiKey, String accessToken, String json) {
+        String bearer = accessToken != null && accessToken.startsWith("Bearer ") ? accessToken : "Bearer " + accessToken;
+        return HttpRequest.newBuilder(uri)
+                .header("Authorization", bearer)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .header("X-UserType", "USER")
+                .header("X-SourceID", "WEB")
+                .header("X-ClientLocalIP", "127.0.0.1")
+                .header("X-ClientPublicIP", "127.0.0.1")
+                .header("X-MACAddress", "00:00:00:00:00:00")
+                .header("X-PrivateKey", apiKey)
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+}
@@ -6,23 +6,51 @@ import com.angelbroking.smartapi.models.OrderParams;
 import com.angelbroking.smartapi.models.User;
 import com.project.tradingBot.Config.SmartApiConfig;
 import com.project.tradingBot.models.Candle;
+import com.project.tradingBot.models.CandleSeries;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 @Service
-public class SmartApiService {
+public class SmartApiService implements OrderGateway {
 
     @Autowired
     private SmartApiConfig cfg;
     @Autowired
     private TotpUtilService totpUtilService;
+    @Autowired
+    private TokenBucketRateLimiter candleRateLimiter;
+    @Autowired
+    private TokenBucketRateLimiter quoteRateLimiter;
+    @Autowired
+    private CandleCache candleCache;
+    @Autowired
+    private BrokerHttpTransport brokerHttpTransport;
+
+    @Value("${smartapi.baseUrl:https://apiconnect.angelone.in}")
+    private String baseUrl;
     
-    private SmartConnect smartConnect;
+    private volatile SmartConnect smartConnect;
+    private volatile String accessToken;
+    private volatile String feedToken;
+    private volatile long lastLoginNanos;
+    private volatile BatchQuoteFetcher quoteFetcher;
+    private volatile URI candleUri;
+
+    private static final String CANDLE_PATH = "/rest/secure/angelbroking/historical/v1/getCandleData";
+    // Symbol token for NIFTY 50 Index (AngelOne convention)
+    private static final String NIFTY_TOKEN = "99926000";
     
     // ---------------------- ANSI COLORS ----------------------
     private static final String RESET = "\u001B[0m";
@@ -33,28 +61,30 @@ public class SmartApiService {
     
 
  // --- Login ---
-    public void login() {
+    /**
+     * Log in, or re-authenticate on the same {@link SmartConnect}: the client is created once and
+     * only the session is regenerated, so a re-login does not build a new client.
+     */
+    public synchronized void login() {
         try {
-             // Close old connection if any
-             if (smartConnect != null) {
-            	 System.out.println(YELLOW + "[AUTH] Reauthenticating SmartAPI session..." + RESET);
-                 try {
-                     smartConnect = null;
-                     Thread.sleep(500); // small delay to ensure old connection is cleared
-                 } catch (Exception ignored) {}
-             }
-             
-            System.out.println("[LOGIN] Logging in to SmartAPI...");
-
-            smartConnect = new SmartConnect();
-            smartConnect.setApiKey(cfg.getTradingApiKey());
-            smartConnect.setSessionExpiryHook(() -> System.out.println("[SMARTAPI] Session expired"));
+            if (smartConnect == null) {
+                SmartConnect client = new SmartConnect();
+                client.setApiKey(cfg.getTradingApiKey());
+                client.setSessionExpiryHook(() -> System.out.println("[SMARTAPI] Session expired"));
+                smartConnect = client;
+                System.out.println("[LOGIN] Logging in to SmartAPI...");
+            } else {
+                System.out.println(YELLOW + "[AUTH] Reauthenticating SmartAPI session..." + RESET);
+            }
 
             String otp = totpUtilService.generateTotp(cfg.getTradingTotpSecret());
             User user = smartConnect.generateSession(cfg.getTradingClientId(), cfg.getTradingPassword(), otp);
 
             smartConnect.setAccessToken(user.getAccessToken());
             smartConnect.setUserId(user.getUserId());
+            accessToken = user.getAccessToken();
+            feedToken = user.getFeedToken();
+            lastLoginNanos = System.nanoTime();
 
             System.out.println("[LOGIN] SmartAPI login successful. User ID: " + user.getUserId());
         } catch (Exception e) {
@@ -62,7 +92,31 @@ public class SmartApiService {
         }
     }
     
+    /**
+     * Re-login only if nobody else has refreshed the session since the failing request
+     * started, so a burst of concurrent auth failures triggers a single login.
+     */
+    public synchronized void reloginIfOlderThan(long requestStartNanos) {
+        if (lastLoginNanos != 0 && lastLoginNanos - requestStartNanos > 0) {
+            return;
+        }
+        login();
+    }
+
+    // --- Session details (used by the streaming feed) ---
+    public boolean isLoggedIn() { return accessToken != null; }
+    public String getAccessToken() { return accessToken; }
+    public String getFeedToken() { return feedToken; }
+    public String getApiKey() { return cfg.getTradingApiKey(); }
+    public String getClientId() { return cfg.getTradingClientId(); }
+
+    @Override
+    public String name() {
+        return "live";
+    }
+
     // --- Balance ---
+    @Override
     public double getBalance() {
         try {
             //JSONObject rms = tradingConnect.getRMS();
@@ -77,8 +131,7 @@ public class SmartApiService {
     // --- Nifty Change % ---
     public double getNiftyChangePercent() {
         try {
-            // Symbol token for NIFTY 50 Index = 99926000 (AngelOne convention)
-            JSONObject ltp = smartConnect.getLTP("NSE", "NIFTY 50", "99926000");
+            JSONObject ltp = smartConnect.getLTP("NSE", "NIFTY 50", NIFTY_TOKEN);
 
             double close = ltp.optDouble("close", 0.0);       // yesterday's close
             double lastPrice = ltp.optDouble("ltp", 0.0);     // current price
@@ -92,78 +145,221 @@ public class SmartApiService {
     }
 
  // --- Candles ---
-    public synchronized List<Candle> getHistoricalCandles(String symbol, String interval, String fromDate, String toDate) {
-        List<Candle> candles = new ArrayList<>();
-
+    public List<Candle> getHistoricalCandles(String symbol, String interval, String fromDate, String toDate) {
         try {
-            // Append -EQ to match the keys in masterEquitiesMap
-            String symbolWithEQ = symbol + "-EQ";
-
-            // Fetch token from the map
-            String token = PopulateScanResultService.masterEquitiesMap.get(symbolWithEQ);
-            if (token == null) {
-                System.out.println("[WARN] Token not found for symbol: " + symbolWithEQ);
-                return candles;
-            }
+            return fetchHistoricalCandles(symbol, interval, fromDate, toDate);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            System.out.println(YELLOW + "[WARN] Interrupted while waiting for candle rate limit: " + symbol + RESET);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
 
-            JSONObject payload = new JSONObject();
-            payload.put("exchange", "NSE");
-            payload.put("symboltoken", token);
-            payload.put("interval", interval);
-            payload.put("fromdate", fromDate);
-            payload.put("todate", toDate);
-
-            JSONArray data = smartConnect.candleData(payload);
-
-            for (int i = 0; i < data.length(); i++) {
-                JSONArray arr = data.getJSONArray(i);
-                Candle c = new Candle();
-                c.setDatetime(arr.getString(0));
-                c.setOpen(arr.getDouble(1));
-                c.setHigh(arr.getDouble(2));
-                c.setLow(arr.getDouble(3));
-                c.setClose(arr.getDouble(4));
-                c.setVolume(arr.getDouble(5));
-                candles.add(c);
-            }
+    /**
+     * Same as {@link #getHistoricalCandles} but lets failures propagate so callers can
+     * tell a transient/auth error apart from a genuinely empty window and retry.
+     */
+    public List<Candle> fetchHistoricalCandles(String symbol, String interval, String fromDate, String toDate) throws Exception {
+        return candleCache.get(symbol, interval, fromDate, toDate,
+                () -> loadHistoricalCandles(symbol, interval, fromDate, toDate));
+    }
 
-            // Add a small delay to avoid throttling
-            Thread.sleep(2000); // 2 second delay
+    private List<Candle> loadHistoricalCandles(String symbol, String interval, String fromDate, String toDate) throws Exception {
+        List<Candle> candles = new ArrayList<>();
 
-        } catch (Exception e) {
-            e.printStackTrace();
+        JSONArray data = requestCandleData(symbol, interval, fromDate, toDate);
+        if (data == null) {
+            return candles;
+        }
+
+        for (int i = 0; i < data.length(); i++) {
+            JSONArray arr = data.getJSONArray(i);
+            Candle c = new Candle();
+            c.setDatetime(arr.getString(0));
+            c.setOpen(arr.getDouble(1));
+            c.setHigh(arr.getDouble(2));
+            c.setLow(arr.getDouble(3));
+            c.setClose(arr.getDouble(4));
+            c.setVolume(arr.getDouble(5));
+            candles.add(c);
         }
 
         return candles;
     }
 
+    /**
+     * Fetch candles straight into a per-symbol {@link CandleSeries} (no Candle objects).
+     * @return number of bars written
+     */
+    public int fetchCandleSeries(String symbol, String interval, String fromDate, String toDate, CandleSeries into) throws Exception {
+        return toSeries(requestCandleData(symbol, interval, fromDate, toDate), into);
+    }
+
+    /** NIFTY 50 index candles into a {@link CandleSeries} (the index has no entry in the equity master). */
+    public int fetchNiftyCandleSeries(String interval, String fromDate, String toDate, CandleSeries into) throws Exception {
+        return toSeries(requestCandleData("NIFTY 50", NIFTY_TOKEN, interval, fromDate, toDate), into);
+    }
+
+    private static int toSeries(JSONArray data, CandleSeries into) {
+        if (data == null) {
+            return 0;
+        }
+
+        for (int i = 0; i < data.length(); i++) {
+            JSONArray arr = data.getJSONArray(i);
+            into.upsert(CandleSeries.parseEpochMinute(arr.getString(0)),
+                    arr.getDouble(1), arr.getDouble(2), arr.getDouble(3), arr.getDouble(4), arr.getDouble(5));
+        }
+        return data.length();
+    }
+
+    // Returns null when the symbol has no token in the master map
+    private JSONArray requestCandleData(String symbol, String interval, String fromDate, String toDate) throws Exception {
+        // Dense-ID lookup of the trading symbol; no "-EQ" concatenation on every fetch
+        String token = PopulateScanResultService.getSymbolDictionary().tokenString(symbol);
+        if (token == null) {
+            System.out.println("[WARN] Token not found for symbol: " + symbol + "-EQ");
+            return null;
+        }
+        return requestCandleData(symbol, token, interval, fromDate, toDate);
+    }
+
+    private JSONArray requestCandleData(String symbol, String token, String interval, String fromDate, String toDate) throws Exception {
+        // Wait for a slot in the candle API budget (no global lock, callers run concurrently)
+        candleRateLimiter.acquire();
+        // Sent on the shared broker transport so polling reuses warm (HTTP/2, gzip) connections
+        BrokerHttpTransport.Response response = brokerHttpTransport.send("candleData",
+                SmartApiRequests.post(candleUri(), getApiKey(), accessToken, candlePayload(token, interval, fromDate, toDate)));
+        if (response.getStatus() == 401 || response.getStatus() == 403) {
+            throw new IllegalStateException("Candle request unauthorized for " + symbol + " (HTTP " + response.getStatus() + ", possible session/token issue)");
+        }
+        JSONObject body = response.getStatus() < 400 ? new JSONObject(response.getBody()) : new JSONObject();
+        JSONArray data = body.optBoolean("status", false) ? body.optJSONArray("data") : null;
+        if (data == null) {
+            throw new IllegalStateException("No candle data returned for " + symbol + " (HTTP " + response.getStatus()
+                    + " " + body.optString("errorcode") + ", possible session/token issue)");
+        }
+        return data;
+    }
+
+    private static String candlePayload(String token, String interval, String fromDate, String toDate) {
+        JSONObject payload = new JSONObject();
+        payload.put("exchange", "NSE");
+        payload.put("symboltoken", token);
+        payload.put("interval", interval);
+        payload.put("fromdate", fromDate);
+        payload.put("todate", toDate);
+        return payload.toString();
+    }
+
+    private URI candleUri() {
+        URI uri = candleUri;
+        if (uri == null) {
+            uri = URI.create(baseUrl + CANDLE_PATH);
+            candleUri = uri;
+        }
+        return uri;
+    }
+
+
+    // --- Market Quotes (batched) ---
+    /**
+     * Quotes for many symbols in ceil(n / 50) concurrent requests under the quote rate budget,
+     * instead of one candle request per symbol.
+     */
+    public BatchQuoteFetcher.Result fetchQuotes(Collection<String> symbols) throws IOException, InterruptedException {
+        return getQuoteFetcher().fetch(symbols);
+    }
+
+    public BatchQuoteFetcher getQuoteFetcher() {
+        BatchQuoteFetcher fetcher = quoteFetcher;
+        if (fetcher == null) {
+            synchronized (this) {
+                fetcher = quoteFetcher;
+                if (fetcher == null) {
+                    fetcher = new BatchQuoteFetcher(baseUrl, getApiKey(), this::getAccessToken,
+                            quoteRateLimiter, brokerHttpTransport);
+                    quoteFetcher = fetcher;
+                }
+            }
+        }
+        return fetcher;
+    }
+
+
+    // --- Connection Warm-up ---
+    /**
+     * One cheap request on each broker route the session polls: a one-token NIFTY LTP quote and a
+     * week of NIFTY daily candles. Both go through the shared {@link BrokerHttpTransport} (the
+     * SmartConnect client used for orders and RMS has its own connections), so the first poll
+     * after the open finds the TLS connection already set up. The response bodies are ignored.
+     * @return the HTTP statuses, quote first
+     */
+    public int[] warmUpBrokerConnections() throws IOException, InterruptedException {
+        JSONObject quote = new JSONObject()
+                .put("mode", "LTP")
+                .put("exchangeTokens", new JSONObject().put("NSE", new JSONArray().put(NIFTY_TOKEN)));
+        quoteRateLimiter.acquire();
+        int quoteStatus = brokerHttpTransport.send("quote", SmartApiRequests.post(
+                URI.create(baseUrl + BatchQuoteFetcher.QUOTE_PATH), getApiKey(), accessToken, quote.toString())).getStatus();
+
+        LocalDateTime now = LocalDateTime.now(ZoneId.of("Asia/Kolkata"));
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+        candleRateLimiter.acquire();
+        int candleStatus = brokerHttpTransport.send("candleData", SmartApiRequests.post(candleUri(), getApiKey(), accessToken,
+                candlePayload(NIFTY_TOKEN, "ONE_DAY", now.minusDays(7).format(format), now.format(format)))).getStatus();
+        return new int[]{quoteStatus, candleStatus};
+    }
+
+
+    // --- Rate Limit / Cache Metrics ---
+    public TokenBucketRateLimiter getCandleRateLimiter() {
+        return candleRateLimiter;
+    }
+
+    public TokenBucketRateLimiter getQuoteRateLimiter() {
+        return quoteRateLimiter;
+    }
+
+    public BrokerHttpTransport getBrokerHttpTransport() {
+        return brokerHttpTransport;
+    }
+
+    public CandleCache getCandleCache() {
+        return candleCache;
+    }
+
 
     // --- Bracket Order ---
+    @Override
     public boolean placeBracketOrder(String tradingSymbol, String transactionType,
                                      int quantity, double price, double stopLoss, double target) {
-        try {
-        	 // Append -EQ to match the keys in masterEquitiesMap
-            String symbolWithEQ = tradingSymbol + "-EQ";
+        // Token looked up from masterEquitiesMap ("SYMBOL-EQ")
+        return placeBracketOrder(OrderTemplate.nseBracket(tradingSymbol), transactionType, quantity, price, stopLoss, target);
+    }
 
-            // Fetch token from the map
-            String token = PopulateScanResultService.masterEquitiesMap.get(symbolWithEQ);
-            
+    @Override
+    public boolean placeBracketOrder(OrderTemplate template, String transactionType,
+                                     int quantity, double price, double stopLoss, double target) {
+        try {
             OrderParams params = new OrderParams();
-            params.variety = "ROBO";
+            params.variety = template.getVariety();
             params.quantity = quantity;
-            params.symboltoken = token;
-            params.tradingsymbol = tradingSymbol;
+            params.symboltoken = template.getToken();
+            params.tradingsymbol = template.getTradingSymbol();
             params.transactiontype = transactionType;
-            params.exchange = "NSE";
-            params.ordertype = "LIMIT";
-            params.producttype = "BO";
-            params.duration = "DAY";
+            params.exchange = template.getExchange();
+            params.ordertype = template.getOrderType();
+            params.producttype = template.getProductType();
+            params.duration = template.getDuration();
             params.price = price;
             params.stoploss = String.valueOf(stopLoss);
             params.squareoff = String.valueOf(target);
 
             //Order order = tradingConnect.placeOrder(params, "ROBO");
-            Order order = smartConnect.placeOrder(params, "ROBO");
+            Order order = smartConnect.placeOrder(params, template.getVariety());
             return order != null && order.orderId != null;
         } catch (Exception e) {
             e.printStackTrace();
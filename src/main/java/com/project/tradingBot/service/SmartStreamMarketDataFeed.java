@@ -0,0 +1,214 @@
+package com.project.tradingBot.service;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.net.URI;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live tick feed over AngelOne SmartStream 2.0 (binary WebSocket, QUOTE mode).
+ *
+ * Packet layout (little-endian): [0] mode, [1] exchange type, [2..27) token (null padded),
+ * [27] sequence no, [35] exchange timestamp ms, [43] LTP in paise, [67] volume traded today.
+ */
+public class SmartStreamMarketDataFeed implements MarketDataFeed {
+
+    private static final int EXCHANGE_NSE_CM = 1;
+    private static final int MODE_QUOTE = 2;
+    private static final int ACTION_SUBSCRIBE = 1;
+    private static final int TOKEN_OFFSET = 2;
+    private static final int TOKEN_LENGTH = 25;
+    private static final int TIMESTAMP_OFFSET = 35;
+    private static final int LTP_OFFSET = 43;
+    private static final int DAY_VOLUME_OFFSET = 67;
+    private static final int QUOTE_PACKET_SIZE = 123;
+
+    // ---------------------- ANSI COLORS ----------------------
+    private static final String RESET = "\u001B[0m";
+    private static final String RED = "\u001B[31m";
+    private static final String GREEN = "\u001B[32m";
+    private static final String YELLOW = "\u001B[33m";
+
+    private final SmartApiService smartApiService;
+    private final URI uri;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r);
+        t.setName("SmartStream-Heartbeat");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Map<String, String> tokenToSymbol = new ConcurrentHashMap<>();
+    private final Map<String, long[]> lastDayVolume = new ConcurrentHashMap<>();
+    private volatile TickListener listener;
+    private volatile WebSocket webSocket;
+    private volatile boolean running;
+
+    public SmartStreamMarketDataFeed(SmartApiService smartApiService, String url) {
+        this.smartApiService = smartApiService;
+        this.uri = URI.create(url);
+    }
+
+    @Override
+    public void subscribe(Collection<String> symbols, TickListener tickListener) {
+        for (String symbol : symbols) {
+            String token = PopulateScanResultService.getSymbolDictionary().tokenString(symbol);
+            if (token == null) {
+                System.out.println(YELLOW + "[STREAM] Token not found for " + symbol + ", skipping." + RESET);
+                continue;
+            }
+            tokenToSymbol.put(token, symbol);
+        }
+        this.listener = tickListener;
+        this.running = true;
+        connect();
+        scheduler.scheduleAtFixedRate(this::heartbeat, 30, 30, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdownNow();
+        WebSocket ws = webSocket;
+        if (ws != null) {
+            ws.sendClose(WebSocket.NORMAL_CLOSURE, "bye");
+        }
+    }
+
+    // ---------------------- CONNECTION ----------------------
+    private void connect() {
+        String jwt = smartApiService.getAccessToken();
+        String bearer = jwt != null && jwt.startsWith("Bearer ") ? jwt : "Bearer " + jwt;
+
+        smartApiService.getBrokerHttpTransport().newWebSocketBuilder()
+                .header("Authorization", bearer)
+                .header("x-api-key", smartApiService.getApiKey())
+                .header("x-client-code", smartApiService.getClientId())
+                .header("x-feed-token", String.valueOf(smartApiService.getFeedToken()))
+                .buildAsync(uri, new StreamListener())
+                .thenAccept(ws -> {
+                    webSocket = ws;
+                    System.out.println(GREEN + "[STREAM] Connected. Subscribing " + tokenToSymbol.size() + " tokens." + RESET);
+                    ws.sendText(subscribeRequest().toString(), true);
+                })
+                .exceptionally(e -> {
+                    System.err.println(RED + "[STREAM] Connection failed: " + e.getMessage() + RESET);
+                    scheduleReconnect();
+                    return null;
+                });
+    }
+
+    private JSONObject subscribeRequest() {
+        JSONObject tokenList = new JSONObject();
+        tokenList.put("exchangeType", EXCHANGE_NSE_CM);
+        tokenList.put("tokens", new JSONArray(new ArrayList<>(tokenToSymbol.keySet())));
+
+        JSONObject params = new JSONObject();
+        params.put("mode", MODE_QUOTE);
+        params.put("tokenList", new JSONArray(List.of(tokenList)));
+
+        JSONObject request = new JSONObject();
+        request.put("correlationID", "tradingbot");
+        request.put("action", ACTION_SUBSCRIBE);
+        request.put("params", params);
+        return request;
+    }
+
+    private void heartbeat() {
+        WebSocket ws = webSocket;
+        if (ws != null && running) {
+            ws.sendText("ping", true);
+        }
+    }
+
+    private void scheduleReconnect() {
+        if (!running || scheduler.isShutdown()) return;
+        System.out.println(YELLOW + "[STREAM] Reconnecting in 2 seconds..." + RESET);
+        scheduler.schedule(this::connect, 2, TimeUnit.SECONDS);
+    }
+
+    // ---------------------- PARSING ----------------------
+    private void onPacket(ByteBuffer packet) {
+        if (packet.remaining() < QUOTE_PACKET_SIZE) return;
+        ByteBuffer buf = packet.slice().order(ByteOrder.LITTLE_ENDIAN);
+
+        int tokenLength = 0;
+        while (tokenLength < TOKEN_LENGTH && buf.get(TOKEN_OFFSET + tokenLength) != 0) tokenLength++;
+        byte[] tokenBytes = new byte[tokenLength];
+        buf.get(TOKEN_OFFSET, tokenBytes);
+        String token = new String(tokenBytes, StandardCharsets.US_ASCII);
+
+        String symbol = tokenToSymbol.get(token);
+        if (symbol == null) return;
+
+        long timestamp = buf.getLong(TIMESTAMP_OFFSET);
+        double ltp = buf.getLong(LTP_OFFSET) / 100.0;
+        long dayVolume = buf.getLong(DAY_VOLUME_OFFSET);
+
+        // SmartStream sends cumulative day volume; the aggregator wants per-tick quantity
+        long[] last = lastDayVolume.computeIfAbsent(token, t -> new long[]{dayVolume});
+        long volume = Math.max(dayVolume - last[0], 0);
+        last[0] = dayVolume;
+
+        listener.onTick(symbol, timestamp, ltp, volume);
+    }
+
+    private final class StreamListener implements WebSocket.Listener {
+        private ByteBuffer partial;
+
+        @Override
+        public CompletionStage<?> onBinary(WebSocket ws, ByteBuffer data, boolean last) {
+            if (partial == null && last) {
+                onPacket(data);
+            } else {
+                ByteBuffer merged = ByteBuffer.allocate((partial == null ? 0 : partial.remaining()) + data.remaining());
+                if (partial != null) merged.put(partial);
+                merged.put(data).flip();
+                partial = merged;
+                if (last) {
+                    onPacket(partial);
+                    partial = null;
+                }
+            }
+            ws.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket ws, CharSequence data, boolean last) {
+            if (!"pong".contentEquals(data)) {
+                System.out.println(YELLOW + "[STREAM] " + data + RESET);
+            }
+            ws.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket ws, int statusCode, String reason) {
+            System.out.println(YELLOW + "[STREAM] Closed (" + statusCode + "): " + reason + RESET);
+            webSocket = null;
+            scheduleReconnect();
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket ws, Throwable error) {
+            System.err.println(RED + "[STREAM] Error: " + error.getMessage() + RESET);
+            webSocket = null;
+            scheduleReconnect();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.project.tradingBot.service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Startup stages as a dependency graph of {@link CompletableFuture}s.
+ *
+ * A stage starts as soon as all its dependencies have finished, so independent stages overlap.
+ * Each stage has an optional timeout and a failure policy: a failed {@link Policy#REQUIRED}
+ * stage skips everything that depends on it, while a failed {@link Policy#OPTIONAL} stage
+ * yields {@code null} and lets its dependents run anyway. Every stage is recorded on the
+ * {@link StartupTimeline}.
+ */
+public class StartupGraph {
+
+    // ---------------------- ANSI COLORS ----------------------
+    private static final String RESET = "\u001B[0m";
+    private static final String RED = "\u001B[31m";
+    private static final String GREEN = "\u001B[32m";
+    private static final String CYAN = "\u001B[36m";
+
+    public enum Policy { REQUIRED, OPTIONAL }
+
+    @FunctionalInterface
+    public interface Task<T> {
+        T call() throws Exception;
+    }
+
+    private final StartupTimeline timeline;
+    private final ExecutorService executor;
+
+    public StartupGraph(StartupTimeline timeline) {
+        this.timeline = timeline;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r);
+            t.setName("Startup-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Add a stage. {@code timeout} may be null for stages that are allowed to block (e.g. waiting
+     * for the market trigger). On timeout the stage fails; its thread is interrupted.
+     */
+    public <T> Node<T> stage(String name, Policy policy, Duration timeout, Task<T> task, Node<?>... dependsOn) {
+        Node<T> node = new Node<>(name, policy, dependsOn);
+
+        CompletableFuture<?>[] deps = new CompletableFuture<?>[dependsOn.length];
+        for (int i = 0; i < dependsOn.length; i++) deps[i] = dependsOn[i].future;
+
+        CompletableFuture<T> run = CompletableFuture.allOf(deps).thenCompose(ready -> {
+            node.startNanos = System.nanoTime();
+            System.out.println(CYAN + "[STARTUP] ▶ " + name + RESET);
+            CompletableFuture<T> attempt = new CompletableFuture<>();
+            Future<?> worker = executor.submit(() -> {
+                try {
+                    attempt.complete(task.call());
+                } catch (Throwable t) {
+                    attempt.completeExceptionally(t);
+                }
+            });
+            if (timeout != null) {
+                attempt.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                        .whenComplete((v, e) -> { if (unwrap(e) instanceof TimeoutException) worker.cancel(true); });
+            }
+            return attempt;
+        });
+
+        node.future = run.handle((value, error) -> {
+            node.endNanos = System.nanoTime();
+            if (error == null) {
+                node.succeeded = true;
+                StartupTimeline.Entry e = timeline.record(name, node.startNanos, StartupTimeline.Status.OK, "");
+                System.out.println(GREEN + "[STARTUP] ✔ " + name + " (" + e.durationMillis() + " ms)" + RESET);
+                return value;
+            }
+
+            Throwable cause = unwrap(error);
+            if (node.startNanos == 0) {
+                node.startNanos = node.endNanos;
+                timeline.record(name, node.startNanos, StartupTimeline.Status.SKIPPED, "dependency failed");
+                System.err.println(RED + "[STARTUP] ⏭ " + name + " skipped: a required dependency failed." + RESET);
+            } else {
+                String detail = cause instanceof TimeoutException
+                        ? "timed out after " + timeout.toMillis() + " ms"
+                        : cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+                timeline.record(name, node.startNanos, StartupTimeline.Status.FAILED, detail);
+                System.err.println(RED + "[STARTUP] ✘ " + name + " failed (" + policy + "): " + detail + RESET);
+            }
+            if (policy == Policy.OPTIONAL) {
+                return null; // dependents carry on without it
+            }
+            throw new CompletionException(cause);
+        });
+        return node;
+    }
+
+    /**
+     * Wait for the target stage (and so everything it depends on).
+     * @return true if it completed successfully
+     */
+    public boolean await(Node<?> target) throws InterruptedException {
+        try {
+            target.future.join();
+            return target.succeeded;
+        } catch (CompletionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Print the chain of stages that determined when {@code target} finished: starting from the
+     * target, repeatedly follow the dependency that finished last.
+     */
+    public void printCriticalPath(Node<?> target) {
+        List<Node<?>> path = criticalPath(target);
+        long total = target.endNanos - timeline.getOriginNanos();
+        StringBuilder sb = new StringBuilder();
+        for (Node<?> node : path) {
+            if (sb.length() > 0) sb.append(" → ");
+            sb.append(node.name).append(" (").append(TimeUnit.NANOSECONDS.toMillis(node.endNanos - node.startNanos)).append(" ms)");
+        }
+        System.out.println(CYAN + "[STARTUP] Critical path: " + sb + RESET);
+        System.out.println(CYAN + "[STARTUP] Critical-path latency: " + TimeUnit.NANOSECONDS.toMillis(total) + " ms" + RESET);
+    }
+
+    /** The critical path of {@code target}, first stage first. */
+    List<Node<?>> criticalPath(Node<?> target) {
+        Deque<Node<?>> path = new ArrayDeque<>();
+        for (Node<?> node = target; node != null; ) {
+            path.addFirst(node);
+            Node<?> latest = null;
+            for (Node<?> dep : node.dependsOn) {
+                if (latest == null || dep.endNanos - latest.endNanos > 0) latest = dep;
+            }
+            node = latest;
+        }
+        return new ArrayList<>(path);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static Throwable unwrap(Throwable t) {
+        while (t instanceof CompletionException && t.getCause() != null) t = t.getCause();
+        return t;
+    }
+
+    // ---------------------- NODE ----------------------
+    public static final class Node<T> {
+        private final String name;
+        private final Policy policy;
+        private final List<Node<?>> dependsOn;
+        private CompletableFuture<T> future;
+        private volatile long startNanos;
+        private volatile long endNanos;
+        private volatile boolean succeeded;
+
+        private Node(String name, Policy policy, Node<?>[] dependsOn) {
+            this.name = name;
+            this.policy = policy;
+            this.dependsOn = new ArrayList<>(List.of(dependsOn));
+        }
+
+        public String getName() { return name; }
+        public Policy getPolicy() { return policy; }
+        public boolean isSucceeded() { return succeeded; }
+
+        /** Result of a finished stage ({@code null} if an optional stage failed). */
+        public T get() {
+            return future.join();
+        }
+    }
+}
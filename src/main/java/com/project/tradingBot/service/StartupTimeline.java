@@ -0,0 +1,116 @@
+package com.project.tradingBot.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records when each startup stage ran and how long it took, relative to process start,
+ * and prints them as one table once trading begins.
+ */
+public class StartupTimeline {
+
+    // ---------------------- ANSI COLORS ----------------------
+    private static final String RESET = "\u001B[0m";
+    private static final String RED = "\u001B[31m";
+    private static final String GREEN = "\u001B[32m";
+    private static final String YELLOW = "\u001B[33m";
+    private static final String CYAN = "\u001B[36m";
+
+    public enum Status { OK, FAILED, SKIPPED }
+
+    /** How {@link #waitUntil} sleeps; a test replaces it to observe the computed delay. */
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    private final long originNanos = System.nanoTime();
+    private final List<Entry> entries = new ArrayList<>();
+    private final Clock clock;
+    private final Sleeper sleeper;
+
+    /** @param clock exchange clock (IST); the market trigger is a time of day in its zone */
+    public StartupTimeline(Clock clock) {
+        this(clock, Thread::sleep);
+    }
+
+    StartupTimeline(Clock clock, Sleeper sleeper) {
+        this.clock = clock;
+        this.sleeper = sleeper;
+    }
+
+    public long getOriginNanos() {
+        return originNanos;
+    }
+
+    /**
+     * Sleep until the given time of day on the clock (no-op if it has passed). Not recorded here:
+     * the wait runs as a stage, which records it.
+     * @return the delay slept, or 0
+     */
+    public long waitUntil(LocalTime time) throws InterruptedException {
+        ZonedDateTime now = ZonedDateTime.now(clock); // read once, so date and time agree
+        long millis = Duration.between(now, now.with(time)).toMillis();
+        if (millis > 0) {
+            System.out.println(YELLOW + "[STARTUP] Warm and idle until " + time + " (" + millis / 1000 + " s)." + RESET);
+            sleeper.sleep(millis);
+            return millis;
+        } else {
+            System.out.println(YELLOW + "[STARTUP] Market trigger " + time + " already passed." + RESET);
+            return 0;
+        }
+    }
+
+    public synchronized List<Entry> getEntries() {
+        return new ArrayList<>(entries);
+    }
+
+    /** Record a stage that ended now; the {@link StartupGraph} calls this for every stage. */
+    public synchronized Entry record(String name, long startNanos, Status status, String detail) {
+        Entry e = new Entry(name, startNanos - originNanos, System.nanoTime() - startNanos, status, detail);
+        entries.add(e);
+        return e;
+    }
+
+    public synchronized void print() {
+        System.out.println(CYAN + "\n===================== [STARTUP] TIMELINE =====================" + RESET);
+        System.out.println(CYAN + String.format("%-32s %10s %10s  %s", "STAGE", "AT (ms)", "TOOK (ms)", "STATUS") + RESET);
+        List<Entry> byStart = new ArrayList<>(entries);
+        byStart.sort(Comparator.comparingLong(e -> e.startOffsetNanos));
+        for (Entry e : byStart) {
+            String color = e.status == Status.OK ? GREEN : RED;
+            System.out.println(color + String.format("%-32s %10d %10d  %s%s", e.name, e.startMillis(), e.durationMillis(),
+                    e.status, e.detail.isEmpty() ? "" : " (" + e.detail + ")") + RESET);
+        }
+        System.out.println(CYAN + "==============================================================\n" + RESET);
+    }
+
+    // ---------------------- ENTRY ----------------------
+    public static final class Entry {
+        private final String name;
+        private final long startOffsetNanos;
+        private final long durationNanos;
+        private final Status status;
+        private final String detail;
+
+        Entry(String name, long startOffsetNanos, long durationNanos, Status status, String detail) {
+            this.name = name;
+            this.startOffsetNanos = startOffsetNanos;
+            this.durationNanos = durationNanos;
+            this.status = status;
+            this.detail = detail;
+        }
+
+        public String getName() { return name; }
+        public Status getStatus() { return status; }
+        public String getDetail() { return detail; }
+        public long startMillis() { return TimeUnit.NANOSECONDS.toMillis(startOffsetNanos); }
+        public long durationMillis() { return TimeUnit.NANOSECONDS.toMillis(durationNanos); }
+    }
+}
@@ -0,0 +1,34 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.models.CandleSeries;
+
+/**
+ * One intraday entry/exit rule, evaluated once per symbol each time a bar closes.
+ *
+ * Implementations read bars straight from the primitive {@link CandleSeries} (0 = the bar that
+ * just closed) and per-symbol state from the {@link StrategyContext} by slot, so evaluation does
+ * no map lookups, boxing or allocation. They must be stateless or keep state per slot: the poll
+ * cycle evaluates different symbols on different threads.
+ */
+public interface Strategy {
+
+    enum Signal { NONE, ENTRY, EXIT }
+
+    /** Name used in {@code strategy.rules} and in trade logs. */
+    String name();
+
+    /**
+     * @param slot symbol slot in {@code ctx}
+     * @param bars that symbol's intraday bars, latest first
+     */
+    Signal evaluate(int slot, CandleSeries bars, StrategyContext ctx);
+
+    /**
+     * Whether any bar of a session that has traded within [{@code dayLow}, {@code dayHigh}] so far
+     * could make this rule signal. The poll cycle skips the symbol's candle request when no enabled
+     * rule can; rules that need every bar (indicators, lookbacks) keep the default.
+     */
+    default boolean canSignal(int slot, double dayHigh, double dayLow, StrategyContext ctx) {
+        return true;
+    }
+}
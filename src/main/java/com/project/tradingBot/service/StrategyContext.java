@@ -0,0 +1,108 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.models.CandleSeries;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Per-day state the strategies read: market bias plus, for each monitored symbol, its opening
+ * range, intraday bars and streaming {@link Indicators}.
+ *
+ * Symbols get a dense slot when the context is built; everything else lives in primitive arrays
+ * indexed by slot. The symbol → slot lookup happens once per bar in the engine, never inside a
+ * strategy. Each slot has a single writer (the thread evaluating that symbol).
+ */
+public final class StrategyContext {
+
+    private final SymbolDictionary slots;
+    private final String[] symbols;
+    private final double[] openingHigh;
+    private final double[] openingLow;
+    private final CandleSeries[] bars;
+    private final Indicators[] indicators;
+    private final int[] entryStrategy;
+    private final boolean longBias;
+
+    public StrategyContext(List<String> symbols, boolean longBias, int barCapacity) {
+        this(symbols, longBias, barCapacity, () -> new Indicators(20, 14, 14, 20));
+    }
+
+    public StrategyContext(List<String> symbols, boolean longBias, int barCapacity, Supplier<Indicators> indicators) {
+        int n = symbols.size();
+        this.slots = SymbolDictionary.of(symbols);
+        this.symbols = symbols.toArray(new String[0]);
+        this.openingHigh = new double[n];
+        this.openingLow = new double[n];
+        this.bars = new CandleSeries[n];
+        this.indicators = new Indicators[n];
+        this.entryStrategy = new int[n];
+        this.longBias = longBias;
+        Arrays.fill(openingHigh, Double.NaN);
+        Arrays.fill(openingLow, Double.NaN);
+        Arrays.fill(entryStrategy, -1);
+        for (int slot = 0; slot < n; slot++) {
+            bars[slot] = new CandleSeries(barCapacity);
+            this.indicators[slot] = indicators.get();
+        }
+    }
+
+    /** @return the symbol's slot, or -1 if it is not part of today's universe */
+    public int slotOf(String symbol) {
+        return slots.idOf(symbol);
+    }
+
+    public int size() { return symbols.length; }
+    public String symbol(int slot) { return symbols[slot]; }
+    public boolean isLongBias() { return longBias; }
+
+    // ---------------------- OPENING RANGE ----------------------
+    public void setOpeningRange(int slot, double high, double low) {
+        openingHigh[slot] = high;
+        openingLow[slot] = low;
+    }
+
+    /** Set the opening range from its bar and start the session VWAP with that bar's volume. */
+    public void setOpeningRange(int slot, long epochMinute, double high, double low, double close, double volume) {
+        setOpeningRange(slot, high, low);
+        indicators[slot].seedSession(epochMinute, high, low, close, volume);
+    }
+
+    public boolean hasOpeningRange(int slot) { return !Double.isNaN(openingHigh[slot]); }
+
+    /** NaN until set, so every comparison against a missing range is false. */
+    public double openingHigh(int slot) { return openingHigh[slot]; }
+    public double openingLow(int slot) { return openingLow[slot]; }
+
+    // ---------------------- BARS ----------------------
+    public CandleSeries bars(int slot) { return bars[slot]; }
+
+    /**
+     * Record a closed bar: append it and update the symbol's indicators. A re-delivered bar (same
+     * timestamp as the latest) replaces it, and the indicators take the corrected bar in place of
+     * the one they had, so it is never counted twice.
+     */
+    public void onBar(int slot, long epochMinute, double open, double high, double low, double close, double volume) {
+        CandleSeries series = bars[slot];
+        boolean repeat = series.size() > 0 && series.epochMinute(0) == epochMinute;
+        series.upsert(epochMinute, open, high, low, close, volume);
+        if (repeat) {
+            indicators[slot].revise(epochMinute, open, high, low, close, volume);
+        } else {
+            indicators[slot].update(epochMinute, open, high, low, close, volume);
+        }
+    }
+
+    /** Replace a symbol's bars, e.g. with the series restored from the candle store. */
+    public void setBars(int slot, CandleSeries series) { bars[slot] = series; }
+
+    // ---------------------- INDICATORS ----------------------
+    public Indicators indicators(int slot) { return indicators[slot]; }
+
+    // ---------------------- ENTRIES ----------------------
+    /** Index (in the {@link StrategySet}) of the strategy that signalled the entry, or -1. */
+    public int entryStrategy(int slot) { return entryStrategy[slot]; }
+
+    void markEntry(int slot, int strategyIndex) { entryStrategy[slot] = strategyIndex; }
+}
@@ -1,10 +1,15 @@
 package com.project.tradingBot.service;
 
 import com.project.tradingBot.models.Candle;
+import com.project.tradingBot.models.CandleSeries;
+import com.project.tradingBot.models.Quote;
+import com.project.tradingBot.service.Strategy.Signal;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.annotation.PreDestroy;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -15,14 +20,60 @@ public class StrategyEngine {
 
     @Autowired
     private SmartApiService smartApiService;
+    @Autowired
+    private OrderGateway orderGateway;
+    @Autowired
+    private OrderPipeline orderPipeline;
+    @Autowired
+    private RiskManager riskManager;
+    @Autowired
+    private MarketDataFeed marketDataFeed;
+    @Autowired
+    private OpeningRangeLoader openingRangeLoader;
+    @Autowired
+    private SymbolWorkerPool symbolWorkerPool;
+    @Autowired
+    private CandleStore candleStore;
+    @Autowired
+    private StrategySet strategies;
+    @Autowired
+    private Clock clock;
+    @Autowired
+    private ScanResultRegistry scanResultRegistry;
+    @Autowired
+    private HistoryBackfill historyBackfill;
+
+    @Value("${strategy.mode:POLL}")
+    private String mode;
+    @Value("${strategy.poll.cycleDeadlineSeconds:60}")
+    private long cycleDeadlineSeconds;
+    @Value("${strategy.poll.quotePrefilter:true}")
+    private boolean quotePrefilter;
+    @Value("${marketdata.barCloseGraceMillis:250}")
+    private long barCloseGraceMillis;
+    @Value("${strategy.indicators.emaPeriod:20}")
+    private int emaPeriod;
+    @Value("${strategy.indicators.atrPeriod:14}")
+    private int atrPeriod;
+    @Value("${strategy.indicators.rsiPeriod:14}")
+    private int rsiPeriod;
+    @Value("${strategy.indicators.volumePeriod:20}")
+    private int volumePeriod;
+
+    private static final int BAR_MINUTES = 5;
+    private static final int OPENING_RANGE_MINUTES = 15;
 
     private ScheduledExecutorService executor;
-    private List<String> stocksToMonitor = new ArrayList<>();
+    private CandleAggregator candleAggregator;
+    private final LatencyRecorder barDecisionLatency = new LatencyRecorder("barClose->decision");
+    // Symbols whose candle the quote pre-filter skipped at least once; their bars are backfilled at session end
+    private final Set<String> prefilterSkipped = ConcurrentHashMap.newKeySet();
 
-    private final Map<String, Double> stock15MinHighs = new ConcurrentHashMap<>();
-    private final Map<String, Double> stock15MinLows = new ConcurrentHashMap<>();
-    private int tradesDone = 0;
-    private static final int MAX_TRADES = 20;
+    // Opening range and intraday 5-minute bars per symbol slot (one session fits comfortably in 128 bars)
+    private volatile StrategyContext context = new StrategyContext(List.of(), true, 2);
+    private static final int INTRADAY_BAR_CAPACITY = 128;
+    // Slots of the context still being watched; traded or exited symbols are cleared lock-free
+    private volatile Watchlist watchlist = new Watchlist(context);
 
     private boolean isPositiveDay;
     private volatile boolean initialized = false;
@@ -36,107 +87,90 @@ public class StrategyEngine {
 
  // ---------------------- INIT ----------------------
     public void init(List<String> positiveStocks, List<String> negativeStocks) {
-        try {
-            double niftyChange = smartApiService.getNiftyChangePercent();
+        init(positiveStocks, negativeStocks, smartApiService.getNiftyChangePercent());
+    }
 
+    /** Initialise with a NIFTY change already fetched (the startup graph fetches it while the scan runs). */
+    public void init(List<String> positiveStocks, List<String> negativeStocks, double niftyChange) {
+        try {
             System.out.println(CYAN + "\n===================== [INIT] STRATEGY INITIALIZATION =====================" + RESET);
             System.out.printf(YELLOW + "→ NIFTY %% Change: %.2f%%%n" + RESET, niftyChange);
 
+            LocalDate day = LocalDate.now(clock);
+            candleStore.recordNiftyChange(day, niftyChange); // lets backtests replay the same bias
+
             // Determine bias
-            if (niftyChange > 0.04) {
-                stocksToMonitor = new CopyOnWriteArrayList<>(positiveStocks);
+            MarketBias bias = MarketBias.of(niftyChange);
+            List<String> candidates;
+            if (bias == MarketBias.POSITIVE) {
+                candidates = new ArrayList<>(new LinkedHashSet<>(positiveStocks));
                 isPositiveDay = true;
+                scanResultRegistry.select(ScanResultRegistry.Side.POSITIVE);
                 System.out.println(GREEN + "[INIT] Positive Market Bias → Monitoring Positive Stocks." + RESET);
-            } else if (niftyChange < -0.04) {
-                stocksToMonitor = new CopyOnWriteArrayList<>(negativeStocks);
+            } else if (bias == MarketBias.NEGATIVE) {
+                candidates = new ArrayList<>(new LinkedHashSet<>(negativeStocks));
                 isPositiveDay = false;
+                scanResultRegistry.select(ScanResultRegistry.Side.NEGATIVE);
                 System.out.println(RED + "[INIT] Negative Market Bias → Monitoring Negative Stocks." + RESET);
             } else {
+                scanResultRegistry.select(null);
                 System.out.println(YELLOW + "[INIT] NIFTY flat; not trading today." + RESET);
                 return;
             }
+            context = new StrategyContext(candidates, isPositiveDay, INTRADAY_BAR_CAPACITY,
+                    () -> new Indicators(emaPeriod, atrPeriod, rsiPeriod, volumePeriod));
+            watchlist = new Watchlist(context);
+            System.out.println(CYAN + strategies + RESET);
 
-            String today = LocalDate.now().toString();
+            String today = day.toString();
             String from = today + " 09:15";
             String to = today + " 09:30";
 
+            // After a restart the opening range (and any bars seen so far) come from the local store
+            long restoreStart = System.nanoTime();
+            Map<String, Candle> openingRange = restoreOpeningRange(day);
+            List<String> missing = new ArrayList<>(candidates);
+            missing.removeAll(openingRange.keySet());
+            if (!openingRange.isEmpty()) {
+                System.out.println(GREEN + String.format("[INIT] Restored opening range for %d stocks from the candle store in %d ms.",
+                        openingRange.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - restoreStart)) + RESET);
+            }
+
             System.out.println(CYAN + "----------------------------------------------------------------------" + RESET);
-            System.out.println(YELLOW + String.format("[INIT] Fetching 15-min candles for %d candidate stocks...", stocksToMonitor.size()) + RESET);
-
-            for (String stock : new ArrayList<>(stocksToMonitor)) { // copy to avoid concurrent modification
-                boolean success = false;
-                int maxRetries = 3;
-                int delayMs = 2000;
-
-                for (int attempt = 1; attempt <= maxRetries && !success; attempt++) {
-                    try {
-                        if (attempt > 1) {
-                            System.out.println(YELLOW + String.format("[RETRY] Attempt %d for %s", attempt, stock) + RESET);
-                        }
-
-                        Thread.sleep(delayMs * attempt); // exponential backoff
-                        
-                        List<Candle> candles = smartApiService.getHistoricalCandles(stock, "FIFTEEN_MINUTE", from, to);
-
-                        if (candles.isEmpty()) {
-                            System.out.println(YELLOW + "[WARN] No 15-min candle data for " + stock + RESET);
-                            System.out.println(YELLOW + "[WARN] Some issue occurred while fetching candles (possible auth issue)." + RESET);
-                            Thread.sleep(30000); // wait 30 sec
-                            System.out.println(YELLOW + "[AUTH] Reauthenticating before retrying " + stock + RESET);
-                            smartApiService.login();
-                            continue; // retry same stock
-                        }
-
-                        Candle c = candles.get(0);
-                        double rangePercent = ((c.getHigh() - c.getLow()) / c.getLow()) * 100;
-
-                        stock15MinHighs.put(stock, c.getHigh());
-                        stock15MinLows.put(stock, c.getLow());
-                        System.out.println(String.format(
-                                GREEN + "[OK]   %-10s | High: %.2f | Low: %.2f | Range: %.2f%%" + RESET,
-                                stock, c.getHigh(), c.getLow(), rangePercent
-                        ));
-
-                        success = true; // successful fetch
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        System.err.println(RED + "[INIT] Interrupted while sleeping: " + ie.getMessage() + RESET);
-                        break;
-                    } catch (Exception e) {
-                        String errorMsg = e.getMessage() != null ? e.getMessage() : "";
-                        if (errorMsg.contains("AB1004") || errorMsg.toLowerCase().contains("unauthorized") 
-                                || errorMsg.contains("session") || errorMsg.contains("token")) {
-                            System.out.println(YELLOW + "[WARN] Some issue occurred related to authentication while fetching " + stock + RESET);
-                            System.out.println(YELLOW + "[AUTH] Waiting 60s before reauthenticating..." + RESET);
-                            try {
-                                Thread.sleep(30000);
-                                smartApiService.login();
-                                System.out.println(GREEN + "[AUTH] Reauthentication successful. Retrying..." + RESET);
-                            } catch (Exception re) {
-                                System.err.println(RED + "[AUTH] Reauthentication failed: " + re.getMessage() + RESET);
-                            }
-                        } else {
-                            System.err.println(RED + String.format("[INIT] Some issue occurred while fetching candle for %s. Retrying...", stock) + RESET);
-                        }
-                    }
-                }
+            System.out.println(YELLOW + String.format("[INIT] Fetching 15-min candles for %d candidate stocks...", missing.size()) + RESET);
 
-                if (!success) {
+            // All candidates are fetched concurrently under the shared candle rate budget
+            Map<String, Candle> fetched = openingRangeLoader.load(missing, from, to);
+            fetched.forEach((stock, c) -> candleStore.save(stock, OPENING_RANGE_MINUTES, c));
+            openingRange.putAll(fetched);
+
+            for (String stock : candidates) {
+                Candle c = openingRange.get(stock);
+                if (c == null) {
                     System.err.println(RED + "[FAIL] All retries failed for " + stock + " → Removing from monitoring list." + RESET);
-                    stocksToMonitor.remove(stock);
+                    watchlist.remove(stock);
+                    continue;
                 }
+                context.setOpeningRange(context.slotOf(stock), CandleSeries.parseEpochMinute(c.getDatetime()),
+                        c.getHigh(), c.getLow(), c.getClose(), c.getVolume());
             }
 
+            restoreIntradayBars(day);
+
+            System.out.println(CYAN + smartApiService.getCandleCache().summary() + RESET);
             System.out.println(CYAN + "----------------------------------------------------------------------" + RESET);
 
-            if (!stocksToMonitor.isEmpty()) {
-                System.out.println(GREEN + "[INIT] Final Stocks to Monitor (" + stocksToMonitor.size() + "):" + RESET);
-                for (String stock : stocksToMonitor)
+            List<String> monitored = watchlist.symbols();
+            if (!monitored.isEmpty()) {
+                System.out.println(GREEN + "[INIT] Final Stocks to Monitor (" + monitored.size() + "):" + RESET);
+                for (String stock : monitored)
                     System.out.println(GREEN + "   → " + stock + RESET);
             } else {
                 System.out.println(RED + "[INIT] No stocks left to monitor after filtering." + RESET);
             }
 
+            orderPipeline.start(monitored); // order templates, balance cache and sender thread
+
             System.out.println(CYAN + "======================================================================\n" + RESET);
             initialized = true;
 
@@ -154,6 +188,12 @@ public class StrategyEngine {
             return;
         }
 
+        if ("STREAM".equalsIgnoreCase(mode)) {
+            startStreaming();
+            keepAliveThread();
+            return;
+        }
+
         executor = Executors.newSingleThreadScheduledExecutor(r -> {
             Thread t = new Thread(r);
             t.setName("StrategyEngine-Poller");
@@ -177,40 +217,150 @@ public class StrategyEngine {
     }
 
 
+    // ---------------------- STREAM ----------------------
+    private void startStreaming() {
+        long now = clock.millis();
+        long barMillis = BAR_MINUTES * 60_000L;
+        long nextBoundary = now - Math.floorMod(now, barMillis) + barMillis;
+
+        // The bar in progress when we subscribe is partial, so only bars from the next boundary are traded
+        candleAggregator = new CandleAggregator(BAR_MINUTES, nextBoundary, this::onBarClose);
+
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r);
+            t.setName("StrategyEngine-BarClock");
+            t.setDaemon(false);
+            return t;
+        });
+
+        // Close bars that got no tick in the following bucket, shortly after each boundary
+        long initialDelay = nextBoundary - now + barCloseGraceMillis;
+        executor.scheduleAtFixedRate(() -> {
+            try {
+                long boundary = clock.millis() - barCloseGraceMillis;
+                candleAggregator.closeBarsUpTo(boundary - Math.floorMod(boundary, barMillis));
+                afterBarClose();
+            } catch (Exception e) {
+                System.err.println(RED + "[STREAM] Uncaught exception in bar clock: " + e.getMessage() + RESET);
+                e.printStackTrace();
+            }
+        }, initialDelay, barMillis, TimeUnit.MILLISECONDS);
+
+        List<String> monitored = watchlist.symbols();
+        System.out.println(CYAN + "[START] Streaming mode: subscribing " + monitored.size()
+                + " stocks, first bar closes in " + (nextBoundary + barMillis - now) / 1000 + " seconds." + RESET);
+        marketDataFeed.subscribe(monitored, candleAggregator);
+    }
+
+    private void onBarClose(String stock, Candle c, long closedAtNanos) {
+        orderGateway.onBar(stock, c); // paper fills and exits, even after the stock leaves the watchlist
+        int slot = context.slotOf(stock); // the only String lookup; everything below is indexed by slot
+        if (slot < 0) {
+            return;
+        }
+        if (evaluateCandle(slot, c)) {
+            barDecisionLatency.recordSince(closedAtNanos);
+        }
+    }
+
+    private void afterBarClose() {
+        System.out.println(CYAN + barDecisionLatency.summary() + RESET);
+        printOrderStatus();
+
+        if (!orderGateway.activeSymbols().isEmpty()) {
+            return; // keep streaming until the paper positions are closed
+        }
+        if (riskManager.isHalted()) {
+            System.out.println(RED + "[STREAM] Max trades or daily loss reached. Stopping strategy." + RESET);
+            marketDataFeed.stop();
+            cleanupAndExit();
+        } else if (watchlist.isEmpty()) {
+            System.out.println(RED + "[STREAM] No stocks left to monitor. Exiting." + RESET);
+            marketDataFeed.stop();
+            cleanupAndExit();
+        }
+    }
+
+
     // ---------------------- POLL ----------------------
     private void pollStocks() {
         System.out.println(CYAN + "\n[POLL] --------------------------------------------------------------" + RESET);
-        System.out.println(YELLOW + "[POLL] Polling started. Trades done: " + tradesDone + RESET);
+        System.out.println(YELLOW + "[POLL] Polling started. Trades done: " + riskManager.getTradesDone() + RESET);
 
-        if (tradesDone >= MAX_TRADES) {
-            System.out.println(RED + "[POLL] Max trades reached. Stopping strategy." + RESET);
+        // Symbols with paper orders or positions keep being polled after they leave the watchlist
+        Collection<String> active = orderGateway.activeSymbols();
+        boolean halted = riskManager.isHalted();
+        if (halted && active.isEmpty()) {
+            System.out.println(RED + "[POLL] Max trades or daily loss reached. Stopping strategy." + RESET);
             cleanupAndExit();
             return;
         }
 
-        if (stocksToMonitor == null || stocksToMonitor.isEmpty()) {
+        if (watchlist.isEmpty() && active.isEmpty()) {
             System.out.println(RED + "[POLL] No stocks left to monitor. Exiting." + RESET);
             cleanupAndExit();
             return;
         }
 
-        ExecutorService stockExecutor = Executors.newFixedThreadPool(Math.max(5, stocksToMonitor.size()));
-        List<Future<?>> futures = new ArrayList<>();
+        List<String> symbols = halted ? new ArrayList<>() : watchlist.symbols();
+        for (String stock : active) {
+            if (!symbols.contains(stock)) symbols.add(stock);
+        }
+        List<String> candleSymbols = symbolsNeedingCandles(symbols, active);
+        SymbolWorkerPool.CycleResult cycle = symbolWorkerPool.runCycle(
+                candleSymbols, this::processStock, TimeUnit.SECONDS.toMillis(cycleDeadlineSeconds));
+
+        System.out.println(CYAN + "[POLL] Cycle completed for all stocks: " + cycle + RESET);
+        System.out.println(CYAN + symbolWorkerPool.summary() + RESET);
+        System.out.println(CYAN + smartApiService.getCandleRateLimiter().summary() + RESET);
+        System.out.println(CYAN + smartApiService.getCandleCache().summary() + RESET);
+        System.out.println(CYAN + smartApiService.getBrokerHttpTransport().summary() + RESET);
+        printOrderStatus();
+    }
+
 
-        for (String stock : new ArrayList<>(stocksToMonitor)) {
-            futures.add(stockExecutor.submit(() -> processStock(stock)));
+    // ---------------------- QUOTE PRE-FILTER ----------------------
+    /**
+     * One batched quote call (ceil(N / 50) requests) decides which symbols need their candle this
+     * cycle: a watched symbol whose session high/low shows no enabled strategy can have signalled
+     * is skipped. Symbols with paper orders or positions, and any symbol without a quote, are
+     * always fetched; if the quote call fails every candle is fetched as before.
+     *
+     * A skipped bar reaches neither the context nor the candle store while the session runs. The
+     * rules lose nothing (a rule that needs every bar keeps {@link Strategy#canSignal}'s default
+     * and is always fetched), but the stored history would have gaps, so the skipped symbols are
+     * backfilled from candle history when the session ends (see {@link #backfillSkippedBars}).
+     */
+    private List<String> symbolsNeedingCandles(List<String> symbols, Collection<String> active) {
+        if (!quotePrefilter || active.containsAll(symbols)) {
+            return symbols;
+        }
+        BatchQuoteFetcher.Result quotes;
+        try {
+            quotes = smartApiService.fetchQuotes(symbols);
+        } catch (IOException e) {
+            System.err.println(RED + "[POLL] Quote pre-filter failed, fetching every candle: " + e.getMessage() + RESET);
+            return symbols;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return symbols;
         }
 
-        for (Future<?> f : futures) {
-            try {
-                f.get();
-            } catch (Exception e) {
-                System.err.println(RED + "[POLL] Exception while processing stock: " + e.getMessage() + RESET);
+        StrategyContext ctx = context;
+        List<String> needed = new ArrayList<>(symbols.size());
+        for (String stock : symbols) {
+            Quote q = quotes.getQuotes().get(stock);
+            int slot = ctx.slotOf(stock);
+            if (q == null || q.getHigh() <= 0 || slot < 0 || active.contains(stock)
+                    || strategies.canSignal(slot, q.getHigh(), q.getLow(), ctx)) {
+                needed.add(stock);
+            } else {
+                prefilterSkipped.add(stock);
             }
         }
-
-        stockExecutor.shutdown();
-        System.out.println(CYAN + "[POLL] Cycle completed for all stocks." + RESET);
+        System.out.println(CYAN + "[POLL] " + quotes + " → candles for " + needed.size()
+                + " of " + symbols.size() + " symbols." + RESET);
+        return needed;
     }
 
 
@@ -245,8 +395,40 @@ public class StrategyEngine {
                 System.out.println(YELLOW + "[POLL] No candle data for " + stock + RESET);
                 return;
             }
+            // Cancelled at the cycle deadline: nothing below may touch the slot, the store or the broker
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+
+            orderGateway.onBar(stock, candles.get(0));
+            int slot = context.slotOf(stock);
+            if (slot >= 0) {
+                evaluateCandle(slot, candles.get(0));
+            }
+
+        } catch (Exception e) {
+            System.err.println(RED + "[ERROR] Exception processing " + stock + ": " + e.getMessage() + RESET);
+        }
+    }
+
+
+    // ---------------------- ENTRY / EXIT RULES ----------------------
+    // Shared by the REST poll and the streaming bar-close path; the bar itself goes through the
+    // same StrategySet.decide step the backtest replays
+    /** @return whether the symbol was still watched, i.e. a decision was made on this bar */
+    private boolean evaluateCandle(int slot, Candle c) {
+        StrategyContext ctx = context;
+        Watchlist watched = watchlist;
+        String stock = ctx.symbol(slot); // for logging and the order/store edges
+        try {
+            boolean wasWatched = watched.contains(slot);
+            Signal signal = strategies.decide(ctx, watched, slot, CandleSeries.parseEpochMinute(c.getDatetime()),
+                    c.getOpen(), c.getHigh(), c.getLow(), c.getClose(), c.getVolume());
+            candleStore.save(stock, BAR_MINUTES, c);
+            if (!wasWatched) {
+                return false; // already traded or exited; the bar only keeps the series and indicators current
+            }
 
-            Candle c = candles.get(0);
             double rangePercent = ((c.getHigh() - c.getLow()) / c.getLow()) * 100;
 
             System.out.printf(CYAN + "[POLL] %-10s | O:%.2f H:%.2f L:%.2f C:%.2f | Range: %.2f%%%n" + RESET,
@@ -254,101 +436,167 @@ public class StrategyEngine {
 
             if (isPositiveDay) {
                 System.out.println(GREEN + "[POLL] Positive Day → Looking for Bullish Breakouts." + RESET);
-                if (c.getClose() > stock15MinHighs.get(stock) && rangePercent <= 0.5) {
-                    synchronized (this) {
-                        if (tradesDone < MAX_TRADES) {
-                        	 System.out.println(RED + "[TRADE] EXECUTE TRADE FOR " + stock +
-                                     " | Reason: Close " + c.getClose() + " > 15-min High " + stock15MinHighs.get(stock) +
-                                     " and Range " + String.format("%.2f", rangePercent) + "% <= 0.5%" + RESET);
-                             
-                            executeTrade(stock, c);
-                            stocksToMonitor.remove(stock);
-                            tradesDone++; //temporary. remove after execution logic is done
-                            System.out.println(YELLOW + "[EXIT] " + stock + " Trade executed → Removed from watchlist." + RESET);
-                            System.out.println(GREEN + "[TRADE] TRADES DONE FOR THE DAY IS " + tradesDone + RESET);
-                        }
-                    }
-                } else if (c.getLow() < stock15MinLows.get(stock)) {
-                    stocksToMonitor.remove(stock);
-                    System.out.println(YELLOW + "[EXIT] " + stock + " broke low → Removed from watchlist." + RESET);
-                }
-
             } else {
                 System.out.println(RED + "[POLL] Negative Day → Looking for Bearish Breakdowns." + RESET);
-                if (c.getClose() < stock15MinLows.get(stock) && rangePercent <= 0.5) {
-                    synchronized (this) {
-                        if (tradesDone < MAX_TRADES) {
-                        	System.out.println(RED + "[TRADE] EXECUTE TRADE FOR " + stock + 
-                                    " | Reason: Close " + c.getClose() + " < 15-min Low " + stock15MinLows.get(stock) + 
-                                    " and Range " + String.format("%.2f", rangePercent) + "% <= 0.5%" + RESET);
-                            
-                            executeTrade(stock, c);
-                            stocksToMonitor.remove(stock);
-                            tradesDone++; //temporary. remove after execution logic is done
-                            System.out.println(YELLOW + "[EXIT] " + stock + " Trade executed → Removed from watchlist." + RESET);
-                            System.out.println(GREEN + "[TRADE] TRADES DONE FOR THE DAY IS " + tradesDone + RESET);
-                        }
-                    }
-                } else if (c.getHigh() > stock15MinHighs.get(stock)) {
-                    stocksToMonitor.remove(stock);
-                    System.out.println(YELLOW + "[EXIT] " + stock + " reversed → Removed from watchlist." + RESET);
+            }
+
+            if (signal == Signal.ENTRY) {
+                long signalNanos = System.nanoTime();
+                String strategy = strategies.entryStrategyName(slot, ctx);
+                // Admission is a CAS on the risk counters; sizing and sending happen on the pipeline's sender
+                BracketPlan estimate = BracketPlan.of(isPositiveDay, orderPipeline.getAvailableBalance(), c.getHigh());
+                double notional = estimate.getQuantity() * estimate.getPrice();
+                if (Thread.currentThread().isInterrupted()) {
+                    System.out.println(YELLOW + "[WORKERS] " + stock + " cancelled before admission → entry not sent." + RESET);
+                    return true;
+                }
+                RiskManager.Admission admission = riskManager.tryAdmit(stock, notional);
+                if (admission != RiskManager.Admission.ADMITTED) {
+                    System.out.println(YELLOW + "[RISK] " + stock + " entry refused: " + admission + RESET);
+                    return true;
+                }
+                if (!orderPipeline.submit(stock, isPositiveDay, c.getHigh(), notional, strategy, signalNanos)) {
+                    System.out.println(YELLOW + "[ORDER] " + stock + " entry not queued: order pipeline is stopped." + RESET);
+                    return true;
                 }
+                watched.remove(slot);
+
+                System.out.println(RED + "[TRADE] EXECUTE TRADE FOR " + stock + " | Strategy: "
+                        + strategy + " | Close " + c.getClose()
+                        + " | 15-min H/L " + ctx.openingHigh(slot) + "/" + ctx.openingLow(slot)
+                        + " | Range " + String.format("%.2f", rangePercent) + "%" + RESET);
+                System.out.println(YELLOW + "[EXIT] " + stock + " Trade executed → Removed from watchlist." + RESET);
+                System.out.println(GREEN + "[TRADE] TRADES DONE FOR THE DAY IS " + riskManager.getTradesDone() + RESET);
+            } else if (signal == Signal.EXIT) {
+                System.out.println(YELLOW + "[EXIT] " + stock + (isPositiveDay ? " broke low" : " reversed")
+                        + " → Removed from watchlist." + RESET);
             }
+            return true;
 
         } catch (Exception e) {
             System.err.println(RED + "[ERROR] Exception processing " + stock + ": " + e.getMessage() + RESET);
+            return true;
         }
     }
 
 
-    // ---------------------- TRADE EXECUTION ----------------------
-    private void executeTrade(String stock, Candle c) {
-        try {
-            System.out.println(GREEN + "[ENTRY] Entry condition met for " + stock + RESET);
-
-            double balance = smartApiService.getBalance();
-            if (balance <= 0) {
-                System.err.println(YELLOW + "[ENTRY] Balance unavailable or zero — skipping trade." + RESET);
-                return;
+    // ---------------------- RESTORE (CANDLE STORE) ----------------------
+    private Map<String, Candle> restoreOpeningRange(LocalDate day) {
+        long openingMinute = day.atTime(9, 15).atZone(ZoneId.of("Asia/Kolkata")).toEpochSecond() / 60;
+        Map<String, Candle> restored = new HashMap<>();
+        candleStore.load(day, OPENING_RANGE_MINUTES, watchlist.symbols(), 32).forEach((stock, series) -> {
+            for (int ago = 0; ago < series.size(); ago++) {
+                if (series.epochMinute(ago) == openingMinute) {
+                    restored.put(stock, series.toCandle(ago));
+                    break;
+                }
             }
+        });
+        return restored;
+    }
 
-            double capital = balance * 0.5;
-            double leverage = 5.0;
-            double effectiveCapital = capital * leverage;
-            double marketPrice = c.getHigh();
-
-            int qty = (int) (effectiveCapital / marketPrice);
-            if (qty <= 0 || effectiveCapital < 1000) {
-                System.err.println(RED + String.format("[ENTRY] Skipping %s | Invalid Qty=%d | Cap=%.2f", stock, qty, effectiveCapital) + RESET);
-                return;
+    /**
+     * Reload the 5-minute bars already seen today and replay the entry/exit rules over them
+     * (without placing orders) so stocks traded or exited before the restart stay off the watchlist.
+     */
+    private void restoreIntradayBars(LocalDate day) {
+        Map<String, CandleSeries> restored = candleStore.load(day, BAR_MINUTES, watchlist.symbols(), INTRADAY_BAR_CAPACITY);
+        if (restored.isEmpty()) return;
+
+        StrategyContext ctx = context;
+        int bars = 0;
+        int entries = 0;
+        for (Map.Entry<String, CandleSeries> entry : restored.entrySet()) {
+            String stock = entry.getKey();
+            CandleSeries series = entry.getValue();
+            int slot = ctx.slotOf(stock);
+            if (slot < 0) continue;
+            bars += series.size();
+
+            // Re-append oldest first so strategies and indicators see the bars exactly as they would have live
+            CandleSeries live = ctx.bars(slot);
+            boolean decided = false;
+            for (int ago = series.size() - 1; ago >= 0; ago--) {
+                ctx.onBar(slot, series.epochMinute(ago), series.open(ago), series.high(ago), series.low(ago),
+                        series.close(ago), series.volume(ago));
+                if (decided) continue;
+                Signal signal = strategies.evaluate(slot, live, ctx);
+                if (signal == Signal.NONE) continue;
+                decided = true;
+                watchlist.remove(slot);
+                if (signal == Signal.ENTRY) entries++;
+                System.out.println(YELLOW + "[INIT] " + stock + (signal == Signal.ENTRY ? " already traded" : " already exited")
+                        + " at " + CandleSeries.formatEpochMinute(series.epochMinute(ago)) + " → Not monitoring." + RESET);
             }
+        }
+        riskManager.restoreTrades(entries);
+        System.out.println(GREEN + String.format("[INIT] Restored %d bars for %d stocks from the candle store (trades done: %d).",
+                bars, restored.size(), riskManager.getTradesDone()) + RESET);
+    }
 
-            double sl = marketPrice * 0.995;
-            double tgt = marketPrice * 1.0075;
 
-            System.out.printf(GREEN + "[ENTRY] Placing order: %s | Qty=%d | Price=%.2f | SL=%.2f | TGT=%.2f | Leverage=%.1fx%n" + RESET,
-                    stock, qty, marketPrice, sl, tgt, leverage);
+    // ---------------------- ORDERS ----------------------
+    private void printOrderStatus() {
+        System.out.println(CYAN + riskManager.summary() + RESET);
+        String status = orderGateway.summary();
+        if (!status.isEmpty()) {
+            System.out.println(CYAN + status + RESET);
+        }
+    }
 
-            //boolean placed = smartApiService.placeBracketOrder(stock, "BUY", qty, marketPrice, sl, tgt);
 
-            boolean placed = true;
-            
-            if (placed) {
-                tradesDone++;
-                System.out.println(GREEN + "[ENTRY] Trade placed successfully. Total trades: " + tradesDone + RESET);
-            } else {
-                System.err.println(RED + "[ENTRY] Order failed for " + stock + RESET);
+    // ---------------------- JIT WARM-UP ----------------------
+    /**
+     * Drive the bar pipeline (tick aggregation, timestamp parsing, series updates, entry/exit rules)
+     * with synthetic data so it is compiled before the first real bar. Places no orders and leaves
+     * no state behind.
+     * @return number of synthetic bars evaluated
+     */
+    public int warmUp(int bars) {
+        String probe = "__WARMUP__";
+        StrategyContext ctx = new StrategyContext(List.of(probe), true, INTRADAY_BAR_CAPACITY);
+        ctx.setOpeningRange(0, 101.0, 99.0);
+        try {
+            CandleSeries series = ctx.bars(0);
+            int[] signals = new int[Signal.values().length];
+            long barMillis = BAR_MINUTES * 60_000L;
+            long start = clock.millis() / barMillis * barMillis - bars * barMillis;
+
+            CandleAggregator aggregator = new CandleAggregator(BAR_MINUTES, start, (symbol, bar, closedAt) -> {
+                ctx.onBar(0, CandleSeries.parseEpochMinute(bar.getDatetime()), bar.getOpen(), bar.getHigh(), bar.getLow(),
+                        bar.getClose(), bar.getVolume());
+                signals[strategies.evaluate(0, series, ctx).ordinal()]++;
+                barDecisionLatency.recordSince(closedAt);
+            });
+
+            double price = 100.0;
+            for (int i = 0; i < bars; i++) {
+                long barStart = start + i * barMillis;
+                for (int t = 0; t < 10; t++) {
+                    price += ThreadLocalRandom.current().nextDouble(-0.3, 0.3);
+                    aggregator.onTick(probe, barStart + t * 30_000L, price, 100);
+                }
+                aggregator.closeBarsUpTo(barStart + barMillis);
+                series.highest(3);
+                series.averageVolume(20);
             }
-
-        } catch (Exception e) {
-            System.err.println(RED + "[ENTRY] Trade execution error for " + stock + ": " + e.getMessage() + RESET);
+            return signals[0] + signals[1] + signals[2];
+        } finally {
+            barDecisionLatency.reset();
         }
     }
 
 
+    public CandleSeries getIntradayBars(String stock) {
+        StrategyContext ctx = context;
+        int slot = ctx.slotOf(stock);
+        return slot < 0 ? null : ctx.bars(slot);
+    }
+
+
     // ---------------------- UTILITIES ----------------------
     private String[] getAligned5MinWindow() {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now(clock);
         int flooredMinute = (now.getMinute() / 5) * 5;
         LocalDateTime to = now.withMinute(flooredMinute).withSecond(0).withNano(0);
         LocalDateTime from = to.minusMinutes(5);
@@ -357,8 +605,8 @@ public class StrategyEngine {
     }
 
     private long computeInitialDelaySeconds() {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime firstPoll = LocalDate.now().atTime(9, 35, 1);
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime firstPoll = now.toLocalDate().atTime(9, 35, 1);
         if (now.isAfter(firstPoll)) {
             int nextSlot = ((now.getMinute() / 5) + 1) * 5;
             if (nextSlot >= 60)
@@ -402,5 +650,25 @@ public class StrategyEngine {
     @PreDestroy
     public void cleanup() {
         shutdownExecutor();
+        backfillSkippedBars();
+        printOrderStatus();
+    }
+
+    /** Store today's bars the quote pre-filter kept out of the candle store; the store skips bars it already has. */
+    private void backfillSkippedBars() {
+        if (prefilterSkipped.isEmpty()) {
+            return;
+        }
+        List<String> symbols = new ArrayList<>(prefilterSkipped);
+        prefilterSkipped.removeAll(symbols); // cleanup runs again on context close after cleanupAndExit
+        LocalDate today = LocalDate.now(clock);
+        try {
+            System.out.println(CYAN + "[STORE] Backfilling " + symbols.size() + " symbols the quote pre-filter skipped." + RESET);
+            System.out.println(CYAN + historyBackfill.backfill(symbols, today, today).summary() + RESET);
+        } catch (IOException e) {
+            System.err.println(RED + "[STORE] Backfill of pre-filtered symbols failed: " + e.getMessage() + RESET);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 }
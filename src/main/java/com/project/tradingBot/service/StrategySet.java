@@ -0,0 +1,83 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.models.CandleSeries;
+import com.project.tradingBot.service.Strategy.Signal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The strategies enabled through {@code strategy.rules}, evaluated together on each bar.
+ *
+ * A symbol is entered as soon as any strategy signals an entry (first in configuration order
+ * wins), and dropped from the watchlist only once every strategy signals an exit on the same bar.
+ */
+public final class StrategySet {
+
+    private final Strategy[] strategies;
+
+    public StrategySet(List<Strategy> strategies) {
+        if (strategies.isEmpty()) {
+            throw new IllegalArgumentException("At least one strategy must be enabled");
+        }
+        this.strategies = strategies.toArray(new Strategy[0]);
+    }
+
+    public Signal evaluate(int slot, CandleSeries bars, StrategyContext ctx) {
+        int exits = 0;
+        for (int i = 0; i < strategies.length; i++) {
+            Signal signal = strategies[i].evaluate(slot, bars, ctx);
+            if (signal == Signal.ENTRY) {
+                ctx.markEntry(slot, i);
+                return Signal.ENTRY;
+            }
+            if (signal == Signal.EXIT) exits++;
+        }
+        return exits == strategies.length ? Signal.EXIT : Signal.NONE;
+    }
+
+    /**
+     * One closed bar through the decision step shared by the live engine and the backtest: the bar
+     * is folded into the slot's series and indicators, then, while the slot is still watched, the
+     * strategies are evaluated and an exit drops it from the watchlist. Acting on an entry (a live
+     * bracket order or a simulated fill) and removing the slot once it is taken is the caller's.
+     * @return {@link Signal#NONE} for a slot that is no longer watched
+     */
+    public Signal decide(StrategyContext ctx, Watchlist watchlist, int slot, long epochMinute,
+                         double open, double high, double low, double close, double volume) {
+        ctx.onBar(slot, epochMinute, open, high, low, close, volume);
+        if (!watchlist.contains(slot)) return Signal.NONE;
+        Signal signal = evaluate(slot, ctx.bars(slot), ctx);
+        if (signal == Signal.EXIT) watchlist.remove(slot);
+        return signal;
+    }
+
+    /** False only when no enabled strategy can signal on any bar within the session's range so far. */
+    public boolean canSignal(int slot, double dayHigh, double dayLow, StrategyContext ctx) {
+        for (Strategy s : strategies) {
+            if (s.canSignal(slot, dayHigh, dayLow, ctx)) return true;
+        }
+        return false;
+    }
+
+    /** Name of the strategy behind the symbol's entry, for logging. */
+    public String entryStrategyName(int slot, StrategyContext ctx) {
+        int i = ctx.entryStrategy(slot);
+        return i < 0 ? "-" : strategies[i].name();
+    }
+
+    public int size() {
+        return strategies.length;
+    }
+
+    public List<String> names() {
+        List<String> names = new ArrayList<>(strategies.length);
+        for (Strategy s : strategies) names.add(s.name());
+        return names;
+    }
+
+    @Override
+    public String toString() {
+        return "[STRATEGY] Enabled: " + String.join(", ", names());
+    }
+}
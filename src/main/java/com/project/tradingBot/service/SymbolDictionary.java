@@ -0,0 +1,110 @@
+package com.project.tradingBot.service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Dense int IDs for trading symbols ("INFY", without the "-EQ" suffix), assigned once when the
+ * dictionary is built, plus each symbol's instrument token as an int and as the string the
+ * broker APIs take.
+ *
+ * Lookup is an open-addressing table of ints keyed by {@link String#hashCode()} (cached in the
+ * string), so resolving a symbol neither concatenates, boxes nor allocates. Strings are meant for
+ * the I/O edges only: resolve once, then index primitive arrays by ID. Immutable after
+ * construction and safe to share between threads.
+ */
+public final class SymbolDictionary {
+
+    public static final int NO_TOKEN = -1;
+
+    private static final SymbolDictionary EMPTY = new SymbolDictionary(new String[0], new int[0]);
+
+    private final String[] symbols;
+    private final int[] tokens;
+    private final String[] tokenStrings;
+    private final int[] table; // ID + 1, 0 = empty
+    private final int mask;
+
+    private SymbolDictionary(String[] symbols, int[] tokens) {
+        this.symbols = symbols;
+        this.tokens = tokens;
+        this.tokenStrings = new String[symbols.length];
+        for (int id = 0; id < symbols.length; id++) {
+            if (tokens[id] != NO_TOKEN) tokenStrings[id] = Integer.toString(tokens[id]);
+        }
+        int capacity = Integer.highestOneBit(Math.max(2, symbols.length * 2 - 1)) << 1;
+        this.table = new int[capacity];
+        this.mask = capacity - 1;
+        for (int id = 0; id < symbols.length; id++) {
+            int i = spread(symbols[id].hashCode()) & mask;
+            while (table[i] != 0) {
+                if (symbols[table[i] - 1].equals(symbols[id])) {
+                    throw new IllegalArgumentException("Duplicate symbol " + symbols[id]);
+                }
+                i = (i + 1) & mask;
+            }
+            table[i] = id + 1;
+        }
+    }
+
+    public static SymbolDictionary empty() {
+        return EMPTY;
+    }
+
+    /** IDs in list order, without tokens (e.g. a day's watchlist). */
+    public static SymbolDictionary of(List<String> symbols) {
+        int[] tokens = new int[symbols.size()];
+        Arrays.fill(tokens, NO_TOKEN);
+        return new SymbolDictionary(symbols.toArray(new String[0]), tokens);
+    }
+
+    /**
+     * The NSE equities of a scrip master: the ID is the symbol's position in the index and the
+     * "-EQ" suffix is dropped.
+     */
+    public static SymbolDictionary fromMaster(SymbolIndex index) {
+        int n = index.size();
+        String[] symbols = new String[n];
+        int[] tokens = new int[n];
+        for (int i = 0; i < n; i++) {
+            String symbol = index.symbolAt(i);
+            symbols[i] = symbol.endsWith("-EQ") ? symbol.substring(0, symbol.length() - 3) : symbol;
+            tokens[i] = index.tokenAt(i);
+        }
+        return new SymbolDictionary(symbols, tokens);
+    }
+
+    /** @return the symbol's ID, or -1 if it is not in the dictionary */
+    public int idOf(String symbol) {
+        int i = spread(symbol.hashCode()) & mask;
+        for (;;) {
+            int entry = table[i];
+            if (entry == 0) return -1;
+            if (symbols[entry - 1].equals(symbol)) return entry - 1;
+            i = (i + 1) & mask;
+        }
+    }
+
+    public int size() { return symbols.length; }
+    public String symbol(int id) { return symbols[id]; }
+    /** Instrument token, or {@link #NO_TOKEN}. */
+    public int token(int id) { return tokens[id]; }
+    /** Instrument token as the broker APIs take it, or null. */
+    public String tokenString(int id) { return tokenStrings[id]; }
+
+    /** Token string for a symbol, or null if it is unknown or has no token. */
+    public String tokenString(String symbol) {
+        int id = idOf(symbol);
+        return id < 0 ? null : tokenStrings[id];
+    }
+
+    /** Token for a symbol, or {@link #NO_TOKEN}. */
+    public int token(String symbol) {
+        int id = idOf(symbol);
+        return id < 0 ? NO_TOKEN : tokens[id];
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+}
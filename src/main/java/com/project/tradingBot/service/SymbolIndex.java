@@ -0,0 +1,240 @@
+package com.project.tradingBot.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable symbol → token index stored in a compact binary layout.
+ *
+ * File layout (little-endian):
+ * <pre>
+ *   header (16 bytes): int magic "TBSI" | int version | int count | int blobLength
+ *   int[count]        tokens, in symbol order
+ *   int[count + 1]    offsets of each symbol in the blob
+ *   byte[blobLength]  symbols (ASCII), sorted, concatenated
+ * </pre>
+ * {@link #load} maps the file, and lookups binary-search the mapped bytes, so the index lives
+ * off-heap and a lookup allocates nothing. A freshly built index uses the same layout on a heap buffer.
+ */
+public final class SymbolIndex {
+
+    private static final int MAGIC = 0x54425349; // "TBSI"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    private final ByteBuffer buf;
+    private final int count;
+    private final int tokensAt;
+    private final int offsetsAt;
+    private final int blobAt;
+
+    private SymbolIndex(ByteBuffer buf) throws IOException {
+        this.buf = buf.order(ByteOrder.LITTLE_ENDIAN);
+        if (buf.limit() < HEADER_SIZE || buf.getInt(0) != MAGIC || buf.getInt(4) != VERSION) {
+            throw new IOException("Not a symbol index (or unsupported version)");
+        }
+        this.count = buf.getInt(8);
+        int blobLength = buf.getInt(12);
+        // long arithmetic so a corrupt count cannot overflow past the check
+        if (count < 0 || blobLength < 0 || HEADER_SIZE + (count * 2L + 1) * 4 + blobLength > buf.limit()) {
+            throw new IOException("Truncated symbol index");
+        }
+        this.tokensAt = HEADER_SIZE;
+        this.offsetsAt = tokensAt + count * 4;
+        this.blobAt = offsetsAt + (count + 1) * 4;
+    }
+
+    // ---------------------- BUILD / LOAD ----------------------
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Memory-map an index written by {@link #writeTo}. */
+    public static SymbolIndex load(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new SymbolIndex(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+        }
+    }
+
+    /** Write the index atomically (temp file + rename), so readers never map a partial file. */
+    public void writeTo(Path path) throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer src = buf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            src.clear();
+            while (src.hasRemaining()) ch.write(src);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // ---------------------- LOOKUP ----------------------
+    public int size() {
+        return count;
+    }
+
+    /** @return the token for this symbol (e.g. "INFY-EQ"), or -1 if unknown */
+    public int token(CharSequence symbol) {
+        int i = indexOf(symbol);
+        return i < 0 ? -1 : tokenAt(i);
+    }
+
+    public boolean contains(CharSequence symbol) {
+        return indexOf(symbol) >= 0;
+    }
+
+    public String symbolAt(int i) {
+        int from = buf.getInt(offsetsAt + i * 4);
+        int to = buf.getInt(offsetsAt + (i + 1) * 4);
+        byte[] bytes = new byte[to - from];
+        for (int k = 0; k < bytes.length; k++) bytes[k] = buf.get(blobAt + from + k);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    public int tokenAt(int i) {
+        return buf.getInt(tokensAt + i * 4);
+    }
+
+    /** Position of the symbol in sorted order, or -1. */
+    public int indexOf(CharSequence symbol) {
+        int lo = 0, hi = count - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = compareAt(mid, symbol);
+            if (cmp < 0) lo = mid + 1;
+            else if (cmp > 0) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    private int compareAt(int i, CharSequence key) {
+        int from = blobAt + buf.getInt(offsetsAt + i * 4);
+        int len = blobAt + buf.getInt(offsetsAt + (i + 1) * 4) - from;
+        int n = Math.min(len, key.length());
+        for (int k = 0; k < n; k++) {
+            int diff = (buf.get(from + k) & 0xFF) - key.charAt(k);
+            if (diff != 0) return diff;
+        }
+        return len - key.length();
+    }
+
+    /**
+     * Read-only {@code Map<String, String>} view (symbol → token as text) for code written
+     * against the old HashMap. {@code get} is a binary search; iteration is in symbol order.
+     */
+    public Map<String, String> asMap() {
+        return new AbstractMap<>() {
+            @Override
+            public String get(Object key) {
+                if (!(key instanceof CharSequence)) return null;
+                int i = indexOf((CharSequence) key);
+                return i < 0 ? null : Integer.toString(tokenAt(i));
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return key instanceof CharSequence && indexOf((CharSequence) key) >= 0;
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+
+            @Override
+            public Set<Map.Entry<String, String>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public int size() {
+                        return count;
+                    }
+
+                    @Override
+                    public Iterator<Map.Entry<String, String>> iterator() {
+                        return new Iterator<>() {
+                            private int next;
+
+                            @Override
+                            public boolean hasNext() {
+                                return next < count;
+                            }
+
+                            @Override
+                            public Map.Entry<String, String> next() {
+                                if (next >= count) throw new NoSuchElementException();
+                                int i = next++;
+                                return new AbstractMap.SimpleImmutableEntry<>(symbolAt(i), Integer.toString(tokenAt(i)));
+                            }
+                        };
+                    }
+                };
+            }
+        };
+    }
+
+    // ---------------------- BUILDER ----------------------
+    /**
+     * Collects symbol/token pairs from a streaming parse; duplicates keep the last token.
+     */
+    public static final class Builder {
+        private final TreeMap<String, Integer> entries = new TreeMap<>();
+
+        public Builder add(String symbol, int token) {
+            for (int k = 0; k < symbol.length(); k++) {
+                if (symbol.charAt(k) > 0x7F) {
+                    throw new IllegalArgumentException("Non-ASCII symbol: " + symbol);
+                }
+            }
+            entries.put(symbol, token);
+            return this;
+        }
+
+        public int size() {
+            return entries.size();
+        }
+
+        public SymbolIndex build() {
+            int count = entries.size();
+            int[] tokens = new int[count];
+            int[] offsets = new int[count + 1];
+            byte[][] symbols = new byte[count][];
+            int blobLength = 0, i = 0;
+            for (Map.Entry<String, Integer> e : entries.entrySet()) {
+                symbols[i] = e.getKey().getBytes(StandardCharsets.US_ASCII);
+                tokens[i] = e.getValue();
+                offsets[i] = blobLength;
+                blobLength += symbols[i].length;
+                i++;
+            }
+            offsets[count] = blobLength;
+
+            ByteBuffer buf = ByteBuffer.allocate(HEADER_SIZE + count * 4 + (count + 1) * 4 + blobLength)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            buf.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(blobLength);
+            for (int t : tokens) buf.putInt(t);
+            for (int o : offsets) buf.putInt(o);
+            for (byte[] s : symbols) buf.put(s);
+            buf.flip();
+            try {
+                return new SymbolIndex(buf);
+            } catch (IOException e) {
+                throw new IllegalStateException(e); // cannot happen for a buffer we just wrote
+            }
+        }
+    }
+}
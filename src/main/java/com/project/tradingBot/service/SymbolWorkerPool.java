@@ -0,0 +1,196 @@
+package com.project.tradingBot.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Long-lived, bounded pool for per-symbol work (one task per watchlist stock per poll cycle).
+ *
+ * Threads are created once and reused across cycles. Each cycle has a deadline: symbols that
+ * have not finished by then are cancelled (interrupted) so a slow symbol cannot hold up the
+ * rest of the watchlist. Cancelling only interrupts: a task blocked in I/O keeps running until
+ * it notices, so a symbol stays busy until its task has actually returned and is not submitted
+ * again before that. At most one task per symbol ever runs, which keeps each StrategyContext
+ * slot single-writer.
+ */
+@Service
+public class SymbolWorkerPool {
+
+    // ---------------------- ANSI COLORS ----------------------
+    private static final String RESET = "\u001B[0m";
+    private static final String YELLOW = "\u001B[33m";
+    private static final String RED = "\u001B[31m";
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Set<String> busy = ConcurrentHashMap.newKeySet();
+    private final LongAdder stillRunning = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LatencyRecorder cycleDuration = new LatencyRecorder("pollCycle");
+
+    public SymbolWorkerPool(@Value("${strategy.workers.poolSize:8}") int poolSize,
+                            @Value("${strategy.workers.queueCapacity:500}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r);
+                    t.setName("Symbol-Worker-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.executor.prestartAllCoreThreads();
+    }
+
+    /**
+     * Run the task for every symbol and wait at most {@code deadlineMillis} for the whole cycle.
+     */
+    public CycleResult runCycle(List<String> symbols, Consumer<String> task, long deadlineMillis) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        Map<SymbolTask, Future<?>> futures = new LinkedHashMap<>();
+        CycleResult result = new CycleResult();
+
+        for (String symbol : symbols) {
+            if (!busy.add(symbol)) {
+                stillRunning.increment();
+                result.stillRunning++;
+                System.out.println(YELLOW + "[WORKERS] " + symbol + " is still running from an earlier cycle → not resubmitted." + RESET);
+                continue;
+            }
+            SymbolTask symbolTask = new SymbolTask(symbol, task);
+            try {
+                futures.put(symbolTask, executor.submit(symbolTask));
+            } catch (RejectedExecutionException e) {
+                busy.remove(symbol);
+                rejected.increment();
+                result.rejected++;
+                System.err.println(RED + "[WORKERS] Queue full, skipping " + symbol + " this cycle." + RESET);
+            }
+        }
+
+        for (Map.Entry<SymbolTask, Future<?>> entry : futures.entrySet()) {
+            SymbolTask symbolTask = entry.getKey();
+            Future<?> future = entry.getValue();
+            try {
+                future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                result.completed++;
+            } catch (TimeoutException te) {
+                cancel(symbolTask, future);
+                cancelled.increment();
+                result.timedOut++;
+                System.out.println(YELLOW + "[WORKERS] " + symbolTask.symbol + " missed the cycle deadline → cancelled." + RESET);
+            } catch (ExecutionException ee) {
+                result.failed++;
+                System.err.println(RED + "[WORKERS] " + symbolTask.symbol + " failed: " + ee.getCause() + RESET);
+            } catch (CancellationException ce) {
+                result.timedOut++;
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                futures.forEach(this::cancel);
+                break;
+            }
+        }
+
+        result.durationNanos = System.nanoTime() - start;
+        cycleDuration.record(result.durationNanos);
+        return result;
+    }
+
+    private void cancel(SymbolTask symbolTask, Future<?> future) {
+        future.cancel(true);
+        symbolTask.releaseIfNotStarted();
+        executor.purge(); // drop cancelled tasks that were still queued
+    }
+
+    /**
+     * One symbol's task for one cycle. The symbol is released exactly once: when the task
+     * returns, or at cancellation if the task never started (a cancelled queued task never runs).
+     */
+    private final class SymbolTask implements Runnable {
+        private final String symbol;
+        private final Consumer<String> task;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        SymbolTask(String symbol, Consumer<String> task) {
+            this.symbol = symbol;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return; // cancelled while queued; already released
+            }
+            inFlight.incrementAndGet();
+            try {
+                if (!Thread.currentThread().isInterrupted()) {
+                    task.accept(symbol);
+                }
+            } finally {
+                inFlight.decrementAndGet();
+                busy.remove(symbol);
+            }
+        }
+
+        void releaseIfNotStarted() {
+            if (claimed.compareAndSet(false, true)) {
+                busy.remove(symbol);
+            }
+        }
+    }
+
+    // ---------------------- METRICS ----------------------
+    public int getQueueDepth() { return executor.getQueue().size(); }
+    public int getInFlight() { return inFlight.get(); }
+    public long getStillRunning() { return stillRunning.sum(); }
+    public int getPoolSize() { return executor.getPoolSize(); }
+    public long getCancelled() { return cancelled.sum(); }
+    public long getRejected() { return rejected.sum(); }
+    public LatencyRecorder getCycleDuration() { return cycleDuration; }
+
+    public String summary() {
+        return String.format("[WORKERS] pool=%d | queued=%d | inFlight=%d | cancelled=%d | stillRunning=%d | rejected=%d%n%s",
+                getPoolSize(), getQueueDepth(), getInFlight(), getCancelled(), getStillRunning(), getRejected(),
+                cycleDuration.summary());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ---------------------- CYCLE RESULT ----------------------
+    public static class CycleResult {
+        private int completed;
+        private int timedOut;
+        private int failed;
+        private int rejected;
+        private int stillRunning;
+        private long durationNanos;
+
+        public int getCompleted() { return completed; }
+        public int getTimedOut() { return timedOut; }
+        public int getFailed() { return failed; }
+        public int getRejected() { return rejected; }
+        public int getStillRunning() { return stillRunning; }
+        public long getDurationMillis() { return TimeUnit.NANOSECONDS.toMillis(durationNanos); }
+
+        @Override
+        public String toString() {
+            return String.format("completed=%d, timedOut=%d, failed=%d, rejected=%d, stillRunning=%d in %d ms",
+                    completed, timedOut, failed, rejected, stillRunning, getDurationMillis());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.project.tradingBot.service;
+
+/**
+ * Receives raw trades from a {@link MarketDataFeed}. Primitive arguments so the
+ * feed thread does not allocate a tick object per trade.
+ */
+@FunctionalInterface
+public interface TickListener {
+
+    /**
+     * @param symbol      trading symbol without the "-EQ" suffix (same key as the watchlist)
+     * @param epochMillis exchange timestamp of the trade
+     * @param price       last traded price
+     * @param volume      quantity traded since the previous tick for this symbol
+     */
+    void onTick(String symbol, long epochMillis, double price, long volume);
+}
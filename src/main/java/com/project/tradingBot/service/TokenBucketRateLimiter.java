@@ -0,0 +1,162 @@
+package com.project.tradingBot.service;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free token bucket for broker API budgets.
+ *
+ * Each band (e.g. 3/sec and 180/min) is tracked as a GCRA "theoretical arrival time".
+ * A caller reserves its slot with a single CAS and then waits only for its own permit,
+ * so concurrent callers never queue behind a shared monitor.
+ */
+public class TokenBucketRateLimiter {
+
+    private final String name;
+    private final long[] intervalNanos;   // time between permits, per band
+    private final long[] toleranceNanos;  // how far ahead a band may run (burst - 1 permits)
+    private final AtomicReference<long[]> arrivalTimes;
+
+    // --- Metrics ---
+    private final LongAdder permits = new LongAdder();
+    private final LongAdder delayedPermits = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public TokenBucketRateLimiter(String name, int perSecond, int perMinute) {
+        this(name, new int[]{perSecond, perMinute}, new long[]{TimeUnit.SECONDS.toNanos(1), TimeUnit.MINUTES.toNanos(1)});
+    }
+
+    public TokenBucketRateLimiter(String name, int[] limits, long[] periodNanos) {
+        if (limits.length != periodNanos.length || limits.length == 0) {
+            throw new IllegalArgumentException("Each rate limit needs exactly one period");
+        }
+        this.name = name;
+        this.intervalNanos = new long[limits.length];
+        this.toleranceNanos = new long[limits.length];
+        for (int i = 0; i < limits.length; i++) {
+            if (limits[i] <= 0) {
+                throw new IllegalArgumentException("Rate limit must be positive for " + name);
+            }
+            intervalNanos[i] = periodNanos[i] / limits[i];
+            toleranceNanos[i] = intervalNanos[i] * (limits[i] - 1);
+        }
+        long now = System.nanoTime();
+        long[] initial = new long[limits.length];
+        Arrays.fill(initial, now);
+        this.arrivalTimes = new AtomicReference<>(initial);
+    }
+
+    /**
+     * Takes a permit, waiting only as long as this caller's slot requires.
+     * @return nanoseconds spent waiting for the permit
+     */
+    public long acquire() throws InterruptedException {
+        long waitNanos = reserve(System.nanoTime());
+        if (waitNanos > 0) {
+            long deadline = System.nanoTime() + waitNanos;
+            long remaining = waitNanos;
+            while (remaining > 0) {
+                LockSupport.parkNanos(this, remaining);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException("Interrupted while waiting for " + name + " permit");
+                }
+                remaining = deadline - System.nanoTime();
+            }
+        }
+        record(waitNanos);
+        return waitNanos;
+    }
+
+    /**
+     * Reserves a permit and returns a future that completes once the permit is usable,
+     * without parking the calling thread.
+     */
+    public CompletableFuture<Long> acquireAsync() {
+        long waitNanos = reserve(System.nanoTime());
+        record(waitNanos);
+        if (waitNanos <= 0) {
+            return CompletableFuture.completedFuture(0L);
+        }
+        return CompletableFuture.supplyAsync(() -> waitNanos,
+                CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Takes a permit only if one is available right now.
+     */
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        while (true) {
+            long[] current = arrivalTimes.get();
+            if (allowedAt(current, now) > now) {
+                rejected.increment();
+                return false;
+            }
+            if (arrivalTimes.compareAndSet(current, advance(current, now))) {
+                record(0);
+                return true;
+            }
+        }
+    }
+
+    private long reserve(long now) {
+        while (true) {
+            long[] current = arrivalTimes.get();
+            long allowedAt = allowedAt(current, now);
+            if (arrivalTimes.compareAndSet(current, advance(current, allowedAt))) {
+                return allowedAt - now;
+            }
+        }
+    }
+
+    private long allowedAt(long[] current, long now) {
+        long allowedAt = now;
+        for (int i = 0; i < current.length; i++) {
+            allowedAt = Math.max(allowedAt, current[i] - toleranceNanos[i]);
+        }
+        return allowedAt;
+    }
+
+    private long[] advance(long[] current, long allowedAt) {
+        long[] next = new long[current.length];
+        for (int i = 0; i < current.length; i++) {
+            next[i] = Math.max(current[i], allowedAt) + intervalNanos[i];
+        }
+        return next;
+    }
+
+    private void record(long waitNanos) {
+        permits.increment();
+        if (waitNanos > 0) {
+            delayedPermits.increment();
+            totalWaitNanos.add(waitNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+    }
+
+    // --- Metrics accessors ---
+    public String getName() { return name; }
+    public long getPermits() { return permits.sum(); }
+    public long getDelayedPermits() { return delayedPermits.sum(); }
+    public long getRejected() { return rejected.sum(); }
+    public long getTotalWaitNanos() { return totalWaitNanos.sum(); }
+    public long getMaxWaitNanos() { return maxWaitNanos.get(); }
+
+    public double getAverageWaitMillis() {
+        long count = permits.sum();
+        return count == 0 ? 0.0 : totalWaitNanos.sum() / 1_000_000.0 / count;
+    }
+
+    public String summary() {
+        return String.format("[RATE] %s | permits=%d | delayed=%d | rejected=%d | avgWait=%.1f ms | maxWait=%.1f ms",
+                name, getPermits(), getDelayedPermits(), getRejected(),
+                getAverageWaitMillis(), getMaxWaitNanos() / 1_000_000.0);
+    }
+}
@@ -0,0 +1,61 @@
+package com.project.tradingBot.service;
+
+/**
+ * Session volume-weighted average price. Bars contribute their typical price
+ * ((high + low + close) / 3); ticks can be added directly with {@link #addTrade}. Resets
+ * automatically when the IST trading day changes.
+ */
+public final class Vwap implements Indicator {
+
+    private static final long IST_OFFSET_MINUTES = 330;
+
+    private double priceVolume;
+    private double volume;
+    private long day;
+
+    public Vwap() {
+        reset();
+    }
+
+    @Override
+    public void update(long epochMinute, double open, double high, double low, double close, double volume) {
+        addTrade(epochMinute, (high + low + close) / 3.0, volume);
+    }
+
+    public void addTrade(long epochMinute, double price, double quantity) {
+        long tradeDay = Math.floorDiv(epochMinute + IST_OFFSET_MINUTES, 1440);
+        if (tradeDay != day) {
+            priceVolume = 0;
+            volume = 0;
+            day = tradeDay;
+        }
+        priceVolume += price * quantity;
+        volume += quantity;
+    }
+
+    @Override public double value() { return volume > 0 ? priceVolume / volume : Double.NaN; }
+    @Override public boolean isReady() { return volume > 0; }
+
+    @Override
+    public void reset() {
+        priceVolume = 0;
+        volume = 0;
+        day = Long.MIN_VALUE;
+    }
+
+    @Override public int stateSize() { return 3; }
+
+    @Override
+    public void snapshot(double[] dst, int offset) {
+        dst[offset] = priceVolume;
+        dst[offset + 1] = volume;
+        dst[offset + 2] = day;
+    }
+
+    @Override
+    public void restore(double[] src, int offset) {
+        priceVolume = src[offset];
+        volume = src[offset + 1];
+        day = (long) src[offset + 2];
+    }
+}
@@ -0,0 +1,39 @@
+package com.project.tradingBot.service;
+
+import com.project.tradingBot.models.CandleSeries;
+
+/**
+ * VWAP reclaim: on a positive day, enter on a bar that opens below session VWAP and closes above
+ * it on at least {@code volumeMultiplier} times the average volume (mirror image on a negative
+ * day). Exits on a break of the opposite side of the opening range.
+ */
+public final class VwapReclaim implements Strategy {
+
+    private final double volumeMultiplier;
+
+    public VwapReclaim(double volumeMultiplier) {
+        this.volumeMultiplier = volumeMultiplier;
+    }
+
+    @Override
+    public String name() {
+        return "vwapReclaim";
+    }
+
+    @Override
+    public Signal evaluate(int slot, CandleSeries bars, StrategyContext ctx) {
+        boolean longBias = ctx.isLongBias();
+        if (longBias ? bars.low(0) < ctx.openingLow(slot) : bars.high(0) > ctx.openingHigh(slot)) return Signal.EXIT;
+
+        Indicators indicators = ctx.indicators(slot);
+        double vwap = indicators.vwap();
+        double averageVolume = indicators.volumeAverage();
+        if (Double.isNaN(vwap) || Double.isNaN(averageVolume)) return Signal.NONE;
+        if (bars.volume(0) < volumeMultiplier * averageVolume) return Signal.NONE;
+
+        double open = bars.open(0);
+        double close = bars.close(0);
+        boolean reclaimed = longBias ? open < vwap && close > vwap : open > vwap && close < vwap;
+        return reclaimed ? Signal.ENTRY : Signal.NONE;
+    }
+}
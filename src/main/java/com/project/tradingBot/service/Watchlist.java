@@ -0,0 +1,81 @@
+package com.project.tradingBot.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The symbols still being watched today, as a concurrent bitset over the
+ * {@link StrategyContext} slots.
+ *
+ * Every slot starts watched. {@link #remove} clears its bit with a compare-and-set, so a symbol
+ * leaves exactly once however many threads decide on it at the same time, and membership checks
+ * on the bar path are a single array read instead of a scan of a copied list.
+ */
+public final class Watchlist {
+
+    private final StrategyContext context;
+    private final AtomicLongArray bits;
+    private final AtomicInteger size;
+
+    public Watchlist(StrategyContext context) {
+        this.context = context;
+        int n = context.size();
+        this.bits = new AtomicLongArray((n + 63) >>> 6);
+        for (int word = 0; word < bits.length(); word++) {
+            int inWord = Math.min(64, n - (word << 6));
+            bits.set(word, inWord == 64 ? -1L : (1L << inWord) - 1);
+        }
+        this.size = new AtomicInteger(n);
+    }
+
+    public boolean contains(int slot) {
+        return slot >= 0 && slot < context.size() && (bits.get(slot >>> 6) & (1L << slot)) != 0;
+    }
+
+    public boolean contains(String symbol) {
+        return contains(context.slotOf(symbol));
+    }
+
+    /** @return true if this call removed the slot (false if it was already gone) */
+    public boolean remove(int slot) {
+        if (slot < 0 || slot >= context.size()) return false;
+        int word = slot >>> 6;
+        long mask = 1L << slot;
+        for (;;) {
+            long current = bits.get(word);
+            if ((current & mask) == 0) return false;
+            if (bits.compareAndSet(word, current, current & ~mask)) {
+                size.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    public boolean remove(String symbol) {
+        return remove(context.slotOf(symbol));
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    /** The symbols still watched, in slot order (a fresh list; later removals do not affect it). */
+    public List<String> symbols() {
+        List<String> symbols = new ArrayList<>(size());
+        for (int word = 0; word < bits.length(); word++) {
+            long w = bits.get(word);
+            while (w != 0) {
+                int slot = (word << 6) + Long.numberOfTrailingZeros(w);
+                symbols.add(context.symbol(slot));
+                w &= w - 1;
+            }
+        }
+        return symbols;
+    }
+}
@@ -0,0 +1,91 @@
+package com.project.tradingBot.benchmark;
+
+import com.project.tradingBot.service.RiskManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contended entry admission: every thread admits and then releases an entry, so the counters
+ * stay below the limits and each operation takes the full admission path. {@code casAdmission}
+ * is {@link RiskManager}; {@code synchronizedAdmission} is the previous {@code synchronized (this)}
+ * check-and-increment with the same limits kept in plain fields.
+ *
+ * Run with: {@code mvn test-compile} then
+ * {@code java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main RiskAdmissionBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RiskAdmissionBenchmark {
+
+    private static final int SYMBOLS = 64;
+    private static final double NOTIONAL = 250_000;
+
+    private RiskManager riskManager;
+    private LockedAccounting locked;
+    private String[] symbols;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setup() {
+        riskManager = new RiskManager(1_000_000, 1_000_000, 1e12, 1e9);
+        locked = new LockedAccounting();
+        symbols = new String[SYMBOLS];
+        for (int i = 0; i < SYMBOLS; i++) symbols[i] = "SYM" + i;
+        for (String symbol : symbols) { // create the per-symbol state outside the measurement
+            riskManager.tryAdmit(symbol, 0);
+            riskManager.release(symbol, 0);
+        }
+    }
+
+    @Benchmark
+    public RiskManager.Admission casAdmission(Cursor cursor) {
+        String symbol = symbols[cursor.next++ & (SYMBOLS - 1)];
+        RiskManager.Admission admission = riskManager.tryAdmit(symbol, NOTIONAL);
+        if (admission == RiskManager.Admission.ADMITTED) riskManager.release(symbol, NOTIONAL);
+        return admission;
+    }
+
+    @Benchmark
+    public boolean synchronizedAdmission(Cursor cursor) {
+        String symbol = symbols[cursor.next++ & (SYMBOLS - 1)];
+        boolean admitted = locked.tryAdmit(symbol, NOTIONAL);
+        if (admitted) locked.release(symbol, NOTIONAL);
+        return admitted;
+    }
+
+    /** The same limits behind one monitor, as the engine did with {@code tradesDone}. */
+    static final class LockedAccounting {
+        private final Map<String, Double> exposure = new HashMap<>();
+        private int tradesDone;
+        private int open;
+        private double realised;
+
+        synchronized boolean tryAdmit(String symbol, double notional) {
+            if (realised <= -1e9 || tradesDone >= 1_000_000 || open >= 1_000_000) return false;
+            double current = exposure.getOrDefault(symbol, 0.0);
+            if (current + notional > 1e12) return false;
+            exposure.put(symbol, current + notional);
+            tradesDone++;
+            open++;
+            return true;
+        }
+
+        synchronized void release(String symbol, double notional) {
+            exposure.merge(symbol, -notional, Double::sum);
+            tradesDone--;
+            open--;
+        }
+    }
+}
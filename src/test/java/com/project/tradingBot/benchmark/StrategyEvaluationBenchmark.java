@@ -0,0 +1,118 @@
+package com.project.tradingBot.benchmark;
+
+import com.project.tradingBot.models.CandleSeries;
+import com.project.tradingBot.service.OpeningRangeBreakout;
+import com.project.tradingBot.service.RangeExpansion;
+import com.project.tradingBot.service.Strategy;
+import com.project.tradingBot.service.StrategyContext;
+import com.project.tradingBot.service.StrategySet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one bar close: append the new bar and evaluate every enabled strategy for every
+ * monitored symbol. {@code legacyBoxedMaps} is the previous hard-coded breakout rule reading the
+ * opening range and bars through {@code Map<String, Double>} / {@code Map<String, CandleSeries>}.
+ *
+ * Run with: {@code mvn test-compile} then
+ * {@code java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main StrategyEvaluationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyEvaluationBenchmark {
+
+    private static final int PRESET_BARS = 4096; // synthetic bars cycled through per symbol
+
+    @Param({"200", "500"})
+    private int symbols;
+
+    @Param({"1", "4"})
+    private int strategyCount;
+
+    private String[] names;
+    private StrategyContext context;
+    private StrategySet strategies;
+
+    private Map<String, Double> legacyHighs;
+    private Map<String, Double> legacyLows;
+    private Map<String, CandleSeries> legacyBars;
+
+    private double[] open, high, low, close, volume;
+    private int bar;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        names = new String[symbols];
+        for (int i = 0; i < symbols; i++) names[i] = "SYM" + i;
+
+        List<Strategy> all = List.of(
+                new OpeningRangeBreakout(0.5),
+                new RangeExpansion(10, 2.0),
+                new OpeningRangeBreakout(1.0),
+                new RangeExpansion(20, 1.5));
+        strategies = new StrategySet(new ArrayList<>(all.subList(0, strategyCount)));
+        context = new StrategyContext(List.of(names), true, 128);
+
+        legacyHighs = new HashMap<>();
+        legacyLows = new HashMap<>();
+        legacyBars = new HashMap<>();
+        for (int slot = 0; slot < symbols; slot++) {
+            context.setOpeningRange(slot, 101.0, 99.0);
+            legacyHighs.put(names[slot], 101.0);
+            legacyLows.put(names[slot], 99.0);
+            legacyBars.put(names[slot], new CandleSeries(128));
+        }
+
+        open = new double[PRESET_BARS];
+        high = new double[PRESET_BARS];
+        low = new double[PRESET_BARS];
+        close = new double[PRESET_BARS];
+        volume = new double[PRESET_BARS];
+        double price = 100.0;
+        for (int i = 0; i < PRESET_BARS; i++) {
+            open[i] = price;
+            price += random.nextGaussian() * 0.3;
+            close[i] = price;
+            high[i] = Math.max(open[i], close[i]) + random.nextDouble() * 0.4;
+            low[i] = Math.min(open[i], close[i]) - random.nextDouble() * 0.4;
+            volume[i] = 1000 + random.nextInt(50_000);
+        }
+    }
+
+    @Benchmark
+    public int strategySet() {
+        int i = bar++ & (PRESET_BARS - 1);
+        int signals = 0;
+        for (int slot = 0; slot < symbols; slot++) {
+            CandleSeries bars = context.bars(slot);
+            bars.append(bar, open[i], high[i], low[i], close[i], volume[i]);
+            signals += strategies.evaluate(slot, bars, context).ordinal();
+        }
+        return signals;
+    }
+
+    @Benchmark
+    public int legacyBoxedMaps() {
+        int i = bar++ & (PRESET_BARS - 1);
+        int signals = 0;
+        for (String stock : names) {
+            CandleSeries bars = legacyBars.get(stock);
+            bars.append(bar, open[i], high[i], low[i], close[i], volume[i]);
+            double rangePercent = ((high[i] - low[i]) / low[i]) * 100;
+            if (close[i] > legacyHighs.get(stock) && rangePercent <= 0.5) signals += 1;
+            else if (low[i] < legacyLows.get(stock)) signals += 2;
+        }
+        return signals;
+    }
+}
@@ -0,0 +1,158 @@
+package com.project.tradingBot.benchmark;
+
+import com.project.tradingBot.models.CandleSeries;
+import com.project.tradingBot.service.OpeningRangeBreakout;
+import com.project.tradingBot.service.Strategy.Signal;
+import com.project.tradingBot.service.StrategyContext;
+import com.project.tradingBot.service.StrategySet;
+import com.project.tradingBot.service.SymbolDictionary;
+import com.project.tradingBot.service.SymbolIndex;
+import com.project.tradingBot.service.Watchlist;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-bar path for a day's watchlist against a 6,800-symbol master: resolve the fetch token,
+ * make the bar decision and resolve the store token. {@code denseIds} is the live path: one
+ * {@link SymbolDictionary} lookup per token, the slot from {@link StrategyContext}, then
+ * {@link StrategySet#decide} (bar + indicator update, watchlist check, strategy evaluation,
+ * EXIT removal), with the entry removal StrategyEngine does after submitting. {@code stringKeys}
+ * is the previous path: {@code symbol + "-EQ"} into the master map for each token,
+ * {@code Map<String, CandleSeries>} bars, boxed {@code Map<String, Double>} opening range and a
+ * {@code List<String>} watchlist; it never kept indicators, so {@code denseIds} does more work
+ * per bar. Every {@value #PRESET_BARS} bars both start a fresh session (full watchlist).
+ * Add {@code -prof gc} to compare allocation per operation.
+ *
+ * Run with: {@code mvn test-compile} then
+ * {@code java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main SymbolIdBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SymbolIdBenchmark {
+
+    private static final int MASTER_SYMBOLS = 6800;
+    private static final int PRESET_BARS = 1024;
+    private static final double ORB_MAX_RANGE_PERCENT = 0.5;
+
+    @Param({"50", "500"})
+    private int watched;
+
+    private String[] names;
+    private double[] offset; // per-symbol price shift, so symbols signal on different bars
+    private double[] open, high, low, close, volume;
+    private long bar;
+
+    private Map<String, String> legacyMaster;
+    private Map<String, Integer> legacySlots;
+    private Map<String, CandleSeries> legacyBars;
+    private Map<String, Double> legacyHighs;
+    private Map<String, Double> legacyLows;
+    private List<String> legacyWatchlist;
+
+    private SymbolDictionary master;
+    private StrategyContext context;
+    private StrategySet strategies;
+    private Watchlist watchlist;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        SymbolIndex.Builder builder = SymbolIndex.builder();
+        for (int i = 0; i < MASTER_SYMBOLS; i++) {
+            builder.add("SYM" + Integer.toString(i * 7919, 36).toUpperCase() + "-EQ", 1000 + i);
+        }
+        SymbolIndex index = builder.build();
+        legacyMaster = index.asMap();
+        master = SymbolDictionary.fromMaster(index);
+
+        List<String> day = new ArrayList<>();
+        for (int i = 0; i < watched; i++) day.add(master.symbol(random.nextInt(MASTER_SYMBOLS)));
+        names = day.stream().distinct().toArray(String[]::new);
+        strategies = new StrategySet(List.of(new OpeningRangeBreakout(ORB_MAX_RANGE_PERCENT)));
+        context = new StrategyContext(List.of(names), true, 128);
+        watchlist = new Watchlist(context);
+        offset = new double[names.length];
+        legacySlots = new HashMap<>();
+        legacyBars = new HashMap<>();
+        legacyHighs = new HashMap<>();
+        legacyLows = new HashMap<>();
+        legacyWatchlist = new ArrayList<>(List.of(names));
+        for (int slot = 0; slot < names.length; slot++) {
+            context.setOpeningRange(slot, 101.0, 99.0);
+            offset[slot] = random.nextGaussian();
+            legacySlots.put(names[slot], slot);
+            legacyBars.put(names[slot], new CandleSeries(128));
+            legacyHighs.put(names[slot], 101.0);
+            legacyLows.put(names[slot], 99.0);
+        }
+
+        open = new double[PRESET_BARS];
+        high = new double[PRESET_BARS];
+        low = new double[PRESET_BARS];
+        close = new double[PRESET_BARS];
+        volume = new double[PRESET_BARS];
+        double price = 100.0;
+        for (int i = 0; i < PRESET_BARS; i++) {
+            open[i] = price;
+            price += random.nextGaussian() * 0.3;
+            close[i] = price;
+            high[i] = Math.max(open[i], close[i]) + random.nextDouble() * 0.2;
+            low[i] = Math.min(open[i], close[i]) - random.nextDouble() * 0.2;
+            volume[i] = 1000 + random.nextInt(50_000);
+        }
+    }
+
+    @Benchmark
+    public long stringKeys() {
+        int i = (int) (bar & (PRESET_BARS - 1));
+        if (i == 0) legacyWatchlist = new ArrayList<>(List.of(names)); // next session
+        long minute = bar++;
+        long acc = 0;
+        for (String stock : names) {
+            String fetchToken = legacyMaster.get(stock + "-EQ");    // candle request
+            int slot = legacySlots.get(stock);
+            double d = offset[slot];
+            double o = open[i] + d, h = high[i] + d, l = low[i] + d, c = close[i] + d;
+            legacyBars.get(stock).upsert(minute, o, h, l, c, volume[i]);
+            int signal = 0;
+            if (legacyWatchlist.contains(stock)) {
+                double rangePercent = ((h - l) / l) * 100;
+                if (c > legacyHighs.get(stock) && rangePercent <= ORB_MAX_RANGE_PERCENT) signal = 1;
+                else if (l < legacyLows.get(stock)) signal = 2;
+                if (signal != 0) legacyWatchlist.remove(stock);
+            }
+            String storeToken = legacyMaster.get(stock + "-EQ");    // candle store append
+            acc += signal + fetchToken.length() + storeToken.length();
+        }
+        return acc;
+    }
+
+    @Benchmark
+    public long denseIds() {
+        int i = (int) (bar & (PRESET_BARS - 1));
+        if (i == 0) watchlist = new Watchlist(context); // next session
+        long minute = bar++;
+        long acc = 0;
+        for (String stock : names) {
+            String fetchToken = master.tokenString(stock);         // candle request
+            int slot = context.slotOf(stock);
+            double d = offset[slot];
+            Signal signal = strategies.decide(context, watchlist, slot, minute,
+                    open[i] + d, high[i] + d, low[i] + d, close[i] + d, volume[i]);
+            if (signal == Signal.ENTRY) watchlist.remove(slot);    // StrategyEngine does this once the order is queued
+            int storeToken = master.token(stock);                  // candle store append
+            acc += signal.ordinal() + fetchToken.length() + storeToken;
+        }
+        return acc;
+    }
+}
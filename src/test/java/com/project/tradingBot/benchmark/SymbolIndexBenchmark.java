@@ -0,0 +1,110 @@
+package com.project.tradingBot.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.project.tradingBot.service.SymbolIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Old equities.csv path (pretty-printed JSON → Jackson tree → HashMap) versus the mapped
+ * binary {@link SymbolIndex}, for both startup load and per-symbol lookup.
+ *
+ * Run with: {@code mvn test-compile} then
+ * {@code java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main SymbolIndexBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SymbolIndexBenchmark {
+
+    private static final int SYMBOLS = 6800; // size of the NSE -EQ segment
+
+    private Path dir;
+    private File legacyJson;
+    private Path indexFile;
+
+    private Map<String, String> legacyMap;
+    private SymbolIndex index;
+    private String[] probes;
+
+    @Setup
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("symbol-index-bench");
+        legacyJson = dir.resolve("equities.csv").toFile();
+        indexFile = dir.resolve("equities.idx");
+
+        ObjectMapper mapper = new ObjectMapper();
+        ArrayNode rows = mapper.createArrayNode();
+        SymbolIndex.Builder builder = SymbolIndex.builder();
+        probes = new String[1024];
+        for (int i = 0; i < SYMBOLS; i++) {
+            String symbol = "SYM" + Integer.toString(i * 7919, 36).toUpperCase() + "-EQ";
+            int token = 1000 + i;
+            rows.addObject().put("symbol", symbol).put("token", Integer.toString(token));
+            builder.add(symbol, token);
+            if (i < probes.length) probes[i] = symbol;
+        }
+        mapper.writerWithDefaultPrettyPrinter().writeValue(legacyJson, rows);
+        builder.build().writeTo(indexFile);
+
+        legacyMap = legacyLoad();
+        index = SymbolIndex.load(indexFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    // ---------------------- LOAD ----------------------
+    @Benchmark
+    public Map<String, String> loadLegacyJsonIntoHashMap() throws IOException {
+        return legacyLoad();
+    }
+
+    @Benchmark
+    public SymbolIndex loadMappedIndex() throws IOException {
+        return SymbolIndex.load(indexFile);
+    }
+
+    // ---------------------- LOOKUP ----------------------
+    @Benchmark
+    public void lookupLegacyHashMap(Blackhole bh) {
+        String symbol = probes[ThreadLocalRandom.current().nextInt(probes.length)];
+        bh.consume(Integer.parseInt(legacyMap.get(symbol)));
+    }
+
+    @Benchmark
+    public void lookupMappedIndex(Blackhole bh) {
+        String symbol = probes[ThreadLocalRandom.current().nextInt(probes.length)];
+        bh.consume(index.token(symbol));
+    }
+
+    // Mirrors the previous PopulateScanResultService.loadMasterEquitiesMap
+    private Map<String, String> legacyLoad() throws IOException {
+        JsonNode root = new ObjectMapper().readTree(legacyJson);
+        Map<String, String> map = new HashMap<>();
+        for (JsonNode node : root) {
+            map.put(node.get("symbol").asText(), node.get("token").asText());
+        }
+        return map;
+    }
+}
@@ -0,0 +1,67 @@
+package com.project.tradingBot.models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.Test;
+
+class CandleSeriesTest {
+
+    private static final long T0 = LocalDateTime.of(2025, 1, 6, 9, 15).atZone(ZoneId.of("Asia/Kolkata")).toEpochSecond() / 60;
+
+    private static void bar(CandleSeries s, int n) {
+        s.append(T0 + 5L * n, 100 + n, 101 + n, 99 + n, 100.5 + n, 1000 * (n + 1));
+    }
+
+    @Test
+    void upsertReplacesTheFormingBarAndAppendsTheNext() {
+        CandleSeries s = new CandleSeries(8);
+        s.upsert(T0, 100, 101, 99, 100.5, 1000);
+        s.upsert(T0, 100, 102, 98, 101.5, 1500); // same minute: the bar grew
+        assertEquals(1, s.size());
+        assertEquals(102, s.high(0), 1e-9);
+        assertEquals(98, s.low(0), 1e-9);
+        assertEquals(1500, s.volume(0), 1e-9);
+
+        s.upsert(T0 + 5, 101.5, 103, 101, 102, 800);
+        assertEquals(2, s.size());
+        assertEquals(T0 + 5, s.epochMinute(0));
+        assertEquals(101.5, s.close(1), 1e-9);
+    }
+
+    @Test
+    void fullBufferEvictsTheOldestBars() {
+        CandleSeries s = new CandleSeries(3); // rounded up to 4
+        assertEquals(4, s.capacity());
+        for (int n = 0; n < 6; n++) bar(s, n);
+
+        assertEquals(4, s.size());
+        assertEquals(T0 + 25, s.epochMinute(0));
+        assertEquals(T0 + 10, s.epochMinute(3)); // bars 0 and 1 were overwritten
+        assertEquals(106, s.high(0), 1e-9);
+        assertThrows(IndexOutOfBoundsException.class, () -> s.close(4));
+
+        assertEquals(106, s.highest(2), 1e-9);
+        assertEquals(101, s.lowest(10), 1e-9); // only what is still held
+        assertEquals((6000 + 5000) / 2.0, s.averageVolume(2), 1e-9);
+
+        s.clear();
+        assertEquals(0, s.size());
+        assertEquals(0.0, s.averageVolume(5), 1e-9);
+    }
+
+    @Test
+    void timestampsRoundTripThroughIst() {
+        assertEquals(T0 + 20, CandleSeries.parseEpochMinute("2025-01-06T09:35:00+05:30"));
+        assertEquals("2025-01-06T09:35:00+05:30", CandleSeries.formatEpochMinute(T0 + 20));
+
+        CandleSeries s = new CandleSeries(4);
+        bar(s, 4);
+        Candle c = s.toCandle(0);
+        assertEquals("2025-01-06T09:35:00+05:30", c.getDatetime());
+        assertEquals(104, c.getOpen(), 1e-9);
+    }
+}
@@ -0,0 +1,198 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.project.tradingBot.service.SimulatedBroker.ExitReason;
+
+class BacktestEngineTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 6);
+    private static final LocalDate NEXT_DAY = DAY.plusDays(1);
+
+    private Path dir;
+    private CandleStore store;
+    private BacktestEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        PopulateScanResultService.publish(Map.of(ScripMasterParser.Segment.NSE_EQ,
+                SymbolIndex.builder().add("AAA-EQ", 1).add("BBB-EQ", 2).build()));
+        dir = Files.createTempDirectory("backtest-test");
+        store = new CandleStore(dir.toString(), 1000);
+        engine = new BacktestEngine(store, new StrategySet(List.of(new OpeningRangeBreakout(0.5))), 20, 14, 14, 20, 20, 0, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    private static long minute(LocalDate day, int hour, int minute) {
+        return day.atTime(hour, minute).atZone(ZoneId.of("Asia/Kolkata")).toEpochSecond() / 60;
+    }
+
+    private void bar(LocalDate day, int token, int interval, int hour, int minute,
+                     double o, double h, double l, double c) throws IOException {
+        store.append(day, token, interval, minute(day, hour, minute), o, h, l, c, 10_000);
+    }
+
+    @Test
+    void replaysBreakoutIntoBracketFills() throws Exception {
+        // AAA: tight breakout above the opening range on the 09:35 bar, target reached on the next bar
+        bar(DAY, 1, 15, 9, 15, 100, 101, 99, 100.5);
+        bar(DAY, 1, 5, 9, 30, 100.5, 100.9, 100.3, 100.8);
+        bar(DAY, 1, 5, 9, 35, 100.9, 101.4, 100.95, 101.3);
+        bar(DAY, 1, 5, 9, 40, 101.4, 102.5, 101.3, 102.4);
+        bar(DAY, 1, 5, 9, 45, 102.4, 102.6, 102.2, 102.5);
+        // BBB: breaks the opening-range low first, so it is dropped without a trade
+        bar(DAY, 2, 15, 9, 15, 50, 51, 49, 50);
+        bar(DAY, 2, 5, 9, 30, 49.5, 49.8, 48.8, 49.0);
+        bar(DAY, 2, 5, 9, 35, 51.0, 51.3, 51.05, 51.2);
+        // Next day: AAA breaks out late and is squared off at the last close
+        bar(NEXT_DAY, 1, 15, 9, 15, 100, 101, 99, 100.5);
+        bar(NEXT_DAY, 1, 5, 9, 30, 101.0, 101.3, 101.0, 101.2);
+        bar(NEXT_DAY, 1, 5, 9, 35, 101.2, 101.4, 101.0, 101.1);
+
+        BacktestEngine.Result result = engine.run(new BacktestEngine.Request(List.of(DAY, NEXT_DAY), List.of("AAA", "BBB"))
+                .biasMode(BacktestEngine.BiasMode.LONG).capital(100_000).slippageBps(0));
+
+        assertEquals(2, result.getTradeCount());
+        SimulatedBroker.Trade first = result.getTrades().get(0);
+        assertEquals("AAA", first.getSymbol());
+        assertEquals("orb", first.getStrategy());
+        assertEquals(101.4, first.getEntryPrice(), 1e-9);             // next bar's open
+        assertEquals(101.4 * 1.0075, first.getExitPrice(), 1e-9);     // target
+        assertEquals(ExitReason.TARGET, first.getExitReason());
+        assertEquals((int) (100_000 * 0.5 * 5 / 101.3), first.getQuantity()); // sized from the signal close
+
+        SimulatedBroker.Trade second = result.getTrades().get(1);
+        assertEquals(ExitReason.END_OF_DAY, second.getExitReason());
+        assertEquals(101.1, second.getExitPrice(), 1e-9);
+
+        assertEquals(4, result.getFills().size());
+        assertEquals(first.getPnl() + second.getPnl(), result.getPnl(), 1e-9);
+    }
+
+    @Test
+    void entriesGoThroughTheDaysRiskLimits() throws Exception {
+        // AAA and BBB both break out on the 09:35 bar; AAA reaches its target on the 09:40 bar
+        bar(DAY, 1, 15, 9, 15, 100, 101, 99, 100.5);
+        bar(DAY, 1, 5, 9, 30, 100.5, 100.9, 100.3, 100.8);
+        bar(DAY, 1, 5, 9, 35, 100.9, 101.4, 100.95, 101.3);
+        bar(DAY, 1, 5, 9, 40, 101.4, 102.5, 101.3, 102.4);
+        bar(DAY, 2, 15, 9, 15, 50, 51, 49, 50);
+        bar(DAY, 2, 5, 9, 30, 50.5, 50.9, 50.3, 50.8);
+        bar(DAY, 2, 5, 9, 35, 51.0, 51.2, 51.0, 51.15);
+        bar(DAY, 2, 5, 9, 40, 51.2, 51.4, 51.2, 51.35);
+        bar(DAY, 2, 5, 9, 45, 51.4, 51.5, 51.3, 51.45);
+        BacktestEngine.Request request = new BacktestEngine.Request(List.of(DAY), List.of("AAA", "BBB"))
+                .biasMode(BacktestEngine.BiasMode.LONG).capital(100_000).slippageBps(0);
+
+        BacktestEngine.Result unlimited = engine.run(request);
+        assertEquals(2, unlimited.getTradeCount());
+        assertEquals(0, unlimited.getRefused());
+        assertEquals(51.2, unlimited.getTrades().get(1).getEntryPrice(), 1e-9); // BBB entered on the 09:35 signal
+
+        // One open position at a time: BBB is refused at 09:35, stays watched and enters once AAA has closed
+        BacktestEngine onePosition = new BacktestEngine(store, new StrategySet(List.of(new OpeningRangeBreakout(0.5))),
+                20, 14, 14, 20, 1, 0, 0);
+        BacktestEngine.Result limited = onePosition.run(request);
+        assertEquals(2, limited.getTradeCount());
+        assertEquals(1, limited.getRefused());
+        assertEquals(1, limited.getDays().get(0).getRefused());
+        SimulatedBroker.Trade bbb = limited.getTrades().get(1);
+        assertEquals("BBB", bbb.getSymbol());
+        assertEquals(51.4, bbb.getEntryPrice(), 1e-9); // the 09:45 open, after the 09:40 signal
+        assertEquals(ExitReason.END_OF_DAY, bbb.getExitReason());
+        assertTrue(limited.summary().contains("(1 refused by risk)"), limited.summary());
+    }
+
+    @Test
+    void recordedBiasSkipsFlatAndUnrecordedDays() throws Exception {
+        bar(DAY, 1, 15, 9, 15, 100, 101, 99, 100.5);
+        bar(DAY, 1, 5, 9, 30, 98.9, 99.0, 98.6, 98.7); // breakdown on a negative day
+        bar(DAY, 1, 5, 9, 35, 98.6, 98.7, 97.5, 97.6);
+        bar(NEXT_DAY, 1, 15, 9, 15, 100, 101, 99, 100.5);
+        bar(NEXT_DAY, 1, 5, 9, 30, 98.9, 99.0, 98.6, 98.7);
+        store.recordNiftyChange(DAY, -0.3);
+
+        BacktestEngine.Result result = engine.run(new BacktestEngine.Request(List.of(DAY, NEXT_DAY), List.of("AAA")));
+
+        assertEquals(MarketBias.NEGATIVE, result.getDays().get(0).getBias());
+        assertEquals(MarketBias.FLAT, result.getDays().get(1).getBias());
+        assertEquals(1, result.getTradeCount());
+        SimulatedBroker.Trade trade = result.getTrades().get(0);
+        assertFalse(trade.isBuy());
+        assertEquals(ExitReason.TARGET, trade.getExitReason());
+    }
+
+    @Test
+    void backfilledHistoryReplaysWithItsNiftyBias() throws Exception {
+        Map<String, List<double[]>> history = new HashMap<>(); // symbol → {epochMinute, o, h, l, c, v}
+        // AAA: opening range 99-101 from three 5-minute bars, then the same breakdown as above
+        for (double[] b : new double[][] {{9, 15, 100, 101, 99.5, 100.5}, {9, 20, 100.5, 100.8, 99, 99.8}, {9, 25, 99.8, 100, 99.2, 99.4},
+                {9, 30, 98.9, 99.0, 98.6, 98.7}, {9, 35, 98.6, 98.7, 97.5, 97.6}}) {
+            fiveMinute(history, "AAA", DAY, b);
+        }
+        fiveMinute(history, "AAA", NEXT_DAY, new double[] {9, 15, 100, 101, 99, 100.5});
+        // NIFTY: previous session closes at 24000, DAY is at 23900 (-0.42%) by the 09:30 bar
+        fiveMinute(history, HistoryBackfill.NIFTY, DAY.minusDays(3), new double[] {15, 25, 24010, 24020, 23990, 24000});
+        fiveMinute(history, HistoryBackfill.NIFTY, DAY, new double[] {9, 30, 23950, 23960, 23890, 23900});
+        fiveMinute(history, HistoryBackfill.NIFTY, NEXT_DAY, new double[] {9, 30, 23950, 23990, 23940, 23980});
+        store.recordNiftyChange(NEXT_DAY, 0.0); // recorded by a live run: kept
+
+        HistoryBackfill backfill = new HistoryBackfill((symbol, interval, from, to, into) -> {
+            if ("BBB".equals(symbol)) throw new IllegalStateException("No candle data returned for BBB");
+            long fromMinute = requestMinute(from), toMinute = requestMinute(to);
+            int n = 0;
+            for (double[] b : history.getOrDefault(symbol, List.of())) {
+                if (b[0] < fromMinute || b[0] > toMinute) continue;
+                into.upsert((long) b[0], b[1], b[2], b[3], b[4], b[5]);
+                n++;
+            }
+            return n;
+        }, store, 2, 1);
+        HistoryBackfill.Result filled = backfill.backfill(List.of("AAA", "BBB"), DAY, NEXT_DAY);
+
+        assertEquals(5 + 1 + 1, filled.getBars()); // NEXT_DAY has one 5-minute bar, too few to fold a range
+        assertEquals(1, filled.getBiasDays());
+        assertEquals(2, filled.getFailed().size());   // BBB, once per one-day chunk
+        assertEquals(List.of(DAY, NEXT_DAY), store.availableDays());
+        assertEquals(-100.0 / 24000 * 100, store.niftyChanges().get(DAY), 1e-9);
+
+        BacktestEngine.Result result = engine.run(new BacktestEngine.Request(store.availableDays(), List.of("AAA")));
+        assertEquals(MarketBias.NEGATIVE, result.getDays().get(0).getBias());
+        assertEquals(MarketBias.FLAT, result.getDays().get(1).getBias());
+        assertEquals(1, result.getTradeCount());
+        assertFalse(result.getTrades().get(0).isBuy());
+        assertEquals(ExitReason.TARGET, result.getTrades().get(0).getExitReason());
+    }
+
+    private static long requestMinute(String candleTime) { // "yyyy-MM-dd HH:mm" in exchange time
+        return LocalDateTime.parse(candleTime, DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"))
+                .atZone(ZoneId.of("Asia/Kolkata")).toEpochSecond() / 60;
+    }
+
+    private static void fiveMinute(Map<String, List<double[]>> history, String symbol, LocalDate day, double[] b) {
+        history.computeIfAbsent(symbol, k -> new ArrayList<>())
+                .add(new double[] {minute(day, (int) b[0], (int) b[1]), b[2], b[3], b[4], b[5], 10_000});
+    }
+}
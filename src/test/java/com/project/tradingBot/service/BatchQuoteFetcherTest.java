@@ -0,0 +1,194 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.tradingBot.models.Quote;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+class BatchQuoteFetcherTest {
+
+    private static final long QUOTE_DELAY_MS = 300;
+    private static final String JWT = "jwt-1";
+    private static final String API_KEY = "api-key";
+    private static final int UNFETCHED_TOKEN = 1007; // S7: the broker leaves it out of "fetched"
+    private static final int IDLE_TOKEN = 1001;      // S1: exchange time never moves
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final Queue<Integer> batchSizes = new ConcurrentLinkedQueue<>();
+    private volatile long delayMs;
+
+    @BeforeEach
+    void startMockBroker() throws IOException {
+        SymbolIndex.Builder master = SymbolIndex.builder();
+        for (int i = 0; i <= 120; i++) master.add("S" + i + "-EQ", 1000 + i);
+        PopulateScanResultService.publish(Map.of(ScripMasterParser.Segment.NSE_EQ, master.build()));
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverThreads = Executors.newFixedThreadPool(4);
+        server.setExecutor(serverThreads);
+        server.createContext(BatchQuoteFetcher.QUOTE_PATH, this::handleQuote);
+        server.start();
+    }
+
+    private void handleQuote(HttpExchange exchange) throws IOException {
+        if (!("Bearer " + JWT).equals(exchange.getRequestHeaders().getFirst("Authorization"))
+                || !API_KEY.equals(exchange.getRequestHeaders().getFirst("X-PrivateKey"))) {
+            respond(exchange, 401, "{\"status\":false,\"message\":\"Invalid Token\",\"errorcode\":\"AG8001\"}");
+            return;
+        }
+        JsonNode request = mapper.readTree(exchange.getRequestBody().readAllBytes());
+        JsonNode tokens = request.path("exchangeTokens").path("NSE");
+        batchSizes.add(tokens.size());
+        int call = calls.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(delayMs); // broker-side latency
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        StringBuilder fetched = new StringBuilder();
+        for (JsonNode t : tokens) {
+            int token = t.asInt();
+            if (token == UNFETCHED_TOKEN) continue;
+            String feedTime = token == IDLE_TOKEN ? "18-Oct-2026 09:15:00" : String.format("18-Oct-2026 09:15:%02d", call);
+            if (fetched.length() > 0) fetched.append(',');
+            fetched.append(String.format("{\"exchange\":\"NSE\",\"symbolToken\":\"%d\",\"ltp\":%d.5,\"open\":100,\"high\":110,"
+                    + "\"low\":90,\"close\":99,\"tradeVolume\":%d,\"exchFeedTime\":\"%s\"}", token, token - 900, 1000L * call, feedTime));
+        }
+        respond(exchange, 200, "{\"status\":true,\"message\":\"SUCCESS\",\"errorcode\":\"\",\"data\":{\"fetched\":["
+                + fetched + "],\"unfetched\":[]}}");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @AfterEach
+    void stopMockBroker() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    private BatchQuoteFetcher fetcher(String jwt) {
+        return new BatchQuoteFetcher("http://127.0.0.1:" + server.getAddress().getPort(), API_KEY, () -> jwt,
+                new TokenBucketRateLimiter("quoteTest", 10, 500),
+                new BrokerHttpTransport(Duration.ofSeconds(2), Duration.ofSeconds(5), 8, true));
+    }
+
+    @Test
+    void groupsTokensIntoConcurrentBatchesOfFifty() throws Exception {
+        BatchQuoteFetcher fetcher = fetcher(JWT);
+        fetcher.fetch(List.of("S0")); // warm up JIT and the loopback connection
+        batchSizes.clear();
+        maxInFlight.set(0);
+
+        List<String> symbols = new ArrayList<>();
+        for (int i = 0; i < 120; i++) symbols.add("S" + i);
+        symbols.add("S3");   // duplicates are requested once
+        symbols.add("NOPE"); // not in the master
+        delayMs = QUOTE_DELAY_MS;
+        BatchQuoteFetcher.Result result = fetcher.fetch(symbols);
+
+        assertEquals(3, result.getRequests());
+        assertEquals(0, result.getFailedRequests());
+        assertEquals(List.of(50, 50, 20), batchSizes.stream().sorted((a, b) -> b - a).toList());
+        assertEquals(119, result.getQuotes().size());
+        assertEquals(List.of("NOPE", "S7"), result.getMissing());
+
+        Quote s12 = result.getQuotes().get("S12");
+        assertEquals("1012", s12.getToken());
+        assertEquals(112.5, s12.getLtp(), 1e-9);
+        assertEquals(99.0, s12.getClose(), 1e-9);
+        long idleTime = LocalDateTime.of(2026, 10, 18, 9, 15).atZone(ZoneId.of("Asia/Kolkata")).toInstant().toEpochMilli();
+        assertEquals(idleTime, result.getQuotes().get("S1").getEpochMillis());
+
+        // Every batch waits QUOTE_DELAY_MS on the server, so all three were there at the same time
+        assertEquals(3, maxInFlight.get());
+    }
+
+    @Test
+    void expiredSessionFailsTheCall() {
+        IOException e = assertThrows(IOException.class, () -> fetcher("expired").fetch(List.of("S0", "S1")));
+        assertTrue(e.getMessage().contains("401"), e.getMessage());
+    }
+
+    @Test
+    void pollingFeedTurnsCumulativeVolumeIntoDeltas() throws Exception {
+        Queue<long[]> s0Ticks = new ConcurrentLinkedQueue<>();
+        AtomicInteger s1Ticks = new AtomicInteger();
+        QuotePollingMarketDataFeed feed = new QuotePollingMarketDataFeed(fetcher(JWT), 20);
+        feed.subscribe(List.of("S0", "S1"), (symbol, epochMillis, price, volume) -> {
+            if ("S0".equals(symbol)) s0Ticks.add(new long[]{epochMillis, volume});
+            else s1Ticks.incrementAndGet();
+        });
+        long deadline = System.currentTimeMillis() + 5000;
+        while (s0Ticks.size() < 3 && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        feed.stop();
+
+        List<long[]> ticks = new ArrayList<>(s0Ticks);
+        assertTrue(ticks.size() >= 3, "S0 ticks: " + ticks.size());
+        assertEquals(0, ticks.get(0)[1]); // nothing to diff the first cumulative volume against
+        assertEquals(1000, ticks.get(1)[1]);
+        assertEquals(1000, ticks.get(2)[1]);
+        assertTrue(ticks.get(1)[0] > ticks.get(0)[0]);
+        assertEquals(1, s1Ticks.get()); // unchanged exchange time is not re-published
+        assertEquals(1, batchSizes.stream().distinct().count());
+    }
+
+    @Test
+    void resubscribingReplacesThePoller() throws Exception {
+        AtomicInteger firstTicks = new AtomicInteger();
+        AtomicInteger secondTicks = new AtomicInteger();
+        QuotePollingMarketDataFeed feed = new QuotePollingMarketDataFeed(fetcher(JWT), 20);
+        feed.subscribe(List.of("S0"), (symbol, epochMillis, price, volume) -> firstTicks.incrementAndGet());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (firstTicks.get() < 2 && System.currentTimeMillis() < deadline) Thread.sleep(10);
+
+        feed.subscribe(List.of("S2", "S3"), (symbol, epochMillis, price, volume) -> secondTicks.incrementAndGet());
+        int firstAfterResubscribe = firstTicks.get();
+        batchSizes.clear();
+        deadline = System.currentTimeMillis() + 5000;
+        while (secondTicks.get() < 3 && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        feed.stop();
+
+        assertTrue(secondTicks.get() >= 3, "new subscription ticks: " + secondTicks.get());
+        assertEquals(firstAfterResubscribe, firstTicks.get()); // the first poller no longer runs
+        assertEquals(List.of(2), batchSizes.stream().distinct().toList()); // only the new watchlist is polled
+    }
+}
@@ -0,0 +1,123 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+class BrokerHttpTransportTest {
+
+    private static final long SLOW_MS = 100;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void startMockBroker() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverThreads = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverThreads);
+        server.createContext("/gzip", exchange -> {
+            boolean accepted = "gzip".equals(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            ByteArrayOutputStream zipped = new ByteArrayOutputStream();
+            try (GZIPOutputStream gz = new GZIPOutputStream(zipped)) {
+                gz.write("{\"status\":true,\"data\":[1,2,3]}".getBytes(StandardCharsets.UTF_8));
+            }
+            if (accepted) exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            respond(exchange, accepted ? zipped.toByteArray() : "plain".getBytes(StandardCharsets.UTF_8));
+        });
+        server.createContext("/slow", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(SLOW_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            respond(exchange, "ok".getBytes(StandardCharsets.UTF_8));
+        });
+        server.start();
+    }
+
+    private static void respond(HttpExchange exchange, byte[] bytes) throws IOException {
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @AfterEach
+    void stopMockBroker() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path)).GET();
+    }
+
+    @Test
+    void decompressesGzipAndRecordsLatencyPerEndpoint() throws Exception {
+        BrokerHttpTransport transport = new BrokerHttpTransport(Duration.ofSeconds(2), Duration.ofSeconds(5), 4, true);
+        BrokerHttpTransport.Response response = transport.send("candleData", get("/gzip"));
+        transport.send("candleData", get("/gzip"));
+        transport.send("quote", get("/slow"));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("{\"status\":true,\"data\":[1,2,3]}", response.getBody());
+        assertEquals(2, transport.latency("candleData").getCount());
+        assertEquals(1, transport.latency("quote").getCount());
+        assertTrue(transport.latency("quote").percentileNanos(0.99) >= SLOW_MS * 1_000_000);
+        assertTrue(transport.summary().contains("candleData"));
+
+        BrokerHttpTransport.StreamResponse streamed = transport.sendStreaming("download", get("/gzip"), Duration.ofSeconds(5));
+        try (InputStream body = streamed.getBody()) {
+            assertEquals("{\"status\":true,\"data\":[1,2,3]}", new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void capsRequestsInFlightPerRoute() throws Exception {
+        BrokerHttpTransport transport = new BrokerHttpTransport(Duration.ofSeconds(2), Duration.ofSeconds(5), 2, false);
+        List<CompletableFuture<BrokerHttpTransport.Response>> calls = new ArrayList<>();
+        for (int i = 0; i < 6; i++) calls.add(transport.sendAsync("slow", get("/slow")));
+        for (CompletableFuture<BrokerHttpTransport.Response> call : calls) {
+            assertEquals("ok", call.get().getBody());
+        }
+        assertEquals(2, maxInFlight.get());
+        assertEquals(6, transport.latency("slow").getCount());
+    }
+
+    @Test
+    void slowResponseTimesOut() {
+        BrokerHttpTransport transport = new BrokerHttpTransport(Duration.ofSeconds(2), Duration.ofMillis(SLOW_MS / 4), 2, true);
+        IOException e = assertThrows(IOException.class, () -> transport.send("slow", get("/slow")));
+        assertTrue(e instanceof HttpTimeoutException, e.toString());
+    }
+}
@@ -0,0 +1,116 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.tradingBot.models.Candle;
+
+class CandleAggregatorReplayTest {
+
+    // 2025-01-06 09:35:00 IST
+    private static final long BAR_START = 1736136300000L;
+    private static final long FIVE_MIN = 300_000L;
+
+    @Test
+    void replayedTicksBuildFiveMinuteBars() throws InterruptedException {
+        Map<String, Candle> closed = new ConcurrentHashMap<>();
+        CandleAggregator aggregator = new CandleAggregator(5, BAR_START, (symbol, bar, closedAt) -> closed.put(symbol, bar));
+
+        ReplayMarketDataFeed feed = new ReplayMarketDataFeed();
+        feed.add("INFY", BAR_START + 1_000, 100.0, 10);
+        feed.add("INFY", BAR_START + 60_000, 101.5, 20);
+        feed.add("INFY", BAR_START + 120_000, 99.5, 5);
+        feed.add("INFY", BAR_START + 299_000, 100.8, 15);
+        feed.add("INFY", BAR_START + FIVE_MIN + 500, 101.0, 1); // first tick of next bar closes the previous one
+        feed.subscribe(List.of("INFY"), aggregator);
+
+        assertEquals(5, feed.awaitReplay(5_000));
+
+        Candle bar = closed.get("INFY");
+        assertEquals(100.0, bar.getOpen(), 1e-9);
+        assertEquals(101.5, bar.getHigh(), 1e-9);
+        assertEquals(99.5, bar.getLow(), 1e-9);
+        assertEquals(100.8, bar.getClose(), 1e-9);
+        assertEquals(50.0, bar.getVolume(), 1e-9);
+        assertEquals("2025-01-06T09:35:00+05:30", bar.getDatetime());
+    }
+
+    @Test
+    void secondSubscribeReplacesTheRunningReplay() throws InterruptedException {
+        ReplayMarketDataFeed feed = new ReplayMarketDataFeed();
+        for (int t = 0; t < 10_000; t++) {
+            feed.add("INFY", BAR_START + t, 100.0, 1);
+            feed.add("TCS", BAR_START + t, 50.0, 1);
+        }
+        List<String> first = Collections.synchronizedList(new ArrayList<>());
+        Map<String, Integer> second = new ConcurrentHashMap<>();
+        feed.subscribe(List.of("INFY"), (symbol, epochMillis, price, volume) -> first.add(symbol));
+        feed.subscribe(List.of("TCS"), (symbol, epochMillis, price, volume) -> second.merge(symbol, 1, Integer::sum));
+        int firstAfterResubscribe = first.size();
+
+        assertEquals(10_000, feed.awaitReplay(5_000)); // only the second replay's ticks
+        assertEquals(Map.of("TCS", 10_000), second);
+        assertEquals(firstAfterResubscribe, first.size()); // the first replay was joined before the second started
+    }
+
+    @Test
+    void partialBarBeforeSubscriptionIsDropped() {
+        List<String> closed = new ArrayList<>();
+        CandleAggregator aggregator = new CandleAggregator(5, BAR_START, (symbol, bar, closedAt) -> closed.add(bar.getDatetime()));
+
+        aggregator.onTick("TCS", BAR_START - 10_000, 50.0, 1);
+        aggregator.onTick("TCS", BAR_START + 10_000, 51.0, 1);
+        aggregator.closeBarsUpTo(BAR_START + FIVE_MIN);
+
+        assertEquals(List.of("2025-01-06T09:35:00+05:30"), closed);
+
+        // Tick for a bar the clock already closed must not reopen it
+        aggregator.onTick("TCS", BAR_START + 20_000, 52.0, 1);
+        assertEquals(1, aggregator.getLateTicks());
+    }
+
+    @Test
+    void barCloseToDecisionUnder50msFor200Symbols() throws InterruptedException {
+        int symbols = 200;
+        Map<String, Double> openingHigh = new ConcurrentHashMap<>();
+        LatencyRecorder latency = new LatencyRecorder("test");
+        int[] signals = new int[1];
+
+        CandleAggregator aggregator = new CandleAggregator(5, BAR_START, (symbol, bar, closedAt) -> {
+            if (bar.getClose() > openingHigh.get(symbol) && (bar.getHigh() - bar.getLow()) / bar.getLow() * 100 <= 0.5) {
+                signals[0]++;
+            }
+            latency.recordSince(closedAt);
+        });
+
+        ReplayMarketDataFeed feed = new ReplayMarketDataFeed();
+        List<String> watchlist = new ArrayList<>();
+        for (int i = 0; i < symbols; i++) {
+            String symbol = "SYM" + i;
+            watchlist.add(symbol);
+            openingHigh.put(symbol, 100.0);
+            for (int t = 0; t < 50; t++) {
+                feed.add(symbol, BAR_START + t * 5_000L, 100.0 + (i % 2 == 0 ? 0.2 : -0.2) + t * 0.001, 10);
+            }
+        }
+        feed.subscribe(watchlist, aggregator);
+        assertEquals(symbols * 50, feed.awaitReplay(5_000));
+
+        long start = System.nanoTime();
+        int closedBars = aggregator.closeBarsUpTo(BAR_START + FIVE_MIN);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(symbols, closedBars);
+        assertEquals(symbols / 2, signals[0]);
+        assertTrue(elapsedMillis < 50, "Closing " + symbols + " bars took " + elapsedMillis + " ms");
+        assertTrue(latency.getMaxNanos() < 50_000_000L, latency.summary());
+    }
+}
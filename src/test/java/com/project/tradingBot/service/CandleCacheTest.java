@@ -0,0 +1,127 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.tradingBot.models.Candle;
+
+class CandleCacheTest {
+
+    private static final String CLOSED_FROM = "2025-01-06 09:15";
+    private static final String CLOSED_TO = "2025-01-06 09:30";
+    private static final String FORMING_TO = "2999-01-01 15:30"; // never closes
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+    private static final Clock IST_CLOCK = Clock.system(IST);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private List<Candle> oneBar() {
+        loads.incrementAndGet();
+        Candle c = new Candle();
+        c.setDatetime("2025-01-06T09:15:00+05:30");
+        c.setHigh(101);
+        return List.of(c);
+    }
+
+    @Test
+    void closedWindowIsServedFromTheCache() throws Exception {
+        CandleCache cache = new CandleCache(100, 10, 30, IST_CLOCK);
+        List<Candle> first = cache.get("INFY", "FIFTEEN_MINUTE", CLOSED_FROM, CLOSED_TO, this::oneBar);
+        List<Candle> second = cache.get("INFY", "FIFTEEN_MINUTE", CLOSED_FROM, CLOSED_TO, this::oneBar);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        cache.get("INFY", "FIVE_MINUTE", CLOSED_FROM, CLOSED_TO, this::oneBar); // another interval is another key
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void formingWindowExpiresAfterItsTtl() throws Exception {
+        CandleCache cache = new CandleCache(100, 0, 30, IST_CLOCK); // expires as soon as it is stored
+        cache.get("INFY", "FIVE_MINUTE", CLOSED_FROM, FORMING_TO, this::oneBar);
+        cache.get("INFY", "FIVE_MINUTE", CLOSED_FROM, FORMING_TO, this::oneBar);
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.getExpirations());
+        assertEquals(0, cache.getHits());
+
+        CandleCache longer = new CandleCache(100, 60, 30, IST_CLOCK);
+        longer.get("INFY", "FIVE_MINUTE", CLOSED_FROM, FORMING_TO, this::oneBar);
+        longer.get("INFY", "FIVE_MINUTE", CLOSED_FROM, FORMING_TO, this::oneBar);
+        assertEquals(3, loads.get());
+        assertEquals(1, longer.getHits());
+    }
+
+    @Test
+    void emptyAndFailedLoadsAreNotCached() throws Exception {
+        CandleCache cache = new CandleCache(100, 10, 30, IST_CLOCK);
+        cache.get("INFY", "FIFTEEN_MINUTE", CLOSED_FROM, CLOSED_TO, () -> {
+            loads.incrementAndGet();
+            return List.of();
+        });
+        assertThrows(IOException.class, () -> cache.get("INFY", "FIFTEEN_MINUTE", CLOSED_FROM, CLOSED_TO, () -> {
+            throw new IOException("rate limited");
+        }));
+        cache.get("INFY", "FIFTEEN_MINUTE", CLOSED_FROM, CLOSED_TO, this::oneBar);
+
+        assertEquals(2, loads.get());
+        assertEquals(3, cache.getMisses());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() throws Exception {
+        CandleCache cache = new CandleCache(2, 10, 30, IST_CLOCK);
+        cache.get("A", "FIFTEEN_MINUTE", CLOSED_FROM, CLOSED_TO, this::oneBar);
+        cache.get("B", "FIFTEEN_MINUTE", CLOSED_FROM, CLOSED_TO, this::oneBar);
+        cache.get("A", "FIFTEEN_MINUTE", CLOSED_FROM, CLOSED_TO, this::oneBar); // A is now the most recent
+        cache.get("C", "FIFTEEN_MINUTE", CLOSED_FROM, CLOSED_TO, this::oneBar); // evicts B
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        cache.get("A", "FIFTEEN_MINUTE", CLOSED_FROM, CLOSED_TO, this::oneBar);
+        assertEquals(3, loads.get());
+        cache.get("B", "FIFTEEN_MINUTE", CLOSED_FROM, CLOSED_TO, this::oneBar);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void windowClosesOnTheExchangeClockAfterTheGrace() throws Exception {
+        // CLOSED_TO is 09:30 IST = 04:00 UTC; 10 s later the last bar may still be revised
+        CandleCache justEnded = new CandleCache(100, 60, 30, Clock.fixed(Instant.parse("2025-01-06T04:00:10Z"), IST));
+        justEnded.get("INFY", "FIFTEEN_MINUTE", CLOSED_FROM, CLOSED_TO, this::oneBar);
+        justEnded.get("INFY", "FIFTEEN_MINUTE", CLOSED_FROM, CLOSED_TO, this::oneBar);
+        assertEquals(1, loads.get()); // cached, but as a forming window with a TTL
+        CandleCache expiring = new CandleCache(100, 0, 30, Clock.fixed(Instant.parse("2025-01-06T04:00:10Z"), IST));
+        expiring.get("INFY", "FIFTEEN_MINUTE", CLOSED_FROM, CLOSED_TO, this::oneBar);
+        expiring.get("INFY", "FIFTEEN_MINUTE", CLOSED_FROM, CLOSED_TO, this::oneBar);
+        assertEquals(3, loads.get()); // forming: the zero TTL expired it
+
+        // past the grace the same window is closed and never expires, even with a zero TTL
+        CandleCache closed = new CandleCache(100, 0, 30, Clock.fixed(Instant.parse("2025-01-06T04:00:31Z"), IST));
+        closed.get("INFY", "FIFTEEN_MINUTE", CLOSED_FROM, CLOSED_TO, this::oneBar);
+        closed.get("INFY", "FIFTEEN_MINUTE", CLOSED_FROM, CLOSED_TO, this::oneBar);
+        assertEquals(4, loads.get());
+        assertEquals(1, closed.getHits());
+
+        // the window text is read in the clock's zone: at 09:30:10 UTC an IST 09:30 window ended hours ago,
+        // but on a UTC clock the same text ended 10 s ago, inside the grace, so it is still forming
+        CandleCache utc = new CandleCache(100, 0, 30, Clock.fixed(Instant.parse("2025-01-06T09:30:10Z"), ZoneId.of("UTC")));
+        utc.get("INFY", "FIFTEEN_MINUTE", CLOSED_FROM, CLOSED_TO, this::oneBar);
+        utc.get("INFY", "FIFTEEN_MINUTE", CLOSED_FROM, CLOSED_TO, this::oneBar);
+        assertEquals(6, loads.get());
+    }
+}
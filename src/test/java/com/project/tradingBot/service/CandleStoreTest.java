@@ -0,0 +1,99 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.project.tradingBot.models.Candle;
+import com.project.tradingBot.models.CandleSeries;
+
+class CandleStoreTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 6);
+
+    private Path dir;
+    private CandleStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        PopulateScanResultService.publish(Map.of(ScripMasterParser.Segment.NSE_EQ,
+                SymbolIndex.builder().add("AAA-EQ", 1).add("BBB-EQ", 2).build()));
+        dir = Files.createTempDirectory("candle-store-test");
+        store = new CandleStore(dir.toString(), 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    private static long minute(LocalDate day, int hour, int minute) {
+        return day.atTime(hour, minute).atZone(ZoneId.of("Asia/Kolkata")).toEpochSecond() / 60;
+    }
+
+    @Test
+    void barsSurviveClosingAndReopeningTheStore() throws IOException {
+        assertTrue(store.append(DAY, 1, 5, minute(DAY, 9, 15), 100, 101, 99, 100.5, 1000));
+        assertTrue(store.append(DAY, 1, 5, minute(DAY, 9, 20), 100.5, 102, 100, 101.5, 2000));
+        assertTrue(store.append(DAY, 2, 15, minute(DAY, 9, 15), 50, 51, 49, 50.5, 3000));
+        assertFalse(store.append(DAY, 1, 5, minute(DAY, 9, 20), 1, 1, 1, 1, 1)); // already stored
+        store.close();
+
+        CandleStore reopened = new CandleStore(dir.toString(), 10);
+        try {
+            List<double[]> records = new ArrayList<>();
+            int count = reopened.read(DAY, (token, interval, epochMinute, o, h, l, c, v) ->
+                    records.add(new double[]{token, interval, epochMinute, o, h, l, c, v}));
+            assertEquals(3, count);
+            assertEquals(List.of(1.0, 5.0, (double) minute(DAY, 9, 20), 100.5, 102.0, 100.0, 101.5, 2000.0),
+                    toList(records.get(1)));
+
+            // the dedupe keys are rebuilt from the file, so a restart does not store a bar twice
+            assertFalse(reopened.append(DAY, 2, 15, minute(DAY, 9, 15), 50, 51, 49, 50.5, 3000));
+            assertTrue(reopened.append(DAY, 2, 5, minute(DAY, 9, 15), 50, 50.5, 49.5, 50.2, 700));
+
+            Map<String, CandleSeries> fiveMinute = reopened.load(DAY, 5, List.of("AAA", "BBB", "NOPE"), 8);
+            assertEquals(2, fiveMinute.get("AAA").size());
+            assertEquals(101.5, fiveMinute.get("AAA").close(0), 1e-9);
+            assertEquals(700, fiveMinute.get("BBB").volume(0), 1e-9);
+            assertFalse(fiveMinute.containsKey("NOPE"));
+            assertEquals(List.of(DAY), reopened.availableDays());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void savesCandlesUnderTheirIstDayAndRejectsAFullDay() throws IOException {
+        Candle c = new Candle();
+        c.setDatetime("2025-01-07T09:15:00+05:30");
+        c.setClose(100);
+        assertTrue(store.save("AAA", 15, c));
+        assertFalse(store.save("UNKNOWN", 15, c));
+        assertEquals(1, store.read(DAY.plusDays(1), (token, interval, epochMinute, o, h, l, close, v) -> { }));
+        assertEquals(0, store.read(DAY, (token, interval, epochMinute, o, h, l, close, v) -> { }));
+
+        for (int i = 0; i < 10; i++) store.append(DAY, 1, 1, minute(DAY, 9, 15 + i), 1, 1, 1, 1, 1);
+        assertThrows(IOException.class, () -> store.append(DAY, 1, 1, minute(DAY, 9, 30), 1, 1, 1, 1, 1));
+    }
+
+    private static List<Double> toList(double[] values) {
+        List<Double> list = new ArrayList<>();
+        for (double v : values) list.add(v);
+        return list;
+    }
+}
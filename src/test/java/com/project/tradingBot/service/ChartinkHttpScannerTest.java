@@ -0,0 +1,143 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.project.tradingBot.Config.ChartinkConfig;
+import com.project.tradingBot.models.ScanResult;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+class ChartinkHttpScannerTest {
+
+    private static final long SCAN_DELAY_MS = 300;
+    private static final String CSRF = "test-csrf-token";
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private final AtomicInteger staleTokenResponses = new AtomicInteger();
+    private final AtomicInteger logins = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private volatile int rejectFirstScans;
+
+    @BeforeEach
+    void startMockChartink() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverThreads = Executors.newFixedThreadPool(4);
+        server.setExecutor(serverThreads);
+
+        server.createContext("/screener/", exchange -> {
+            if (exchange.getRequestURI().getPath().endsWith("/process")) {
+                handleScan(exchange);
+                return;
+            }
+            exchange.getResponseHeaders().add("Set-Cookie", "ci_session=abc; Path=/");
+            respond(exchange, 200, "<html><head><meta name=\"csrf-token\" content=\"" + CSRF + "\"></head></html>");
+        });
+        server.createContext("/login", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            boolean ok = body.contains("_token=" + CSRF) && body.contains("email=trader%40example.com");
+            logins.incrementAndGet();
+            respond(exchange, ok ? 200 : 403, "");
+        });
+        server.start();
+    }
+
+    private void handleScan(HttpExchange exchange) throws IOException {
+        String cookie = exchange.getRequestHeaders().getFirst("Cookie");
+        if (!CSRF.equals(exchange.getRequestHeaders().getFirst("x-csrf-token")) || cookie == null || !cookie.contains("ci_session=abc")) {
+            respond(exchange, 403, "");
+            return;
+        }
+        if (staleTokenResponses.incrementAndGet() <= rejectFirstScans) {
+            respond(exchange, 419, "{\"message\":\"CSRF token mismatch.\"}");
+            return;
+        }
+        String clause = URLDecoder.decode(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)
+                .substring("scan_clause=".length()), StandardCharsets.UTF_8);
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(SCAN_DELAY_MS); // server-side scan time
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+        String rows = clause.contains("greater")
+                ? "{\"sr\":1,\"nsecode\":\"INFY\",\"name\":\"Infosys Limited\",\"per_chg\":2.15,\"close\":1612.5,\"volume\":1843200},"
+                + "{\"sr\":2,\"nsecode\":\"TCS\",\"name\":\"Tata Consultancy\",\"per_chg\":\"1.5\",\"close\":\"4100\",\"volume\":\"912000\"}"
+                : "{\"sr\":1,\"nsecode\":\"WIPRO\",\"name\":\"Wipro Limited\",\"per_chg\":-1.8,\"close\":455.1,\"volume\":2200000}";
+        respond(exchange, 200, "{\"draw\":1,\"recordsTotal\":2,\"recordsFiltered\":2,\"data\":[" + rows + "]}");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @AfterEach
+    void stopMockChartink() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    private ChartinkHttpScanner scanner() {
+        ChartinkConfig config = new ChartinkConfig();
+        config.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        config.setUsername("trader@example.com");
+        config.setPassword("secret");
+        config.setPositiveScanClause("( {cash} ( latest close greater than 1 day ago close ) )");
+        config.setNegativeScanClause("( {cash} ( latest close less than 1 day ago close ) )");
+        config.setTimeoutSeconds(5);
+        return new ChartinkHttpScanner(config);
+    }
+
+    @Test
+    void scansRunConcurrentlyAndReturnTypedRows() throws Exception {
+        ChartinkHttpScanner scanner = scanner();
+        scanner.prepareSession(); // pre-market warm-up logs in ahead of the scan
+        assertEquals(1, logins.get());
+
+        ChartinkHttpScanner.Results results = scanner.runScans();
+
+        assertEquals(2, results.getPositive().size());
+        ScanResult infy = results.getPositive().get(0);
+        assertEquals("INFY", infy.getSymbol());
+        assertEquals("Infosys Limited", infy.getStockName());
+        assertEquals(2.15, infy.getPercentChange(), 1e-9);
+        assertEquals(1843200L, infy.getVolume());
+        assertEquals(4100.0, results.getPositive().get(1).getPrice(), 1e-9); // numeric strings are accepted
+        assertEquals("WIPRO", results.getNegative().get(0).getSymbol());
+
+        // Both scans wait SCAN_DELAY_MS on the server, so run in parallel they were there at the same time
+        assertEquals(2, maxInFlight.get());
+        assertEquals(1, logins.get()); // the prepared session was used, not a second login
+
+        scanner.runScans(); // nothing prepared: this run opens and logs in its own session
+        assertEquals(2, logins.get());
+    }
+
+    @Test
+    void expiredCsrfTokenIsRefreshedOnce() throws Exception {
+        rejectFirstScans = 2;
+        ChartinkHttpScanner.Results results = scanner().runScans();
+        assertEquals(2, results.getPositive().size());
+        assertEquals(1, results.getNegative().size());
+    }
+}
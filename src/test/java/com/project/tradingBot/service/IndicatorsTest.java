@@ -0,0 +1,143 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IndicatorsTest {
+
+    private static final int BARS = 300;
+    private static final long SESSION_START = 29_000_000L / 1440 * 1440 - 330 + 555; // 09:15 IST
+
+    private final double[] open = new double[BARS];
+    private final double[] high = new double[BARS];
+    private final double[] low = new double[BARS];
+    private final double[] close = new double[BARS];
+    private final double[] volume = new double[BARS];
+
+    IndicatorsTest() {
+        Random random = new Random(7);
+        double price = 100;
+        for (int i = 0; i < BARS; i++) {
+            open[i] = price;
+            price += random.nextGaussian();
+            close[i] = price;
+            high[i] = Math.max(open[i], close[i]) + random.nextDouble();
+            low[i] = Math.min(open[i], close[i]) - random.nextDouble();
+            volume[i] = 1000 + random.nextInt(9000);
+        }
+    }
+
+    private void feed(Indicator indicator, int from, int to) {
+        for (int i = from; i < to; i++) {
+            indicator.update(SESSION_START + 5L * i, open[i], high[i], low[i], close[i], volume[i]);
+        }
+    }
+
+    @Test
+    void streamingValuesMatchRecomputationFromHistory() {
+        int n = 60; // stays within one session so VWAP does not reset
+
+        Ema ema = new Ema(10);
+        feed(ema, 0, n);
+        double expectedEma = 0;
+        for (int i = 0; i < 10; i++) expectedEma += close[i] / 10;
+        for (int i = 10; i < n; i++) expectedEma += 2.0 / 11 * (close[i] - expectedEma);
+        assertEquals(expectedEma, ema.value(), 1e-9);
+
+        Atr atr = new Atr(14);
+        feed(atr, 0, n);
+        double expectedAtr = 0;
+        for (int i = 0; i < n; i++) {
+            double tr = i == 0 ? high[i] - low[i]
+                    : Math.max(high[i] - low[i], Math.max(Math.abs(high[i] - close[i - 1]), Math.abs(low[i] - close[i - 1])));
+            expectedAtr = i < 14 ? expectedAtr + tr / 14 : (expectedAtr * 13 + tr) / 14;
+        }
+        assertEquals(expectedAtr, atr.value(), 1e-9);
+
+        Rsi rsi = new Rsi(14);
+        feed(rsi, 0, n);
+        double gain = 0, loss = 0;
+        for (int i = 1; i < n; i++) {
+            double change = close[i] - close[i - 1];
+            double g = Math.max(change, 0), l = Math.max(-change, 0);
+            if (i <= 14) { gain += g / 14; loss += l / 14; }
+            else { gain = (gain * 13 + g) / 14; loss = (loss * 13 + l) / 14; }
+        }
+        assertEquals(100 - 100 / (1 + gain / loss), rsi.value(), 1e-9);
+
+        Vwap vwap = new Vwap();
+        feed(vwap, 0, n);
+        double pv = 0, v = 0;
+        for (int i = 0; i < n; i++) { pv += (high[i] + low[i] + close[i]) / 3 * volume[i]; v += volume[i]; }
+        assertEquals(pv / v, vwap.value(), 1e-9);
+
+        RollingMean mean = new RollingMean(20);
+        feed(mean, 0, n);
+        double sum = 0;
+        for (int i = n - 20; i < n; i++) sum += volume[i];
+        assertEquals(sum / 20, mean.value(), 1e-9);
+    }
+
+    @Test
+    void notReadyUntilPeriodIsFilled() {
+        Ema ema = new Ema(5);
+        feed(ema, 0, 4);
+        assertFalse(ema.isReady());
+        assertTrue(Double.isNaN(ema.value()));
+        feed(ema, 4, 5);
+        assertTrue(ema.isReady());
+
+        Rsi rsi = new Rsi(5);
+        feed(rsi, 0, 5);
+        assertFalse(rsi.isReady()); // five closes give only four changes
+    }
+
+    @Test
+    void vwapResetsOnNewSession() {
+        Vwap vwap = new Vwap();
+        vwap.addTrade(SESSION_START, 100, 10);
+        vwap.addTrade(SESSION_START + 1440, 200, 10);
+        assertEquals(200, vwap.value(), 1e-9);
+    }
+
+    @Test
+    void restoredSnapshotContinuesIdentically() {
+        Indicators live = new Indicators(20, 14, 14, 20);
+        for (int i = 0; i < 150; i++) live.update(SESSION_START + 5L * i, open[i], high[i], low[i], close[i], volume[i]);
+
+        Indicators restored = new Indicators(20, 14, 14, 20);
+        restored.restore(live.snapshot());
+        for (int i = 150; i < BARS; i++) {
+            live.update(SESSION_START + 5L * i, open[i], high[i], low[i], close[i], volume[i]);
+            restored.update(SESSION_START + 5L * i, open[i], high[i], low[i], close[i], volume[i]);
+        }
+        assertArrayEquals(live.snapshot(), restored.snapshot());
+        assertEquals(live.rsi(), restored.rsi());
+    }
+
+    @Test
+    void correctedBarReplacesTheLatestOneInTheIndicators() {
+        StrategyContext corrected = new StrategyContext(List.of("AAA"), true, 64);
+        StrategyContext clean = new StrategyContext(List.of("AAA"), true, 64);
+        corrected.setOpeningRange(0, SESSION_START, 101, 99, 100, 5000);
+        clean.setOpeningRange(0, SESSION_START, 101, 99, 100, 5000);
+        for (int i = 0; i < 40; i++) {
+            long minute = SESSION_START + 5L * i;
+            // first delivery of each bar is a stale, partial print; the broker then re-sends it in full
+            corrected.onBar(0, minute, open[i], open[i] + 0.1, open[i] - 0.1, open[i], volume[i] / 3);
+            corrected.onBar(0, minute, open[i], high[i], low[i], close[i], volume[i]);
+            clean.onBar(0, minute, open[i], high[i], low[i], close[i], volume[i]);
+        }
+
+        assertArrayEquals(clean.indicators(0).snapshot(), corrected.indicators(0).snapshot()); // same operations, same bits
+        assertEquals(clean.indicators(0).vwap(), corrected.indicators(0).vwap(), 1e-9);
+        assertEquals(40, corrected.bars(0).size());
+    }
+}
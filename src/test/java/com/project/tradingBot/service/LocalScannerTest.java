@@ -0,0 +1,148 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.tradingBot.models.Quote;
+import com.project.tradingBot.models.ScanResult;
+import com.project.tradingBot.service.ScanUniverse.DayColumns;
+
+class LocalScannerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 8);
+
+    @Test
+    void evaluatesClausesAndRejectsBadOnes() {
+        // slot 0 up 4% on double volume, slot 1 down 3% after a gap down, slot 2 has no bar today
+        DayColumns yesterday = new DayColumns(3);
+        yesterday.set(0, 98, 101, 97, 100, 1_000);
+        yesterday.set(1, 51, 52, 49, 50, 2_000);
+        yesterday.set(2, 10, 11, 9, 10, 500);
+        DayColumns dayBefore = new DayColumns(3);
+        dayBefore.set(0, 95, 99, 94, 98, 1_000);
+        dayBefore.set(1, 50, 51, 49, 51, 2_000);
+        dayBefore.set(2, 10, 11, 9, 10, 500);
+        DayColumns today = new DayColumns(3);
+        today.set(0, 101, 105, 100, 104, 2_500);
+        today.set(1, 49, 49.5, 48, 48.5, 1_500);
+        ScanUniverse universe = ScanUniverse.of(new String[] {"AAA-EQ", "BBB-EQ", "CCC-EQ"}, today, dayBefore, yesterday);
+
+        ScanExpression.Bound up = ScanExpression.parse("change_pct > 2 AND volume > 2 * avg_volume(2) and close > max_high(2)").bind(universe);
+        assertTrue(up.test(0));
+        assertFalse(up.test(1));
+        assertFalse(up.test(2));
+        ScanExpression.Bound down = ScanExpression.parse("gap_pct < -1 and not (close >= prev_low) or -change_pct > 10").bind(universe);
+        assertFalse(down.test(0));
+        assertTrue(down.test(1));
+        assertEquals(4, ScanExpression.parse("(close - prev_close) / prev_close * 100").bind(universe).value(0), 1e-9);
+        assertFalse(ScanExpression.parse("avg_volume(5) > 0").bind(universe).test(0)); // not enough history
+
+        assertThrows(IllegalArgumentException.class, () -> ScanExpression.parse("change_pct >"));
+        assertThrows(IllegalArgumentException.class, () -> ScanExpression.parse("rsi(14) > 70"));
+        assertThrows(IllegalArgumentException.class, () -> ScanExpression.parse("avg_volume(2.5) > 0"));
+    }
+
+    @Test
+    void scansDailyBarsBuiltFromTheStore() throws Exception {
+        Path dir = Files.createTempDirectory("local-scan-test");
+        CandleStore store = new CandleStore(dir.toString(), 1000);
+        try {
+            SymbolIndex index = SymbolIndex.builder().add("AAA-EQ", 11).add("BBB-EQ", 7).add("CCC-EQ", 3).build();
+            for (int d = 3; d >= 1; d--) { // daily records for the previous days
+                LocalDate day = DAY.minusDays(d);
+                store.append(day, 11, ScanUniverse.DAILY_INTERVAL, minute(day, 9, 15), 100, 101, 99, 100, 1_000);
+                store.append(day, 7, ScanUniverse.DAILY_INTERVAL, minute(day, 9, 15), 50, 51, 49, 50, 1_000);
+                store.append(day, 3, ScanUniverse.DAILY_INTERVAL, minute(day, 9, 15), 20, 21, 19, 20, 1_000);
+            }
+            // today from the opening range and 5-minute bars, stored out of order
+            store.append(DAY, 11, 5, minute(DAY, 9, 35), 102, 103.5, 101.5, 103, 800);
+            store.append(DAY, 11, 15, minute(DAY, 9, 15), 100.5, 102, 99.5, 101.8, 1_500);
+            store.append(DAY, 11, 5, minute(DAY, 9, 30), 101.8, 102.2, 101.6, 102, 600);
+            store.append(DAY, 7, 15, minute(DAY, 9, 15), 49.5, 49.8, 47.5, 48, 2_000);
+            store.append(DAY, 3, 15, minute(DAY, 9, 15), 20, 20.1, 19.9, 20.05, 100);
+
+            ScanUniverse universe = ScanUniverse.load(store, index, DAY, 20);
+            assertEquals(3, universe.historyDays());
+            int aaa = index.indexOf("AAA-EQ");
+            assertEquals(100.5, universe.today().column(ScanUniverse.Field.OPEN)[aaa], 0);
+            assertEquals(103, universe.today().column(ScanUniverse.Field.CLOSE)[aaa], 0);
+            assertEquals(99.5, universe.today().column(ScanUniverse.Field.LOW)[aaa], 0);
+            assertEquals(2_900, universe.today().column(ScanUniverse.Field.VOLUME)[aaa], 0);
+
+            LocalScanner.Results results = LocalScanner.scan(universe,
+                    ScanExpression.parse("change_pct > 2 and volume > avg_volume(3)"),
+                    ScanExpression.parse("change_pct < -2 and volume > avg_volume(3)"), 0);
+            List<ScanResult> positive = results.getPositive();
+            assertEquals(1, positive.size());
+            assertEquals("AAA", positive.get(0).getSymbol());
+            assertEquals(3, positive.get(0).getPercentChange(), 1e-9);
+            assertEquals(2_900, positive.get(0).getVolume());
+            assertEquals("BBB", results.getNegative().get(0).getSymbol());
+            assertEquals(1, results.getNegative().size());
+            assertEquals(3, results.getSymbolsWithData());
+        } finally {
+            store.close();
+        }
+    }
+
+    @Test
+    void missingDataStaysUnknownThroughNot() {
+        DayColumns yesterday = new DayColumns(2);
+        yesterday.set(0, 10, 11, 9, 10, 500);
+        yesterday.set(1, 10, 11, 9, 10, 500);
+        DayColumns today = new DayColumns(2);
+        today.set(0, 10, 10.5, 9.5, 10.2, 300); // slot 1 has no bar today
+        ScanUniverse universe = ScanUniverse.of(new String[] {"AAA-EQ", "BBB-EQ"}, today, yesterday);
+
+        ScanExpression.Bound notAbove = ScanExpression.parse("not (close > 50)").bind(universe);
+        assertTrue(notAbove.test(0));
+        assertFalse(notAbove.test(1));
+        assertTrue(Double.isNaN(notAbove.value(1)));
+        assertFalse(ScanExpression.parse("not (close > 50) or close > 50").bind(universe).test(1));
+        assertFalse(ScanExpression.parse("prev_close > 0 and not (close > 50)").bind(universe).test(1));
+        // false and unknown is false, so its negation matches; true or unknown is true
+        assertTrue(ScanExpression.parse("not (prev_close < 0 and close > 50)").bind(universe).test(1));
+        assertTrue(ScanExpression.parse("prev_close > 0 or close > 50").bind(universe).test(1));
+    }
+
+    @Test
+    void scansTodayFromAQuoteSnapshotWithoutStoredHistory() throws Exception {
+        Path dir = Files.createTempDirectory("local-scan-quotes");
+        CandleStore store = new CandleStore(dir.toString(), 1000);
+        try {
+            SymbolIndex index = SymbolIndex.builder().add("AAA-EQ", 11).add("BBB-EQ", 7).add("CCC-EQ", 3).build();
+            Map<String, Quote> quotes = Map.of(
+                    "AAA", new Quote("AAA", "11", 104, 101, 105, 100, 100, 2_500, 0),
+                    "BBB", new Quote("BBB", "7", 0, 0, 0, 0, 50, 0, 0)); // not traded yet; CCC has no quote
+            double[] previousClose = new double[index.size()];
+            DayColumns today = LocalScanner.todayFromQuotes(index, quotes, previousClose);
+
+            ScanUniverse universe = ScanUniverse.load(store, index, DAY, 20, today, previousClose);
+            assertEquals(1, universe.historyDays()); // the quotes' previous closes stand in for it
+            LocalScanner.Results results = LocalScanner.scan(universe,
+                    ScanExpression.parse("change_pct > 2"), ScanExpression.parse("change_pct < -2"), 0);
+            assertEquals(1, results.getPositive().size());
+            assertEquals("AAA", results.getPositive().get(0).getSymbol());
+            assertEquals(4, results.getPositive().get(0).getPercentChange(), 1e-9);
+            assertTrue(results.getNegative().isEmpty());
+            assertEquals(1, results.getSymbolsWithData());
+        } finally {
+            store.close();
+        }
+    }
+
+    private static long minute(LocalDate day, int hour, int minute) {
+        return day.atTime(hour, minute).atZone(ZoneId.of("Asia/Kolkata")).toEpochSecond() / 60;
+    }
+}
@@ -0,0 +1,113 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.tradingBot.models.Candle;
+
+class OpeningRangeLoaderTest {
+
+    private static final String FROM = "2026-10-16 09:15";
+    private static final String TO = "2026-10-16 09:30";
+
+    private static Candle openingRange(String datetime) {
+        Candle c = new Candle();
+        c.setDatetime(datetime);
+        c.setOpen(100);
+        c.setHigh(104);
+        c.setLow(99);
+        c.setClose(103);
+        c.setVolume(1000);
+        return c;
+    }
+
+    /** Paces every request through the limiter, as SmartApiService does, before answering. */
+    private static final class StubGateway implements OpeningRangeLoader.CandleGateway {
+        final TokenBucketRateLimiter limiter;
+        final long delayMillis;
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger relogins = new AtomicInteger();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+
+        StubGateway(TokenBucketRateLimiter limiter, long delayMillis) {
+            this.limiter = limiter;
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public List<Candle> fetchHistoricalCandles(String symbol, String interval, String fromDate, String toDate) throws Exception {
+            limiter.acquire();
+            calls.incrementAndGet();
+            int attempt = attempts.computeIfAbsent(symbol, s -> new AtomicInteger()).incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(delayMillis);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            switch (symbol) {
+                case "LATE":
+                    if (attempt == 1) return List.of(); // the 15-minute bar is not published yet
+                    break;
+                case "AUTH":
+                    if (attempt == 1) throw new Exception("Invalid token AB1004");
+                    break;
+                case "BROKEN":
+                    throw new Exception("Something went wrong");
+                default:
+                    break;
+            }
+            return List.of(openingRange(fromDate));
+        }
+
+        @Override
+        public void reloginIfOlderThan(long requestStartNanos) {
+            relogins.incrementAndGet();
+        }
+    }
+
+    @Test
+    void retriesUnderTheRateLimitAndReportsWhatIsStillMissing() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("openingRangeTest", 3, 500);
+        StubGateway gateway = new StubGateway(limiter, 0);
+        OpeningRangeLoader loader = new OpeningRangeLoader(gateway, 10, 3, 20, 4);
+
+        Map<String, Candle> loaded = loader.load(List.of("A", "B", "C", "LATE", "AUTH", "BROKEN"), FROM, TO);
+
+        assertEquals(Set.of("A", "B", "C", "LATE", "AUTH"), loaded.keySet());
+        assertEquals(104, loaded.get("LATE").getHigh(), 1e-9);
+        assertEquals(3, gateway.attempts.get("BROKEN").get()); // gave up after maxAttempts
+        assertEquals(1, gateway.relogins.get());                // only the auth failure re-logs in
+        assertEquals(6 + 1 + 1 + 2, gateway.calls.get()); // first attempts, LATE and AUTH once more, BROKEN twice more
+        assertEquals(gateway.calls.get(), limiter.getPermits()); // every request, retries included, took a permit
+        assertTrue(limiter.getDelayedPermits() > 0, "10 requests at 3/sec must have waited for permits");
+        assertTrue(gateway.maxInFlight.get() <= 4, "in flight: " + gateway.maxInFlight.get());
+        assertEquals(5, loader.getLatency().getCount());
+    }
+
+    @Test
+    void latencyIsMeasuredPerRequestNotFromTheLoadStart() throws Exception {
+        long delayMillis = 50;
+        StubGateway gateway = new StubGateway(new TokenBucketRateLimiter("openingRangeTest", 1000, 60_000), delayMillis);
+        OpeningRangeLoader loader = new OpeningRangeLoader(gateway, 10, 1, 20, 1);
+
+        Map<String, Candle> loaded = loader.load(List.of("A", "B", "C", "D", "E", "F", "G", "H"), FROM, TO);
+
+        assertEquals(8, loaded.size());
+        assertEquals(8, loader.getLatency().getCount());
+        // One worker: the last symbol finishes ~8 requests after the load started, but its own request took ~1
+        long maxMillis = TimeUnit.NANOSECONDS.toMillis(loader.getLatency().getMaxNanos());
+        assertTrue(maxMillis < 4 * delayMillis, "slowest request recorded as " + maxMillis + " ms");
+    }
+}
@@ -0,0 +1,121 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OrderPipelineTest {
+
+    /**
+     * Records what reaches the wire; the balance call is counted to prove it stays off the signal path.
+     * Like the broker's RMS, the balance it reports is net of the margin of placed orders.
+     */
+    private static final class RecordingGateway implements OrderGateway {
+        final List<String> orders = new CopyOnWriteArrayList<>();
+        final AtomicInteger balanceCalls = new AtomicInteger();
+        volatile double marginUsed;
+        volatile boolean reject;
+
+        @Override public String name() { return "recording"; }
+
+        @Override
+        public double getBalance() {
+            balanceCalls.incrementAndGet();
+            return 100_000 - marginUsed;
+        }
+
+        @Override
+        public boolean placeBracketOrder(String tradingSymbol, String transactionType,
+                                         int quantity, double price, double stopLoss, double target) {
+            throw new AssertionError("expected the template overload");
+        }
+
+        @Override
+        public boolean placeBracketOrder(OrderTemplate template, String transactionType,
+                                         int quantity, double price, double stopLoss, double target) {
+            orders.add(String.format("%s:%s %s %d @%.2f SL %.2f TGT %.2f", template.getTradingSymbol(),
+                    template.getToken(), transactionType, quantity, price, stopLoss, target));
+            if (reject) return false;
+            marginUsed += quantity * price / BracketPlan.DEFAULT_LEVERAGE;
+            return true;
+        }
+    }
+
+    private RecordingGateway gateway;
+    private RiskManager risk;
+    private OrderPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        PopulateScanResultService.publish(Map.of(ScripMasterParser.Segment.NSE_EQ,
+                SymbolIndex.builder().add("AAA-EQ", 11).add("BBB-EQ", 22).build()));
+        gateway = new RecordingGateway();
+        risk = new RiskManager(20, 20, 0, 0);
+        pipeline = new OrderPipeline(gateway, risk, 3600);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    private void awaitOrders(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (gateway.orders.size() < count && System.currentTimeMillis() < deadline) Thread.sleep(5);
+    }
+
+    @Test
+    void sendsQueuedSignalsWithTemplatesAndReservesCapitalPerOrder() throws Exception {
+        risk.tryAdmit("AAA", 250_000);
+        assertFalse(pipeline.submit("AAA", true, 100, 250_000, "orb", System.nanoTime())); // not started
+        assertEquals(0, risk.getTradesDone()); // admission released
+
+        pipeline.start(List.of("AAA", "BBB"));
+        assertEquals(100_000, pipeline.getBalance(), 0);
+
+        risk.tryAdmit("AAA", 250_000);
+        risk.tryAdmit("BBB", 250_000);
+        assertTrue(pipeline.submit("AAA", true, 100, 250_000, "orb", System.nanoTime()));
+        assertTrue(pipeline.submit("BBB", false, 200, 250_000, "orb", System.nanoTime()));
+        awaitOrders(2);
+
+        // AAA takes half of 100k as margin; BBB is sized from the 50k left, not the same 100k
+        assertEquals(List.of(
+                "AAA:11 BUY 2500 @100.00 SL 99.50 TGT 100.75",
+                "BBB:22 SELL 625 @200.00 SL 201.00 TGT 198.50"), gateway.orders);
+        assertEquals(2, pipeline.getPlaced());
+        assertEquals(2, pipeline.getSignalToWire().getCount());
+        assertEquals(2, pipeline.getRoundTrip().getCount());
+        assertEquals(2, risk.getOpenPositions());
+    }
+
+    @Test
+    void rejectedOrderReleasesItsReservation() throws Exception {
+        pipeline.start(List.of("AAA", "BBB"));
+        gateway.reject = true;
+        risk.tryAdmit("AAA", 250_000);
+        assertTrue(pipeline.submit("AAA", true, 100, 250_000, "orb", System.nanoTime()));
+        awaitOrders(1);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pipeline.getFailed() < 1 && System.currentTimeMillis() < deadline) Thread.sleep(5);
+
+        assertEquals(1, pipeline.getFailed());
+        assertEquals(100_000, pipeline.getAvailableBalance(), 0);
+        assertEquals(0, risk.getOpenPositions());
+
+        gateway.reject = false;
+        risk.tryAdmit("BBB", 250_000);
+        assertTrue(pipeline.submit("BBB", true, 100, 250_000, "orb", System.nanoTime()));
+        awaitOrders(2);
+        assertEquals("BBB:22 BUY 2500 @100.00 SL 99.50 TGT 100.75", gateway.orders.get(1));
+    }
+}
@@ -0,0 +1,86 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.tradingBot.models.Candle;
+import com.project.tradingBot.service.SimulatedBroker.ExitReason;
+
+class PaperBrokerTest {
+
+    private static Candle bar(String time, double o, double h, double l, double c) {
+        Candle candle = new Candle();
+        candle.setDatetime("2025-01-06T" + time + ":00+05:30");
+        candle.setOpen(o);
+        candle.setHigh(h);
+        candle.setLow(l);
+        candle.setClose(c);
+        candle.setVolume(1000);
+        return candle;
+    }
+
+    @Test
+    void fillsAtTheLimitAndExitsOnTarget() {
+        PaperBroker broker = new PaperBroker(100_000, 0, 0, LocalTime.of(15, 15));
+        assertTrue(broker.placeBracketOrder("AAA", "BUY", 100, 100.0, 99.5, 100.75));
+        assertFalse(broker.placeBracketOrder("AAA", "BUY", 100, 100.0, 99.5, 100.75)); // one order per symbol
+        assertEquals(List.of("AAA"), List.copyOf(broker.activeSymbols()));
+        assertEquals(98_000.0, broker.getBalance(), 1e-9); // 100 x 100 at 5x blocks 2,000 while pending
+
+        broker.onBar("AAA", bar("09:40", 100.5, 100.6, 100.2, 100.4)); // never trades down to the limit
+        assertFalse(broker.hasPosition("AAA"));
+        broker.onBar("AAA", bar("09:45", 100.3, 100.4, 99.8, 100.1));  // fills at the limit
+        assertTrue(broker.hasPosition("AAA"));
+        broker.onBar("AAA", bar("09:50", 100.2, 100.9, 100.1, 100.8)); // target
+
+        SimulatedBroker.Trade trade = broker.getTrades().get(0);
+        assertEquals(100.0, trade.getEntryPrice(), 1e-9);
+        assertEquals(100.75, trade.getExitPrice(), 1e-9);
+        assertEquals(ExitReason.TARGET, trade.getExitReason());
+        assertEquals(75.0, broker.getRealisedPnl(), 1e-9);
+        assertEquals(100_075.0, broker.getBalance(), 1e-9);
+        assertTrue(broker.activeSymbols().isEmpty());
+    }
+
+    @Test
+    void shortGapsThroughTheStopAndIsSquaredOffOtherwise() {
+        PaperBroker broker = new PaperBroker(100_000, 0, 0, LocalTime.of(15, 15));
+        broker.placeBracketOrder("AAA", "SELL", 10, 50.0, 50.25, 49.625);
+        broker.placeBracketOrder("BBB", "SELL", 10, 80.0, 80.4, 79.4);
+
+        broker.onBar("AAA", bar("09:40", 49.9, 50.1, 49.8, 50.0)); // trades up to the limit
+        broker.onBar("AAA", bar("09:45", 50.5, 50.6, 50.4, 50.5)); // gaps above the stop
+        broker.onBar("BBB", bar("09:40", 80.0, 80.1, 79.9, 80.0));
+        broker.onBar("BBB", bar("15:15", 79.8, 79.9, 79.7, 79.8)); // square-off bar
+
+        List<SimulatedBroker.Trade> trades = broker.getTrades();
+        assertEquals(ExitReason.STOP, trades.get(0).getExitReason());
+        assertEquals(50.5, trades.get(0).getExitPrice(), 1e-9);
+        assertEquals(50.0, trades.get(0).getEntryPrice(), 1e-9);
+        assertEquals(-5.0, trades.get(0).getPnl(), 1e-9);
+        assertEquals(ExitReason.END_OF_DAY, trades.get(1).getExitReason());
+        assertEquals(79.8, trades.get(1).getExitPrice(), 1e-9);
+        assertTrue(broker.activeSymbols().isEmpty());
+    }
+
+    @Test
+    void blocksMarginOfOpenPositionsAndRecordsTheEntryStrategy() {
+        PaperBroker broker = new PaperBroker(100_000, 0, 0, LocalTime.of(15, 15), 4);
+        assertTrue(broker.placeBracketOrder(OrderTemplate.nseBracket("AAA"), "BUY", 1000, 100.0, 99.5, 100.75, "orb"));
+        assertEquals(75_000.0, broker.getBalance(), 1e-9);
+
+        broker.onBar("AAA", bar("09:40", 99.0, 99.2, 98.9, 99.1)); // opens below the limit: fills at 99
+        assertEquals(100_000 - 1000 * 99.0 / 4, broker.getBalance(), 1e-9);
+
+        broker.onBar("AAA", bar("15:15", 99.3, 99.4, 99.2, 99.3)); // squared off
+        SimulatedBroker.Trade trade = broker.getTrades().get(0);
+        assertEquals("orb", trade.getStrategy());
+        assertEquals(100_000 + trade.getPnl(), broker.getBalance(), 1e-9);
+    }
+}
@@ -0,0 +1,126 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.tradingBot.Config.StrategyConfig;
+import com.project.tradingBot.service.BacktestParams.Name;
+
+class ParameterSweepTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 6);
+
+    @Test
+    void gridIsTheCartesianProductOverTheBase() {
+        ParameterSweep.Space space = new ParameterSweep.Space()
+                .add(Name.STOP_PERCENT, 0.3, 0.5)
+                .add(Name.TARGET_PERCENT, 0.5, 0.75, 1.0)
+                .add(Name.MAX_TRADES, 10, 20);
+
+        List<BacktestParams> grid = space.grid(BacktestParams.DEFAULTS);
+
+        assertEquals(12, grid.size());
+        assertEquals(12, new HashSet<>(grid).size());
+        for (BacktestParams p : grid) {
+            assertEquals(BacktestParams.DEFAULTS.leverage(), p.leverage(), 0); // untouched parameters keep the base value
+        }
+    }
+
+    @Test
+    void randomSamplesStayInRangeAndRoundIntegers() {
+        ParameterSweep.Space space = new ParameterSweep.Space()
+                .add(Name.STOP_PERCENT, 0.8, 0.2)
+                .add(Name.MAX_TRADES, 5, 30);
+
+        List<BacktestParams> samples = space.random(BacktestParams.DEFAULTS, 200, 7);
+
+        assertEquals(200, samples.size());
+        for (BacktestParams p : samples) {
+            assertTrue(p.stopPercent() >= 0.2 && p.stopPercent() <= 0.8);
+            assertTrue(p.maxTrades() >= 5 && p.maxTrades() <= 30);
+            assertEquals(Math.rint(p.get(Name.MAX_TRADES)), p.get(Name.MAX_TRADES), 0);
+        }
+        assertEquals(samples, space.random(BacktestParams.DEFAULTS, 200, 7)); // same seed, same points
+    }
+
+    @Test
+    void sweepRanksRunsByTheMetricAndWritesThemInThatOrder() throws Exception {
+        PopulateScanResultService.publish(Map.of(ScripMasterParser.Segment.NSE_EQ,
+                SymbolIndex.builder().add("AAA-EQ", 1).build()));
+        Path dir = Files.createTempDirectory("sweep-test");
+        CandleStore store = new CandleStore(dir.toString(), 1000);
+        try {
+            // AAA breaks out on the 09:35 bar (range 0.45%), enters at 101.4 and runs to 102.6 before closing at 102.5
+            bar(store, 15, 9, 15, 100, 101, 99, 100.5);
+            bar(store, 5, 9, 30, 100.5, 100.9, 100.3, 100.8);
+            bar(store, 5, 9, 35, 100.9, 101.4, 100.95, 101.3);
+            bar(store, 5, 9, 40, 101.4, 102.5, 101.3, 102.4);
+            bar(store, 5, 9, 45, 102.4, 102.6, 102.2, 102.5);
+
+            BacktestEngine engine = new BacktestEngine(store, null, 20, 14, 14, 20, 20, 0, 0);
+            StrategyConfig orbOnly = new StrategyConfig() {
+                @Override
+                public StrategySet build(double orbMaxRangePercent) {
+                    return new StrategySet(List.of(new OpeningRangeBreakout(orbMaxRangePercent)));
+                }
+            };
+            ParameterSweep sweep = new ParameterSweep(engine, orbOnly);
+            BacktestEngine.Request request = new BacktestEngine.Request(List.of(DAY), List.of("AAA"))
+                    .biasMode(BacktestEngine.BiasMode.LONG).capital(100_000).slippageBps(0);
+            List<BacktestParams> combos = new ParameterSweep.Space()
+                    .add(Name.ORB_MAX_RANGE_PERCENT, 0.1, 0.5) // 0.1% filters the breakout out
+                    .add(Name.TARGET_PERCENT, 0.5, 1.0, 2.0)   // 2% is never reached: squared off at 102.5
+                    .grid(BacktestParams.DEFAULTS);
+
+            ParameterSweep.Report report = sweep.run(engine.load(request), request, combos, ParameterSweep.Metric.PNL, 2);
+
+            List<ParameterSweep.Run> ranked = report.getRanked();
+            assertEquals(6, ranked.size());
+            assertEquals(List.of(2.0, 1.0, 0.5), ranked.subList(0, 3).stream().map(r -> r.getParams().targetPercent()).toList());
+            for (int i = 0; i < 3; i++) {
+                assertEquals(0.5, ranked.get(i).getParams().orbMaxRangePercent(), 0);
+                assertEquals(1, ranked.get(i).getTrades());
+                assertTrue(i == 0 || ranked.get(i - 1).getPnl() > ranked.get(i).getPnl());
+            }
+            for (ParameterSweep.Run filtered : ranked.subList(3, 6)) {
+                assertEquals(0.1, filtered.getParams().orbMaxRangePercent(), 0);
+                assertEquals(0, filtered.getTrades());
+                assertEquals(0.0, filtered.getPnl(), 0);
+            }
+
+            Path csv = dir.resolve("sweep.csv");
+            report.writeCsv(csv);
+            List<String> lines = Files.readAllLines(csv);
+            assertEquals(7, lines.size());
+            List<String> header = Arrays.asList(lines.get(0).split(","));
+            assertEquals(List.of("rank", "score"), header.subList(0, 2));
+            int target = header.indexOf("targetPercent"), trades = header.indexOf("trades"), pnl = header.indexOf("pnl");
+            for (int rank = 1; rank <= 6; rank++) {
+                String[] row = lines.get(rank).split(",");
+                ParameterSweep.Run run = ranked.get(rank - 1);
+                assertEquals(String.valueOf(rank), row[0]);
+                assertEquals(run.getParams().targetPercent(), Double.parseDouble(row[target]), 0);
+                assertEquals(run.getTrades(), Integer.parseInt(row[trades]));
+                assertEquals(run.getPnl(), Double.parseDouble(row[pnl]), 0.005);
+            }
+        } finally {
+            store.close();
+        }
+    }
+
+    private static void bar(CandleStore store, int interval, int hour, int minute, double o, double h, double l, double c) throws Exception {
+        long epochMinute = DAY.atTime(hour, minute).atZone(ZoneId.of("Asia/Kolkata")).toEpochSecond() / 60;
+        store.append(DAY, 1, interval, epochMinute, o, h, l, c, 10_000);
+    }
+}
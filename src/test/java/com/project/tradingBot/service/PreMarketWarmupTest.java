@@ -0,0 +1,163 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.project.tradingBot.Config.ChartinkConfig;
+
+class PreMarketWarmupTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final StartupTimeline timeline = new StartupTimeline(Clock.systemDefaultZone());
+    private final StartupGraph graph = new StartupGraph(timeline);
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        graph.shutdown();
+    }
+
+    /** The master stage stays offline: no download, no publish into the shared master. */
+    private final class StubRefresher extends ScripMasterRefresher {
+        StubRefresher() {
+            super("http://localhost:1/master.json", ".", "08:45", 1, null);
+        }
+
+        @Override
+        public Result refreshIfStale() {
+            calls.add("master");
+            throw new IllegalStateException("offline");
+        }
+    }
+
+    private final class StubBroker extends SmartApiService {
+        final int loginsNeeded;
+        final int httpStatus;
+        final AtomicInteger logins = new AtomicInteger();
+
+        StubBroker(int loginsNeeded, int httpStatus) {
+            this.loginsNeeded = loginsNeeded;
+            this.httpStatus = httpStatus;
+        }
+
+        @Override
+        public synchronized void login() {
+            calls.add("login");
+            logins.incrementAndGet();
+        }
+
+        @Override
+        public boolean isLoggedIn() {
+            return logins.get() >= loginsNeeded;
+        }
+
+        @Override
+        public int[] warmUpBrokerConnections() {
+            calls.add("transport");
+            return new int[]{httpStatus, 200};
+        }
+
+        @Override
+        public double getBalance() {
+            calls.add("balance");
+            return 0;
+        }
+    }
+
+    private final class StubChartink extends ChartinkHttpScanner {
+        StubChartink() {
+            super(new ChartinkConfig());
+        }
+
+        @Override
+        public void prepareSession() {
+            calls.add("chartink");
+        }
+    }
+
+    private final class StubEngine extends StrategyEngine {
+        @Override
+        public int warmUp(int bars) {
+            calls.add("jit " + bars);
+            return bars;
+        }
+    }
+
+    private PreMarketWarmup warmup(StubBroker broker, String chartinkMode) {
+        return new PreMarketWarmup(new StubRefresher(), broker, new StubChartink(), new StubEngine(), 50, chartinkMode);
+    }
+
+    private StartupTimeline.Status status(String stage) {
+        return timeline.getEntries().stream().filter(e -> e.getName().startsWith(stage)).findFirst()
+                .orElseThrow(() -> new AssertionError("no timeline entry for " + stage)).getStatus();
+    }
+
+    @Test
+    void warmsTheBrokerTransportAfterALoginRetry() throws Exception {
+        StubBroker broker = new StubBroker(2, 200);
+        PreMarketWarmup.Stages stages = warmup(broker, "http").register(graph, TIMEOUT);
+
+        assertTrue(graph.await(stages.getLogin()));
+        assertNotNull(stages.getChartinkSession());
+        assertTrue(graph.await(stages.getChartinkSession()));
+        assertFalse(graph.await(stages.getMaster())); // independent of the others
+
+        waitForEntries(5);
+        assertEquals(2, broker.logins.get());
+        assertEquals(StartupTimeline.Status.OK, status("broker connection warm-up"));
+        assertEquals(StartupTimeline.Status.OK, status("JIT warm-up"));
+        assertEquals(StartupTimeline.Status.FAILED, status("master index"));
+        assertTrue(calls.contains("jit 50"));
+        assertTrue(calls.contains("chartink"));
+        // the data routes are warmed on the shared transport, after the login
+        assertTrue(calls.lastIndexOf("login") < calls.indexOf("transport"), calls.toString());
+        assertTrue(calls.contains("balance"));
+    }
+
+    @Test
+    void failedLoginSkipsTheConnectionWarmup() throws Exception {
+        StubBroker broker = new StubBroker(Integer.MAX_VALUE, 200);
+        PreMarketWarmup.Stages stages = warmup(broker, "selenium").register(graph, TIMEOUT);
+
+        assertFalse(graph.await(stages.getLogin()));
+        assertNull(stages.getChartinkSession()); // Selenium mode opens no HTTP session
+
+        waitForEntries(4);
+        assertEquals(2, broker.logins.get()); // one retry, then the stage fails
+        assertEquals(StartupTimeline.Status.SKIPPED, status("broker connection warm-up"));
+        assertFalse(calls.contains("transport"));
+        assertFalse(calls.contains("chartink"));
+    }
+
+    @Test
+    void rejectedSessionOnTheDataRoutesFailsTheOptionalStage() throws Exception {
+        StubBroker broker = new StubBroker(1, 401);
+        PreMarketWarmup.Stages stages = warmup(broker, "selenium").register(graph, TIMEOUT);
+
+        assertTrue(graph.await(stages.getLogin()));
+        waitForEntries(4);
+        assertEquals(StartupTimeline.Status.FAILED, status("broker connection warm-up"));
+        assertTrue(timeline.getEntries().stream().anyMatch(e -> e.getDetail().contains("quote HTTP 401")));
+    }
+
+    private void waitForEntries(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (timeline.getEntries().size() < count) {
+            assertTrue(System.nanoTime() < deadline, "stages recorded: " + timeline.getEntries().size());
+            Thread.sleep(5);
+        }
+    }
+}
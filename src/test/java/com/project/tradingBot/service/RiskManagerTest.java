@@ -0,0 +1,64 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.tradingBot.service.RiskManager.Admission;
+
+class RiskManagerTest {
+
+    @Test
+    void enforcesEachLimitAndReleasesOnRefusal() {
+        RiskManager risk = new RiskManager(3, 2, 300_000, 1_000);
+
+        assertEquals(Admission.ADMITTED, risk.tryAdmit("AAA", 250_000));
+        assertEquals(Admission.SYMBOL_EXPOSURE, risk.tryAdmit("AAA", 100_000));
+        assertEquals(Admission.ADMITTED, risk.tryAdmit("BBB", 250_000));
+        assertEquals(Admission.MAX_OPEN_POSITIONS, risk.tryAdmit("CCC", 250_000));
+        assertEquals(0, risk.getSymbolExposure("CCC"), 0); // refused admission reserved nothing
+
+        risk.onClosed("AAA", 250_000, -400);
+        assertEquals(1, risk.getOpenPositions());
+        assertEquals(Admission.ADMITTED, risk.tryAdmit("CCC", 250_000));
+        assertEquals(Admission.MAX_TRADES, risk.tryAdmit("DDD", 1));
+
+        risk.release("CCC", 250_000); // order never placed: the trade slot comes back
+        assertEquals(2, risk.getTradesDone());
+        risk.onClosed("BBB", 250_000, -700);
+        assertEquals(-1_100, risk.getRealisedPnl(), 0);
+        assertEquals(Admission.DAILY_LOSS, risk.tryAdmit("DDD", 1));
+        assertEquals(0, risk.getOpenPositions());
+    }
+
+    @Test
+    void concurrentAdmissionsNeverExceedTheTradeLimit() throws Exception {
+        RiskManager risk = new RiskManager(20, 0, 0, 0);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            int id = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 1000; i++) {
+                    if (risk.tryAdmit("S" + id + "-" + i, 1000) == Admission.ADMITTED) admitted.incrementAndGet();
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread t : threads) t.join();
+
+        assertEquals(20, admitted.get());
+        assertEquals(20, risk.getTradesDone());
+        assertEquals(20, risk.getOpenPositions());
+    }
+}
@@ -0,0 +1,45 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.tradingBot.models.ScanResult;
+import com.project.tradingBot.service.ScanResultRegistry.Side;
+import com.project.tradingBot.service.ScanResultRegistry.Snapshot;
+
+class ScanResultRegistryTest {
+
+    @Test
+    void publishesVersionedSnapshotsWithTokens() {
+        PopulateScanResultService.publish(Map.of(ScripMasterParser.Segment.NSE_EQ,
+                SymbolIndex.builder().add("INFY-EQ", 1594).add("TCS-EQ", 11536).build()));
+        ScanResultRegistry registry = new ScanResultRegistry();
+        Snapshot empty = registry.current();
+
+        registry.publish(Side.POSITIVE, List.of(
+                new ScanResult("Infosys", "INFY", 2.5, 1500, 100_000),
+                new ScanResult("Infosys Ltd", "INFY", 2.5, 1500, 100_000),
+                new ScanResult("Unknown", "NOPE", 3, 10, 1)));
+        Snapshot held = registry.current();
+        registry.publish(Side.NEGATIVE, List.of(new ScanResult("TCS", "TCS", -2, 3500, 50_000)));
+        registry.select(Side.NEGATIVE);
+
+        Snapshot latest = registry.current();
+        assertEquals(0, empty.getPositive().size()); // earlier snapshots never change
+        assertTrue(held.getNegative().isEmpty());
+        assertNull(held.getSelected());
+        assertEquals(empty.getVersion() + 3, latest.getVersion());
+        assertEquals(List.of("INFY", "NOPE"), latest.symbols(Side.POSITIVE));
+        assertEquals("Infosys", latest.getPositive().get(0).getStockName());
+        assertEquals(1594, latest.getPositive().get(0).getToken());
+        assertEquals(-1, latest.getPositive().get(1).getToken());
+        assertEquals(11536, latest.getNegative().get(0).getToken());
+        assertEquals(Side.NEGATIVE, latest.getSelected());
+    }
+}
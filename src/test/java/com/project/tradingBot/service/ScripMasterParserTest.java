@@ -0,0 +1,99 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.tradingBot.service.ScripMasterParser.Segment;
+
+class ScripMasterParserTest {
+
+    private static final String MASTER = "["
+            + "{\"token\":\"1594\",\"symbol\":\"INFY-EQ\",\"name\":\"INFY\",\"expiry\":\"\",\"strike\":\"-1.000000\","
+            + "\"lotsize\":\"1\",\"instrumenttype\":\"\",\"exch_seg\":\"NSE\",\"tick_size\":\"5.000000\"},"
+            // fields in a different order
+            + "{\"exch_seg\":\"NSE\",\"instrumenttype\":\"\",\"symbol\":\"TCS-EQ\",\"token\":\"11536\"},"
+            // nested values are skipped, including a nested "symbol"/"token" that must not leak into the row
+            + "{\"symbol\":\"SBIN-EQ\",\"meta\":{\"symbol\":\"WRONG-EQ\",\"token\":\"1\",\"tags\":[\"a\",{\"b\":2}]},"
+            + "\"token\":\"3045\",\"exch_seg\":\"NSE\",\"lots\":[1,2,3]},"
+            + "{\"token\":\"99926000\",\"symbol\":\"Nifty 50\",\"instrumenttype\":\"AMXIDX\",\"exch_seg\":\"NSE\"},"
+            + "{\"token\":\"35001\",\"symbol\":\"NIFTY25JANFUT\",\"instrumenttype\":\"FUTIDX\",\"exch_seg\":\"NFO\"},"
+            + "{\"token\":\"35002\",\"symbol\":\"INFY25JANFUT\",\"instrumenttype\":\"FUTSTK\",\"exch_seg\":\"NFO\"},"
+            // not in any requested segment
+            + "{\"token\":\"40001\",\"symbol\":\"NIFTY25JAN24000CE\",\"instrumenttype\":\"OPTIDX\",\"exch_seg\":\"NFO\"},"
+            + "{\"token\":\"500325\",\"symbol\":\"RELIANCE\",\"instrumenttype\":\"\",\"exch_seg\":\"BSE\"},"
+            // malformed: a token that is not a number, and a row without a token
+            + "{\"token\":\"N/A\",\"symbol\":\"BROKEN-EQ\",\"instrumenttype\":\"\",\"exch_seg\":\"NSE\"},"
+            + "{\"symbol\":\"NOTOKEN-EQ\",\"exch_seg\":\"NSE\"}"
+            + "]";
+
+    private static InputStream json(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void extractsEachRequestedSegment() throws IOException {
+        ScripMasterParser.Result result = ScripMasterParser.parse(json(MASTER), EnumSet.allOf(Segment.class));
+
+        assertEquals(10, result.getRowsScanned());
+        SymbolIndex equities = result.get(Segment.NSE_EQ);
+        assertEquals(3, equities.size());
+        assertEquals(1594, equities.token("INFY-EQ"));
+        assertEquals(11536, equities.token("TCS-EQ"));
+        assertEquals(3045, equities.token("SBIN-EQ"));
+        assertFalse(equities.contains("WRONG-EQ"));
+
+        SymbolIndex indices = result.get(Segment.NSE_INDEX);
+        assertEquals(1, indices.size());
+        assertEquals(99926000, indices.token("Nifty 50"));
+
+        SymbolIndex futures = result.get(Segment.NFO_FUTURES);
+        assertEquals(2, futures.size());
+        assertEquals(35001, futures.token("NIFTY25JANFUT"));
+        assertEquals(35002, futures.token("INFY25JANFUT"));
+        assertEquals(-1, futures.token("NIFTY25JAN24000CE"));
+    }
+
+    @Test
+    void malformedRowsAreSkippedAndCounted() throws IOException {
+        ScripMasterParser.Result result = ScripMasterParser.parse(json(MASTER), List.of(Segment.NSE_EQ));
+
+        assertEquals(2, result.getBadRows());
+        assertFalse(result.get(Segment.NSE_EQ).contains("BROKEN-EQ"));
+        assertFalse(result.get(Segment.NSE_EQ).contains("NOTOKEN-EQ"));
+        assertEquals(1, result.getIndexes().size()); // only the requested segment
+        assertTrue(result.summary().contains("(2 bad)"), result.summary());
+    }
+
+    @Test
+    void rejectsAMasterThatIsNotAnArray() {
+        assertThrows(IOException.class, () -> ScripMasterParser.parse(json("{\"symbol\":\"INFY-EQ\"}"), List.of(Segment.NSE_EQ)));
+    }
+
+    @Test
+    void reportsPeakHeapGrowth() throws IOException {
+        StringBuilder big = new StringBuilder("[");
+        for (int i = 0; i < 50_000; i++) {
+            if (i > 0) big.append(',');
+            big.append("{\"token\":\"").append(100_000 + i).append("\",\"symbol\":\"SYM").append(i)
+                    .append("-EQ\",\"name\":\"Some Instrument Name\",\"instrumenttype\":\"\",\"exch_seg\":\"NSE\"}");
+        }
+        big.append(']');
+
+        ScripMasterParser.Result result = ScripMasterParser.parse(json(big.toString()), List.of(Segment.NSE_EQ));
+
+        assertEquals(50_000, result.get(Segment.NSE_EQ).size());
+        assertTrue(result.getPeakHeapBytes() > 0, "peak heap " + result.getPeakHeapBytes());
+        assertTrue(result.summary().contains("peak heap +"), result.summary());
+    }
+}
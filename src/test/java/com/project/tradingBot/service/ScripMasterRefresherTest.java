@@ -0,0 +1,154 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.project.tradingBot.service.ScripMasterRefresher.Outcome;
+import com.sun.net.httpserver.HttpServer;
+
+class ScripMasterRefresherTest {
+
+    private static final String MASTER_V1 = "["
+            + "{\"token\":\"1594\",\"symbol\":\"INFY-EQ\",\"instrumenttype\":\"\",\"exch_seg\":\"NSE\"},"
+            + "{\"token\":\"11536\",\"symbol\":\"TCS-EQ\",\"instrumenttype\":\"\",\"exch_seg\":\"NSE\"},"
+            + "{\"token\":\"99926000\",\"symbol\":\"Nifty 50\",\"instrumenttype\":\"AMXIDX\",\"exch_seg\":\"NSE\"},"
+            + "{\"token\":\"35001\",\"symbol\":\"NIFTY25JANFUT\",\"instrumenttype\":\"FUTIDX\",\"exch_seg\":\"NFO\"}]";
+
+    // INFY re-tokened, TCS delisted, WIPRO listed
+    private static final String MASTER_V2 = "["
+            + "{\"token\":\"1595\",\"symbol\":\"INFY-EQ\",\"instrumenttype\":\"\",\"exch_seg\":\"NSE\"},"
+            + "{\"token\":\"3787\",\"symbol\":\"WIPRO-EQ\",\"instrumenttype\":\"\",\"exch_seg\":\"NSE\"},"
+            + "{\"token\":\"99926000\",\"symbol\":\"Nifty 50\",\"instrumenttype\":\"AMXIDX\",\"exch_seg\":\"NSE\"}]";
+
+    // Equities and indices as in V1; only a new NFO future
+    private static final String MASTER_V1_NEW_FUTURE = MASTER_V1.substring(0, MASTER_V1.length() - 1)
+            + ",{\"token\":\"35002\",\"symbol\":\"BANKNIFTY25JANFUT\",\"instrumenttype\":\"FUTIDX\",\"exch_seg\":\"NFO\"}]";
+
+    private HttpServer server;
+    private Path dir;
+    private volatile String body = MASTER_V1;
+    private volatile boolean sendEtag = true;
+    private final AtomicInteger fullDownloads = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        PopulateScanResultService.publish(Map.of(ScripMasterParser.Segment.NSE_EQ, SymbolIndex.builder().build()));
+        dir = Files.createTempDirectory("scrip-master-test");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/master.json", exchange -> {
+            String etag = "\"" + Integer.toHexString(body.hashCode()) + "\"";
+            if (sendEtag && etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            if (sendEtag) exchange.getResponseHeaders().add("ETag", etag);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+            fullDownloads.incrementAndGet();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        server.stop(0);
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    private ScripMasterRefresher refresher() {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/master.json";
+        return new ScripMasterRefresher(url, dir.toString(), "08:45", 5,
+                new BrokerHttpTransport(Duration.ofSeconds(2), Duration.ofSeconds(5), 4, true));
+    }
+
+    @Test
+    void firstDownloadPublishesIndexesThenEtagShortCircuits() throws Exception {
+        ScripMasterRefresher refresher = refresher();
+
+        ScripMasterRefresher.Result first = refresher.refresh();
+        assertEquals(Outcome.UPDATED, first.getOutcome());
+        assertEquals(2, first.getDiff(ScripMasterParser.Segment.NSE_EQ).getAdded());
+        assertEquals("1594", PopulateScanResultService.getMasterEquitiesMap().get("INFY-EQ"));
+        assertEquals(99926000, PopulateScanResultService.getSegmentIndex(ScripMasterParser.Segment.NSE_INDEX).token("Nifty 50"));
+        assertTrue(Files.exists(dir.resolve("equities.idx")));
+        assertTrue(Files.exists(dir.resolve("nfo-futures.idx")));
+
+        PopulateScanResultService.initialize(refresher.getDirectory()); // loads what the refresher wrote
+        assertEquals("11536", PopulateScanResultService.getMasterEquitiesMap().get("TCS-EQ"));
+
+        ScripMasterRefresher.Result second = refresher.refresh();
+        assertEquals(Outcome.NOT_MODIFIED, second.getOutcome());
+        assertEquals(1, fullDownloads.get());
+    }
+
+    @Test
+    void sameContentWithoutValidatorsIsDetectedByHash() throws Exception {
+        sendEtag = false;
+        ScripMasterRefresher refresher = refresher();
+        refresher.refresh();
+        SymbolIndex before = PopulateScanResultService.getSymbolIndex();
+
+        ScripMasterRefresher.Result again = refresher.refresh();
+        assertEquals(Outcome.UNCHANGED, again.getOutcome());
+        assertSame(before, PopulateScanResultService.getSymbolIndex(), "index must not be swapped when nothing changed");
+    }
+
+    @Test
+    void changedMasterIsDiffedAndSwappedAtomically() throws Exception {
+        ScripMasterRefresher refresher = refresher();
+        refresher.refresh();
+
+        body = MASTER_V2;
+        ScripMasterRefresher.Result result = refresher.refresh();
+
+        assertEquals(Outcome.UPDATED, result.getOutcome());
+        ScripMasterRefresher.Diff equities = result.getDiff(ScripMasterParser.Segment.NSE_EQ);
+        assertEquals(1, equities.getAdded());
+        assertEquals(1, equities.getRemoved());
+        assertEquals(1, equities.getChanged());
+        assertEquals(1, result.getDiff(ScripMasterParser.Segment.NFO_FUTURES).getRemoved());
+        assertEquals("1595", PopulateScanResultService.getMasterEquitiesMap().get("INFY-EQ"));
+        assertNull(PopulateScanResultService.getMasterEquitiesMap().get("TCS-EQ"));
+        assertEquals(3787, SymbolIndex.load(dir.resolve("equities.idx")).token("WIPRO-EQ"));
+    }
+
+    @Test
+    void changeInAnotherSegmentIsPublished() throws Exception {
+        ScripMasterRefresher refresher = refresher();
+        refresher.refresh();
+
+        body = MASTER_V1_NEW_FUTURE;
+        ScripMasterRefresher.Result result = refresher.refresh();
+
+        assertEquals(Outcome.UPDATED, result.getOutcome());
+        assertTrue(result.getDiff(ScripMasterParser.Segment.NSE_EQ).isEmpty());
+        assertEquals(1, result.getDiff(ScripMasterParser.Segment.NFO_FUTURES).getAdded());
+        assertEquals(35002, PopulateScanResultService.getSegmentIndex(ScripMasterParser.Segment.NFO_FUTURES).token("BANKNIFTY25JANFUT"));
+        assertEquals(35002, SymbolIndex.load(dir.resolve("nfo-futures.idx")).token("BANKNIFTY25JANFUT"));
+    }
+}
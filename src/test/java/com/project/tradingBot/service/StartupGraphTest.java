@@ -0,0 +1,145 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.project.tradingBot.service.StartupGraph.Node;
+import com.project.tradingBot.service.StartupGraph.Policy;
+
+class StartupGraphTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final StartupTimeline timeline = new StartupTimeline(Clock.systemDefaultZone());
+    private final StartupGraph graph = new StartupGraph(timeline);
+
+    @AfterEach
+    void shutdown() {
+        graph.shutdown();
+    }
+
+    private StartupTimeline.Entry entry(String name) {
+        return timeline.getEntries().stream().filter(e -> e.getName().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError("no timeline entry for " + name));
+    }
+
+    private static StartupGraph.Task<String> sleeping(long millis, String result) {
+        return () -> {
+            Thread.sleep(millis);
+            return result;
+        };
+    }
+
+    @Test
+    void independentStagesOverlap() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        StartupGraph.Task<Boolean> task = () -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                bothStarted.countDown();
+                return bothStarted.await(2, TimeUnit.SECONDS); // only true if the other stage runs meanwhile
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        };
+
+        Node<Boolean> a = graph.stage("a", Policy.REQUIRED, TIMEOUT, task);
+        Node<Boolean> b = graph.stage("b", Policy.REQUIRED, TIMEOUT, task);
+        Node<String> joined = graph.stage("joined", Policy.REQUIRED, TIMEOUT, () -> "done", a, b);
+
+        assertTrue(graph.await(joined));
+        assertTrue(a.get());
+        assertTrue(b.get());
+        assertEquals(2, maxInFlight.get());
+        assertEquals("done", joined.get());
+    }
+
+    @Test
+    void failedRequiredStageSkipsItsDependents() throws Exception {
+        AtomicBoolean dependentRan = new AtomicBoolean();
+        Node<Void> login = graph.stage("login", Policy.REQUIRED, TIMEOUT, () -> {
+            throw new IllegalStateException("no session");
+        });
+        Node<Void> warmup = graph.stage("warm-up", Policy.REQUIRED, TIMEOUT, () -> {
+            dependentRan.set(true);
+            return null;
+        }, login);
+        Node<Void> trading = graph.stage("trading", Policy.OPTIONAL, TIMEOUT, () -> null, warmup);
+
+        assertFalse(graph.await(trading)); // the optional stage never ran, so it did not succeed either
+        assertFalse(dependentRan.get());
+        assertFalse(login.isSucceeded());
+        assertEquals(StartupTimeline.Status.FAILED, entry("login").getStatus());
+        assertEquals("no session", entry("login").getDetail());
+        assertEquals(StartupTimeline.Status.SKIPPED, entry("warm-up").getStatus());
+        assertEquals(StartupTimeline.Status.SKIPPED, entry("trading").getStatus());
+    }
+
+    @Test
+    void failedOptionalStageYieldsNullAndDependentsStillRun() throws Exception {
+        Node<String> chartink = graph.stage("chartink session", Policy.OPTIONAL, TIMEOUT, () -> {
+            throw new IllegalStateException("captcha");
+        });
+        Node<String> scan = graph.stage("scan", Policy.REQUIRED, TIMEOUT,
+                () -> chartink.get() == null ? "fallback" : "session", chartink);
+
+        assertTrue(graph.await(scan));
+        assertNull(chartink.get());
+        assertFalse(chartink.isSucceeded());
+        assertEquals("fallback", scan.get());
+        assertEquals(StartupTimeline.Status.FAILED, entry("chartink session").getStatus());
+        assertEquals(StartupTimeline.Status.OK, entry("scan").getStatus());
+    }
+
+    @Test
+    void timeoutInterruptsTheWorkerAndFailsTheStage() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        Node<Void> slow = graph.stage("slow", Policy.REQUIRED, Duration.ofMillis(100), () -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return null;
+        });
+
+        long start = System.nanoTime();
+        assertFalse(graph.await(slow));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2_000);
+        assertTrue(interrupted.await(2, TimeUnit.SECONDS), "the worker thread was not interrupted");
+        StartupTimeline.Entry e = entry("slow");
+        assertEquals(StartupTimeline.Status.FAILED, e.getStatus());
+        assertTrue(e.getDetail().startsWith("timed out"), e.getDetail());
+    }
+
+    @Test
+    void criticalPathFollowsTheDependencyThatFinishedLast() throws Exception {
+        Node<String> master = graph.stage("master", Policy.REQUIRED, TIMEOUT, sleeping(30, "m"));
+        Node<String> login = graph.stage("login", Policy.REQUIRED, TIMEOUT, sleeping(200, "l"));
+        Node<String> jit = graph.stage("jit", Policy.OPTIONAL, TIMEOUT, sleeping(10, "j"));
+        Node<String> scan = graph.stage("scan", Policy.REQUIRED, TIMEOUT, sleeping(10, "s"), master, login);
+        Node<String> trading = graph.stage("trading", Policy.REQUIRED, TIMEOUT, sleeping(10, "t"), scan, jit);
+
+        assertTrue(graph.await(trading));
+        List<String> path = graph.criticalPath(trading).stream().map(Node::getName).collect(Collectors.toList());
+        assertEquals(List.of("login", "scan", "trading"), path);
+        graph.printCriticalPath(trading);
+    }
+}
@@ -0,0 +1,71 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class StartupTimelineTest {
+
+    private static final ZoneId IST = ZoneId.of("Asia/Kolkata");
+
+    private static Clock at(String isoInstant, ZoneId zone) {
+        return Clock.fixed(Instant.parse(isoInstant), zone);
+    }
+
+    @Test
+    void waitsUntilTheTriggerOnTheExchangeClock() throws InterruptedException {
+        List<Long> slept = new ArrayList<>();
+        // 08:50:30 IST
+        StartupTimeline timeline = new StartupTimeline(at("2026-10-16T03:20:30Z", IST), slept::add);
+
+        long millis = timeline.waitUntil(LocalTime.of(9, 36));
+
+        assertEquals(TimeUnit.MINUTES.toMillis(45) + TimeUnit.SECONDS.toMillis(30), millis);
+        assertEquals(List.of(millis), slept);
+    }
+
+    @Test
+    void triggerIsReadInTheClockZoneNotTheHostZone() throws InterruptedException {
+        List<Long> slept = new ArrayList<>();
+        // 04:00 UTC is 09:30 IST: six minutes before a 09:36 trigger in IST, but 5 h 36 min before it in UTC
+        StartupTimeline ist = new StartupTimeline(at("2026-10-16T04:00:00Z", IST), slept::add);
+        StartupTimeline utc = new StartupTimeline(at("2026-10-16T04:00:00Z", ZoneOffset.UTC), slept::add);
+
+        assertEquals(TimeUnit.MINUTES.toMillis(6), ist.waitUntil(LocalTime.of(9, 36)));
+        assertEquals(TimeUnit.MINUTES.toMillis(5 * 60 + 36), utc.waitUntil(LocalTime.of(9, 36)));
+    }
+
+    @Test
+    void passedTriggerDoesNotSleep() throws InterruptedException {
+        List<Long> slept = new ArrayList<>();
+        // 10:00 IST
+        StartupTimeline timeline = new StartupTimeline(at("2026-10-16T04:30:00Z", IST), slept::add);
+
+        assertEquals(0, timeline.waitUntil(LocalTime.of(9, 36)));
+        assertEquals(0, timeline.waitUntil(LocalTime.of(10, 0))); // exactly now
+        assertTrue(slept.isEmpty());
+    }
+
+    @Test
+    void recordsStagesRelativeToTheOrigin() {
+        StartupTimeline timeline = new StartupTimeline(Clock.system(IST));
+        long start = System.nanoTime();
+
+        StartupTimeline.Entry e = timeline.record("login", start, StartupTimeline.Status.FAILED, "no session");
+
+        assertEquals(List.of("login"), timeline.getEntries().stream().map(StartupTimeline.Entry::getName).toList());
+        assertEquals("no session", e.getDetail());
+        assertTrue(e.startMillis() >= 0);
+        assertTrue(e.durationMillis() >= 0);
+    }
+}
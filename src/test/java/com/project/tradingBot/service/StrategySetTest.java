@@ -0,0 +1,74 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.tradingBot.models.CandleSeries;
+import com.project.tradingBot.service.Strategy.Signal;
+
+class StrategySetTest {
+
+    private static StrategyContext context(boolean longBias) {
+        StrategyContext ctx = new StrategyContext(List.of("INFY", "TCS"), longBias, 32);
+        ctx.setOpeningRange(0, 101.0, 99.0);
+        ctx.setOpeningRange(1, 101.0, 99.0);
+        return ctx;
+    }
+
+    private static Signal bar(StrategySet set, StrategyContext ctx, int slot, double o, double h, double l, double c) {
+        CandleSeries bars = ctx.bars(slot);
+        bars.append(bars.size(), o, h, l, c, 1000);
+        return set.evaluate(slot, bars, ctx);
+    }
+
+    @Test
+    void openingRangeBreakoutMatchesTheOriginalRule() {
+        StrategySet orb = new StrategySet(List.of(new OpeningRangeBreakout(0.5)));
+
+        StrategyContext up = context(true);
+        assertEquals(Signal.NONE, bar(orb, up, 0, 100.5, 100.9, 100.4, 100.8));  // inside the range
+        assertEquals(Signal.NONE, bar(orb, up, 0, 101.0, 102.0, 100.9, 101.9));  // breakout bar too wide (1.1%)
+        assertEquals(Signal.ENTRY, bar(orb, up, 0, 101.1, 101.5, 101.1, 101.4)); // tight close above the high
+        assertEquals(Signal.EXIT, bar(orb, up, 1, 99.5, 99.6, 98.9, 99.0));     // broke the low
+
+        StrategyContext down = context(false);
+        assertEquals(Signal.ENTRY, bar(orb, down, 0, 98.9, 98.95, 98.6, 98.7));
+        assertEquals(Signal.EXIT, bar(orb, down, 1, 100.5, 101.2, 100.4, 101.1));
+    }
+
+    @Test
+    void firstEntryWinsAndExitNeedsEveryStrategy() {
+        RangeExpansion expansion = new RangeExpansion(3, 2.0);
+        StrategySet set = new StrategySet(List.of(new OpeningRangeBreakout(0.5), expansion));
+        StrategyContext ctx = context(true);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Signal.NONE, bar(set, ctx, 0, 100.0, 100.2, 99.9, 100.1)); // 0.3 ranges
+        }
+        // Wide bar closing at its high inside the opening range: only range expansion fires
+        assertEquals(Signal.ENTRY, bar(set, ctx, 0, 99.7, 100.9, 99.6, 100.85));
+        assertEquals("rangeExpansion", set.entryStrategyName(0, ctx));
+
+        // Both rules exit on a break of the opening-range low
+        assertEquals(Signal.EXIT, bar(set, ctx, 1, 99.5, 99.6, 98.9, 99.0));
+        assertEquals("-", set.entryStrategyName(1, ctx));
+    }
+
+    @Test
+    void candleIsNeededOnlyOnceTheSessionCouldSignal() {
+        StrategyContext ctx = context(true);
+        StrategySet orb = new StrategySet(List.of(new OpeningRangeBreakout(0.5)));
+        assertFalse(orb.canSignal(0, 101.0, 99.0, ctx)); // session still inside the opening range
+        assertTrue(orb.canSignal(0, 101.2, 99.0, ctx));  // traded above the high: entry possible
+        assertTrue(orb.canSignal(0, 101.0, 98.8, ctx));  // traded below the low: exit possible
+
+        // A rule reading every bar keeps the default, so the whole set needs the candle
+        StrategySet withExpansion = new StrategySet(List.of(new OpeningRangeBreakout(0.5), new RangeExpansion(3, 2.0)));
+        assertTrue(withExpansion.canSignal(0, 101.0, 99.0, ctx));
+    }
+}
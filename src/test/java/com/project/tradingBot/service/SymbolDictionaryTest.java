@@ -0,0 +1,39 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SymbolDictionaryTest {
+
+    @Test
+    void assignsDenseIdsAndResolvesTokensWithoutSuffix() {
+        SymbolIndex index = SymbolIndex.builder().add("TCS-EQ", 11536).add("INFY-EQ", 1594).add("SBIN-EQ", 3045).build();
+        SymbolDictionary master = SymbolDictionary.fromMaster(index);
+
+        assertEquals(3, master.size());
+        for (int id = 0; id < master.size(); id++) {
+            assertEquals(id, master.idOf(master.symbol(id)));
+            assertEquals(index.tokenAt(id), master.token(id));
+        }
+        assertEquals("1594", master.tokenString("INFY"));
+        assertEquals(3045, master.token("SBIN"));
+        assertEquals(-1, master.idOf("INFY-EQ"));
+        assertNull(master.tokenString("WIPRO"));
+        assertEquals(SymbolDictionary.NO_TOKEN, master.token("WIPRO"));
+
+        List<String> many = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) many.add("S" + i);
+        SymbolDictionary day = SymbolDictionary.of(many);
+        for (int i = 0; i < 5000; i++) assertEquals(i, day.idOf("S" + i)); // fresh strings: equality, not identity
+        assertEquals(-1, day.idOf("S5000"));
+        assertNull(day.tokenString(0));
+        assertEquals(-1, SymbolDictionary.empty().idOf("INFY"));
+        assertThrows(IllegalArgumentException.class, () -> SymbolDictionary.of(List.of("A", "B", "A")));
+    }
+}
@@ -0,0 +1,117 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class SymbolIndexTest {
+
+    private static SymbolIndex sample() {
+        return SymbolIndex.builder()
+                .add("TCS-EQ", 11536)
+                .add("INFY-EQ", 1594)
+                .add("ADANIENT-EQ", 25)
+                .add("ZYDUSLIFE-EQ", 7929)
+                .add("SBIN-EQ", 3045)
+                .add("INFY-EQ", 1595) // duplicate keeps the last token
+                .build();
+    }
+
+    @Test
+    void lookupsCoverFirstLastAndMissingSymbols() {
+        SymbolIndex index = sample();
+
+        assertEquals(5, index.size());
+        assertEquals(25, index.token("ADANIENT-EQ"));     // first key
+        assertEquals(7929, index.token("ZYDUSLIFE-EQ"));  // last key
+        assertEquals(1595, index.token("INFY-EQ"));
+        assertEquals(-1, index.token("WIPRO-EQ"));
+        assertEquals(-1, index.token("AAA-EQ"));          // before the first key
+        assertEquals(-1, index.token("ZZZ-EQ"));          // after the last key
+        assertEquals(-1, index.token("INFY"));            // a prefix of a key
+        assertEquals(0, index.indexOf("ADANIENT-EQ"));
+        assertEquals("ZYDUSLIFE-EQ", index.symbolAt(index.size() - 1));
+
+        Map<String, String> map = index.asMap();
+        assertEquals("25", map.get("ADANIENT-EQ"));
+        assertEquals("7929", map.get("ZYDUSLIFE-EQ"));
+        assertNull(map.get("WIPRO-EQ"));
+        assertNull(map.get(42));
+        assertTrue(map.containsKey("SBIN-EQ"));
+        assertFalse(map.containsKey("WIPRO-EQ"));
+        assertEquals(5, map.size());
+        List<String> order = new ArrayList<>(map.keySet());
+        assertEquals(List.of("ADANIENT-EQ", "INFY-EQ", "SBIN-EQ", "TCS-EQ", "ZYDUSLIFE-EQ"), order);
+    }
+
+    @Test
+    void writeToAndLoadRoundTrip() throws IOException {
+        Path dir = Files.createTempDirectory("symbol-index-test");
+        Path file = dir.resolve("equities.idx");
+        SymbolIndex built = sample();
+        built.writeTo(file);
+
+        SymbolIndex loaded = SymbolIndex.load(file);
+        assertEquals(built.size(), loaded.size());
+        for (int i = 0; i < built.size(); i++) {
+            assertEquals(built.symbolAt(i), loaded.symbolAt(i));
+            assertEquals(built.tokenAt(i), loaded.tokenAt(i));
+        }
+        assertEquals(built.asMap(), loaded.asMap());
+        assertFalse(Files.exists(dir.resolve("equities.idx.tmp")));
+
+        // An empty index is valid too
+        Path empty = dir.resolve("empty.idx");
+        SymbolIndex.builder().build().writeTo(empty);
+        assertEquals(0, SymbolIndex.load(empty).size());
+        assertEquals(-1, SymbolIndex.load(empty).token("INFY-EQ"));
+    }
+
+    @Test
+    void rejectsAFileWithABadMagicNumber() throws IOException {
+        Path file = Files.createTempDirectory("symbol-index-test").resolve("bad.idx");
+        sample().writeTo(file);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, 0xCAFEBABE), 0);
+        }
+
+        assertThrows(IOException.class, () -> SymbolIndex.load(file));
+    }
+
+    @Test
+    void rejectsATruncatedFile() throws IOException {
+        Path dir = Files.createTempDirectory("symbol-index-test");
+        Path file = dir.resolve("truncated.idx");
+        sample().writeTo(file);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.truncate(ch.size() - 3); // cut into the symbol blob
+        }
+        assertThrows(IOException.class, () -> SymbolIndex.load(file));
+
+        Path corruptCount = dir.resolve("count.idx");
+        sample().writeTo(corruptCount);
+        try (FileChannel ch = FileChannel.open(corruptCount, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, Integer.MAX_VALUE / 2), 8);
+        }
+        assertThrows(IOException.class, () -> SymbolIndex.load(corruptCount));
+
+        Path header = dir.resolve("header.idx");
+        Files.write(header, new byte[]{0x49, 0x53, 0x42}); // shorter than the header
+        assertThrows(IOException.class, () -> SymbolIndex.load(header));
+    }
+}
@@ -0,0 +1,175 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SymbolWorkerPoolTest {
+
+    private SymbolWorkerPool pool;
+
+    @AfterEach
+    void shutdown() {
+        if (pool != null) pool.shutdown();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition, String what) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out waiting for " + what);
+            Thread.sleep(5);
+        }
+    }
+
+    /** Spins on a flag, so an interrupt alone does not end it (like a task stuck in blocking I/O). */
+    private static void spinUntil(AtomicBoolean released) {
+        while (!released.get()) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static Thread runInBackground(SymbolWorkerPool pool, List<String> symbols, Consumer<String> task,
+                                          AtomicReference<SymbolWorkerPool.CycleResult> result) {
+        Thread t = new Thread(() -> result.set(pool.runCycle(symbols, task, 5_000)));
+        t.start();
+        return t;
+    }
+
+    @Test
+    void deadlineCancelsAndInterruptsTheSlowSymbol() throws Exception {
+        pool = new SymbolWorkerPool(2, 10);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        SymbolWorkerPool.CycleResult result = pool.runCycle(List.of("FAST", "SLOW", "QUICK"), symbol -> {
+            if (!symbol.equals("SLOW")) return;
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        }, 200);
+
+        assertEquals(2, result.getCompleted());
+        assertEquals(1, result.getTimedOut());
+        assertEquals(1, pool.getCancelled());
+        assertTrue(result.getDurationMillis() < 2_000, "cycle took " + result.getDurationMillis() + " ms");
+        assertTrue(interrupted.await(2, TimeUnit.SECONDS), "the cancelled task was not interrupted");
+        awaitUntil(() -> pool.getInFlight() == 0, "in-flight to drain");
+    }
+
+    @Test
+    void symbolStillRunningAfterCancellationIsNotResubmitted() throws Exception {
+        pool = new SymbolWorkerPool(2, 10);
+        AtomicBoolean released = new AtomicBoolean();
+        AtomicBoolean sawInterrupt = new AtomicBoolean();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+        Consumer<String> task = symbol -> {
+            calls.computeIfAbsent(symbol, s -> new AtomicInteger()).incrementAndGet();
+            if (!symbol.equals("STUCK")) return;
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                spinUntil(released);
+                sawInterrupt.set(Thread.currentThread().isInterrupted());
+            } finally {
+                running.decrementAndGet();
+            }
+        };
+
+        SymbolWorkerPool.CycleResult first = pool.runCycle(List.of("STUCK", "OK"), task, 100);
+        assertEquals(1, first.getTimedOut());
+        assertEquals(1, pool.getInFlight()); // cancelled, but still running
+
+        SymbolWorkerPool.CycleResult second = pool.runCycle(List.of("STUCK", "OK"), task, 100);
+        assertEquals(1, second.getStillRunning());
+        assertEquals(1, second.getCompleted());
+        assertEquals(1, pool.getStillRunning());
+        assertEquals(1, calls.get("STUCK").get());
+        assertEquals(2, calls.get("OK").get());
+
+        released.set(true);
+        awaitUntil(() -> pool.getInFlight() == 0, "the stuck task to return");
+        assertTrue(sawInterrupt.get(), "the task should see the interrupt before it changes any state");
+
+        SymbolWorkerPool.CycleResult third = pool.runCycle(List.of("STUCK"), task, 1_000);
+        assertEquals(1, third.getCompleted());
+        assertEquals(2, calls.get("STUCK").get());
+        assertEquals(1, maxRunning.get()); // never two tasks for one symbol
+    }
+
+    @Test
+    void cancelledWhileQueuedReleasesTheSymbol() throws Exception {
+        pool = new SymbolWorkerPool(1, 5);
+        AtomicBoolean released = new AtomicBoolean();
+        Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+        Consumer<String> task = symbol -> {
+            calls.computeIfAbsent(symbol, s -> new AtomicInteger()).incrementAndGet();
+            if (symbol.equals("BLOCKER")) spinUntil(released);
+        };
+
+        SymbolWorkerPool.CycleResult first = pool.runCycle(List.of("BLOCKER", "QUEUED"), task, 100);
+        assertEquals(2, first.getTimedOut());
+        assertEquals(0, pool.getQueueDepth()); // the cancelled queued task was purged
+        assertNull(calls.get("QUEUED"));
+
+        released.set(true);
+        awaitUntil(() -> pool.getInFlight() == 0, "the blocker to return");
+
+        SymbolWorkerPool.CycleResult second = pool.runCycle(List.of("QUEUED"), task, 1_000);
+        assertEquals(1, second.getCompleted());
+        assertEquals(0, second.getStillRunning());
+        assertEquals(1, calls.get("QUEUED").get());
+    }
+
+    @Test
+    void fullQueueRejectsAndMetricsShowQueuedAndInFlightWork() throws Exception {
+        pool = new SymbolWorkerPool(1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Consumer<String> task = symbol -> {
+            if (!symbol.equals("A")) return;
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        AtomicReference<SymbolWorkerPool.CycleResult> firstResult = new AtomicReference<>();
+        Thread first = runInBackground(pool, List.of("A"), task, firstResult);
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+
+        AtomicReference<SymbolWorkerPool.CycleResult> secondResult = new AtomicReference<>();
+        Thread second = runInBackground(pool, List.of("B", "C", "D"), task, secondResult);
+        awaitUntil(() -> pool.getRejected() == 2, "C and D to be rejected");
+        assertEquals(1, pool.getQueueDepth()); // B waits behind A
+        assertEquals(1, pool.getInFlight());   // only A is running
+
+        release.countDown();
+        first.join(5_000);
+        second.join(5_000);
+
+        assertEquals(1, firstResult.get().getCompleted());
+        assertEquals(1, secondResult.get().getCompleted());
+        assertEquals(2, secondResult.get().getRejected());
+        assertEquals(0, pool.getQueueDepth());
+        awaitUntil(() -> pool.getInFlight() == 0, "in-flight to drain");
+        assertEquals(2, pool.getCycleDuration().getCount());
+    }
+}
@@ -0,0 +1,134 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLACK = 15 * MS; // time between reservations inside the test itself
+
+    private static TokenBucketRateLimiter limiter(int[] limits, long... periodMillis) {
+        long[] periods = new long[periodMillis.length];
+        for (int i = 0; i < periods.length; i++) periods[i] = periodMillis[i] * MS;
+        return new TokenBucketRateLimiter("test", limits, periods);
+    }
+
+    @Test
+    void eachBandAllowsItsOwnBurst() {
+        TokenBucketRateLimiter perSecond = new TokenBucketRateLimiter("perSecond", 3, 180);
+        for (int i = 0; i < 3; i++) assertTrue(perSecond.tryAcquire(), "permit " + i);
+        assertFalse(perSecond.tryAcquire()); // the 3/sec band is spent
+
+        TokenBucketRateLimiter perMinute = new TokenBucketRateLimiter("perMinute", 100, 4);
+        for (int i = 0; i < 4; i++) assertTrue(perMinute.tryAcquire(), "permit " + i);
+        assertFalse(perMinute.tryAcquire()); // the 4/min band is spent long before the 100/sec one
+    }
+
+    @Test
+    void tryAcquireRejectsWithoutTakingAPermit() {
+        TokenBucketRateLimiter limiter = limiter(new int[]{1}, 10_000);
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        assertEquals(1, limiter.getPermits());
+        assertEquals(2, limiter.getRejected());
+        assertEquals(0, limiter.getDelayedPermits());
+    }
+
+    @Test
+    void concurrentCallersArePacedByTheTighterBand() throws Exception {
+        // 2 per 100 ms (a permit every 50 ms) is tighter than 100 per second (one every 10 ms)
+        TokenBucketRateLimiter limiter = limiter(new int[]{2, 100}, 100, 1000);
+        int callers = 8;
+        List<Long> waits = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[callers];
+        for (int t = 0; t < callers; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    waits.add(limiter.acquire());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads[t].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread t : threads) t.join();
+        long elapsed = System.nanoTime() - begin;
+
+        List<Long> sorted = new ArrayList<>(waits);
+        Collections.sort(sorted);
+        assertEquals(callers, sorted.size());
+        for (int k = 2; k < callers; k++) {
+            // the burst of 2 goes at once, then one caller per 50 ms slot
+            assertTrue(sorted.get(k) >= (k - 1) * 50 * MS - SLACK, "caller " + k + " waited " + sorted.get(k) / MS + " ms");
+        }
+        assertTrue(elapsed >= 6 * 50 * MS - SLACK, "8 permits took " + elapsed / MS + " ms");
+
+        // wait metrics
+        assertEquals(callers, limiter.getPermits());
+        assertTrue(limiter.getDelayedPermits() >= callers - 2);
+        long total = 0;
+        for (long w : sorted) total += Math.max(w, 0);
+        assertEquals(total, limiter.getTotalWaitNanos());
+        assertEquals(sorted.get(callers - 1).longValue(), limiter.getMaxWaitNanos());
+        assertEquals(total / 1_000_000.0 / callers, limiter.getAverageWaitMillis(), 1e-9);
+    }
+
+    @Test
+    void acquireAsyncCompletesOnceThePermitIsDue() throws Exception {
+        TokenBucketRateLimiter limiter = limiter(new int[]{1}, 200);
+        CompletableFuture<Long> first = limiter.acquireAsync();
+        assertTrue(first.isDone());
+        assertEquals(0L, first.get().longValue());
+
+        long begin = System.nanoTime();
+        CompletableFuture<Long> second = limiter.acquireAsync();
+        assertFalse(second.isDone()); // the caller is not parked; the future completes later
+        long waited = second.get(5, TimeUnit.SECONDS);
+        assertTrue(waited >= 200 * MS - SLACK, "reserved wait " + waited / MS + " ms");
+        assertTrue(System.nanoTime() - begin >= 200 * MS - SLACK);
+        assertEquals(1, limiter.getDelayedPermits());
+    }
+
+    @Test
+    void interruptWhileParkedThrows() throws Exception {
+        TokenBucketRateLimiter limiter = limiter(new int[]{1}, 60_000);
+        limiter.acquire();
+
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        Thread waiter = new Thread(() -> {
+            try {
+                limiter.acquire(); // next permit is a minute away
+            } catch (Throwable t) {
+                thrown.set(t);
+            } finally {
+                done.countDown();
+            }
+        });
+        waiter.start();
+        Thread.sleep(50);
+        waiter.interrupt();
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertTrue(thrown.get() instanceof InterruptedException, String.valueOf(thrown.get()));
+        assertEquals(1, limiter.getPermits()); // the interrupted caller never got its permit
+    }
+}
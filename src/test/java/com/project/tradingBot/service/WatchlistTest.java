@@ -0,0 +1,53 @@
+package com.project.tradingBot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class WatchlistTest {
+
+    @Test
+    void removesEachSymbolOnceUnderContention() throws Exception {
+        List<String> symbols = new ArrayList<>();
+        for (int i = 0; i < 130; i++) symbols.add("S" + i);
+        Watchlist watchlist = new Watchlist(new StrategyContext(symbols, true, 2));
+        assertEquals(130, watchlist.size());
+        assertTrue(watchlist.contains("S129"));
+        assertFalse(watchlist.contains("S130"));
+
+        AtomicInteger removed = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int slot = 0; slot < 130; slot += 2) { // every even slot, from every thread
+                    if (watchlist.remove(slot)) removed.incrementAndGet();
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread t : threads) t.join();
+
+        assertEquals(65, removed.get());
+        assertEquals(65, watchlist.size());
+        assertFalse(watchlist.contains("S64"));
+        assertTrue(watchlist.contains("S65"));
+        List<String> left = watchlist.symbols();
+        assertEquals(65, left.size());
+        assertEquals("S1", left.get(0));
+        assertEquals("S129", left.get(64));
+    }
+}